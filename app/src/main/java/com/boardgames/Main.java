@@ -1,31 +1,32 @@
 package com.boardgames;
 
 import javafx.application.Application;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
-import javafx.scene.input.KeyCombination;
 
-import com.boardgames.ui.screens.TitleScreen;
+import com.boardgames.metrics.MetricsServer;
+import com.boardgames.ui.PerfMonitor;
+import com.boardgames.ui.ScreenManager;
 
 public class Main extends Application {
 
     @Override
     public void start(Stage stage) {
 
-        TitleScreen title = new TitleScreen(stage);
+        stage.setTitle("Ancient Board Games");
 
-        Scene scene = new Scene(title, 1280, 720);
+        // Builds the scene around the (cached) title screen and goes fullscreen
+        ScreenManager.init(stage);
 
-        stage.setScene(scene);
-        stage.setTitle("Ancient Board Games");
+        // Frame-time overlay: F3 toggles, F4 dumps CSV, -Dboardgames.perf=true starts it on
+        PerfMonitor.install(stage.getScene(), Boolean.getBoolean("boardgames.perf"));
 
-        // FULLSCREEN SAME AS TITLE SCREEN
-        stage.setFullScreenExitHint("");
-        stage.setFullScreenExitKeyCombination(KeyCombination.NO_MATCH);
-        stage.setFullScreen(true);
-        stage.setResizable(false);
+        // Prometheus-style /metrics on localhost when -Dboardgames.metrics.port=<port> is set
+        MetricsServer.startIfConfigured();
+    }
 
-        stage.show();
+    @Override
+    public void stop() {
+        MetricsServer.stop();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,70 @@
+package com.boardgames.games;
+
+/**
+ * A mutable game position that generic code (search, playouts, benchmarks,
+ * tournaments) can drive without knowing the rules of the game.
+ *
+ * Moves and chance outcomes are plain ints and are written into caller-owned
+ * buffers, so a search can run without allocating per node. Every
+ * makeMove / applyChance can be reverted with undo(), in LIFO order.
+ *
+ * Players are numbered 0 and 1.
+ */
+public interface GameState {
+
+    int NO_PLAYER = -1;
+
+    /**
+     * Player to act at a decision node (0 or 1).
+     */
+    int currentPlayer();
+
+    boolean isTerminal();
+
+    /**
+     * Winning player once terminal, NO_PLAYER for a draw or an unfinished game.
+     */
+    int winner();
+
+    /**
+     * True when the next step is a random event (dice) rather than a player's choice.
+     */
+    boolean isChanceNode();
+
+    /**
+     * Write the possible chance outcomes and their probabilities, return how many.
+     * Only valid at chance nodes.
+     */
+    int chanceOutcomes(int[] outcomes, double[] probabilities);
+
+    void applyChance(int outcome);
+
+    /**
+     * Write the legal moves into the buffer (at least maxMoves() long), return how many.
+     * Only valid at decision nodes; never returns 0 for a non-terminal
+     * position (games with forced passes generate a pass move).
+     */
+    int generateMoves(int[] moves);
+
+    void makeMove(int move);
+
+    /**
+     * Revert the most recent makeMove or applyChance.
+     */
+    void undo();
+
+    /**
+     * Position hash, including side to move and any pending chance state.
+     */
+    long hash();
+
+    /**
+     * Upper bound on generateMoves() and chanceOutcomes() results, for sizing buffers.
+     */
+    int maxMoves();
+
+    /**
+     * Independent copy, e.g. for searching off the UI's live game.
+     */
+    GameState copy();
+}
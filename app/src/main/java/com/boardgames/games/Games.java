@@ -0,0 +1,49 @@
+package com.boardgames.games;
+
+import com.boardgames.games.go.GoGame;
+import com.boardgames.games.mancala.MancalaGame;
+import com.boardgames.games.morris.MorrisGame;
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.games.ur.UrGame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Name -> new-game factory for every game with a GameState engine,
+ * used by headless tools (benchmarks, tournaments).
+ */
+public final class Games {
+
+    private static final Map<String, Supplier<GameState>> factories = new LinkedHashMap<>();
+
+    static {
+        register("senet", SenetGame::new);
+        register("ur", UrGame::new);
+        register("mancala", MancalaGame::new);
+        register("morris", MorrisGame::new);
+        register("three-mens-morris", () -> new MorrisGame(MorrisGame.Variant.THREE));
+        register("go", GoGame::new);
+    }
+
+    private Games() {
+    }
+
+    public static void register(String name, Supplier<GameState> factory) {
+        factories.put(name, factory);
+    }
+
+    public static GameState create(String name) {
+        Supplier<GameState> factory = factories.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown game '" + name + "', expected one of " + factories.keySet());
+        }
+        return factory.get();
+    }
+
+    public static Set<String> names() {
+        return factories.keySet();
+    }
+}
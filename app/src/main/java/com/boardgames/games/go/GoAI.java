@@ -0,0 +1,54 @@
+package com.boardgames.games.go;
+
+/**
+ * Go opponent: Monte Carlo tree search with a thinking-time budget.
+ * - EASY: short think on one thread
+ * - MEDIUM: one second on all cores
+ * - HARD: three seconds on all cores
+ */
+public class GoAI implements AutoCloseable {
+
+    public enum Difficulty {
+        EASY(300, 1), MEDIUM(1000, 0), HARD(3000, 0);
+
+        private final long millis;
+        private final int threads; // 0 = all cores
+
+        Difficulty(long millis, int threads) {
+            this.millis = millis;
+            this.threads = threads;
+        }
+    }
+
+    private final Difficulty difficulty;
+    private final GoMcts search;
+
+    public GoAI(Difficulty difficulty) {
+        this(difficulty, difficulty.threads);
+    }
+
+    /**
+     * Same thinking time on a set number of search threads (0 = all cores),
+     * e.g. 1 when games already run in parallel.
+     */
+    public GoAI(Difficulty difficulty, int threads) {
+        this.difficulty = difficulty;
+        this.search = new GoMcts(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Point to play (or GoGame.PASS). Blocks for the thinking time, so call it off the FX thread.
+     */
+    public int chooseMove(GoGame game) {
+        return search.bestMove(game, difficulty.millis);
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
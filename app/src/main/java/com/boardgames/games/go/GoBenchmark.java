@@ -0,0 +1,74 @@
+package com.boardgames.games.go;
+
+import java.util.Locale;
+
+/**
+ * Playout throughput on an empty board, or with a list of thread counts,
+ * GoMcts simulations per second from the empty board and how they scale
+ * against one thread (efficiency = speedup / threads; near 100% is
+ * linear). Scaling only means something with at least that many cores.
+ *
+ * Usage: GoBenchmark [size] [seconds] [threads,threads,...]
+ *   ./gradlew :app:benchmarkGo --args="9 10"
+ *   ./gradlew :app:benchmarkGo --args="9 5 1,2,4,8"
+ */
+public class GoBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 5;
+
+        if (args.length > 2) {
+            scaling(size, seconds, args[2].split(","));
+            return;
+        }
+
+        // Warm up the JIT before measuring
+        run(size, seconds / 5);
+        run(size, seconds);
+    }
+
+    private static void scaling(int size, double seconds, String[] threadCounts) {
+        System.out.printf(Locale.ROOT, "%dx%d MCTS from the empty board, %d cores available%n",
+                size, size, Runtime.getRuntime().availableProcessors());
+        GoGame game = new GoGame(size, GoGame.DEFAULT_KOMI);
+        long millis = (long) (seconds * 1000);
+        double single = 0;
+
+        for (String arg : threadCounts) {
+            int threads = Integer.parseInt(arg.trim());
+            try (GoMcts mcts = new GoMcts(threads)) {
+                mcts.bestMove(game, millis / 5); // warm-up
+                mcts.bestMove(game, millis);
+                double rate = mcts.getPlayouts() / seconds;
+                if (single == 0) single = rate / threads;
+
+                double speedup = rate / single;
+                System.out.printf(Locale.ROOT, "%2d threads: %,9.0f simulations/s  speedup %5.2fx  efficiency %5.1f%%%n",
+                        threads, rate, speedup, 100 * speedup / threads);
+            }
+        }
+    }
+
+    private static void run(int size, double seconds) {
+        GoBoard empty = new GoBoard(size);
+        GoBoard board = new GoBoard(size);
+        GoPlayout playout = new GoPlayout(42, size);
+        int maxMoves = 3 * size * size;
+
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        long begin = System.nanoTime();
+        long games = 0;
+        long blackWins = 0;
+
+        while (System.nanoTime() < deadline) {
+            board.copyFrom(empty);
+            if (playout.play(board, GoBoard.BLACK, GoGame.DEFAULT_KOMI, maxMoves) > 0) blackWins++;
+            games++;
+        }
+
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        System.out.printf(Locale.ROOT, "%dx%d: %,d playouts in %.2fs = %,.0f playouts/s, %,.0f moves/s (black wins %.1f%%)%n",
+                size, size, games, elapsed, games / elapsed, playout.getMoves() / elapsed, 100.0 * blackWins / games);
+    }
+}
@@ -0,0 +1,544 @@
+package com.boardgames.games.go;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fast Go board for play and playouts (any size from 5x5 to 19x19).
+ *
+ * Points live on a padded (size + 2)^2 grid so neighbours are p±1 and
+ * p±stride with no bounds checks; the padding is BORDER. Each chain is a
+ * circular linked list of its stones with one representative (head) that
+ * holds the chain's data:
+ *  - pseudo-liberties: count, sum and sum of squares of liberty points,
+ *    counted once per adjacent stone. A chain is in atari exactly when
+ *    all its pseudo-liberties are the same point, i.e. count * sumSq == sum^2,
+ *    and that point is sum / count
+ *  - stone count and the XOR of its stones' Zobrist keys, so the hash after
+ *    a capture is known before playing (superko)
+ *
+ * Playing, capturing, merging, the legality/suicide check and the list of
+ * empty points are all updated in place: nothing allocates after construction.
+ * This class knows nothing about turns, passes or superko; see GoGame.
+ */
+public class GoBoard {
+
+    /**
+     * Notified of every stone that appears or disappears (see GoScoreEstimator).
+     * Calls come from whichever thread plays on the board.
+     */
+    public interface StoneListener {
+        void stoneAdded(int point, byte color);
+
+        void stoneRemoved(int point, byte color);
+
+        /**
+         * The whole position changed at once (clear, copyFrom).
+         */
+        void boardReset(GoBoard board);
+    }
+
+    public static final byte EMPTY = 0, BLACK = 1, WHITE = 2, BORDER = 3;
+    public static final int MAX_SIZE = 19;
+    public static final int NO_POINT = 0;   // a border point, never playable
+
+    private static final int MAX_STRIDE = MAX_SIZE + 2;
+    private static final long[][] ZOBRIST = new long[3][MAX_STRIDE * MAX_STRIDE];
+
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x60L);
+        for (int c = 1; c <= 2; c++) {
+            for (int p = 0; p < ZOBRIST[c].length; p++) ZOBRIST[c][p] = rnd.nextLong();
+        }
+    }
+
+    private final int size;
+    private final int stride;
+    private final int[] neighbourOffsets;
+    private final int[] diagonalOffsets;
+    private final int[] patternOffsets;  // 3x3 ring: NW N NE W E SW S SE
+
+    private final byte[] color;
+    private final int[] head;       // chain representative of each stone
+    private final int[] next;       // circular list of a chain's stones
+    // Per chain, indexed by head
+    private final int[] libCount;
+    private final int[] libSum;
+    private final int[] libSumSq;
+    private final int[] stones;
+    private final long[] chainHash;
+
+    // Empty points with O(1) add/remove
+    private final int[] empties;
+    private final int[] emptyIndex;
+    private int emptyCount;
+
+    private int koPoint = NO_POINT;
+    private int lastMove = NO_POINT;
+    private long hash;
+    private final int[] captures = new int[3];
+    private int lastCaptured;
+
+    private StoneListener listener;
+
+    public GoBoard(int size) {
+        if (size < 5 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be 5-" + MAX_SIZE);
+        }
+        this.size = size;
+        this.stride = size + 2;
+        this.neighbourOffsets = new int[]{-stride, -1, 1, stride};
+        this.diagonalOffsets = new int[]{-stride - 1, -stride + 1, stride - 1, stride + 1};
+        this.patternOffsets = new int[]{-stride - 1, -stride, -stride + 1, -1, 1, stride - 1, stride, stride + 1};
+
+        int points = stride * stride;
+        color = new byte[points];
+        head = new int[points];
+        next = new int[points];
+        libCount = new int[points];
+        libSum = new int[points];
+        libSumSq = new int[points];
+        stones = new int[points];
+        chainHash = new long[points];
+        empties = new int[size * size];
+        emptyIndex = new int[points];
+        clear();
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(color, BORDER);
+        emptyCount = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int p = point(x, y);
+                color[p] = EMPTY;
+                emptyIndex[p] = emptyCount;
+                empties[emptyCount++] = p;
+            }
+        }
+        koPoint = NO_POINT;
+        lastMove = NO_POINT;
+        hash = 0;
+        captures[BLACK] = 0;
+        captures[WHITE] = 0;
+        lastCaptured = 0;
+        if (listener != null) listener.boardReset(this);
+    }
+
+    /**
+     * Become an exact copy of another board of the same size (array copies only).
+     */
+    public void copyFrom(GoBoard o) {
+        if (o.size != size) throw new IllegalArgumentException("Board sizes differ");
+        System.arraycopy(o.color, 0, color, 0, color.length);
+        System.arraycopy(o.head, 0, head, 0, head.length);
+        System.arraycopy(o.next, 0, next, 0, next.length);
+        System.arraycopy(o.libCount, 0, libCount, 0, libCount.length);
+        System.arraycopy(o.libSum, 0, libSum, 0, libSum.length);
+        System.arraycopy(o.libSumSq, 0, libSumSq, 0, libSumSq.length);
+        System.arraycopy(o.stones, 0, stones, 0, stones.length);
+        System.arraycopy(o.chainHash, 0, chainHash, 0, chainHash.length);
+        System.arraycopy(o.empties, 0, empties, 0, o.emptyCount);
+        System.arraycopy(o.emptyIndex, 0, emptyIndex, 0, emptyIndex.length);
+        emptyCount = o.emptyCount;
+        koPoint = o.koPoint;
+        lastMove = o.lastMove;
+        hash = o.hash;
+        captures[BLACK] = o.captures[BLACK];
+        captures[WHITE] = o.captures[WHITE];
+        lastCaptured = o.lastCaptured;
+        if (listener != null) listener.boardReset(this);
+    }
+
+    /**
+     * One listener at most; null to remove. Not copied by copyFrom.
+     */
+    public void setStoneListener(StoneListener listener) {
+        this.listener = listener;
+    }
+
+    // ===== Geometry =====
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Number of padded points, for sizing per-point arrays.
+     */
+    public int pointCount() {
+        return stride * stride;
+    }
+
+    public int point(int x, int y) {
+        return (y + 1) * stride + x + 1;
+    }
+
+    public int x(int point) {
+        return point % stride - 1;
+    }
+
+    public int y(int point) {
+        return point / stride - 1;
+    }
+
+    public int[] neighbourOffsets() {
+        return neighbourOffsets;
+    }
+
+    public static byte opponent(byte c) {
+        return (byte) (3 - c);
+    }
+
+    // ===== State =====
+
+    public byte colorAt(int p) {
+        return color[p];
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getKoPoint() {
+        return koPoint;
+    }
+
+    /**
+     * Point of the last stone played, NO_POINT after a pass or on an empty board.
+     */
+    public int getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * Stones captured so far by the given colour.
+     */
+    public int getCaptures(byte c) {
+        return captures[c];
+    }
+
+    /**
+     * Stones captured by the last play().
+     */
+    public int getLastCaptured() {
+        return lastCaptured;
+    }
+
+    public int emptyCount() {
+        return emptyCount;
+    }
+
+    public int emptyAt(int i) {
+        return empties[i];
+    }
+
+    public int chainOf(int p) {
+        return head[p];
+    }
+
+    public int chainStones(int p) {
+        return stones[head[p]];
+    }
+
+    public boolean inAtari(int p) {
+        int h = head[p];
+        int n = libCount[h];
+        return n > 0 && (long) n * libSumSq[h] == (long) libSum[h] * libSum[h];
+    }
+
+    /**
+     * The last liberty of a chain in atari.
+     */
+    public int atariPoint(int p) {
+        int h = head[p];
+        return libSum[h] / libCount[h];
+    }
+
+    /**
+     * Iterate a chain: for (int s = p; ; s = nextStone(s)) { ... if (nextStone(s) == p) break; }
+     */
+    public int nextStone(int p) {
+        return next[p];
+    }
+
+    /**
+     * The 8 points around p as 2 bits of colour each (see GoPatterns).
+     */
+    public int pattern3x3(int p) {
+        int code = 0;
+        for (int i = 0; i < 8; i++) {
+            code |= color[p + patternOffsets[i]] << (2 * i);
+        }
+        return code;
+    }
+
+    // ===== Legality =====
+
+    public boolean isLegal(int p, byte c) {
+        return color[p] == EMPTY && p != koPoint && !isSuicide(p, c);
+    }
+
+    /**
+     * Would a stone at p have no liberties after captures?
+     */
+    public boolean isSuicide(int p, byte c) {
+        byte enemy = opponent(c);
+        for (int d : neighbourOffsets) {
+            int n = p + d;
+            byte nc = color[n];
+            if (nc == EMPTY) return false;
+            if (nc == c) {
+                // Joining a chain that has some other liberty
+                if (!inAtari(n)) return false;
+            } else if (nc == enemy && inAtari(n)) {
+                return false; // captures
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Single-point eye of colour c: all neighbours are c (or edge) and the
+     * diagonals don't let the opponent break it (at most one enemy diagonal
+     * in the middle, none on the edge).
+     */
+    public boolean isEye(int p, byte c) {
+        for (int d : neighbourOffsets) {
+            byte nc = color[p + d];
+            if (nc != c && nc != BORDER) return false;
+        }
+        int enemies = 0;
+        boolean edge = false;
+        byte enemy = opponent(c);
+        for (int d : diagonalOffsets) {
+            byte dc = color[p + d];
+            if (dc == enemy) enemies++;
+            else if (dc == BORDER) edge = true;
+        }
+        return edge ? enemies == 0 : enemies <= 1;
+    }
+
+    /**
+     * Position hash after c plays at p, including captures, without playing it.
+     */
+    public long hashAfter(int p, byte c) {
+        long h = hash ^ ZOBRIST[c][p];
+        byte enemy = opponent(c);
+        for (int i = 0; i < 4; i++) {
+            int n = p + neighbourOffsets[i];
+            if (color[n] != enemy || !inAtari(n)) continue;
+            int chain = head[n];
+            if (seenBefore(p, i, chain)) continue;
+            h ^= chainHash[chain];
+        }
+        return h;
+    }
+
+    /**
+     * Did an earlier neighbour of p (index below i) belong to the same chain?
+     */
+    private boolean seenBefore(int p, int i, int chain) {
+        for (int j = 0; j < i; j++) {
+            int m = p + neighbourOffsets[j];
+            byte mc = color[m];
+            if (mc != EMPTY && mc != BORDER && head[m] == chain) return true;
+        }
+        return false;
+    }
+
+    // ===== Playing =====
+
+    /**
+     * Place a stone (must be legal) and resolve captures.
+     */
+    public void play(int p, byte c) {
+        byte enemy = opponent(c);
+
+        color[p] = c;
+        hash ^= ZOBRIST[c][p];
+        removeEmpty(p);
+        if (listener != null) listener.stoneAdded(p, c);
+
+        head[p] = p;
+        next[p] = p;
+        libCount[p] = 0;
+        libSum[p] = 0;
+        libSumSq[p] = 0;
+        stones[p] = 1;
+        chainHash[p] = ZOBRIST[c][p];
+
+        for (int d : neighbourOffsets) {
+            int n = p + d;
+            byte nc = color[n];
+            if (nc == EMPTY) {
+                addLiberty(p, n);
+            } else if (nc != BORDER) {
+                removeLiberty(head[n], p);
+            }
+        }
+
+        for (int d : neighbourOffsets) {
+            int n = p + d;
+            if (color[n] == c && head[n] != head[p]) {
+                merge(head[p], head[n]);
+            }
+        }
+
+        int captured = 0;
+        int capturedPoint = NO_POINT;
+        for (int d : neighbourOffsets) {
+            int n = p + d;
+            if (color[n] == enemy && libCount[head[n]] == 0) {
+                captured += stones[head[n]];
+                capturedPoint = n;
+                removeChain(head[n]);
+            }
+        }
+        captures[c] += captured;
+        lastCaptured = captured;
+
+        // Ko: a lone stone that took exactly one stone and has one liberty, there
+        int h = head[p];
+        koPoint = captured == 1 && stones[h] == 1 && libCount[h] == 1 ? capturedPoint : NO_POINT;
+        lastMove = p;
+    }
+
+    /**
+     * A pass only clears the ko.
+     */
+    public void pass() {
+        koPoint = NO_POINT;
+        lastMove = NO_POINT;
+        lastCaptured = 0;
+    }
+
+    private void addLiberty(int chain, int lib) {
+        libCount[chain]++;
+        libSum[chain] += lib;
+        libSumSq[chain] += lib * lib;
+    }
+
+    private void removeLiberty(int chain, int lib) {
+        libCount[chain]--;
+        libSum[chain] -= lib;
+        libSumSq[chain] -= lib * lib;
+    }
+
+    /**
+     * Join two chains; the smaller one is relabelled.
+     */
+    private void merge(int a, int b) {
+        if (stones[a] < stones[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+
+        int s = b;
+        do {
+            head[s] = a;
+            s = next[s];
+        } while (s != b);
+
+        // Splice the two circular lists
+        int t = next[a];
+        next[a] = next[b];
+        next[b] = t;
+
+        libCount[a] += libCount[b];
+        libSum[a] += libSum[b];
+        libSumSq[a] += libSumSq[b];
+        stones[a] += stones[b];
+        chainHash[a] ^= chainHash[b];
+    }
+
+    private void removeChain(int chain) {
+        byte c = color[chain];
+        int s = chain;
+        do {
+            color[s] = EMPTY;
+            hash ^= ZOBRIST[c][s];
+            addEmpty(s);
+            if (listener != null) listener.stoneRemoved(s, c);
+            s = next[s];
+        } while (s != chain);
+
+        // Give the freed points back as liberties to the surrounding chains
+        s = chain;
+        do {
+            for (int d : neighbourOffsets) {
+                int n = s + d;
+                byte nc = color[n];
+                if (nc == BLACK || nc == WHITE) addLiberty(head[n], s);
+            }
+            s = next[s];
+        } while (s != chain);
+    }
+
+    private void removeEmpty(int p) {
+        int i = emptyIndex[p];
+        int last = empties[--emptyCount];
+        empties[i] = last;
+        emptyIndex[last] = i;
+    }
+
+    private void addEmpty(int p) {
+        emptyIndex[p] = emptyCount;
+        empties[emptyCount++] = p;
+    }
+
+    // ===== Scoring =====
+
+    /**
+     * Area score (stones + surrounded territory), black minus white minus komi.
+     * Uses the supplied scratch arrays (pointCount() long) to stay allocation-free.
+     */
+    public double areaScore(double komi, int[] stack, boolean[] visited) {
+        java.util.Arrays.fill(visited, false);
+        int black = 0;
+        int white = 0;
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int p = point(x, y);
+                byte c = color[p];
+                if (c == BLACK) {
+                    black++;
+                } else if (c == WHITE) {
+                    white++;
+                } else if (!visited[p]) {
+                    // Flood the empty region and see who it touches
+                    int top = 0;
+                    int region = 0;
+                    boolean touchesBlack = false;
+                    boolean touchesWhite = false;
+                    stack[top++] = p;
+                    visited[p] = true;
+                    while (top > 0) {
+                        int q = stack[--top];
+                        region++;
+                        for (int d : neighbourOffsets) {
+                            int n = q + d;
+                            byte nc = color[n];
+                            if (nc == EMPTY && !visited[n]) {
+                                visited[n] = true;
+                                stack[top++] = n;
+                            } else if (nc == BLACK) {
+                                touchesBlack = true;
+                            } else if (nc == WHITE) {
+                                touchesWhite = true;
+                            }
+                        }
+                    }
+                    if (touchesBlack && !touchesWhite) black += region;
+                    else if (touchesWhite && !touchesBlack) white += region;
+                }
+            }
+        }
+        return black - white - komi;
+    }
+}
@@ -0,0 +1,213 @@
+package com.boardgames.games.go;
+
+import com.boardgames.games.GameState;
+
+import java.util.Arrays;
+
+/**
+ * Go rules on top of GoBoard: turns, passes, positional superko and area
+ * scoring with komi. Black is player 0. A move is a board point, or PASS.
+ *
+ * The game ends after two passes in a row, or at a hard ply cap so random
+ * play always terminates. Undo restores board snapshots, which are pooled
+ * per depth, so a search allocates only the first time it reaches a depth.
+ */
+public class GoGame implements GameState {
+
+    public static final int PASS = GoBoard.NO_POINT;
+    public static final double DEFAULT_KOMI = 7.5;
+
+    private static final long ZOBRIST_SIDE = 0x5DEECE66DL * 0x9E3779B97F4A7C15L;
+
+    private final GoBoard board;
+    private final double komi;
+    private final int maxPlies;
+    private int player;
+    private int passes;
+
+    // Every position so far, for superko (linear scan; games are short)
+    private long[] history = new long[256];
+    private int historySize;
+
+    private GoBoard[] snapshots = new GoBoard[0];
+    private int[] undoInfo = new int[0];   // player | passes << 1
+    private int undoDepth;
+
+    // Scoring scratch
+    private final int[] scoreStack;
+    private final boolean[] scoreVisited;
+
+    public GoGame() {
+        this(9, DEFAULT_KOMI);
+    }
+
+    public GoGame(int size, double komi) {
+        this.board = new GoBoard(size);
+        this.komi = komi;
+        this.maxPlies = 3 * size * size;
+        this.scoreStack = new int[board.pointCount()];
+        this.scoreVisited = new boolean[board.pointCount()];
+        history[historySize++] = board.getHash();
+    }
+
+    public GoGame(GoGame other) {
+        this.board = new GoBoard(other.board.getSize());
+        this.board.copyFrom(other.board);
+        this.komi = other.komi;
+        this.maxPlies = other.maxPlies;
+        this.player = other.player;
+        this.passes = other.passes;
+        this.history = Arrays.copyOf(other.history, other.history.length);
+        this.historySize = other.historySize;
+        this.scoreStack = new int[board.pointCount()];
+        this.scoreVisited = new boolean[board.pointCount()];
+    }
+
+    // ===== Rules =====
+
+    public GoBoard getBoard() {
+        return board;
+    }
+
+    public double getKomi() {
+        return komi;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public byte colorToMove() {
+        return player == 0 ? GoBoard.BLACK : GoBoard.WHITE;
+    }
+
+    public static byte colorOf(int player) {
+        return player == 0 ? GoBoard.BLACK : GoBoard.WHITE;
+    }
+
+    /**
+     * Legal for the player to move, including positional superko.
+     */
+    public boolean isLegal(int point) {
+        if (point == PASS) return true;
+        byte c = colorToMove();
+        return board.isLegal(point, c) && !seen(board.hashAfter(point, c));
+    }
+
+    private boolean seen(long hash) {
+        for (int i = historySize - 1; i >= 0; i--) {
+            if (history[i] == hash) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Area score, black minus white minus komi.
+     */
+    public double score() {
+        return board.areaScore(komi, scoreStack, scoreVisited);
+    }
+
+    public int getPly() {
+        return historySize - 1;
+    }
+
+    // ===== GameState =====
+
+    @Override
+    public int currentPlayer() {
+        return player;
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return passes >= 2 || getPly() >= maxPlies;
+    }
+
+    @Override
+    public int winner() {
+        if (!isTerminal()) return NO_PLAYER;
+        double s = score();
+        return s > 0 ? 0 : s < 0 ? 1 : NO_PLAYER;
+    }
+
+    @Override
+    public boolean isChanceNode() {
+        return false;
+    }
+
+    @Override
+    public int chanceOutcomes(int[] outcomes, double[] probabilities) {
+        return 0;
+    }
+
+    @Override
+    public void applyChance(int outcome) {
+        throw new UnsupportedOperationException("Go has no chance moves");
+    }
+
+    @Override
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        for (int i = 0; i < board.emptyCount(); i++) {
+            int p = board.emptyAt(i);
+            if (isLegal(p)) moves[count++] = p;
+        }
+        moves[count++] = PASS;
+        return count;
+    }
+
+    @Override
+    public void makeMove(int point) {
+        if (undoDepth == snapshots.length) {
+            int n = Math.max(16, undoDepth * 2);
+            snapshots = Arrays.copyOf(snapshots, n);
+            undoInfo = Arrays.copyOf(undoInfo, n);
+        }
+        if (snapshots[undoDepth] == null) {
+            snapshots[undoDepth] = new GoBoard(board.getSize());
+        }
+        snapshots[undoDepth].copyFrom(board);
+        undoInfo[undoDepth] = player | passes << 1;
+        undoDepth++;
+
+        if (point == PASS) {
+            board.pass();
+            passes++;
+        } else {
+            board.play(point, colorToMove());
+            passes = 0;
+        }
+
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        history[historySize++] = board.getHash();
+        player = 1 - player;
+    }
+
+    @Override
+    public void undo() {
+        undoDepth--;
+        board.copyFrom(snapshots[undoDepth]);
+        player = undoInfo[undoDepth] & 1;
+        passes = undoInfo[undoDepth] >>> 1;
+        historySize--;
+    }
+
+    @Override
+    public long hash() {
+        long h = board.getHash() ^ (player == 1 ? ZOBRIST_SIDE : 0);
+        return h ^ (long) board.getKoPoint() << 40 ^ (long) passes << 56;
+    }
+
+    @Override
+    public int maxMoves() {
+        return board.getSize() * board.getSize() + 1;
+    }
+
+    @Override
+    public GoGame copy() {
+        return new GoGame(this);
+    }
+}
@@ -0,0 +1,337 @@
+package com.boardgames.games.go;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo tree search for Go with RAVE and tree parallelism.
+ *
+ * Every thread runs full simulations on its own board against one shared
+ * tree: select down the tree (UCT + RAVE), expand a leaf once it has been
+ * visited a few times, finish with a light-policy playout and back the
+ * result up. Node statistics are atomic counters and visits are counted
+ * on the way down as virtual losses, so threads spread out instead of
+ * queueing on the same line, and no locks are taken.
+ *
+ * RAVE (all-moves-as-first): a move played anywhere later in a simulation,
+ * by the same side, counts as a sample for that move at every node above
+ * it, which gives new nodes a usable estimate long before their own visits do.
+ *
+ * Search is budgeted by wall-clock time (tests can also cap the number of
+ * simulations). Not reentrant: one search at a time.
+ */
+public class GoMcts implements AutoCloseable {
+
+    private static final int EXPAND_AFTER = 2;
+    private static final double RAVE_EQUIVALENCE = 1000;
+    private static final double EXPLORATION = 0.1;
+    private static final double FIRST_PLAY_URGENCY = 1.1;
+    private static final int MAX_DEPTH = 512;
+
+    private final int threads;
+    private final long seed;
+    private final ExecutorService pool;
+    private final Worker[] workers;
+
+    private GoMctsNode root;
+    private GoBoard rootBoard;
+    private byte rootColor;
+    private int rootPasses;
+    private double komi;
+    private long deadline;
+
+    public GoMcts(int threads) {
+        this(threads, System.nanoTime());
+    }
+
+    /**
+     * Seeded playouts: on one thread with a simulation budget, the same seed
+     * gives the same tree.
+     */
+    GoMcts(int threads, long seed) {
+        this.threads = Math.max(1, threads);
+        this.seed = seed;
+        this.workers = new Worker[this.threads];
+        this.pool = Executors.newFixedThreadPool(this.threads, r -> {
+            Thread t = new Thread(r, "go-mcts");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Search for timeMillis and return the most visited move (GoGame.PASS to pass).
+     */
+    public int bestMove(GoGame game, long timeMillis) {
+        return bestMove(game, timeMillis, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same, but also stop after 'simulations' in total, split evenly over the threads.
+     */
+    int bestMove(GoGame game, long timeMillis, long simulations) {
+        GoBoard board = game.getBoard();
+        byte color = game.colorToMove();
+
+        // The opponent passed and we're ahead: passing ends the game in our favour
+        if (game.getPasses() == 1 && (color == GoBoard.BLACK ? game.score() > 0 : game.score() < 0)) {
+            return GoGame.PASS;
+        }
+
+        rootBoard = new GoBoard(board.getSize());
+        rootBoard.copyFrom(board);
+        rootColor = color;
+        rootPasses = game.getPasses();
+        komi = game.getKomi();
+        root = new GoMctsNode(GoGame.PASS);
+        root.setChildren(rootChildren(game));
+        root.tryStartExpansion();
+        deadline = System.nanoTime() + timeMillis * 1_000_000L;
+
+        List<Future<?>> running = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            if (workers[i] == null || workers[i].size != board.getSize()) {
+                workers[i] = new Worker(board.getSize(), i);
+            }
+            workers[i].playouts = 0;
+            workers[i].budget = simulations / threads + (i < simulations % threads ? 1 : 0);
+            running.add(pool.submit(workers[i]));
+        }
+        for (Future<?> f : running) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search thread failed", e.getCause());
+            }
+        }
+
+        GoMctsNode best = bestChild();
+        return best == null ? GoGame.PASS : best.move;
+    }
+
+    /**
+     * Simulations run by the last search, over all threads.
+     */
+    public long getPlayouts() {
+        long total = 0;
+        for (Worker w : workers) {
+            if (w != null) total += w.playouts;
+        }
+        return total;
+    }
+
+    /**
+     * Estimated win probability of the chosen move, for the side that searched.
+     */
+    public double getBestWinRate() {
+        GoMctsNode best = bestChild();
+        return best == null ? 0 : best.winRate();
+    }
+
+    /**
+     * Root of the last search.
+     */
+    GoMctsNode getRoot() {
+        return root;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private GoMctsNode bestChild() {
+        GoMctsNode best = null;
+        for (GoMctsNode child : root.children()) {
+            if (best == null || child.visits > best.visits) best = child;
+        }
+        return best;
+    }
+
+    /**
+     * Root moves honour superko; pass is always an option.
+     */
+    private GoMctsNode[] rootChildren(GoGame game) {
+        GoBoard board = game.getBoard();
+        byte c = game.colorToMove();
+        List<GoMctsNode> nodes = new ArrayList<>();
+        for (int i = 0; i < board.emptyCount(); i++) {
+            int p = board.emptyAt(i);
+            if (!board.isEye(p, c) && game.isLegal(p)) nodes.add(new GoMctsNode(p));
+        }
+        nodes.add(new GoMctsNode(GoGame.PASS));
+        return nodes.toArray(new GoMctsNode[0]);
+    }
+
+    // ===== Selection =====
+
+    static GoMctsNode select(GoMctsNode node) {
+        GoMctsNode[] children = node.children();
+        double logParent = Math.log(Math.max(1, node.visits));
+        GoMctsNode best = children[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+
+        for (GoMctsNode child : children) {
+            int n = child.visits;
+            int rn = child.raveVisits;
+
+            double value;
+            if (n == 0 && rn == 0) {
+                value = FIRST_PLAY_URGENCY;
+            } else {
+                double q = n == 0 ? 0 : (double) child.wins / n;
+                double rq = rn == 0 ? 0 : (double) child.raveWins / rn;
+                double beta = rn / (rn + n + rn * (double) n / RAVE_EQUIVALENCE);
+                value = (1 - beta) * q + beta * rq + EXPLORATION * Math.sqrt(logParent / (n + 1));
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    // ===== Simulation =====
+
+    /**
+     * Per-thread simulation state, reused across searches.
+     */
+    private final class Worker implements Runnable {
+        final int size;
+        final GoBoard board;
+        final GoPlayout playout;
+        final int maxMoves;
+        final GoMctsNode[] path = new GoMctsNode[MAX_DEPTH + 1];
+        final int[] moves;
+        final int[] scoreStack;
+        final boolean[] scoreVisited;
+
+        // Counted per thread: a shared counter would be one more contended line per simulation
+        long playouts;
+        long budget;
+
+        // AMAF: first ply and colour each point was played at, valid when stamp == simulation
+        final int[] stamp;
+        final int[] firstPly;
+        final byte[] firstColor;
+        int simulation;
+
+        Worker(int size, int id) {
+            this.size = size;
+            this.board = new GoBoard(size);
+            this.playout = new GoPlayout(seed ^ (0x9E3779B97F4A7C15L * (id + 1)), size, true);
+            this.maxMoves = 3 * size * size;
+            this.moves = new int[size * size];
+            this.scoreStack = new int[board.pointCount()];
+            this.scoreVisited = new boolean[board.pointCount()];
+            this.stamp = new int[board.pointCount()];
+            this.firstPly = new int[board.pointCount()];
+            this.firstColor = new byte[board.pointCount()];
+        }
+
+        @Override
+        public void run() {
+            while (playouts < budget && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                simulate();
+                playouts++;
+            }
+        }
+
+        private void simulate() {
+            simulation++;
+            board.copyFrom(rootBoard);
+            byte c = rootColor;
+            int passes = rootPasses;
+            int ply = 0;
+
+            GoMctsNode node = root;
+            node.addVisit();
+            path[0] = node;
+            int depth = 0;
+
+            // Descend
+            while (passes < 2 && depth < MAX_DEPTH) {
+                GoMctsNode[] children = node.children();
+                if (children == null) {
+                    if (node.visits < EXPAND_AFTER || !node.tryStartExpansion()) break;
+                    node.setChildren(expand(c));
+                    children = node.children();
+                }
+
+                node = select(node);
+                node.addVisit();
+                path[++depth] = node;
+                passes = play(node.move, c, ply++, passes);
+                c = GoBoard.opponent(c);
+            }
+
+            // Playout
+            for (int i = 0; i < maxMoves && passes < 2; i++) {
+                passes = play(playout.policyMove(board, c), c, ply++, passes);
+                c = GoBoard.opponent(c);
+            }
+
+            double score = board.areaScore(komi, scoreStack, scoreVisited);
+            byte winner = score > 0 ? GoBoard.BLACK : GoBoard.WHITE;
+
+            // Back up: node i was reached by a move of the side to move at i - 1
+            byte toMove = rootColor;
+            for (int i = 0; i <= depth; i++) {
+                GoMctsNode n = path[i];
+                if (i > 0 && winner != toMove) {
+                    // the player who moved into n is the opponent of the one to move at n
+                    n.addWin();
+                }
+
+                GoMctsNode[] children = n.children();
+                if (children != null) {
+                    boolean won = winner == toMove;
+                    for (GoMctsNode child : children) {
+                        int m = child.move;
+                        if (m != GoGame.PASS && stamp[m] == simulation
+                                && firstPly[m] >= i && firstColor[m] == toMove) {
+                            child.addRave(won);
+                        }
+                    }
+                }
+                toMove = GoBoard.opponent(toMove);
+            }
+        }
+
+        private int play(int move, byte c, int ply, int passes) {
+            if (move == GoGame.PASS) {
+                board.pass();
+                return passes + 1;
+            }
+            board.play(move, c);
+            if (stamp[move] != simulation) {
+                stamp[move] = simulation;
+                firstPly[move] = ply;
+                firstColor[move] = c;
+            }
+            return 0;
+        }
+
+        private GoMctsNode[] expand(byte c) {
+            int count = 0;
+            for (int i = 0; i < board.emptyCount(); i++) {
+                int p = board.emptyAt(i);
+                if (!board.isEye(p, c) && board.isLegal(p, c)) moves[count++] = p;
+            }
+            if (count == 0) {
+                return new GoMctsNode[]{new GoMctsNode(GoGame.PASS)};
+            }
+            GoMctsNode[] nodes = new GoMctsNode[count];
+            for (int i = 0; i < count; i++) nodes[i] = new GoMctsNode(moves[i]);
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.boardgames.games.go;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Search tree node, shared by all search threads without locks.
+ *
+ * Statistics are from the point of view of the player who played 'move'.
+ * A visit is counted on the way down (so it reads as a loss - the virtual
+ * loss that spreads threads over different lines) and the win, if any, is
+ * added on the way back up. Children are published once, by whichever
+ * thread wins the expansion flag.
+ */
+final class GoMctsNode {
+
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(GoMctsNode.class, "visits");
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> WINS =
+            AtomicIntegerFieldUpdater.newUpdater(GoMctsNode.class, "wins");
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> RAVE_VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(GoMctsNode.class, "raveVisits");
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> RAVE_WINS =
+            AtomicIntegerFieldUpdater.newUpdater(GoMctsNode.class, "raveWins");
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> EXPANDING =
+            AtomicIntegerFieldUpdater.newUpdater(GoMctsNode.class, "expanding");
+    private static final AtomicReferenceFieldUpdater<GoMctsNode, GoMctsNode[]> CHILDREN =
+            AtomicReferenceFieldUpdater.newUpdater(GoMctsNode.class, GoMctsNode[].class, "children");
+
+    final int move;
+
+    volatile int visits;
+    volatile int wins;
+    volatile int raveVisits;
+    volatile int raveWins;
+    private volatile int expanding;
+    private volatile GoMctsNode[] children;
+
+    GoMctsNode(int move) {
+        this.move = move;
+    }
+
+    void addVisit() {
+        VISITS.incrementAndGet(this);
+    }
+
+    void addWin() {
+        WINS.incrementAndGet(this);
+    }
+
+    void addRave(boolean won) {
+        RAVE_VISITS.incrementAndGet(this);
+        if (won) RAVE_WINS.incrementAndGet(this);
+    }
+
+    GoMctsNode[] children() {
+        return children;
+    }
+
+    /**
+     * True for exactly one caller; that caller must then call setChildren.
+     */
+    boolean tryStartExpansion() {
+        return expanding == 0 && EXPANDING.compareAndSet(this, 0, 1);
+    }
+
+    void setChildren(GoMctsNode[] nodes) {
+        CHILDREN.set(this, nodes);
+    }
+
+    double winRate() {
+        int n = visits;
+        return n == 0 ? 0 : (double) wins / n;
+    }
+}
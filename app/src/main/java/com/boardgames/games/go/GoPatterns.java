@@ -0,0 +1,104 @@
+package com.boardgames.games.go;
+
+/**
+ * 3x3 shape table for playouts, after the MoGo hane / cut / edge patterns.
+ *
+ * A pattern is the 8 points around an empty candidate point, encoded by
+ * GoBoard.pattern3x3. Every rotation, reflection and colour swap of the
+ * source patterns is expanded into one 64K-entry lookup table at class
+ * load, so matching in a playout is a single array read.
+ *
+ * Pattern letters (centre is the candidate, X is either colour, O the other):
+ *   X / O  stone,  .  empty,  #  edge,  x  not X,  o  not O,  ?  anything
+ */
+public final class GoPatterns {
+
+    private static final String[][] SOURCE = {
+            // Hane
+            {"XOX", "...", "???"},
+            {"XO.", "...", "?.?"},
+            {"XO?", "X..", "x.?"},
+            {"XOO", "...", "?.?"},
+            // Cut
+            {"XO?", "O.o", "?o?"},
+            {"XO?", "O.X", "???"},
+            {"?X?", "O.O", "ooo"},
+            {"OX?", "o.O", "???"},
+            // Edge
+            {"X.?", "O.?", "###"},
+            {"OX?", "o.O", "###"},
+            {"?X?", "o.O", "###"},
+            {"?XO", "o.o", "###"},
+            {"?OX", "X.O", "###"},
+    };
+
+    // Pattern ring order in GoBoard: NW N NE W E SW S SE, as (row, col) in the 3x3 grid
+    private static final int[][] RING = {{0, 0}, {0, 1}, {0, 2}, {1, 0}, {1, 2}, {2, 0}, {2, 1}, {2, 2}};
+
+    private static final boolean[] GOOD = new boolean[1 << 16];
+
+    static {
+        for (String[] pattern : SOURCE) {
+            char[][] grid = new char[3][];
+            for (int r = 0; r < 3; r++) grid[r] = pattern[r].toCharArray();
+
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                for (int own = GoBoard.BLACK; own <= GoBoard.WHITE; own++) {
+                    mark(grid, symmetry, own, 0, 0);
+                }
+            }
+        }
+    }
+
+    private GoPatterns() {
+    }
+
+    public static boolean isGood(int pattern3x3) {
+        return GOOD[pattern3x3];
+    }
+
+    /**
+     * Set every code matching the pattern, filling ring points from 'index' on.
+     */
+    private static void mark(char[][] grid, int symmetry, int own, int index, int code) {
+        if (index == 8) {
+            GOOD[code] = true;
+            return;
+        }
+        char want = sourceCell(grid, symmetry, index);
+        for (int have = 0; have < 4; have++) {
+            if (allows(want, have, own)) {
+                mark(grid, symmetry, own, index + 1, code | have << (2 * index));
+            }
+        }
+    }
+
+    /**
+     * The source grid letter that lands on ring point i under the symmetry.
+     */
+    private static char sourceCell(char[][] grid, int symmetry, int i) {
+        int r = RING[i][0] - 1;
+        int c = RING[i][1] - 1;
+        if ((symmetry & 1) != 0) c = -c;
+        if ((symmetry & 2) != 0) r = -r;
+        if ((symmetry & 4) != 0) {
+            int t = r;
+            r = c;
+            c = t;
+        }
+        return grid[r + 1][c + 1];
+    }
+
+    private static boolean allows(char want, int have, int own) {
+        int opp = 3 - own;
+        return switch (want) {
+            case 'X' -> have == own;
+            case 'O' -> have == opp;
+            case '.' -> have == GoBoard.EMPTY;
+            case '#' -> have == GoBoard.BORDER;
+            case 'x' -> have != own;
+            case 'o' -> have != opp;
+            default -> true;
+        };
+    }
+}
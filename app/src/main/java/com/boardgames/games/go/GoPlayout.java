@@ -0,0 +1,136 @@
+package com.boardgames.games.go;
+
+import java.util.SplittableRandom;
+
+/**
+ * Playouts on a GoBoard. Each side plays a random legal move that doesn't
+ * fill its own eye, and passes when there is none. Simple ko only (no
+ * superko), which is the usual trade for speed.
+ *
+ * With the light policy, replies to the last move come first:
+ *  1. capture the stone just played if it's in atari
+ *  2. save own chains the last move put in atari
+ *  3. a move next to the last one matching a GoPatterns shape
+ * falling back to a uniformly random move.
+ *
+ * One instance per thread; the board is played forward in place.
+ */
+public class GoPlayout {
+
+    private final SplittableRandom random;
+    private final boolean light;
+    private final int[] scoreStack;
+    private final boolean[] scoreVisited;
+    private final int[] candidates = new int[8];
+    private final int[] ring;
+    private long moves;
+
+    public GoPlayout(long seed, int boardSize) {
+        this(seed, boardSize, false);
+    }
+
+    public GoPlayout(long seed, int boardSize, boolean light) {
+        this.random = new SplittableRandom(seed);
+        this.light = light;
+        int stride = boardSize + 2;
+        this.ring = new int[]{-stride - 1, -stride, -stride + 1, -1, 1, stride - 1, stride, stride + 1};
+        int points = (boardSize + 2) * (boardSize + 2);
+        this.scoreStack = new int[points];
+        this.scoreVisited = new boolean[points];
+    }
+
+    /**
+     * Play to the end (two passes or maxMoves) and return the area score,
+     * black minus white minus komi.
+     */
+    public double play(GoBoard board, byte toMove, double komi, int maxMoves) {
+        byte c = toMove;
+        int passes = 0;
+
+        for (int i = 0; i < maxMoves && passes < 2; i++) {
+            int p = policyMove(board, c);
+            if (p == GoGame.PASS) {
+                board.pass();
+                passes++;
+            } else {
+                board.play(p, c);
+                passes = 0;
+            }
+            moves++;
+            c = GoBoard.opponent(c);
+        }
+        return board.areaScore(komi, scoreStack, scoreVisited);
+    }
+
+    /**
+     * Next playout move for c: a reply to the last move if the light policy
+     * finds one, else randomMove.
+     */
+    public int policyMove(GoBoard board, byte c) {
+        int last = board.getLastMove();
+        if (!light || last == GoBoard.NO_POINT) {
+            return randomMove(board, c);
+        }
+
+        // 1-2. Captures and escapes around the last move
+        int count = 0;
+        if (board.inAtari(last)) {
+            count = addCandidate(board, c, board.atariPoint(last), count);
+        }
+        int[] offsets = board.neighbourOffsets();
+        for (int d : offsets) {
+            int n = last + d;
+            if (board.colorAt(n) == c && board.inAtari(n)) {
+                count = addCandidate(board, c, board.atariPoint(n), count);
+            }
+        }
+        if (count > 0) return candidates[random.nextInt(count)];
+
+        // 3. Shapes around the last move
+        for (int d : ring) {
+            int q = last + d;
+            if (board.colorAt(q) == GoBoard.EMPTY && GoPatterns.isGood(board.pattern3x3(q))) {
+                count = addCandidate(board, c, q, count);
+            }
+        }
+        if (count > 0) return candidates[random.nextInt(count)];
+
+        return randomMove(board, c);
+    }
+
+    private int addCandidate(GoBoard board, byte c, int p, int count) {
+        if (count < candidates.length && !board.isEye(p, c) && board.isLegal(p, c)) {
+            candidates[count++] = p;
+        }
+        return count;
+    }
+
+    /**
+     * A random legal, non-eye-filling point for c, or PASS.
+     * Starts at a random empty point and scans on from there.
+     */
+    public int randomMove(GoBoard board, byte c) {
+        int count = board.emptyCount();
+        if (count == 0) return GoGame.PASS;
+
+        int start = random.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int idx = start + i;
+            if (idx >= count) idx -= count;
+            int p = board.emptyAt(idx);
+            if (!board.isEye(p, c) && board.isLegal(p, c)) return p;
+        }
+        return GoGame.PASS;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Moves played by this instance so far.
+     */
+    public long getMoves() {
+        return moves;
+    }
+}
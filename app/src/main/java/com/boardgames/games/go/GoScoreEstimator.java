@@ -0,0 +1,174 @@
+package com.boardgames.games.go;
+
+/**
+ * Live score estimate for a Go board, kept up to date move by move.
+ *
+ * Every stone spreads influence to the points within Manhattan distance 3
+ * (weights 8, 4, 2, 1), black positive and white negative. From the summed
+ * influence each point gets an owner:
+ *  - an empty point belongs to whoever's influence there is at least TERRITORY
+ *  - a stone belongs to its colour, unless the opponent's influence around
+ *    it beats its own by DEAD_STONE, in which case it's counted as dead
+ *    (the opponent's point, as under area scoring)
+ *
+ * The estimator listens to the board, and a stone appearing or disappearing
+ * only touches the 25 points around it, so an update costs the same on 9x9
+ * and 19x19, and reading the score or an owner is O(1). Updates run on the
+ * thread that plays on the board; read from that thread too (the FX thread
+ * for the UI's game).
+ */
+public class GoScoreEstimator implements GoBoard.StoneListener {
+
+    public static final int TERRITORY = 3;
+    public static final int DEAD_STONE = 4;
+
+    private static final int RADIUS = 3;
+    private static final int[] WEIGHT = {8, 4, 2, 1};
+
+    private final GoBoard board;
+    private final double komi;
+    private final int size;
+    private final int stride;
+
+    private final int[] influence;  // black minus white, per padded point
+    private final byte[] owner;     // +1 black, -1 white, 0 neutral
+    private int ownedBalance;       // sum of owner over the board
+    private long version;
+
+    public GoScoreEstimator(GoBoard board, double komi) {
+        this.board = board;
+        this.komi = komi;
+        this.size = board.getSize();
+        this.stride = board.getStride();
+        this.influence = new int[board.pointCount()];
+        this.owner = new byte[board.pointCount()];
+
+        boardReset(board);
+        board.setStoneListener(this);
+    }
+
+    /**
+     * Stop following the board.
+     */
+    public void detach() {
+        board.setStoneListener(null);
+    }
+
+    /**
+     * Estimated final score, black minus white minus komi.
+     */
+    public double getScore() {
+        return ownedBalance - komi;
+    }
+
+    /**
+     * +1 black, -1 white, 0 undecided.
+     */
+    public int getOwner(int point) {
+        return owner[point];
+    }
+
+    public int getInfluence(int point) {
+        return influence[point];
+    }
+
+    public boolean isDead(int point) {
+        byte c = board.colorAt(point);
+        return c == GoBoard.BLACK && owner[point] < 0 || c == GoBoard.WHITE && owner[point] > 0;
+    }
+
+    /**
+     * Bumped on every change, so a view can skip redrawing when nothing moved.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // ===== Board events =====
+
+    @Override
+    public void stoneAdded(int point, byte color) {
+        spread(point, color == GoBoard.BLACK ? 1 : -1);
+    }
+
+    @Override
+    public void stoneRemoved(int point, byte color) {
+        spread(point, color == GoBoard.BLACK ? -1 : 1);
+    }
+
+    @Override
+    public void boardReset(GoBoard b) {
+        java.util.Arrays.fill(influence, 0);
+        java.util.Arrays.fill(owner, (byte) 0);
+        ownedBalance = 0;
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int p = board.point(x, y);
+                byte c = board.colorAt(p);
+                if (c == GoBoard.BLACK || c == GoBoard.WHITE) {
+                    addInfluence(x, y, c == GoBoard.BLACK ? 1 : -1);
+                }
+            }
+        }
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                updateOwner(board.point(x, y));
+            }
+        }
+        version++;
+    }
+
+    // ===== Incremental update =====
+
+    /**
+     * Add (sign +1 black / -1 white) one stone's influence around p and
+     * re-own just the points it reaches. The stone's own point is included,
+     * so its colour change is picked up too.
+     */
+    private void spread(int p, int sign) {
+        int px = board.x(p);
+        int py = board.y(p);
+        addInfluence(px, py, sign);
+
+        for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+            int y = py + dy;
+            if (y < 0 || y >= size) continue;
+            int reach = RADIUS - Math.abs(dy);
+            for (int dx = -reach; dx <= reach; dx++) {
+                int x = px + dx;
+                if (x < 0 || x >= size) continue;
+                updateOwner((y + 1) * stride + x + 1);
+            }
+        }
+        version++;
+    }
+
+    private void addInfluence(int px, int py, int sign) {
+        for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+            int y = py + dy;
+            if (y < 0 || y >= size) continue;
+            int reach = RADIUS - Math.abs(dy);
+            for (int dx = -reach; dx <= reach; dx++) {
+                int x = px + dx;
+                if (x < 0 || x >= size) continue;
+                influence[(y + 1) * stride + x + 1] += sign * WEIGHT[Math.abs(dx) + Math.abs(dy)];
+            }
+        }
+    }
+
+    private void updateOwner(int p) {
+        int inf = influence[p];
+        byte c = board.colorAt(p);
+        byte o;
+        if (c == GoBoard.BLACK) {
+            o = (byte) (inf <= -DEAD_STONE ? -1 : 1);
+        } else if (c == GoBoard.WHITE) {
+            o = (byte) (inf >= DEAD_STONE ? 1 : -1);
+        } else {
+            o = (byte) (inf >= TERRITORY ? 1 : inf <= -TERRITORY ? -1 : 0);
+        }
+        ownedBalance += o - owner[p];
+        owner[p] = o;
+    }
+}
@@ -0,0 +1,61 @@
+package com.boardgames.games.mancala;
+
+import java.util.Random;
+
+/**
+ * AI for Kalah.
+ * - EASY: random pit
+ * - MEDIUM: fixed 6-ply search
+ * - HARD: iterative deepening within a time budget, with exact endgames
+ *   once the endgame table is ready
+ */
+public class MancalaAI {
+
+    public enum Difficulty {
+        EASY, MEDIUM, HARD
+    }
+
+    private static final int MEDIUM_DEPTH = 6;
+    private static final long HARD_TIME_MILLIS = 400;
+    private static final int TT_BITS = 20; // 16 MB
+
+    private final Difficulty difficulty;
+    private final MancalaSearch search;
+    private final Random rand = new Random();
+    private final int[] moves = new int[MancalaGame.PITS];
+
+    public MancalaAI(Difficulty difficulty) {
+        this.difficulty = difficulty;
+        this.search = switch (difficulty) {
+            case EASY -> null;
+            case MEDIUM -> new MancalaSearch(16, null);
+            case HARD -> new MancalaSearch(TT_BITS, null);
+        };
+        if (difficulty == Difficulty.HARD) {
+            MancalaEndgameDb.sharedAsync();
+        }
+    }
+
+    /**
+     * Pit to sow for the player to move. Searches a copy, so the live game is untouched.
+     */
+    public int chooseMove(MancalaGame game) {
+        // A single pit to sow needs no search
+        if (difficulty != Difficulty.EASY && game.generateMoves(moves) == 1) {
+            return moves[0];
+        }
+        return switch (difficulty) {
+            case EASY -> moves[rand.nextInt(game.generateMoves(moves))];
+            case MEDIUM -> search.bestMove(game.copy(), 0, MEDIUM_DEPTH);
+            case HARD -> {
+                // Plain search until the endgame table has finished building
+                search.setEndgameDb(MancalaEndgameDb.sharedIfReady());
+                yield search.bestMove(game.copy(), HARD_TIME_MILLIS, MancalaSearch.MAX_PLY);
+            }
+        };
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
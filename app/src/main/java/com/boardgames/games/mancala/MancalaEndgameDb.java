@@ -0,0 +1,288 @@
+package com.boardgames.games.mancala;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exact Kalah endgames by seeds left on the board.
+ *
+ * For every way of spreading up to maxSeeds seeds over the 12 pits, the
+ * table stores how many more seeds the player to move will bank than the
+ * opponent under perfect play (stores don't matter for the rest of the
+ * game, so they aren't part of the index). Positions are kept from the
+ * mover's side (their pits first), ranked as compositions of the seed
+ * count into 12 parts, one byte each.
+ *
+ * Every move either banks a seed (store, capture, end of game) or only
+ * moves seeds forward on the mover's own side, so solving by seed count
+ * with a memoised recursion terminates without any cycles.
+ *
+ * Sizes: 12 seeds ~2.7M positions, 15 seeds ~17M.
+ */
+public class MancalaEndgameDb {
+
+    public static final int DEFAULT_MAX_SEEDS = 14;
+
+    private static final int CELLS = 2 * MancalaGame.PITS;
+    private static final byte UNKNOWN = Byte.MIN_VALUE;
+
+    private static volatile MancalaEndgameDb shared;
+    private static CompletableFuture<MancalaEndgameDb> sharedBuild;
+
+    private final int maxSeeds;
+    private final long[][] ways;     // ways[parts][sum] = compositions of sum into parts
+    private final long[][] waysUpTo; // waysUpTo[parts][s] = ways[parts][0] + ... + ways[parts][s - 1]
+    private final long[] levelStart; // first index of each seed count
+    private final byte[] values;
+
+    // Recursion scratch: one 13-cell frame (12 pits + mover's store) per depth
+    private int[][] frames = new int[64][CELLS + 1];
+
+    public MancalaEndgameDb(int maxSeeds) {
+        this.maxSeeds = maxSeeds;
+
+        ways = new long[CELLS + 1][maxSeeds + 1];
+        ways[0][0] = 1;
+        for (int parts = 1; parts <= CELLS; parts++) {
+            long sum = 0;
+            for (int s = 0; s <= maxSeeds; s++) {
+                sum += ways[parts - 1][s];
+                ways[parts][s] = sum;
+            }
+        }
+
+        waysUpTo = new long[CELLS + 1][maxSeeds + 2];
+        for (int parts = 0; parts <= CELLS; parts++) {
+            for (int s = 0; s <= maxSeeds; s++) {
+                waysUpTo[parts][s + 1] = waysUpTo[parts][s] + ways[parts][s];
+            }
+        }
+
+        levelStart = new long[maxSeeds + 2];
+        for (int k = 0; k <= maxSeeds; k++) {
+            levelStart[k + 1] = levelStart[k] + ways[CELLS][k];
+        }
+        if (levelStart[maxSeeds + 1] > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many seeds for an in-memory table: " + maxSeeds);
+        }
+
+        values = new byte[(int) levelStart[maxSeeds + 1]];
+        Arrays.fill(values, UNKNOWN);
+    }
+
+    /**
+     * Start building the shared table on a background thread (once), so the
+     * first HARD move doesn't wait for it.
+     */
+    public static synchronized CompletableFuture<MancalaEndgameDb> sharedAsync() {
+        if (sharedBuild == null) {
+            sharedBuild = CompletableFuture.supplyAsync(MancalaEndgameDb::shared);
+        }
+        return sharedBuild;
+    }
+
+    /**
+     * The shared table if it has been built already, else null.
+     */
+    public static MancalaEndgameDb sharedIfReady() {
+        return shared;
+    }
+
+    /**
+     * Process-wide table with DEFAULT_MAX_SEEDS, built on first use (a few seconds).
+     */
+    public static MancalaEndgameDb shared() {
+        MancalaEndgameDb db = shared;
+        if (db == null) {
+            synchronized (MancalaEndgameDb.class) {
+                db = shared;
+                if (db == null) {
+                    db = new MancalaEndgameDb(DEFAULT_MAX_SEEDS);
+                    db.build();
+                    shared = db;
+                }
+            }
+        }
+        return db;
+    }
+
+    public int getMaxSeeds() {
+        return maxSeeds;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Solve every position, smallest seed counts first.
+     */
+    public void build() {
+        int[] cells = new int[CELLS];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == UNKNOWN) {
+                unrank(i, cells);
+                System.arraycopy(cells, 0, frames[0], 0, CELLS);
+                solve(0);
+            }
+        }
+    }
+
+    /**
+     * Seeds the player to move will bank minus the opponent's, from here to
+     * the end (so final store difference = storeDiff() + this).
+     * The game must have at most getMaxSeeds() seeds left on the board.
+     */
+    public int value(MancalaGame game) {
+        int mover = game.currentPlayer();
+        int own = MancalaGame.firstPit(mover);
+        int opp = MancalaGame.firstPit(1 - mover);
+
+        long r = 0;
+        int rem = 0;
+        for (int i = 0; i < MancalaGame.PITS; i++) {
+            rem += game.getSeeds(own + i) + game.getSeeds(opp + i);
+        }
+        int k = rem;
+        int cell = 0;
+        for (int half = 0; half < 2; half++) {
+            int first = half == 0 ? own : opp;
+            for (int i = 0; i < MancalaGame.PITS; i++, cell++) {
+                if (cell == CELLS - 1) break;
+                int c = game.getSeeds(first + i);
+                r += rankPart(cell, rem, c);
+                rem -= c;
+            }
+        }
+        return values[(int) (levelStart[k] + r)];
+    }
+
+    // ===== Solving =====
+
+    /**
+     * Value of the position in frames[depth] (cells 0-11, mover first).
+     */
+    private int solve(int depth) {
+        int[] pos = frames[depth];
+        int index = index(pos);
+        if (values[index] != UNKNOWN) return values[index];
+
+        if (depth + 2 >= frames.length) {
+            frames = Arrays.copyOf(frames, frames.length * 2);
+            for (int i = depth + 1; i < frames.length; i++) {
+                if (frames[i] == null) frames[i] = new int[CELLS + 1];
+            }
+        }
+
+        int ownSide = 0;
+        int oppSide = 0;
+        for (int i = 0; i < MancalaGame.PITS; i++) {
+            ownSide += pos[i];
+            oppSide += pos[i + MancalaGame.PITS];
+        }
+        if (ownSide == 0 || oppSide == 0) {
+            // Game over: each side banks its own seeds
+            values[index] = (byte) (ownSide - oppSide);
+            return ownSide - oppSide;
+        }
+
+        int best = Integer.MIN_VALUE;
+        for (int pit = 0; pit < MancalaGame.PITS; pit++) {
+            if (pos[pit] == 0) continue;
+
+            // Relative frame: 0-5 mover's pits, 6 mover's store, 7-12 opponent's pits
+            int[] child = frames[depth + 1];
+            for (int i = 0; i < MancalaGame.PITS; i++) {
+                child[i] = pos[i];
+                child[i + MancalaGame.PITS + 1] = pos[i + MancalaGame.PITS];
+            }
+            child[MancalaGame.PITS] = 0;
+
+            int seeds = child[pit];
+            child[pit] = 0;
+            int i = pit;
+            while (seeds-- > 0) {
+                i = i == CELLS ? 0 : i + 1;
+                child[i]++;
+            }
+
+            int gain = child[MancalaGame.PITS];
+            if (i < MancalaGame.PITS && child[i] == 1 && child[CELLS - i] > 0) {
+                gain += child[CELLS - i] + 1;
+                child[i] = 0;
+                child[CELLS - i] = 0;
+            }
+
+            int ownLeft = 0;
+            int oppLeft = 0;
+            for (int j = 0; j < MancalaGame.PITS; j++) {
+                ownLeft += child[j];
+                oppLeft += child[j + MancalaGame.PITS + 1];
+            }
+
+            int score;
+            if (ownLeft == 0 || oppLeft == 0) {
+                score = gain + ownLeft - oppLeft;
+            } else if (i == MancalaGame.PITS) {
+                // Extra turn: same mover, drop the store cell
+                System.arraycopy(child, MancalaGame.PITS + 1, child, MancalaGame.PITS, MancalaGame.PITS);
+                score = gain + solve(depth + 1);
+            } else {
+                // Opponent to move: their pits first
+                for (int j = 0; j < MancalaGame.PITS; j++) {
+                    int t = child[j];
+                    child[j] = child[j + MancalaGame.PITS + 1];
+                    child[j + MancalaGame.PITS] = t;
+                }
+                score = gain - solve(depth + 1);
+            }
+            best = Math.max(best, score);
+        }
+
+        values[index] = (byte) best;
+        return best;
+    }
+
+    // ===== Indexing =====
+
+    private int index(int[] cells) {
+        int k = 0;
+        for (int i = 0; i < CELLS; i++) k += cells[i];
+
+        long r = 0;
+        int rem = k;
+        for (int i = 0; i < CELLS - 1; i++) {
+            r += rankPart(i, rem, cells[i]);
+            rem -= cells[i];
+        }
+        return (int) (levelStart[k] + r);
+    }
+
+    /**
+     * Compositions that agree so far but put fewer than c seeds in cell i.
+     */
+    private long rankPart(int i, int rem, int c) {
+        // ways[p][rem] + ways[p][rem - 1] + ... + ways[p][rem - c + 1]
+        long[] prefix = waysUpTo[CELLS - 1 - i];
+        return prefix[rem + 1] - prefix[rem - c + 1];
+    }
+
+    private void unrank(int index, int[] cells) {
+        int k = 0;
+        while (levelStart[k + 1] <= index) k++;
+
+        long r = index - levelStart[k];
+        int rem = k;
+        for (int i = 0; i < CELLS - 1; i++) {
+            int partsAfter = CELLS - 1 - i;
+            int c = 0;
+            while (r >= ways[partsAfter][rem - c]) {
+                r -= ways[partsAfter][rem - c];
+                c++;
+            }
+            cells[i] = c;
+            rem -= c;
+        }
+        cells[CELLS - 1] = rem;
+    }
+}
@@ -0,0 +1,266 @@
+package com.boardgames.games.mancala;
+
+import com.boardgames.games.GameState;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Kalah, 6 pits per side:
+ * - Sowing runs counter-clockwise, into your own store but never the opponent's
+ * - Last seed in your own store: move again
+ * - Last seed in an empty pit on your side, with seeds opposite: capture both
+ * - Once either side is empty, every player keeps what is left on their side
+ *
+ * The whole position is one 14-byte array:
+ *   0-5 player 0's pits, 6 player 0's store, 7-12 player 1's pits, 13 player 1's store
+ * so sowing, undo and copying are plain array work with no allocation.
+ * A move is the index of the pit to sow.
+ */
+public class MancalaGame implements GameState {
+
+    public static final int PITS = 6;
+    public static final int DEFAULT_SEEDS = 4;
+    public static final int SIZE = 14;
+
+    private static final int MAX_SEEDS_PER_PIT = 8;
+    private static final int UNDO_STRIDE = 16;  // 14 cells, side to move, player 0's side total
+
+    // Zobrist keys: [cell][seed count], side to move
+    private static final long[][] ZOBRIST = new long[SIZE][2 * PITS * MAX_SEEDS_PER_PIT + 1];
+    private static final long ZOBRIST_SIDE;
+
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x4A1AL);
+        for (long[] cell : ZOBRIST) {
+            for (int i = 0; i < cell.length; i++) cell[i] = rnd.nextLong();
+        }
+        ZOBRIST_SIDE = rnd.nextLong();
+    }
+
+    private final byte[] pits = new byte[SIZE];
+    private final int totalSeeds;
+    private int player;
+
+    // Kept up to date by makeMove/undo so the search never rescans the board
+    private int side0, side1;
+    private long hash;
+
+    private byte[] undoStack = new byte[UNDO_STRIDE * 64];
+    private long[] hashStack = new long[64];
+    private int undoDepth;
+
+    public MancalaGame() {
+        this(DEFAULT_SEEDS);
+    }
+
+    public MancalaGame(int seedsPerPit) {
+        if (seedsPerPit < 1 || seedsPerPit > MAX_SEEDS_PER_PIT) {
+            throw new IllegalArgumentException("1-" + MAX_SEEDS_PER_PIT + " seeds per pit");
+        }
+        for (int i = 0; i < PITS; i++) {
+            pits[i] = (byte) seedsPerPit;
+            pits[i + PITS + 1] = (byte) seedsPerPit;
+        }
+        side0 = seedsPerPit * PITS;
+        side1 = seedsPerPit * PITS;
+        totalSeeds = side0 + side1;
+        hash = computeHash();
+    }
+
+    public MancalaGame(MancalaGame other) {
+        System.arraycopy(other.pits, 0, pits, 0, SIZE);
+        totalSeeds = other.totalSeeds;
+        player = other.player;
+        side0 = other.side0;
+        side1 = other.side1;
+        hash = other.hash;
+    }
+
+    // ===== Board =====
+
+    public static int store(int p) {
+        return p == 0 ? PITS : SIZE - 1;
+    }
+
+    public static int firstPit(int p) {
+        return p == 0 ? 0 : PITS + 1;
+    }
+
+    public static int opposite(int pit) {
+        return 2 * PITS - pit;
+    }
+
+    public int getSeeds(int cell) {
+        return pits[cell];
+    }
+
+    public int getStore(int p) {
+        return pits[store(p)];
+    }
+
+    public int seedsOnSide(int p) {
+        return p == 0 ? side0 : side1;
+    }
+
+    public int seedsOnBoard() {
+        return side0 + side1;
+    }
+
+    public boolean canMove(int pit) {
+        int first = firstPit(player);
+        return pit >= first && pit < first + PITS && pits[pit] > 0;
+    }
+
+    /**
+     * Store difference from the point of view of the player to move.
+     */
+    public int storeDiff() {
+        return pits[store(player)] - pits[store(1 - player)];
+    }
+
+    // ===== GameState =====
+
+    @Override
+    public int currentPlayer() {
+        return player;
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return side0 == 0 || side1 == 0;
+    }
+
+    @Override
+    public int winner() {
+        if (!isTerminal()) return NO_PLAYER;
+        int diff = pits[store(0)] - pits[store(1)];
+        return diff > 0 ? 0 : diff < 0 ? 1 : NO_PLAYER;
+    }
+
+    @Override
+    public boolean isChanceNode() {
+        return false;
+    }
+
+    @Override
+    public int chanceOutcomes(int[] outcomes, double[] probabilities) {
+        return 0;
+    }
+
+    @Override
+    public void applyChance(int outcome) {
+        throw new UnsupportedOperationException("Kalah has no chance moves");
+    }
+
+    @Override
+    public int generateMoves(int[] moves) {
+        int first = firstPit(player);
+        int count = 0;
+        for (int i = first; i < first + PITS; i++) {
+            if (pits[i] > 0) moves[count++] = i;
+        }
+        return count;
+    }
+
+    @Override
+    public void makeMove(int pit) {
+        pushUndo();
+
+        int ownStore = store(player);
+        int skip = store(1 - player);
+        int seeds = pits[pit];
+        long h = hash ^ ZOBRIST[pit][seeds] ^ ZOBRIST[pit][0];
+        pits[pit] = 0;
+
+        int i = pit;
+        while (seeds > 0) {
+            i = i == SIZE - 1 ? 0 : i + 1;
+            if (i == skip) continue;
+            h ^= ZOBRIST[i][pits[i]] ^ ZOBRIST[i][pits[i] + 1];
+            pits[i]++;
+            seeds--;
+        }
+
+        if (i != ownStore) {
+            int first = firstPit(player);
+            int opp = opposite(i);
+            if (i >= first && i < first + PITS && pits[i] == 1 && pits[opp] > 0) {
+                int captured = pits[opp] + 1;
+                h ^= ZOBRIST[ownStore][pits[ownStore]] ^ ZOBRIST[ownStore][pits[ownStore] + captured]
+                        ^ ZOBRIST[i][1] ^ ZOBRIST[i][0]
+                        ^ ZOBRIST[opp][captured - 1] ^ ZOBRIST[opp][0];
+                pits[ownStore] += (byte) captured;
+                pits[i] = 0;
+                pits[opp] = 0;
+            }
+            player = 1 - player;
+            h ^= ZOBRIST_SIDE;
+        }
+
+        side0 = 0;
+        side1 = 0;
+        for (int j = 0; j < PITS; j++) {
+            side0 += pits[j];
+            side1 += pits[j + PITS + 1];
+        }
+        hash = h;
+
+        // One side empty ends the game: everyone banks their own side
+        if (side0 == 0 || side1 == 0) {
+            for (int p = 0; p < 2; p++) {
+                pits[store(p)] += (byte) seedsOnSide(p);
+                Arrays.fill(pits, firstPit(p), firstPit(p) + PITS, (byte) 0);
+            }
+            side0 = 0;
+            side1 = 0;
+            hash = computeHash();
+        }
+    }
+
+    @Override
+    public void undo() {
+        int base = --undoDepth * UNDO_STRIDE;
+        System.arraycopy(undoStack, base, pits, 0, SIZE);
+        player = undoStack[base + SIZE];
+        side0 = undoStack[base + SIZE + 1];
+        side1 = totalSeeds - side0 - pits[store(0)] - pits[store(1)];
+        hash = hashStack[undoDepth];
+    }
+
+    @Override
+    public long hash() {
+        return hash;
+    }
+
+    @Override
+    public int maxMoves() {
+        return PITS;
+    }
+
+    @Override
+    public MancalaGame copy() {
+        return new MancalaGame(this);
+    }
+
+    private long computeHash() {
+        long h = player == 1 ? ZOBRIST_SIDE : 0;
+        for (int i = 0; i < SIZE; i++) {
+            h ^= ZOBRIST[i][pits[i]];
+        }
+        return h;
+    }
+
+    private void pushUndo() {
+        int base = undoDepth * UNDO_STRIDE;
+        if (base == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, base * 2);
+            hashStack = Arrays.copyOf(hashStack, hashStack.length * 2);
+        }
+        System.arraycopy(pits, 0, undoStack, base, SIZE);
+        undoStack[base + SIZE] = (byte) player;
+        undoStack[base + SIZE + 1] = (byte) side0;
+        hashStack[undoDepth] = hash;
+        undoDepth++;
+    }
+}
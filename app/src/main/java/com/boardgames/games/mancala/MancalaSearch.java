@@ -0,0 +1,214 @@
+package com.boardgames.games.mancala;
+
+/**
+ * Principal variation search for Kalah with iterative deepening,
+ * a transposition table and the endgame database.
+ *
+ * Scores are store differences in seeds from the side to move, so a
+ * database hit or a finished game is an exact score, and the static
+ * evaluation is simply the current store difference. An extra turn
+ * keeps the same side to move, so the score isn't negated for it.
+ *
+ * Not thread-safe: one instance per AI.
+ */
+public class MancalaSearch {
+
+    public static final int MAX_PLY = 128;
+
+    private static final int INF = 1000;
+    private static final int EXACT = 0, LOWER = 1, UPPER = 2;
+    private static final int TIME_CHECK_MASK = 4095;
+    private static final int SOLVED_DEPTH = 0xFF; // TT depth for subtrees searched to the end
+
+    private MancalaEndgameDb endgameDb;
+
+    // Transposition table, interleaved [key, packed (move, depth, bound, score)]
+    // so a probe touches one cache line; always replace
+    private final long[] tt;
+    private final int ttMask;
+
+    private final int[][] moveBuffers = new int[MAX_PLY][MancalaGame.PITS];
+
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+    private boolean horizonHit;  // did the iteration stop anywhere on depth?
+    private int lastScore;
+    private int lastDepth;
+
+    /**
+     * @param ttBits log2 of the transposition table entries (16 bytes each)
+     * @param endgameDb exact endgames, or null to search to the end
+     */
+    public MancalaSearch(int ttBits, MancalaEndgameDb endgameDb) {
+        this.endgameDb = endgameDb;
+        tt = new long[2 << ttBits];
+        ttMask = (1 << ttBits) - 1;
+    }
+
+    /**
+     * Deepen until maxDepth or until the time budget runs out, and return the
+     * best move of the last finished iteration. The game is restored afterwards.
+     */
+    public int bestMove(MancalaGame game, long timeMillis, int maxDepth) {
+        nodes = 0;
+        aborted = false;
+        deadline = timeMillis > 0 ? System.nanoTime() + timeMillis * 1_000_000L : Long.MAX_VALUE;
+
+        int[] moves = moveBuffers[0];
+        game.generateMoves(moves);
+        int best = moves[0];
+        lastDepth = 0;
+
+        for (int depth = 1; depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+            horizonHit = false;
+            int score = pvs(game, depth, -INF, INF, 0);
+            if (aborted) break;
+
+            int move = probeMove(game.hash());
+            if (move >= 0) best = move;
+            lastScore = score;
+            lastDepth = depth;
+
+            // Every line reached the end or the database: the score is exact.
+            // Even with a single legal move, so that getLastScore() holds.
+            if (!horizonHit) break;
+        }
+        return best;
+    }
+
+    public void setEndgameDb(MancalaEndgameDb endgameDb) {
+        this.endgameDb = endgameDb;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Predicted final store difference for the mover, from the last finished iteration.
+     */
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(tt, 0);
+    }
+
+    private int pvs(MancalaGame game, int depth, int alpha, int beta, int ply) {
+        if ((++nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        if (game.isTerminal()) return game.storeDiff();
+        if (endgameDb != null && game.seedsOnBoard() <= endgameDb.getMaxSeeds()) {
+            return game.storeDiff() + endgameDb.value(game);
+        }
+        if (depth == 0 || ply >= MAX_PLY - 1) {
+            horizonHit = true;
+            return game.storeDiff();
+        }
+
+        long key = game.hash();
+        int slot = ((int) key & ttMask) << 1;
+        int ttMove = -1;
+        if (tt[slot] == key) {
+            long data = tt[slot + 1];
+            ttMove = (int) (data & 0xF) - 1;
+            int ttDepth = (int) (data >>> 4) & 0xFF;
+            int bound = (int) (data >>> 12) & 3;
+            int ttScore = (int) (data >>> 14) - INF;
+            if (ttDepth >= depth
+                    && (bound == EXACT
+                    || bound == LOWER && ttScore >= beta
+                    || bound == UPPER && ttScore <= alpha)) {
+                if (ttDepth != SOLVED_DEPTH) horizonHit = true;
+                return ttScore;
+            }
+        }
+
+        int[] moves = moveBuffers[ply];
+        int count = orderMoves(game, moves, ttMove);
+
+        int player = game.currentPlayer();
+        int originalAlpha = alpha;
+        boolean outerHorizonHit = horizonHit;
+        horizonHit = false;
+        int bestScore = -INF;
+        int bestMove = moves[0];
+
+        for (int i = 0; i < count; i++) {
+            game.makeMove(moves[i]);
+            boolean again = game.currentPlayer() == player;
+
+            int score;
+            if (i == 0) {
+                score = child(game, again, depth, alpha, beta, ply);
+            } else {
+                // Null window first, full window only if it might be better
+                score = child(game, again, depth, alpha, alpha + 1, ply);
+                if (score > alpha && score < beta) {
+                    score = child(game, again, depth, alpha, beta, ply);
+                }
+            }
+            game.undo();
+            if (aborted) return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moves[i];
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+
+        int bound = bestScore <= originalAlpha ? UPPER : bestScore >= beta ? LOWER : EXACT;
+        int storedDepth = horizonHit ? depth : SOLVED_DEPTH;
+        horizonHit |= outerHorizonHit;
+
+        tt[slot] = key;
+        tt[slot + 1] = (bestMove + 1)
+                | (long) storedDepth << 4
+                | (long) bound << 12
+                | (long) (bestScore + INF) << 14;
+        return bestScore;
+    }
+
+    private int child(MancalaGame game, boolean again, int depth, int alpha, int beta, int ply) {
+        return again
+                ? pvs(game, depth - 1, alpha, beta, ply + 1)
+                : -pvs(game, depth - 1, -beta, -alpha, ply + 1);
+    }
+
+    /**
+     * Transposition move first, then sowings that end in the store (extra turn),
+     * then the rest from the store end backwards.
+     */
+    private int orderMoves(MancalaGame game, int[] moves, int ttMove) {
+        int player = game.currentPlayer();
+        int first = MancalaGame.firstPit(player);
+        int store = MancalaGame.store(player);
+        int count = 0;
+
+        if (ttMove >= 0 && game.canMove(ttMove)) moves[count++] = ttMove;
+        for (int pit = first + MancalaGame.PITS - 1; pit >= first; pit--) {
+            if (pit != ttMove && game.getSeeds(pit) == store - pit) moves[count++] = pit;
+        }
+        for (int pit = first + MancalaGame.PITS - 1; pit >= first; pit--) {
+            int seeds = game.getSeeds(pit);
+            if (pit != ttMove && seeds > 0 && seeds != store - pit) moves[count++] = pit;
+        }
+        return count;
+    }
+
+    private int probeMove(long key) {
+        int slot = ((int) key & ttMask) << 1;
+        return tt[slot] == key ? (int) (tt[slot + 1] & 0xF) - 1 : -1;
+    }
+}
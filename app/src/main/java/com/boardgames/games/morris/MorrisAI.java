@@ -0,0 +1,149 @@
+package com.boardgames.games.morris;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * AI for Men's Morris.
+ * - EASY: random move
+ * - MEDIUM: shallow alpha-beta on material and mobility
+ * - HARD: deeper alpha-beta, and perfect play by table lookup once the
+ *   position is covered by the endgame database
+ *
+ * Three Men's Morris is small enough to solve on the spot; Nine Men's
+ * uses the file written by MorrisRetrograde, if one is installed.
+ */
+public class MorrisAI {
+
+    public enum Difficulty {
+        EASY, MEDIUM, HARD
+    }
+
+    private static final int MEDIUM_DEPTH = 2;
+    private static final int HARD_DEPTH = 4;
+    private static final int WIN = 100_000;
+
+    private static MorrisDatabase threeMensDb;
+
+    private final Difficulty difficulty;
+    private final MorrisDatabase database;
+    private final Random rand = new Random();
+    private final int[][] moveBuffers = new int[HARD_DEPTH + 1][MorrisGame.MAX_MOVES];
+
+    public MorrisAI(Difficulty difficulty, MorrisGame.Variant variant) {
+        this.difficulty = difficulty;
+        this.database = difficulty == Difficulty.HARD ? loadDatabase(variant) : null;
+    }
+
+    /**
+     * Endgame database for the variant, or null if there is none.
+     */
+    public static synchronized MorrisDatabase loadDatabase(MorrisGame.Variant variant) {
+        if (variant == MorrisGame.Variant.THREE) {
+            if (threeMensDb == null) {
+                MorrisRetrograde solver = new MorrisRetrograde(variant);
+                solver.solveUpTo(6);
+                threeMensDb = solver.toDatabase();
+            }
+            return threeMensDb;
+        }
+
+        Path file = MorrisDatabase.defaultPath(variant);
+        if (!Files.exists(file)) return null;
+        try {
+            return MorrisDatabase.open(file);
+        } catch (IOException e) {
+            System.err.println("Morris database not loaded: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Move for the player to act. Searches a copy, so the live game is untouched.
+     */
+    public int chooseMove(MorrisGame game) {
+        MorrisGame g = game.copy();
+        int[] moves = moveBuffers[0];
+        int count = g.generateMoves(moves);
+
+        if (difficulty == Difficulty.EASY) {
+            return moves[rand.nextInt(count)];
+        }
+
+        int depth = difficulty == Difficulty.HARD ? HARD_DEPTH : MEDIUM_DEPTH;
+        int best = moves[0];
+        int alpha = -WIN - 1;
+        for (int i = 0; i < count; i++) {
+            g.makeMove(moves[i]);
+            int score = -search(g, depth - 1, -WIN - 1, -alpha, 1);
+            g.undo();
+            if (score > alpha) {
+                alpha = score;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    private int search(MorrisGame game, int depth, int alpha, int beta, int ply) {
+        int winner = game.winner();
+        if (winner != MorrisGame.NO_PLAYER) {
+            return winner == game.currentPlayer() ? WIN - ply : -WIN + ply;
+        }
+        if (game.isTerminal()) return 0;
+
+        if (database != null) {
+            int v = database.value(game);
+            if (v != MorrisDatabase.UNKNOWN) {
+                // Prefer the quickest win and the slowest loss
+                if (MorrisDatabase.isWin(v)) return WIN - ply - MorrisDatabase.plies(v);
+                if (MorrisDatabase.isLoss(v)) return -WIN + ply + MorrisDatabase.plies(v);
+                return 0;
+            }
+        }
+        if (depth == 0) return evaluate(game);
+
+        int[] moves = moveBuffers[ply];
+        int count = game.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            game.makeMove(moves[i]);
+            int score = -search(game, depth - 1, -beta, -alpha, ply + 1);
+            game.undo();
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) break;
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Material first, then mobility, from the player to move.
+     */
+    private static int evaluate(MorrisGame game) {
+        int me = game.currentPlayer();
+        int them = 1 - me;
+        MorrisGame.Variant variant = game.getVariant();
+        int empty = variant.fullMask() & ~(game.getBoard(0) | game.getBoard(1));
+
+        int material = (game.pieceCount(me) - game.pieceCount(them)) * 100;
+        int mills = Integer.bitCount(MorrisGame.inMills(variant, game.getBoard(me)))
+                - Integer.bitCount(MorrisGame.inMills(variant, game.getBoard(them)));
+        return material + mills * 10 + mobility(variant, game.getBoard(me), empty)
+                - mobility(variant, game.getBoard(them), empty);
+    }
+
+    private static int mobility(MorrisGame.Variant variant, int pieces, int empty) {
+        int moves = 0;
+        for (int b = pieces; b != 0; b &= b - 1) {
+            moves += Integer.bitCount(variant.adjacency[Integer.numberOfTrailingZeros(b)] & empty);
+        }
+        return moves;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
@@ -0,0 +1,119 @@
+package com.boardgames.games.morris;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Solved Morris moving-phase positions (see MorrisRetrograde), looked up
+ * in constant time. Files are memory-mapped, so only the pages touched
+ * during a game are ever read.
+ *
+ * One byte per position, from the player to move:
+ *   0 draw, v > 0 win in v - 1 plies, v < 0 loss in -v - 1 plies
+ * (distances are capped at 126).
+ */
+public class MorrisDatabase {
+
+    public static final byte DRAW = 0;
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private final MorrisGame.Variant variant;
+    private final Map<Integer, ByteBuffer> classes;
+    private final Map<Integer, MorrisIndex> indexes = new HashMap<>();
+
+    MorrisDatabase(MorrisGame.Variant variant, Map<Integer, ByteBuffer> classes) {
+        this.variant = variant;
+        this.classes = classes;
+        for (int key : classes.keySet()) {
+            indexes.put(key, new MorrisIndex(variant.points, key >>> 8, key & 0xFF));
+        }
+    }
+
+    /**
+     * Where the database for a variant lives, unless -Dboardgames.morris.db=<file> says otherwise.
+     */
+    public static Path defaultPath(MorrisGame.Variant variant) {
+        String override = System.getProperty("boardgames.morris.db");
+        if (override != null) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".ancient-board-games",
+                "morris-" + variant.name().toLowerCase() + ".bin");
+    }
+
+    public static MorrisDatabase open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+
+            if (data.remaining() < 12 || data.getInt() != MorrisRetrograde.MAGIC) {
+                throw new IOException(file + " is not a Morris database");
+            }
+            MorrisGame.Variant variant = MorrisGame.Variant.values()[data.getInt()];
+            int count = data.getInt();
+
+            Map<Integer, ByteBuffer> classes = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                int own = data.getInt();
+                int opp = data.getInt();
+                long offset = data.getLong();
+                long size = data.getLong();
+                if (size != new MorrisIndex(variant.points, own, opp).size() || offset + size > ch.size()) {
+                    throw new IOException(file + " is truncated or corrupt");
+                }
+                classes.put(MorrisRetrograde.classKey(own, opp), data.slice((int) offset, (int) size));
+            }
+            return new MorrisDatabase(variant, classes);
+        }
+    }
+
+    public MorrisGame.Variant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Value for the player to move, or UNKNOWN if the position is still in the
+     * placing phase or its piece counts weren't solved.
+     */
+    public int value(MorrisGame game) {
+        if (game.getVariant() != variant || game.getInHand(0) > 0 || game.getInHand(1) > 0) {
+            return UNKNOWN;
+        }
+        int player = game.currentPlayer();
+        return value(game.getBoard(player), game.getBoard(1 - player));
+    }
+
+    public int value(int own, int opp) {
+        int key = MorrisRetrograde.classKey(Integer.bitCount(own), Integer.bitCount(opp));
+        ByteBuffer data = classes.get(key);
+        if (data == null) return UNKNOWN;
+        return data.get((int) indexes.get(key).rank(own, opp));
+    }
+
+    // ===== Value encoding =====
+
+    public static boolean isWin(int v) {
+        return v > 0 && v != UNKNOWN;
+    }
+
+    public static boolean isLoss(int v) {
+        return v < 0 && v != UNKNOWN;
+    }
+
+    public static int plies(int v) {
+        return v == DRAW ? 0 : Math.abs(v) - 1;
+    }
+
+    static byte win(int plies) {
+        return (byte) Math.min(Byte.MAX_VALUE, plies + 1);
+    }
+
+    static byte loss(int plies) {
+        return (byte) -Math.min(Byte.MAX_VALUE, plies + 1);
+    }
+}
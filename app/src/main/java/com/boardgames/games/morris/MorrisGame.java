@@ -0,0 +1,406 @@
+package com.boardgames.games.morris;
+
+import com.boardgames.games.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Men's Morris (nine or three men):
+ * - Players first place their pieces, then slide them along the lines
+ * - NINE: three in a row (a mill) removes an opponent piece, which can't
+ *   come from a mill unless every piece is in one; with three pieces left
+ *   a player may fly anywhere; under three pieces loses
+ * - THREE: a mill wins outright
+ * - A player who can't move loses; DRAW_PLIES plies without a mill is a draw
+ *
+ * The board is one bit mask per player (24 or 9 points), with precomputed
+ * adjacency and mill masks, so move generation and mill checks are a few
+ * AND/compare operations.
+ *
+ * A move packs from (FROM_HAND when placing), to, and the piece removed by
+ * a mill (NO_REMOVAL otherwise): from | to << 5 | remove << 10.
+ */
+public class MorrisGame implements GameState {
+
+    public enum Variant {
+        NINE(24, 9, true, false),
+        THREE(9, 3, false, true);
+
+        public final int points;
+        public final int pieces;
+        public final boolean flying;
+        public final boolean millWins;
+
+        final int[] adjacency;      // per point: mask of neighbours
+        final int[] mills;          // all mill masks
+        final int[][] millsThrough; // per point: the mills containing it
+
+        Variant(int points, int pieces, boolean flying, boolean millWins) {
+            this.points = points;
+            this.pieces = pieces;
+            this.flying = flying;
+            this.millWins = millWins;
+            this.adjacency = new int[points];
+
+            int[][] lines = points == 24 ? nineLines() : threeLines();
+            mills = new int[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                int[] line = lines[i];
+                mills[i] = 1 << line[0] | 1 << line[1] | 1 << line[2];
+                // Pieces move along the lines
+                for (int j = 0; j < 2; j++) {
+                    adjacency[line[j]] |= 1 << line[j + 1];
+                    adjacency[line[j + 1]] |= 1 << line[j];
+                }
+            }
+
+            millsThrough = new int[points][];
+            for (int p = 0; p < points; p++) {
+                int count = 0;
+                for (int m : mills) if ((m & 1 << p) != 0) count++;
+                millsThrough[p] = new int[count];
+                count = 0;
+                for (int m : mills) if ((m & 1 << p) != 0) millsThrough[p][count++] = m;
+            }
+        }
+
+        /**
+         * Three nested squares, points 0-7 / 8-15 / 16-23 clockwise from the
+         * top-left corner; odd points are side midpoints joined across rings.
+         */
+        private static int[][] nineLines() {
+            int[][] lines = new int[16][];
+            int n = 0;
+            for (int ring = 0; ring < 3; ring++) {
+                for (int side = 0; side < 4; side++) {
+                    int a = ring * 8 + side * 2;
+                    lines[n++] = new int[]{a, ring * 8 + side * 2 + 1, ring * 8 + (side * 2 + 2) % 8};
+                }
+            }
+            for (int mid = 1; mid < 8; mid += 2) {
+                lines[n++] = new int[]{mid, 8 + mid, 16 + mid};
+            }
+            return lines;
+        }
+
+        /**
+         * 3x3 grid, row by row; rows, columns and both diagonals.
+         */
+        private static int[][] threeLines() {
+            return new int[][]{
+                    {0, 1, 2}, {3, 4, 5}, {6, 7, 8},
+                    {0, 3, 6}, {1, 4, 7}, {2, 5, 8},
+                    {0, 4, 8}, {2, 4, 6}
+            };
+        }
+
+        public int fullMask() {
+            return (1 << points) - 1;
+        }
+    }
+
+    public static final int FROM_HAND = 31;
+    public static final int NO_REMOVAL = 31;
+    public static final int DRAW_PLIES = 100;
+    public static final int MAX_MOVES = 640;
+
+    private static final long[][] ZOBRIST_POINT = new long[2][24];
+    private static final long[][] ZOBRIST_HAND = new long[2][10];
+    private static final long ZOBRIST_SIDE;
+
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x9A11L);
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < 24; i++) ZOBRIST_POINT[p][i] = rnd.nextLong();
+            for (int i = 0; i < 10; i++) ZOBRIST_HAND[p][i] = rnd.nextLong();
+        }
+        ZOBRIST_SIDE = rnd.nextLong();
+    }
+
+    private final Variant variant;
+    private final int[] board = new int[2];
+    private final int[] inHand = new int[2];
+    private int player;
+    private int quietPlies;
+
+    private long[] undoStack = new long[64];
+    private int undoDepth;
+
+    public MorrisGame() {
+        this(Variant.NINE);
+    }
+
+    public MorrisGame(Variant variant) {
+        this.variant = variant;
+        inHand[0] = variant.pieces;
+        inHand[1] = variant.pieces;
+    }
+
+    public MorrisGame(MorrisGame other) {
+        this.variant = other.variant;
+        board[0] = other.board[0];
+        board[1] = other.board[1];
+        inHand[0] = other.inHand[0];
+        inHand[1] = other.inHand[1];
+        player = other.player;
+        quietPlies = other.quietPlies;
+    }
+
+    /**
+     * Position from masks, for the endgame database (nothing in hand).
+     */
+    public static MorrisGame ofPosition(Variant variant, int board0, int board1, int toMove) {
+        MorrisGame game = new MorrisGame(variant);
+        game.board[0] = board0;
+        game.board[1] = board1;
+        game.inHand[0] = 0;
+        game.inHand[1] = 0;
+        game.player = toMove;
+        return game;
+    }
+
+    // ===== Moves =====
+
+    public static int move(int from, int to, int remove) {
+        return from | to << 5 | remove << 10;
+    }
+
+    public static int from(int move) {
+        return move & 31;
+    }
+
+    public static int to(int move) {
+        return (move >>> 5) & 31;
+    }
+
+    public static int removed(int move) {
+        return (move >>> 10) & 31;
+    }
+
+    // ===== Board =====
+
+    public Variant getVariant() {
+        return variant;
+    }
+
+    public int getBoard(int p) {
+        return board[p];
+    }
+
+    public int getInHand(int p) {
+        return inHand[p];
+    }
+
+    public int pieceCount(int p) {
+        return Integer.bitCount(board[p]) + inHand[p];
+    }
+
+    public boolean isPlacing() {
+        return inHand[player] > 0;
+    }
+
+    public boolean canFly(int p) {
+        return variant.flying && inHand[p] == 0 && Integer.bitCount(board[p]) == 3;
+    }
+
+    /**
+     * Would 'pieces' (with a piece on 'point') have a mill through that point?
+     */
+    public static boolean formsMill(Variant variant, int pieces, int point) {
+        for (int mill : variant.millsThrough[point]) {
+            if ((pieces & mill) == mill) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Pieces of 'pieces' that are part of a mill.
+     */
+    public static int inMills(Variant variant, int pieces) {
+        int result = 0;
+        for (int mill : variant.mills) {
+            if ((pieces & mill) == mill) result |= mill;
+        }
+        return result;
+    }
+
+    /**
+     * Opponent pieces a mill may take: those outside mills, or any if all are in mills.
+     */
+    public static int removable(Variant variant, int opponent) {
+        int free = opponent & ~inMills(variant, opponent);
+        return free != 0 ? free : opponent;
+    }
+
+    /**
+     * Can 'pieces' make any move on a board with these empty points?
+     */
+    public static boolean hasMove(Variant variant, int pieces, int empty, boolean flying) {
+        if (empty == 0 || pieces == 0) return false;
+        if (flying) return true;
+        for (int b = pieces; b != 0; b &= b - 1) {
+            if ((variant.adjacency[Integer.numberOfTrailingZeros(b)] & empty) != 0) return true;
+        }
+        return false;
+    }
+
+    private boolean hasAnyMill(int pieces) {
+        for (int mill : variant.mills) {
+            if ((pieces & mill) == mill) return true;
+        }
+        return false;
+    }
+
+    // ===== GameState =====
+
+    @Override
+    public int currentPlayer() {
+        return player;
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return winner() != NO_PLAYER || quietPlies >= DRAW_PLIES;
+    }
+
+    @Override
+    public int winner() {
+        if (variant.millWins) {
+            if (hasAnyMill(board[0])) return 0;
+            if (hasAnyMill(board[1])) return 1;
+        } else {
+            if (pieceCount(0) < 3) return 1;
+            if (pieceCount(1) < 3) return 0;
+        }
+
+        // Stuck after placing: the player to move loses
+        if (inHand[player] == 0) {
+            int empty = variant.fullMask() & ~(board[0] | board[1]);
+            if (!hasMove(variant, board[player], empty, canFly(player))) return 1 - player;
+        }
+        return NO_PLAYER;
+    }
+
+    @Override
+    public boolean isChanceNode() {
+        return false;
+    }
+
+    @Override
+    public int chanceOutcomes(int[] outcomes, double[] probabilities) {
+        return 0;
+    }
+
+    @Override
+    public void applyChance(int outcome) {
+        throw new UnsupportedOperationException("Morris has no chance moves");
+    }
+
+    @Override
+    public int generateMoves(int[] moves) {
+        int own = board[player];
+        int opp = board[1 - player];
+        int empty = variant.fullMask() & ~(own | opp);
+        int removable = variant.millWins ? 0 : removable(variant, opp);
+        int count = 0;
+
+        if (inHand[player] > 0) {
+            for (int e = empty; e != 0; e &= e - 1) {
+                count = addMove(moves, count, FROM_HAND, Integer.numberOfTrailingZeros(e), own, removable);
+            }
+            return count;
+        }
+
+        boolean flying = canFly(player);
+        for (int b = own; b != 0; b &= b - 1) {
+            int from = Integer.numberOfTrailingZeros(b);
+            int targets = flying ? empty : variant.adjacency[from] & empty;
+            int after = own & ~(1 << from);
+            for (int t = targets; t != 0; t &= t - 1) {
+                count = addMove(moves, count, from, Integer.numberOfTrailingZeros(t), after, removable);
+            }
+        }
+        return count;
+    }
+
+    private int addMove(int[] moves, int count, int from, int to, int own, int removable) {
+        if (removable != 0 && formsMill(variant, own | 1 << to, to)) {
+            for (int r = removable; r != 0; r &= r - 1) {
+                moves[count++] = move(from, to, Integer.numberOfTrailingZeros(r));
+            }
+        } else {
+            moves[count++] = move(from, to, NO_REMOVAL);
+        }
+        return count;
+    }
+
+    @Override
+    public void makeMove(int move) {
+        pushUndo();
+
+        int from = from(move);
+        int to = to(move);
+        int remove = removed(move);
+
+        if (from == FROM_HAND) {
+            inHand[player]--;
+        } else {
+            board[player] &= ~(1 << from);
+        }
+        board[player] |= 1 << to;
+
+        if (remove != NO_REMOVAL) {
+            board[1 - player] &= ~(1 << remove);
+            quietPlies = 0;
+        } else if (from != FROM_HAND) {
+            quietPlies++;
+        }
+
+        player = 1 - player;
+    }
+
+    @Override
+    public void undo() {
+        long s = undoStack[--undoDepth];
+        board[0] = (int) (s & 0xFFFFFF);
+        board[1] = (int) ((s >>> 24) & 0xFFFFFF);
+        inHand[0] = (int) ((s >>> 48) & 0xF);
+        inHand[1] = (int) ((s >>> 52) & 0xF);
+        player = (int) ((s >>> 56) & 1);
+        quietPlies = (int) ((s >>> 57) & 0x7F);
+    }
+
+    @Override
+    public long hash() {
+        long h = player == 1 ? ZOBRIST_SIDE : 0;
+        for (int p = 0; p < 2; p++) {
+            for (int b = board[p]; b != 0; b &= b - 1) {
+                h ^= ZOBRIST_POINT[p][Integer.numberOfTrailingZeros(b)];
+            }
+            h ^= ZOBRIST_HAND[p][inHand[p]];
+        }
+        return h;
+    }
+
+    @Override
+    public int maxMoves() {
+        return MAX_MOVES;
+    }
+
+    @Override
+    public MorrisGame copy() {
+        return new MorrisGame(this);
+    }
+
+    private void pushUndo() {
+        if (undoDepth == undoStack.length) {
+            undoStack = java.util.Arrays.copyOf(undoStack, undoDepth * 2);
+        }
+        undoStack[undoDepth++] = (long) board[0]
+                | (long) board[1] << 24
+                | (long) inHand[0] << 48
+                | (long) inHand[1] << 52
+                | (long) player << 56
+                | (long) quietPlies << 57;
+    }
+}
@@ -0,0 +1,103 @@
+package com.boardgames.games.morris;
+
+/**
+ * Dense index of moving-phase positions with a fixed number of pieces per
+ * side ("class" (own, opp)), from the point of view of the player to move:
+ *
+ *   index = rank(ownMask) * C(points - own, opp) + rank(oppMask squeezed into the free points)
+ *
+ * where rank is the combinatorial number system, so a class of (w, b)
+ * pieces on n points has exactly C(n, w) * C(n - w, b) entries.
+ */
+final class MorrisIndex {
+
+    private static final long[][] BINOMIAL = new long[25][25];
+
+    static {
+        for (int n = 0; n <= 24; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k <= n - 1 ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private final int points;
+    private final int own;
+    private final int opp;
+    private final long oppCombos;
+
+    MorrisIndex(int points, int own, int opp) {
+        this.points = points;
+        this.own = own;
+        this.opp = opp;
+        this.oppCombos = BINOMIAL[points - own][opp];
+    }
+
+    static long binomial(int n, int k) {
+        return k < 0 || k > n ? 0 : BINOMIAL[n][k];
+    }
+
+    long size() {
+        return BINOMIAL[points][own] * oppCombos;
+    }
+
+    long rank(int ownMask, int oppMask) {
+        int free = ((1 << points) - 1) & ~ownMask;
+        return rankCombination(ownMask) * oppCombos + rankCombination(squeeze(oppMask, free));
+    }
+
+    /**
+     * Writes {ownMask, oppMask} into out.
+     */
+    void unrank(long index, int[] out) {
+        int ownMask = unrankCombination(index / oppCombos, own);
+        int free = ((1 << points) - 1) & ~ownMask;
+        out[0] = ownMask;
+        out[1] = spread(unrankCombination(index % oppCombos, opp), free);
+    }
+
+    private static long rankCombination(int mask) {
+        long r = 0;
+        int k = 1;
+        for (int b = mask; b != 0; b &= b - 1, k++) {
+            r += BINOMIAL[Integer.numberOfTrailingZeros(b)][k];
+        }
+        return r;
+    }
+
+    private static int unrankCombination(long r, int k) {
+        int mask = 0;
+        int c = 23;
+        for (; k > 0; k--) {
+            while (BINOMIAL[c][k] > r) c--;
+            r -= BINOMIAL[c][k];
+            mask |= 1 << c;
+            c--;
+        }
+        return mask;
+    }
+
+    /**
+     * Bits of 'mask' renumbered by their position among the set bits of 'free'.
+     */
+    private static int squeeze(int mask, int free) {
+        int result = 0;
+        int bit = 0;
+        for (int f = free; f != 0; f &= f - 1, bit++) {
+            if ((mask & Integer.lowestOneBit(f)) != 0) result |= 1 << bit;
+        }
+        return result;
+    }
+
+    /**
+     * Inverse of squeeze: bit i goes to the i-th set bit of 'free'.
+     */
+    private static int spread(int bits, int free) {
+        int result = 0;
+        for (int f = free; bits != 0; f &= f - 1, bits >>>= 1) {
+            if ((bits & 1) != 0) result |= Integer.lowestOneBit(f);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,348 @@
+package com.boardgames.games.morris;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Retrograde analysis of the Morris moving phase (all pieces placed).
+ *
+ * Positions are grouped into classes by pieces per side (see MorrisIndex).
+ * A non-capturing move swaps the class (w, b) into (b, w), and a capture
+ * leads to (b - 1, w), so classes are solved in pairs by increasing piece
+ * count, with every capture landing in an already solved class:
+ *
+ *  1. Score what's known without the pair itself: stuck positions are
+ *     lost, a capture into a lost position (or under three pieces) wins,
+ *     and each position counts the moves whose outcome is still open
+ *  2. Work back from decided positions through un-moves: a predecessor of
+ *     a loss is a win, and a predecessor whose last open move turned out
+ *     to be a win for the opponent is a loss. Positions are taken in order
+ *     of distance to the end, so every win is the quickest and every loss
+ *     the longest; a win by capture only stands if no quiet move wins sooner
+ *  3. Whatever is left undecided is a draw (both sides can avoid losing)
+ *
+ * Values are one byte per position, see MorrisDatabase for the encoding.
+ *
+ * Usage: MorrisRetrograde [NINE|THREE] [maxTotalPieces] [outputFile]
+ *   ./gradlew :app:solveMorris --args="NINE 7 morris-nine.bin"
+ */
+public class MorrisRetrograde {
+
+    static final int MAGIC = 0x4E4D4D31; // "NMM1"
+
+    private final MorrisGame.Variant variant;
+    private final int full;
+    private final Map<Integer, byte[]> solved = new LinkedHashMap<>();
+    private boolean verbose;
+
+    public MorrisRetrograde(MorrisGame.Variant variant) {
+        this.variant = variant;
+        this.full = variant.fullMask();
+    }
+
+    public static void main(String[] args) throws IOException {
+        MorrisGame.Variant variant = args.length > 0 ? MorrisGame.Variant.valueOf(args[0]) : MorrisGame.Variant.NINE;
+        int maxTotal = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        Path out = args.length > 2 ? Paths.get(args[2]) : MorrisDatabase.defaultPath(variant);
+
+        MorrisRetrograde solver = new MorrisRetrograde(variant);
+        solver.verbose = true;
+        long begin = System.nanoTime();
+        solver.solveUpTo(maxTotal);
+        System.out.printf(Locale.ROOT, "Solved in %.1fs%n", (System.nanoTime() - begin) / 1e9);
+
+        solver.write(out);
+        System.out.println("Wrote " + out.toAbsolutePath());
+    }
+
+    static int classKey(int own, int opp) {
+        return own << 8 | opp;
+    }
+
+    /**
+     * Solve every class with at least three pieces a side and at most
+     * maxTotal pieces on the board.
+     */
+    public void solveUpTo(int maxTotal) {
+        int max = variant.pieces;
+        for (int total = 6; total <= Math.min(maxTotal, 2 * max); total++) {
+            for (int w = 3; w <= total / 2; w++) {
+                int b = total - w;
+                if (b > max) continue;
+                solvePair(w, b);
+            }
+        }
+    }
+
+    /**
+     * Solved classes as a database, without going through a file.
+     */
+    public MorrisDatabase toDatabase() {
+        Map<Integer, ByteBuffer> data = new LinkedHashMap<>();
+        solved.forEach((key, values) -> data.put(key, ByteBuffer.wrap(values)));
+        return new MorrisDatabase(variant, data);
+    }
+
+    // ===== Solving =====
+
+    private void solvePair(int w, int b) {
+        MorrisIndex first = new MorrisIndex(variant.points, w, b);
+        MorrisIndex second = new MorrisIndex(variant.points, b, w);
+        boolean same = w == b;
+
+        long sizeFirst = first.size();
+        long total = same ? sizeFirst : sizeFirst + second.size();
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Class pair " + w + "/" + b + " is too large");
+        }
+
+        int n = (int) total;
+        byte[] values = new byte[n];
+        short[] open = new short[n];   // moves whose outcome isn't known yet
+        byte[] longest = new byte[n];  // longest loss so far (plies), for undecided positions
+        byte[] captureWin = new byte[n]; // quickest win by a capture (plies), 0 if none, until settled
+        Buckets buckets = new Buckets();
+
+        int[] pos = new int[2];
+
+        // Captures land in the smaller, already solved classes
+        byte[] captureFirst = captureClass(w, b);
+        byte[] captureSecond = captureClass(b, w);
+        MorrisIndex captureFirstIndex = captureFirst == null ? null : new MorrisIndex(variant.points, b - 1, w);
+        MorrisIndex captureSecondIndex = captureSecond == null ? null : new MorrisIndex(variant.points, w - 1, b);
+
+        // 1. What is known from outside the pair
+        for (int g = 0; g < n; g++) {
+            boolean inFirst = g < sizeFirst;
+            MorrisIndex index = inFirst ? first : second;
+            index.unrank(inFirst ? g : g - sizeFirst, pos);
+
+            byte v = inFirst
+                    ? initialValue(pos[0], pos[1], captureFirst, captureFirstIndex, open, longest, captureWin, g)
+                    : initialValue(pos[0], pos[1], captureSecond, captureSecondIndex, open, longest, captureWin, g);
+            if (v != MorrisDatabase.DRAW) {
+                values[g] = v;
+                buckets.add(MorrisDatabase.plies(v), g);
+            } else if (captureWin[g] != 0) {
+                buckets.add(MorrisDatabase.plies(MorrisDatabase.win(captureWin[g])), g);
+            }
+        }
+
+        // 2. Work backwards from decided positions, nearest to the end first
+        for (int plies = 0; plies < Buckets.COUNT; plies++) {
+            for (int k = 0; k < buckets.size[plies]; k++) {
+                int g = buckets.items[plies][k];
+                if (values[g] == MorrisDatabase.DRAW) {
+                    values[g] = MorrisDatabase.win(captureWin[g]); // no quiet move won sooner
+                } else if (MorrisDatabase.plies(values[g]) != plies) {
+                    continue; // settled sooner by a quiet move
+                }
+
+                boolean inFirst = g < sizeFirst;
+                (inFirst ? first : second).unrank(inFirst ? g : g - sizeFirst, pos);
+                int own = pos[0];
+                int opp = pos[1];
+                byte v = values[g];
+
+                // The opponent just moved a piece from f to t without closing a mill
+                int empty = full & ~(own | opp);
+                boolean oppFlew = variant.flying && Integer.bitCount(opp) == 3;
+                MorrisIndex predIndex = inFirst && !same ? second : first;
+                long predBase = inFirst && !same ? sizeFirst : 0;
+
+                for (int ts = opp; ts != 0; ts &= ts - 1) {
+                    int t = Integer.numberOfTrailingZeros(ts);
+                    if (MorrisGame.formsMill(variant, opp, t)) continue;
+
+                    int sources = oppFlew ? empty : variant.adjacency[t] & empty;
+                    for (int fs = sources; fs != 0; fs &= fs - 1) {
+                        int before = opp & ~(1 << t) | Integer.lowestOneBit(fs);
+                        int p = (int) (predBase + predIndex.rank(before, own));
+                        if (values[p] != MorrisDatabase.DRAW) continue;
+
+                        if (MorrisDatabase.isLoss(v)) {
+                            // Its capture win is settled in its own bucket if it isn't beaten here
+                            if (captureWin[p] != 0 && plies + 1 >= captureWin[p]) continue;
+                            values[p] = MorrisDatabase.win(plies + 1);
+                            buckets.add(MorrisDatabase.plies(values[p]), p);
+                        } else if (captureWin[p] == 0) {
+                            longest[p] = (byte) Math.min(Byte.MAX_VALUE, Math.max(longest[p], plies + 1));
+                            if (--open[p] == 0) {
+                                values[p] = MorrisDatabase.loss(longest[p]);
+                                buckets.add(MorrisDatabase.plies(values[p]), p);
+                            }
+                        }
+                    }
+                }
+            }
+            buckets.release(plies);
+        }
+
+        // 3. Undecided = draw (already 0)
+        if (verbose) printStats(w, b, values);
+
+        if (same) {
+            solved.put(classKey(w, b), values);
+        } else {
+            solved.put(classKey(w, b), Arrays.copyOfRange(values, 0, (int) sizeFirst));
+            solved.put(classKey(b, w), Arrays.copyOfRange(values, (int) sizeFirst, n));
+        }
+    }
+
+    /**
+     * Solved class a capture by the side with 'own' pieces leads to, or null
+     * if captures end the game there.
+     */
+    private byte[] captureClass(int own, int opp) {
+        if (variant.millWins || opp == 3) return null;
+        return solved.get(classKey(opp - 1, own));
+    }
+
+    private static void printStats(int w, int b, byte[] values) {
+        int n = values.length;
+        int wins = 0;
+        int losses = 0;
+        for (byte v : values) {
+            if (MorrisDatabase.isWin(v)) wins++;
+            else if (MorrisDatabase.isLoss(v)) losses++;
+        }
+        System.out.printf(Locale.ROOT, "class %d/%d: %,d positions, %,d wins, %,d losses, %,d draws%n",
+                w, b, n, wins, losses, n - wins - losses);
+    }
+
+    /**
+     * Value known before looking inside the pair, or DRAW with open/longest
+     * set up for the backward pass.
+     */
+    private byte initialValue(int own, int opp, byte[] capture, MorrisIndex captureIndex,
+                              short[] open, byte[] longest, byte[] captureWin, int g) {
+        if (variant.millWins) {
+            // Can't be reached by play, but keep them consistent
+            if (MorrisGame.inMills(variant, opp) != 0) return MorrisDatabase.loss(0);
+            if (MorrisGame.inMills(variant, own) != 0) return MorrisDatabase.win(0);
+        }
+
+        int ownCount = Integer.bitCount(own);
+        int oppCount = Integer.bitCount(opp);
+        int empty = full & ~(own | opp);
+        boolean flying = variant.flying && ownCount == 3;
+        if (!MorrisGame.hasMove(variant, own, empty, flying)) {
+            return MorrisDatabase.loss(0);
+        }
+
+        int removable = MorrisGame.removable(variant, opp);
+
+        int bestWin = Integer.MAX_VALUE;
+        int longestLoss = 0;
+        int openMoves = 0;
+
+        for (int fs = own; fs != 0; fs &= fs - 1) {
+            int from = Integer.numberOfTrailingZeros(fs);
+            int targets = flying ? empty : variant.adjacency[from] & empty;
+            for (int ts = targets; ts != 0; ts &= ts - 1) {
+                int to = Integer.numberOfTrailingZeros(ts);
+                int after = own & ~(1 << from) | 1 << to;
+
+                if (!MorrisGame.formsMill(variant, after, to)) {
+                    openMoves++;
+                    continue;
+                }
+                if (variant.millWins || oppCount == 3) {
+                    bestWin = 1;    // mill wins / opponent drops under three
+                    continue;
+                }
+                for (int rs = removable; rs != 0; rs &= rs - 1) {
+                    byte child = capture[(int) captureIndex.rank(opp & ~Integer.lowestOneBit(rs), after)];
+                    if (MorrisDatabase.isLoss(child)) {
+                        bestWin = Math.min(bestWin, MorrisDatabase.plies(child) + 1);
+                    } else if (MorrisDatabase.isWin(child)) {
+                        longestLoss = Math.max(longestLoss, MorrisDatabase.plies(child) + 1);
+                    } else {
+                        openMoves++;   // a draw never resolves
+                    }
+                }
+            }
+        }
+
+        if (bestWin != Integer.MAX_VALUE) {
+            if (bestWin == 1 || openMoves == 0) return MorrisDatabase.win(bestWin);
+            // A quiet move might still win sooner: settled in the backward pass
+            captureWin[g] = (byte) Math.min(Byte.MAX_VALUE, bestWin);
+            return MorrisDatabase.DRAW;
+        }
+        if (openMoves == 0) return MorrisDatabase.loss(longestLoss);
+
+        open[g] = (short) openMoves;
+        longest[g] = (byte) Math.min(Byte.MAX_VALUE, longestLoss);
+        return MorrisDatabase.DRAW;
+    }
+
+    /**
+     * Positions to work back from, by plies to the end (as stored, so capped).
+     */
+    private static final class Buckets {
+        static final int COUNT = Byte.MAX_VALUE;
+
+        final int[][] items = new int[COUNT][];
+        final int[] size = new int[COUNT];
+
+        void add(int plies, int g) {
+            int[] list = items[plies];
+            if (list == null) {
+                list = items[plies] = new int[1024];
+            } else if (size[plies] == list.length) {
+                list = items[plies] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[size[plies]++] = g;
+        }
+
+        void release(int plies) {
+            items[plies] = null;
+        }
+    }
+
+    // ===== Output =====
+
+    /**
+     * Header (magic, variant, class count), a class table (own, opp, data
+     * offset, size), then the value bytes of every class.
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        List<Integer> keys = new ArrayList<>(solved.keySet());
+        int headerBytes = 12 + keys.size() * 24;
+        ByteBuffer header = ByteBuffer.allocate(headerBytes);
+        header.putInt(MAGIC).putInt(variant.ordinal()).putInt(keys.size());
+
+        long offset = headerBytes;
+        for (int key : keys) {
+            byte[] values = solved.get(key);
+            header.putInt(key >>> 8).putInt(key & 0xFF).putLong(offset).putLong(values.length);
+            offset += values.length;
+        }
+        header.flip();
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) ch.write(header);
+            for (int key : keys) {
+                ByteBuffer data = ByteBuffer.wrap(solved.get(key));
+                while (data.hasRemaining()) ch.write(data);
+            }
+        }
+    }
+}
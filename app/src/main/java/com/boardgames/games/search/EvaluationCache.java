@@ -0,0 +1,70 @@
+package com.boardgames.games.search;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size table of searched chance-node values, keyed by position hash,
+ * that an Expectiminimax can consult before expanding a subtree.
+ *
+ * Values are stored from player 0's point of view (win probabilities, so
+ * player 1's is 1 - v) together with the depth they were searched to; an
+ * entry answers any request for that depth or less. One slot per hash
+ * index, and a deeper result replaces a shallower one, so a cache can be
+ * kept across searches of consecutive positions and grows more useful as
+ * the game goes on. Not thread-safe.
+ */
+public class EvaluationCache implements SearchCache {
+
+    private final long[] keys;
+    private final double[] values;
+    private final byte[] depths;
+    private final int mask;
+
+    private long hits;
+    private long lookups;
+
+    /**
+     * 2^bits entries, 17 bytes each.
+     */
+    public EvaluationCache(int bits) {
+        int size = 1 << bits;
+        keys = new long[size];
+        values = new double[size];
+        depths = new byte[size];
+        mask = size - 1;
+    }
+
+    @Override
+    public double get(long hash, int depth) {
+        lookups++;
+        int i = (int) (hash ^ (hash >>> 32)) & mask;
+        // depth is stored +1 so an empty slot (0) never matches
+        if (keys[i] != hash || depths[i] <= depth) return Double.NaN;
+        hits++;
+        return values[i];
+    }
+
+    @Override
+    public void put(long hash, int depth, double valueForPlayer0) {
+        int i = (int) (hash ^ (hash >>> 32)) & mask;
+        if (keys[i] == hash && depths[i] > depth + 1) return; // keep the deeper result
+        keys[i] = hash;
+        values[i] = valueForPlayer0;
+        depths[i] = (byte) (depth + 1);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(depths, (byte) 0);
+        hits = 0;
+        lookups = 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+}
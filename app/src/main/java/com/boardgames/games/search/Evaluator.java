@@ -0,0 +1,15 @@
+package com.boardgames.games.search;
+
+import com.boardgames.games.GameState;
+
+/**
+ * Static evaluation of a non-terminal position.
+ */
+@FunctionalInterface
+public interface Evaluator {
+
+    /**
+     * Estimated probability (0..1) that the given player wins from here.
+     */
+    double evaluate(GameState state, int player);
+}
@@ -0,0 +1,153 @@
+package com.boardgames.games.search;
+
+import com.boardgames.games.GameState;
+
+/**
+ * Depth-limited expectiminimax over any GameState.
+ *
+ * Decision nodes take the max for the root player and the min for the
+ * opponent (who moves is read from the state, so roll-again turns work);
+ * chance nodes take the probability-weighted average and don't use up depth
+ * (a hard ply cap stops runs of chance nodes, e.g. Senet's opening throws).
+ * Values are win probabilities for the root player.
+ *
+ * Move and chance buffers are allocated once per ply, so a search does
+ * not allocate per node. Not thread-safe; use one instance per thread.
+ *
+ * An optional SearchCache (EvaluationCache, or OffHeapTranspositionTable
+ * for big tables) remembers chance-node values by position hash, so
+ * repeated subtrees (transpositions, deepening, the next move's search)
+ * aren't searched twice.
+ */
+public class Expectiminimax {
+
+    private final Evaluator evaluator;
+    private final int maxDepth;
+    private final int maxPly;
+
+    private int[][] moveBuffers;
+    private int[][] outcomeBuffers;
+    private double[][] probabilityBuffers;
+    private long nodes;
+    private SearchCache cache;
+
+    public Expectiminimax(Evaluator evaluator, int maxDepth) {
+        this.evaluator = evaluator;
+        this.maxDepth = maxDepth;
+        this.maxPly = maxDepth * 3 + 2;
+    }
+
+    /**
+     * Best move for the player to act at a decision node.
+     * The state is searched in place and restored before returning.
+     */
+    public int bestMove(GameState state) {
+        ensureBuffers(state);
+        nodes = 0;
+
+        int rootPlayer = state.currentPlayer();
+        int[] moves = moveBuffers[0];
+        int count = state.generateMoves(moves);
+
+        int best = moves[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            double value = search(state, maxDepth - 1, 1, rootPlayer);
+            state.undo();
+
+            if (value > bestValue) {
+                bestValue = value;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Value of the position for the given player, searched to the configured depth.
+     */
+    public double evaluate(GameState state, int player) {
+        ensureBuffers(state);
+        nodes = 0;
+        return search(state, maxDepth, 0, player);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Share a value cache with this search (null for none).
+     */
+    public void setCache(SearchCache cache) {
+        this.cache = cache;
+    }
+
+    private double search(GameState state, int depth, int ply, int rootPlayer) {
+        nodes++;
+
+        if (state.isTerminal()) {
+            int winner = state.winner();
+            return winner == GameState.NO_PLAYER ? 0.5 : (winner == rootPlayer ? 1.0 : 0.0);
+        }
+
+        if (ply >= maxPly) {
+            return evaluator.evaluate(state, rootPlayer);
+        }
+
+        if (state.isChanceNode()) {
+            long hash = 0;
+            if (cache != null) {
+                hash = state.hash();
+                double cached = cache.get(hash, depth);
+                if (!Double.isNaN(cached)) {
+                    return rootPlayer == 0 ? cached : 1 - cached;
+                }
+            }
+
+            int[] outcomes = outcomeBuffers[ply];
+            double[] probabilities = probabilityBuffers[ply];
+            int count = state.chanceOutcomes(outcomes, probabilities);
+
+            double value = 0;
+            for (int i = 0; i < count; i++) {
+                state.applyChance(outcomes[i]);
+                value += probabilities[i] * search(state, depth, ply + 1, rootPlayer);
+                state.undo();
+            }
+
+            if (cache != null) {
+                cache.put(hash, depth, rootPlayer == 0 ? value : 1 - value);
+            }
+            return value;
+        }
+
+        if (depth <= 0) {
+            return evaluator.evaluate(state, rootPlayer);
+        }
+
+        boolean maximizing = state.currentPlayer() == rootPlayer;
+        int[] moves = moveBuffers[ply];
+        int count = state.generateMoves(moves);
+
+        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            double value = search(state, depth - 1, ply + 1, rootPlayer);
+            state.undo();
+
+            best = maximizing ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+    private void ensureBuffers(GameState state) {
+        int width = state.maxMoves();
+        if (moveBuffers != null && moveBuffers[0].length >= width) return;
+
+        moveBuffers = new int[maxPly + 1][width];
+        outcomeBuffers = new int[maxPly + 1][width];
+        probabilityBuffers = new double[maxPly + 1][width];
+    }
+}
@@ -0,0 +1,78 @@
+package com.boardgames.games.search;
+
+import com.boardgames.games.GameState;
+import com.boardgames.games.Games;
+
+import java.util.Locale;
+
+/**
+ * Headless throughput benchmark for any registered game:
+ * random playouts per second and expectiminimax nodes per second.
+ *
+ * Usage: GameBenchmark [game] [seconds] [searchDepth]
+ *   ./gradlew :app:benchmark --args="senet 10 3"
+ */
+public class GameBenchmark {
+
+    private static final int MAX_PLIES = 10_000;
+
+    public static void main(String[] args) {
+        String game = args.length > 0 ? args[0] : "senet";
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 5;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        GameState start = Games.create(game);
+
+        // Warm up the JIT before measuring
+        runPlayouts(start, seconds / 5);
+        runPlayouts(start, seconds);
+        runSearch(start, seconds, depth);
+    }
+
+    private static void runPlayouts(GameState start, double seconds) {
+        RandomPlayout playout = new RandomPlayout(42, MAX_PLIES);
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        long begin = System.nanoTime();
+        long games = 0;
+        long[] wins = new long[3];
+
+        while (System.nanoTime() < deadline) {
+            int winner = playout.play(start.copy());
+            wins[winner + 1]++;
+            games++;
+        }
+
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        System.out.printf(Locale.ROOT, "playouts: %,d in %.2fs = %,.0f games/s, %,.0f plies/s (p0 %d, p1 %d, none %d)%n",
+                games, elapsed, games / elapsed, playout.getPlies() / elapsed, wins[1], wins[2], wins[0]);
+    }
+
+    /**
+     * Searches positions reached by random play, so both phases of the game are covered.
+     */
+    private static void runSearch(GameState start, double seconds, int depth) {
+        Expectiminimax search = new Expectiminimax((s, p) -> 0.5, depth);
+        RandomPlayout walker = new RandomPlayout(7, 1);
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        long begin = System.nanoTime();
+        long nodes = 0;
+        long searches = 0;
+
+        GameState state = start.copy();
+        while (System.nanoTime() < deadline) {
+            if (state.isTerminal()) {
+                state = start.copy();
+            }
+            if (!state.isChanceNode()) {
+                search.bestMove(state);
+                nodes += search.getNodes();
+                searches++;
+            }
+            walker.play(state); // advance one ply
+        }
+
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+        System.out.printf(Locale.ROOT, "search depth %d: %,d searches, %,.0f nodes/s%n",
+                depth, searches, nodes / elapsed);
+    }
+}
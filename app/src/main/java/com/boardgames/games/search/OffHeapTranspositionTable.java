@@ -0,0 +1,157 @@
+package com.boardgames.games.search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Large SearchCache kept outside the Java heap, in direct ByteBuffers, so
+ * hundreds of MB or several GB of table cost the garbage collector
+ * nothing: no objects, no arrays to mark or copy.
+ *
+ * Entries are 16 bytes, four to a 64-byte bucket (one cache line):
+ *   [key ^ data : 8][data : 8]
+ *   data = float value for player 0 | (depth + 1) << 32 | generation << 40
+ * A position goes to one bucket and may use any of its four slots. A new
+ * entry takes the slot of the same position if there is one, otherwise the
+ * slot whose entry is least worth keeping: shallowest, from the oldest
+ * search (see newSearch()).
+ *
+ * Threads share a table without locks. Reads and writes are plain 8-byte
+ * accesses; a slot written by two threads at once, or read halfway through
+ * a write, ends up with a key word that doesn't match its data, which a
+ * reader sees as a miss. The worst a race can do is lose an entry.
+ *
+ * Sized once, at construction; configuredMegabytes() reads the launch
+ * setting -Dboardgames.tt.mb=<MB>.
+ */
+public class OffHeapTranspositionTable implements SearchCache {
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int SLOTS = 4;
+    private static final int BUCKET_SHIFT = 6;                  // 64-byte buckets
+    private static final int CHUNK_SHIFT = 30;                  // 1 GB per ByteBuffer
+    private static final int BUCKETS_PER_CHUNK_SHIFT = CHUNK_SHIFT - BUCKET_SHIFT;
+    private static final int DEFAULT_MEGABYTES = 64;
+
+    private final ByteBuffer[] chunks;
+    private final long bucketMask;
+    private int generation; // racy on purpose: a stale read only ages an entry less
+
+    /**
+     * Table of about 'megabytes' MB (rounded down to a power of two, at least 1 MB).
+     */
+    public OffHeapTranspositionTable(int megabytes) {
+        long bytes = Long.highestOneBit(Math.max(1, megabytes)) << 20;
+        long buckets = bytes >>> BUCKET_SHIFT;
+        bucketMask = buckets - 1;
+
+        long chunkBytes = Math.min(bytes, 1L << CHUNK_SHIFT);
+        chunks = new ByteBuffer[(int) (bytes / chunkBytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect((int) chunkBytes).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * -Dboardgames.tt.mb, default 64.
+     */
+    public static int configuredMegabytes() {
+        return Integer.getInteger("boardgames.tt.mb", DEFAULT_MEGABYTES);
+    }
+
+    public long sizeBytes() {
+        return (bucketMask + 1) << BUCKET_SHIFT;
+    }
+
+    /**
+     * Start of a new search (e.g. a new move): older entries become
+     * the first to be replaced.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    @Override
+    public double get(long hash, int depth) {
+        long bucket = bucketOf(hash);
+        ByteBuffer chunk = chunks[(int) (bucket >>> BUCKETS_PER_CHUNK_SHIFT)];
+        int base = offsetOf(bucket);
+
+        for (int i = 0; i < SLOTS; i++) {
+            int at = base + i * ENTRY_BYTES;
+            long data = chunk.getLong(at + 8);
+            if ((chunk.getLong(at) ^ data) == hash && storedDepth(data) > depth) {
+                return Float.intBitsToFloat((int) data);
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public void put(long hash, int depth, double valueForPlayer0) {
+        long bucket = bucketOf(hash);
+        ByteBuffer chunk = chunks[(int) (bucket >>> BUCKETS_PER_CHUNK_SHIFT)];
+        int base = offsetOf(bucket);
+        int gen = generation;
+
+        int target = -1;
+        int worst = Integer.MAX_VALUE;
+        for (int i = 0; i < SLOTS; i++) {
+            int at = base + i * ENTRY_BYTES;
+            long data = chunk.getLong(at + 8);
+            if ((chunk.getLong(at) ^ data) == hash) {
+                if (storedDepth(data) > depth + 1) return; // keep the deeper result
+                target = at;
+                break;
+            }
+            // Worth keeping: depth, less one per search since it was stored; empty first
+            int worth = data == 0 ? Integer.MIN_VALUE : storedDepth(data) - ((gen - (int) (data >>> 40)) & 0xFF);
+            if (worth < worst) {
+                worst = worth;
+                target = at;
+            }
+        }
+
+        long data = (Float.floatToRawIntBits((float) valueForPlayer0) & 0xFFFFFFFFL)
+                | (long) (depth + 1) << 32
+                | (long) gen << 40;
+        chunk.putLong(target + 8, data);
+        chunk.putLong(target, hash ^ data);
+    }
+
+    @Override
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int at = 0; at < chunk.capacity(); at += 8) {
+                chunk.putLong(at, 0);
+            }
+        }
+        generation = 0;
+    }
+
+    /**
+     * Fraction of slots in use, sampled from the first 1000 buckets.
+     */
+    public double fill() {
+        long sample = Math.min(1000, bucketMask + 1);
+        int used = 0;
+        for (long b = 0; b < sample; b++) {
+            for (int i = 0; i < SLOTS; i++) {
+                if (chunks[0].getLong(offsetOf(b) + i * ENTRY_BYTES + 8) != 0) used++;
+            }
+        }
+        return used / (double) (sample * SLOTS);
+    }
+
+    private long bucketOf(long hash) {
+        return (hash ^ (hash >>> 29)) & bucketMask;
+    }
+
+    private static int offsetOf(long bucket) {
+        return (int) (bucket & ((1L << BUCKETS_PER_CHUNK_SHIFT) - 1)) << BUCKET_SHIFT;
+    }
+
+    private static int storedDepth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+}
@@ -0,0 +1,70 @@
+package com.boardgames.games.search;
+
+import com.boardgames.games.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a position out to the end with uniformly random moves and
+ * correctly weighted chance outcomes. Works on the given state in place
+ * (it is played forward, not restored), so pass a copy if you need the
+ * original. One instance per thread.
+ */
+public class RandomPlayout {
+
+    private final SplittableRandom random;
+    private final int maxPlies;
+
+    private int[] moves = new int[0];
+    private int[] outcomes = new int[0];
+    private double[] probabilities = new double[0];
+    private long plies;
+
+    public RandomPlayout(long seed, int maxPlies) {
+        this.random = new SplittableRandom(seed);
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * Returns the winner, or NO_PLAYER for a draw or when the ply cap is hit.
+     */
+    public int play(GameState state) {
+        if (moves.length < state.maxMoves()) {
+            moves = new int[state.maxMoves()];
+            outcomes = new int[state.maxMoves()];
+            probabilities = new double[state.maxMoves()];
+        }
+
+        for (int ply = 0; ply < maxPlies; ply++) {
+            if (state.isTerminal()) {
+                return state.winner();
+            }
+            plies++;
+
+            if (state.isChanceNode()) {
+                int count = state.chanceOutcomes(outcomes, probabilities);
+                double r = random.nextDouble();
+                int pick = count - 1;
+                for (int i = 0; i < count - 1; i++) {
+                    r -= probabilities[i];
+                    if (r < 0) {
+                        pick = i;
+                        break;
+                    }
+                }
+                state.applyChance(outcomes[pick]);
+            } else {
+                int count = state.generateMoves(moves);
+                state.makeMove(moves[random.nextInt(count)]);
+            }
+        }
+        return GameState.NO_PLAYER;
+    }
+
+    /**
+     * Total decisions and chance events played by this instance.
+     */
+    public long getPlies() {
+        return plies;
+    }
+}
@@ -0,0 +1,18 @@
+package com.boardgames.games.search;
+
+/**
+ * Position-hash -> searched value store an Expectiminimax can consult at
+ * chance nodes. Values are for player 0; an entry answers requests for
+ * the depth it was searched to or less.
+ */
+public interface SearchCache {
+
+    /**
+     * Stored value for player 0 if searched at least 'depth' deep, else NaN.
+     */
+    double get(long hash, int depth);
+
+    void put(long hash, int depth, double valueForPlayer0);
+
+    void clear();
+}
@@ -7,6 +7,13 @@ public class DiceSticks {
     private static final Random random = new Random();
 
     public static int roll() {
+        return roll(random);
+    }
+
+    /**
+     * Throw with a given generator, e.g. ThreadLocalRandom on server threads.
+     */
+    public static int roll(Random random) {
         int flatUp = 0;
 
         for (int i = 0; i < 4; i++) {
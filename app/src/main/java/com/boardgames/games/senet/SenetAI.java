@@ -1,6 +1,13 @@
 package com.boardgames.games.senet;
 
+import com.boardgames.games.search.Expectiminimax;
+import com.boardgames.games.search.OffHeapTranspositionTable;
+import com.boardgames.jfr.AiTurnEvent;
+import com.boardgames.metrics.LatencyHistogram;
+import com.boardgames.metrics.MetricsRegistry;
+
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 
 /**
@@ -16,9 +23,35 @@ public class SenetAI {
     private final Difficulty difficulty;
     private final Random rand = new Random();
 
+    // HARD looks this many decisions ahead, averaging over stick throws, to
+    // the end of the game: both colours run the same way round, so sides that
+    // have passed each other can still meet (a capture, a block, the water
+    // sending a piece back to 15) and no position is a settled race
+    private static final int HARD_SEARCH_DEPTH = 3;
+    private final Expectiminimax search = new Expectiminimax(new SenetEvaluator(), HARD_SEARCH_DEPTH);
+
+    // One table for every HARD search in the process (all games, the ponderer),
+    // created on first use; -Dboardgames.tt.mb sets its size
+    private static final class SharedTable {
+        static final OffHeapTranspositionTable TABLE =
+                new OffHeapTranspositionTable(OffHeapTranspositionTable.configuredMegabytes());
+    }
+
+    // Answers worked out during the opponent's turn (HARD only), see SenetPonderer
+    private SenetPonderer ponderer;
+    private long lastNodes;
+    private boolean lastPondered;
+
+    private final LatencyHistogram thinkTime;
+
     public SenetAI(SenetGame game, Difficulty difficulty) {
         this.game = game;
         this.difficulty = difficulty;
+        if (difficulty == Difficulty.HARD) {
+            search.setCache(SharedTable.TABLE);
+        }
+        this.thinkTime = MetricsRegistry.histogram("boardgames_ai_think_seconds", "Time the AI takes to pick a move.",
+                "game", "senet", "difficulty", difficulty.name().toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -34,14 +67,56 @@ public class SenetAI {
         // Wait until move is pending
         if (!game.isMoveHasPending()) return;
 
-        // Pick piece to move based on difficulty
-        List<SenetPiece> validPieces = game.getValidPieces(PlayerColor.BLACK);
+        SenetPiece selectedPiece = choosePiece();
 
-        if (validPieces.isEmpty()) {
+        if (selectedPiece == null) {
             game.skipTurn();
             return;
         }
 
+        game.movePiece(selectedPiece);
+
+        // If carryOverRoll exists, recursively move
+        if (game.getLastRoll() > 0 && game.isMoveHasPending()) {
+            takeTurn();
+        }
+    }
+
+    /**
+     * Pick the piece to move for the roll that is already pending,
+     * based on difficulty. Returns null if no piece can move.
+     * Lets the UI play roll and move as separate, paced steps.
+     * Plays for whichever side is to move (the UI only asks on BLACK's turn).
+     */
+    public SenetPiece choosePiece() {
+        AiTurnEvent event = new AiTurnEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        SenetPiece selectedPiece = pickPiece();
+        thinkTime.recordSince(start);
+
+        if (event.shouldCommit()) {
+            event.game = "senet";
+            event.difficulty = difficulty.name();
+            event.roll = game.getLastRoll();
+            event.nodes = lastNodes;
+            event.pondered = lastPondered;
+            event.move = selectedPiece == null ? SenetGame.PASS : selectedPiece.getPosition();
+            event.commit();
+        }
+        return selectedPiece;
+    }
+
+    private SenetPiece pickPiece() {
+        lastNodes = 0;
+        lastPondered = false;
+        List<SenetPiece> validPieces = game.getValidPieces(game.getCurrentPlayer());
+
+        if (validPieces.isEmpty()) {
+            return null;
+        }
+
         SenetPiece selectedPiece = null;
 
         switch (difficulty) {
@@ -56,32 +131,53 @@ public class SenetAI {
                         .orElse(validPieces.get(0));
             }
             case HARD -> {
-                // Move piece that maximizes landing on opponent or bearing off
-                selectedPiece = validPieces.get(0);
-                int bestScore = -1;
-                for (SenetPiece p : validPieces) {
-                    int target = p.getPosition() + game.getLastRoll();
-                    int score = 0;
-                    if (target > 30) score += 10; // bearing off
-                    if (target <= 30 && game.getBoard().isOccupied(target)) {
-                        SenetPiece enemy = game.getBoard().getPieceAt(target);
-                        if (enemy != null && enemy.getColor() == PlayerColor.WHITE) score += 5;
-                    }
-                    if (score > bestScore) {
-                        bestScore = score;
-                        selectedPiece = p;
-                    }
+                // Pondered answer if there is one, else expectiminimax on a copy,
+                // so the live game (and its UI) is untouched
+                Integer pondered = ponderer == null ? null : ponderer.lookup(game.hash());
+                int square;
+                if (pondered != null) {
+                    square = pondered;
+                    lastPondered = true;
+                } else {
+                    SharedTable.TABLE.newSearch();
+                    square = search.bestMove(game.copy());
+                    lastNodes = search.getNodes();
+                }
+                selectedPiece = game.getBoard().getPieceAt(square);
+                if (selectedPiece == null) {
+                    selectedPiece = validPieces.get(0);
                 }
             }
         }
 
-        if (selectedPiece != null) {
-            game.movePiece(selectedPiece);
+        return selectedPiece;
+    }
 
-            // If carryOverRoll exists, recursively move
-            if (game.getLastRoll() > 0 && game.isMoveHasPending()) {
-                takeTurn();
-            }
-        }
+    /**
+     * choosePiece() as a GameState move: the piece's square, or PASS.
+     */
+    public int chooseMove() {
+        SenetPiece piece = choosePiece();
+        return piece == null ? SenetGame.PASS : piece.getPosition();
+    }
+
+    /**
+     * Background searcher matching this AI's HARD search, for the UI to run
+     * during the human's turn. Null for the levels that don't search.
+     */
+    public SenetPonderer createPonderer() {
+        // Same depth and table as this AI's own search, so pondered subtrees are reused even on a miss
+        return difficulty == Difficulty.HARD ? new SenetPonderer(HARD_SEARCH_DEPTH, SharedTable.TABLE) : null;
+    }
+
+    /**
+     * Consult this ponderer's cache before searching (null to stop).
+     */
+    public void setPonderer(SenetPonderer ponderer) {
+        this.ponderer = ponderer;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
     }
 }
@@ -0,0 +1,137 @@
+package com.boardgames.games.senet;
+
+import com.boardgames.games.search.EvaluationCache;
+import com.boardgames.games.search.Expectiminimax;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Win probability of every legal move for the pending roll, refined in
+ * the background and streamed to a listener.
+ *
+ * Estimates deepen step by step: first the static evaluation of each
+ * move's result (there within a millisecond), then expectiminimax at
+ * depth 1, 2, ... MAX_DEPTH, with an update after every move at every
+ * depth. One EvaluationCache is kept across analyses, so after a move
+ * the next position's search starts from subtrees the last one already
+ * worked out.
+ *
+ * Runs on one low-priority daemon thread. The listener is called on that
+ * thread, so a UI has to hand results over to its own thread.
+ */
+public class SenetAnalyzer {
+
+    public static final int MAX_DEPTH = 6;
+    private static final int CACHE_BITS = 20; // 1M entries, ~17 MB
+
+    /**
+     * Estimates for the position with the given hash, all from the point of
+     * view of the player to move. 'depth' is the deepest search that has
+     * finished for every move (0 = static evaluation only).
+     */
+    public record Analysis(long hash, int[] squares, double[] winProbabilities, int[] depths, int depth, boolean finished) {
+
+        /**
+         * Index of the best move found so far.
+         */
+        public int best() {
+            int best = 0;
+            for (int i = 1; i < winProbabilities.length; i++) {
+                if (winProbabilities[i] > winProbabilities[best]) best = i;
+            }
+            return best;
+        }
+    }
+
+    private final SenetEvaluator evaluator = new SenetEvaluator();
+    private final EvaluationCache cache = new EvaluationCache(CACHE_BITS);
+    private final Expectiminimax[] searches = new Expectiminimax[MAX_DEPTH + 1];
+    private final AtomicInteger generation = new AtomicInteger();
+    private final ExecutorService executor;
+    private long currentHash;
+
+    public SenetAnalyzer() {
+        for (int d = 1; d <= MAX_DEPTH; d++) {
+            // A move's value at depth d is its result searched d - 1 more decisions deep
+            searches[d] = new Expectiminimax(evaluator, d - 1);
+            searches[d].setCache(cache);
+        }
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "senet-analysis");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Analyse the moves for the roll pending in 'game' (call on the thread
+     * that owns the game; it's copied). Re-analysing the position already
+     * being worked on does nothing; anything else replaces it.
+     */
+    public void analyze(SenetGame game, Consumer<Analysis> listener) {
+        if (game.isGameOver() || !game.isMoveHasPending()) {
+            stop();
+            return;
+        }
+        long hash = game.hash();
+        if (hash == currentHash) return;
+        currentHash = hash;
+
+        int gen = generation.incrementAndGet();
+        SenetGame root = game.copy();
+        List<SenetPiece> pieces = root.getValidPieces(root.getCurrentPlayer());
+        int[] squares = pieces.stream().mapToInt(SenetPiece::getPosition).toArray();
+
+        executor.execute(() -> run(gen, hash, root, squares, listener));
+    }
+
+    public void stop() {
+        currentHash = 0;
+        generation.incrementAndGet();
+    }
+
+    public void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    private void run(int gen, long hash, SenetGame root, int[] squares, Consumer<Analysis> listener) {
+        int mover = root.currentPlayer();
+        int n = squares.length;
+        double[] values = new double[n];
+        int[] depths = new int[n];
+
+        if (n == 0) {
+            listener.accept(new Analysis(hash, squares, values, depths, MAX_DEPTH, true));
+            return;
+        }
+
+        // Depth 0: static evaluation of each result
+        for (int i = 0; i < n; i++) {
+            root.makeMove(squares[i]);
+            values[i] = root.isTerminal() ? (root.winner() == mover ? 1 : 0) : evaluator.evaluate(root, mover);
+            root.undo();
+        }
+        listener.accept(new Analysis(hash, squares, values.clone(), depths.clone(), 0, false));
+
+        for (int d = 1; d <= MAX_DEPTH; d++) {
+            for (int i = 0; i < n; i++) {
+                if (generation.get() != gen) return;
+
+                root.makeMove(squares[i]);
+                values[i] = searches[d].evaluate(root, mover);
+                root.undo();
+                depths[i] = d;
+
+                boolean finished = d == MAX_DEPTH && i == n - 1;
+                listener.accept(new Analysis(hash, squares, values.clone(), depths.clone(),
+                        i == n - 1 ? d : d - 1, finished));
+            }
+        }
+    }
+}
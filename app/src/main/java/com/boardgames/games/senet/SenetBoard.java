@@ -28,6 +28,13 @@ public class SenetBoard {
         board.remove(position);
     }
 
+    /**
+     * Remove every piece from the board.
+     */
+    public void clear() {
+        board.clear();
+    }
+
     /**
      * Check if a position is occupied by a friendly piece (same color).
      */
@@ -0,0 +1,96 @@
+package com.boardgames.games.senet;
+
+import com.boardgames.games.GameState;
+import com.boardgames.games.search.Evaluator;
+
+/**
+ * Hand-tuned Senet evaluation: race progress difference squashed into a
+ * win probability. Borne-off pieces count as past square 30 plus a bonus,
+ * and pieces still in row 1 are penalised because they block bearing off.
+ *
+ * Once the sides have passed each other and are far apart
+ * (SenetRaceTable.isRace) the game is nearly a pure race, and if a
+ * SenetRaceTable is installed its odds are used instead. If a SenetNetwork
+ * has been trained, it replaces the hand-tuned formula for everything
+ * else, passed sides that can still meet included.
+ *
+ * With a network, each instance keeps scratch arrays for it: use one per
+ * search thread, like Expectiminimax.
+ */
+public class SenetEvaluator implements Evaluator {
+
+    private static final int OFF_BOARD_VALUE = 36;
+    private static final int ROW_ONE_PENALTY = 4;
+    private static final double SCALE = 0.06;
+
+    // values() clones its array on every call
+    private static final PlayerColor[] COLORS = PlayerColor.values();
+
+    private final SenetRaceTable races;
+    private final SenetNetwork network;
+    private final int[] rows = new int[SenetNetwork.MAX_ACTIVE];
+    private final float[] activations;
+
+    /**
+     * Uses the installed race table and network, where there are any.
+     */
+    public SenetEvaluator() {
+        this(SenetRaceTable.installed(), SenetNetwork.installed());
+    }
+
+    /**
+     * Either may be null: hand-tuned evaluation where they'd apply.
+     */
+    public SenetEvaluator(SenetRaceTable races, SenetNetwork network) {
+        this.races = races;
+        this.network = network;
+        this.activations = network == null ? null : new float[network.getHidden()];
+    }
+
+    @Override
+    public double evaluate(GameState state, int player) {
+        SenetGame game = (SenetGame) state;
+        PlayerColor me = COLORS[player];
+
+        int score = 0;
+        int onBoard = 0;
+        int white = 0;
+        int black = 0;
+        for (int i = 1; i <= 30; i++) {
+            SenetPiece p = game.getBoard().getPieceAt(i);
+            if (p == null) continue;
+
+            int value = i - (i <= 10 ? ROW_ONE_PENALTY : 0);
+            score += p.getColor() == me ? value : -value;
+            onBoard += p.getColor() == me ? 1 : -1;
+            if (p.getColor() == PlayerColor.WHITE) {
+                white |= 1 << (i - 1);
+            } else {
+                black |= 1 << (i - 1);
+            }
+        }
+
+        if (races != null && !game.isNeedsInitialRoll() && SenetRaceTable.isRace(white, black)) {
+            return race(game, white, black, me);
+        }
+        if (network != null) {
+            return network.winProbability(game, player, rows, activations);
+        }
+
+        // 5 pieces each: whatever isn't on the board has been borne off
+        score -= onBoard * OFF_BOARD_VALUE;
+
+        return 1.0 / (1.0 + Math.exp(-SCALE * score));
+    }
+
+    private double race(SenetGame game, int white, int black, PlayerColor me) {
+        boolean whiteToMove = game.getCurrentPlayer() == PlayerColor.WHITE;
+        int mover = whiteToMove ? white : black;
+        int other = whiteToMove ? black : white;
+
+        // Throw already made (or a carry-over waiting), else about to throw
+        int roll = game.isMoveHasPending() ? game.getLastRoll() : game.getCarryOverRoll();
+        double moverWins = roll > 0 ? races.moverWins(mover, other, roll) : races.moverWins(mover, other);
+        return game.getCurrentPlayer() == me ? moverWins : 1 - moverWins;
+    }
+}
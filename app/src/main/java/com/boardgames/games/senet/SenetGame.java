@@ -1,8 +1,17 @@
 package com.boardgames.games.senet;
 
 
+import com.boardgames.games.GameState;
+import com.boardgames.jfr.SenetMoveEvent;
+import com.boardgames.jfr.SenetRollEvent;
+import com.boardgames.jfr.SenetTurnEndEvent;
+import com.boardgames.metrics.Counter;
+import com.boardgames.metrics.MetricsRegistry;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Complete implementation of Senet rules:
@@ -14,10 +23,51 @@ import java.util.List;
  * - 1st player to roll 1 takes dark pieces and rolls again
  * - Players roll 1, 4, or 6 to roll again; 2 or 3 ends turn
  * - Bearing off only when row 1 is clear
+ *
+ * Also implements GameState so the generic search / simulation code can
+ * play it: a move is the square of the piece to move (PASS when stuck),
+ * a chance outcome is a stick throw.
  */
-public class SenetGame {
+public class SenetGame implements GameState {
+
+    public static final int PASS = 0;
+
+    /**
+     * Told about every roll, move and skip made through rollDice / movePiece /
+     * skipTurn, after it has been applied (search via GameState doesn't report).
+     */
+    public interface TurnListener {
+        void rolled(int roll);
+
+        void moved(int fromSquare);
+
+        void skipped();
+    }
+
+    // Stick throws and their odds (4 two-sided sticks, none flat = 6)
+    private static final int[] ROLLS = {1, 2, 3, 4, 6};
+    private static final double[] ROLL_ODDS = {4 / 16.0, 6 / 16.0, 4 / 16.0, 1 / 16.0, 1 / 16.0};
+
+    // Real moves only (movePiece); search goes through makeMove() and isn't counted
+    private static final Counter MOVES = MetricsRegistry.counter("boardgames_moves_total",
+            "Pieces moved in played games.", "game", "senet");
+
+    // Zobrist keys: [square][color], plus side to move and pending-roll state
+    private static final long[][] ZOBRIST_PIECE = new long[31][2];
+    private static final long[] ZOBRIST_FLAGS = new long[32];
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x5E4E7L);
+        for (long[] square : ZOBRIST_PIECE) {
+            square[0] = rnd.nextLong();
+            square[1] = rnd.nextLong();
+        }
+        for (int i = 0; i < ZOBRIST_FLAGS.length; i++) {
+            ZOBRIST_FLAGS[i] = rnd.nextLong();
+        }
+    }
 
     private final SenetBoard board;
+    private final List<SenetPiece> pieces = new ArrayList<>();
     private PlayerColor currentPlayer;
     private int lastRoll;
     private int carryOverRoll;
@@ -28,8 +78,54 @@ public class SenetGame {
     private boolean gameOver;
     private PlayerColor winner;
 
+    // Undo stack of packed snapshots (see packBoard / packFlags)
+    private long[] undoBoards = new long[64];
+    private int[] undoFlags = new int[64];
+    private int undoDepth;
+
+    private TurnListener turnListener; // not copied by copy()
+
     public SenetGame() {
         board = new SenetBoard();
+        for (int i = 1; i <= 10; i++) {
+            PlayerColor color = (i % 2 == 1) ? PlayerColor.WHITE : PlayerColor.BLACK;
+            if (i == 10) {
+                color = PlayerColor.BLACK;
+            }
+            pieces.add(new SenetPiece(color, i));
+        }
+        reset();
+    }
+
+    /**
+     * Independent copy of another game's position (new piece objects).
+     */
+    public SenetGame(SenetGame other) {
+        board = new SenetBoard();
+        for (SenetPiece p : other.pieces) {
+            SenetPiece copy = new SenetPiece(p.getColor(), p.getPosition());
+            pieces.add(copy);
+            if (!copy.isOffBoard()) {
+                board.placePiece(copy, copy.getPosition());
+            }
+        }
+        currentPlayer = other.currentPlayer;
+        lastRoll = other.lastRoll;
+        carryOverRoll = other.carryOverRoll;
+        darkPieceOwner = other.darkPieceOwner;
+        gameStarted = other.gameStarted;
+        needsInitialRoll = other.needsInitialRoll;
+        moveHasPending = other.moveHasPending;
+        gameOver = other.gameOver;
+        winner = other.winner;
+    }
+
+    /**
+     * Start a fresh game with the same piece objects, so anything keyed
+     * by piece (e.g. the UI's piece views) stays valid across games.
+     */
+    public void reset() {
+        board.clear();
         currentPlayer = PlayerColor.WHITE;
         darkPieceOwner = null;
         gameStarted = false;
@@ -39,6 +135,7 @@ public class SenetGame {
         winner = null;
         lastRoll = 0;
         carryOverRoll = 0;
+        undoDepth = 0;
         setupInitialPosition();
     }
 
@@ -48,11 +145,7 @@ public class SenetGame {
      */
     private void setupInitialPosition() {
         for (int i = 1; i <= 10; i++) {
-            PlayerColor color = (i % 2 == 1) ? PlayerColor.WHITE : PlayerColor.BLACK;
-            if (i == 10) {
-                color = PlayerColor.BLACK;
-            }
-            board.placePiece(new SenetPiece(color, i), i);
+            board.placePiece(pieces.get(i - 1), i);
         }
     }
 
@@ -62,6 +155,31 @@ public class SenetGame {
      * a move is pending.
      */
     public int rollDice() {
+        SenetRollEvent event = new SenetRollEvent();
+        PlayerColor roller = currentPlayer;
+        boolean carryOver = carryOverRoll > 0;
+
+        // A pending carry-over (or a finished game) doesn't throw the sticks
+        int roll = applyRoll(carryOver || gameOver ? 0 : DiceSticks.roll());
+
+        if (event.shouldCommit()) {
+            event.player = roller.name();
+            event.roll = roll;
+            event.carryOver = carryOver;
+            event.commit();
+        }
+        if (turnListener != null) {
+            turnListener.rolled(roll);
+        }
+        return roll;
+    }
+
+    /**
+     * Apply a known stick throw (1, 2, 3, 4 or 6) exactly like rollDice().
+     * Used by search, replays and tests; a pending carry-over remainder
+     * still takes precedence over the given roll.
+     */
+    public int applyRoll(int roll) {
         if (carryOverRoll > 0) {
             lastRoll = carryOverRoll;
             carryOverRoll = 0;
@@ -71,7 +189,7 @@ public class SenetGame {
 
         if (gameOver) return lastRoll;
     
-        lastRoll = DiceSticks.roll();
+        lastRoll = roll;
     
         if (needsInitialRoll) {
             if (lastRoll == 1) {
@@ -107,7 +225,7 @@ public class SenetGame {
         SenetPiece darkOnTen = board.getPieceAt(10);
         if (darkOnTen != null && darkOnTen.getColor() == PlayerColor.BLACK) {
             lastRoll = 1;
-            movePiece(darkOnTen);
+            move(darkOnTen);
             moveHasPending = false;
 
             // After moving, check if we roll again (rolled 1)
@@ -269,6 +387,35 @@ public class SenetGame {
      * Rules: Always try forward first. Only try backward if forward is blocked.
      */
     public boolean movePiece(SenetPiece piece) {
+        SenetMoveEvent event = new SenetMoveEvent();
+        PlayerColor mover = currentPlayer;
+        int roll = lastRoll;
+        int from = piece == null ? 0 : piece.getPosition();
+
+        boolean moved = move(piece);
+        if (moved) {
+            MOVES.inc();
+        }
+        if (turnListener != null && piece != null) {
+            turnListener.moved(from);
+        }
+
+        if (event.shouldCommit()) {
+            event.player = mover.name();
+            event.roll = roll;
+            event.from = from;
+            event.to = !moved ? from : piece.isOffBoard() ? 31 : piece.getPosition();
+            event.moved = moved;
+            event.commit();
+        }
+        turnEndEvent(mover, false);
+        return moved;
+    }
+
+    /**
+     * movePiece() without events; also what search uses via makeMove().
+     */
+    private boolean move(SenetPiece piece) {
         if (piece == null || piece.isOffBoard()) {
             return false;
         }
@@ -318,7 +465,8 @@ public class SenetGame {
                     handleTurnEnd();
                 }
 
-                checkWinCondition();
+                // The turn may already have passed: check the side that moved
+                checkWinCondition(piece.getColor());
                 return true;
             }
         }
@@ -387,14 +535,14 @@ public class SenetGame {
     }
 
     /**
-     * Check if player has won.
+     * Check if 'color' has won: no pieces left on the board.
      */
-    private void checkWinCondition() {
+    private void checkWinCondition(PlayerColor color) {
         boolean hasAnyOnBoard = false;
 
         for (int i = 1; i <= 30; i++) {
             SenetPiece p = board.getPieceAt(i);
-            if (p != null && p.getColor() == currentPlayer && !p.isOffBoard()) {
+            if (p != null && p.getColor() == color && !p.isOffBoard()) {
                 hasAnyOnBoard = true;
                 break;
             }
@@ -402,7 +550,7 @@ public class SenetGame {
 
         if (!hasAnyOnBoard) {
             gameOver = true;
-            winner = currentPlayer;
+            winner = color;
             moveHasPending = false;
         }
     }
@@ -438,6 +586,13 @@ public class SenetGame {
         return lastRoll;
     }
 
+    /**
+     * Bear-off remainder the next rollDice() will hand out instead of a throw (0 if none).
+     */
+    public int getCarryOverRoll() {
+        return carryOverRoll;
+    }
+
     public boolean isGameStarted() {
         return gameStarted;
     }
@@ -462,6 +617,10 @@ public class SenetGame {
         return winner;
     }
 
+    public void setTurnListener(TurnListener listener) {
+        this.turnListener = listener;
+    }
+
     public static PlayerColor getOpponent(PlayerColor color) {
         return color == PlayerColor.WHITE ? PlayerColor.BLACK : PlayerColor.WHITE;
     }
@@ -471,7 +630,267 @@ public class SenetGame {
     }
 
     public void skipTurn() {
+        SenetMoveEvent event = new SenetMoveEvent();
+        PlayerColor mover = currentPlayer;
+
+        pass();
+        if (turnListener != null) {
+            turnListener.skipped();
+        }
+
+        if (event.shouldCommit()) {
+            event.player = mover.name();
+            event.roll = lastRoll;
+            event.commit();
+        }
+        turnEndEvent(mover, true);
+    }
+
+    private void pass() {
         moveHasPending = false;
         currentPlayer = getOpponent(currentPlayer);
     }
+
+    private void turnEndEvent(PlayerColor mover, boolean skipped) {
+        SenetTurnEndEvent event = new SenetTurnEndEvent();
+        if (event.shouldCommit() && (currentPlayer != mover || gameOver)) {
+            event.player = mover.name();
+            event.skipped = skipped;
+            event.gameOver = gameOver;
+            event.commit();
+        }
+    }
+
+    // ===== GameState =====
+
+    @Override
+    public int currentPlayer() {
+        return currentPlayer.ordinal();
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return gameOver;
+    }
+
+    @Override
+    public int winner() {
+        return winner == null ? NO_PLAYER : winner.ordinal();
+    }
+
+    @Override
+    public boolean isChanceNode() {
+        return !gameOver && !moveHasPending;
+    }
+
+    @Override
+    public int chanceOutcomes(int[] outcomes, double[] probabilities) {
+        if (carryOverRoll > 0) {
+            // Remainder from bearing off: no throw, one certain outcome
+            outcomes[0] = carryOverRoll;
+            probabilities[0] = 1.0;
+            return 1;
+        }
+        System.arraycopy(ROLLS, 0, outcomes, 0, ROLLS.length);
+        System.arraycopy(ROLL_ODDS, 0, probabilities, 0, ROLL_ODDS.length);
+        return ROLLS.length;
+    }
+
+    @Override
+    public void applyChance(int outcome) {
+        pushUndo();
+        applyRoll(outcome);
+    }
+
+    @Override
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        for (int i = 1; i <= 30; i++) {
+            SenetPiece p = board.getPieceAt(i);
+            if (p != null && p.getColor() == currentPlayer && (canMoveForward(p) || canMoveBackward(p))) {
+                moves[count++] = i;
+            }
+        }
+        if (count == 0) {
+            moves[count++] = PASS;
+        }
+        return count;
+    }
+
+    @Override
+    public void makeMove(int move) {
+        pushUndo();
+        if (move == PASS) {
+            pass();
+        } else {
+            move(board.getPieceAt(move));
+        }
+    }
+
+    @Override
+    public void undo() {
+        undoDepth--;
+        restore(undoBoards[undoDepth], undoFlags[undoDepth]);
+    }
+
+    @Override
+    public long hash() {
+        long h = ZOBRIST_FLAGS[currentPlayer.ordinal()];
+        for (int i = 1; i <= 30; i++) {
+            SenetPiece p = board.getPieceAt(i);
+            if (p != null) {
+                h ^= ZOBRIST_PIECE[i][p.getColor().ordinal()];
+            }
+        }
+        if (moveHasPending) h ^= ZOBRIST_FLAGS[2 + lastRoll];        // 3..8
+        if (carryOverRoll > 0) h ^= ZOBRIST_FLAGS[9 + carryOverRoll]; // 10..15
+        if (needsInitialRoll) h ^= ZOBRIST_FLAGS[16];
+        if (gameOver) h ^= ZOBRIST_FLAGS[17];
+        return h;
+    }
+
+    @Override
+    public int maxMoves() {
+        return ROLLS.length; // 5 pieces per side, 5 possible throws
+    }
+
+    @Override
+    public SenetGame copy() {
+        return new SenetGame(this);
+    }
+
+    // ===== Compact state =====
+
+    // packFlags() layout, low bit first: side to move (1 bit), last roll (3),
+    // carry-over roll (3), dark owner + 1 (2), started, needs initial roll,
+    // move pending, game over (1 each), winner + 1 (2)
+    private static final int ROLL_SHIFT = 1;
+    private static final int CARRY_SHIFT = 4;
+    private static final int DARK_SHIFT = 7;
+    private static final int STARTED_BIT = 9;
+    private static final int INITIAL_ROLL_BIT = 10;
+    private static final int PENDING_BIT = 11;
+    private static final int GAME_OVER_BIT = 12;
+    private static final int WINNER_SHIFT = 13;
+
+    /**
+     * Board as 2 bits per square (0 empty, 1 white, 2 black), square 1 in the low bits.
+     */
+    public long packBoard() {
+        long packed = 0;
+        for (int i = 1; i <= 30; i++) {
+            SenetPiece p = board.getPieceAt(i);
+            if (p != null) {
+                packed |= (long) (p.getColor().ordinal() + 1) << ((i - 1) * 2);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Turn / roll / phase state packed into one int. Read it back with
+     * restore() or the packed*() decoders below, never by hand.
+     */
+    public int packFlags() {
+        return currentPlayer.ordinal()
+                | lastRoll << ROLL_SHIFT
+                | carryOverRoll << CARRY_SHIFT
+                | (darkPieceOwner == null ? 0 : darkPieceOwner.ordinal() + 1) << DARK_SHIFT
+                | (gameStarted ? 1 : 0) << STARTED_BIT
+                | (needsInitialRoll ? 1 : 0) << INITIAL_ROLL_BIT
+                | (moveHasPending ? 1 : 0) << PENDING_BIT
+                | (gameOver ? 1 : 0) << GAME_OVER_BIT
+                | (winner == null ? 0 : winner.ordinal() + 1) << WINNER_SHIFT;
+    }
+
+    /**
+     * What's on 'square' (1-30) of a packBoard() value: 0 empty, else the
+     * PlayerColor ordinal + 1.
+     */
+    public static int packedSquare(long packedBoard, int square) {
+        return (int) (packedBoard >>> ((square - 1) * 2)) & 3;
+    }
+
+    /**
+     * Side to move (PlayerColor ordinal) in packFlags().
+     */
+    public static int packedPlayer(int flags) {
+        return flags & 1;
+    }
+
+    /**
+     * Last roll in packFlags(), 0 before the first throw.
+     */
+    public static int packedRoll(int flags) {
+        return (flags >>> ROLL_SHIFT) & 7;
+    }
+
+    public static boolean packedMovePending(int flags) {
+        return ((flags >>> PENDING_BIT) & 1) != 0;
+    }
+
+    public static boolean packedGameOver(int flags) {
+        return ((flags >>> GAME_OVER_BIT) & 1) != 0;
+    }
+
+    /**
+     * Winner (PlayerColor ordinal) in packFlags(), or NO_PLAYER.
+     */
+    public static int packedWinner(int flags) {
+        return ((flags >>> WINNER_SHIFT) & 3) - 1;
+    }
+
+    /**
+     * Restore a position from packBoard() / packFlags(). Piece objects are
+     * reused; pieces of one colour are interchangeable, so each colour's
+     * pieces are simply laid out in square order.
+     */
+    public void restore(long packedBoard, int flags) {
+        PlayerColor[] colors = PlayerColor.values();
+
+        board.clear();
+        for (SenetPiece p : pieces) {
+            p.setPosition(-1); // borne off unless placed below
+        }
+        int white = 0, black = 0;
+        for (int i = 1; i <= 30; i++) {
+            int code = packedSquare(packedBoard, i);
+            if (code == 0) continue;
+
+            PlayerColor color = colors[code - 1];
+            SenetPiece piece = nthPiece(color, color == PlayerColor.WHITE ? white++ : black++);
+            board.placePiece(piece, i);
+        }
+
+        currentPlayer = colors[packedPlayer(flags)];
+        lastRoll = packedRoll(flags);
+        carryOverRoll = (flags >>> CARRY_SHIFT) & 7;
+        int dark = (flags >>> DARK_SHIFT) & 3;
+        darkPieceOwner = dark == 0 ? null : colors[dark - 1];
+        gameStarted = ((flags >>> STARTED_BIT) & 1) != 0;
+        needsInitialRoll = ((flags >>> INITIAL_ROLL_BIT) & 1) != 0;
+        moveHasPending = packedMovePending(flags);
+        gameOver = packedGameOver(flags);
+        int win = packedWinner(flags);
+        winner = win == NO_PLAYER ? null : colors[win];
+    }
+
+    private SenetPiece nthPiece(PlayerColor color, int n) {
+        for (SenetPiece p : pieces) {
+            if (p.getColor() == color && n-- == 0) {
+                return p;
+            }
+        }
+        throw new IllegalStateException("More than 5 " + color + " pieces");
+    }
+
+    private void pushUndo() {
+        if (undoDepth == undoBoards.length) {
+            undoBoards = Arrays.copyOf(undoBoards, undoDepth * 2);
+            undoFlags = Arrays.copyOf(undoFlags, undoDepth * 2);
+        }
+        undoBoards[undoDepth] = packBoard();
+        undoFlags[undoDepth] = packFlags();
+        undoDepth++;
+    }
 }
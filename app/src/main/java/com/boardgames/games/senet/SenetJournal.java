@@ -0,0 +1,229 @@
+package com.boardgames.games.senet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Autosave for the game in progress: an append-only journal of rolls,
+ * moves and skips in a small preallocated, memory-mapped file.
+ *
+ * Layout: a 16-byte header (magic, saved AI difficulty), then fixed
+ * 16-byte records:
+ *   [type][check][2 spare][int value][long board]
+ * A SNAPSHOT record holds packBoard() / packFlags(); ROLL, MOVE and SKIP
+ * hold the roll or the square moved from. A snapshot is written every
+ * SNAPSHOT_EVERY records, so resuming restores the last snapshot and
+ * replays at most that many records after it. When the file is full it
+ * starts over from slot 0 with a snapshot.
+ *
+ * An append is a few stores into the mapping: no syscall, no flush, no
+ * rewrite of the save, so it costs nothing noticeable on a move. The type
+ * byte is written last and the next slot is marked END first, so a record
+ * cut short by a crash is simply not there on replay; the check byte
+ * catches pages the OS wrote out of order after a power cut (the mapping
+ * is never forced, so the last few moves can be lost that way, not the
+ * game). Single-threaded: it's driven from the game's own thread.
+ */
+public class SenetJournal implements SenetGame.TurnListener {
+
+    private static final int MAGIC = 0x534A4E31;  // "SJN1"
+    private static final int EMPTY = 0;           // header magic once the game is over
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+    private static final int CAPACITY = 4096;     // records, 64 KB file
+    private static final int SNAPSHOT_EVERY = 32;
+
+    private static final byte END = 0;
+    private static final byte SNAPSHOT = 1;
+    private static final byte ROLL = 2;
+    private static final byte MOVE = 3;
+    private static final byte SKIP = 4;
+
+    private final MappedByteBuffer map;
+    private SenetGame game;
+    private int next;            // slot for the next record
+    private int sinceSnapshot;
+    private SenetAI.Difficulty savedDifficulty;
+
+    private SenetJournal(MappedByteBuffer map) {
+        this.map = map;
+    }
+
+    /**
+     * Where the autosave lives, unless -Dboardgames.senet.journal=<file> says otherwise.
+     */
+    public static Path defaultPath() {
+        String override = System.getProperty("boardgames.senet.journal");
+        if (override != null) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".ancient-board-games", "senet-autosave.journal");
+    }
+
+    /**
+     * Map the journal file, creating and preallocating it if needed.
+     */
+    public static SenetJournal open(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return new SenetJournal(ch.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) CAPACITY * RECORD_BYTES));
+        }
+    }
+
+    /**
+     * Cheap check for a menu: is there an unfinished game in this file?
+     */
+    public static boolean hasSavedGame(Path file) {
+        if (!Files.isRegularFile(file)) return false;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            return ch.read(header, 0) == 4 && header.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // ===== Recording =====
+
+    /**
+     * Start journaling 'game' from its current position (replacing any
+     * saved game). A null difficulty means local 2-player.
+     */
+    public void startGame(SenetGame game, SenetAI.Difficulty difficulty) {
+        stop();
+        this.game = game;
+        this.savedDifficulty = difficulty;
+
+        map.putInt(0, EMPTY); // invalid until the first snapshot is in
+        map.putInt(4, difficulty == null ? 0 : difficulty.ordinal() + 1);
+        next = 0;
+        snapshot();
+        map.putInt(0, MAGIC);
+
+        game.setTurnListener(this);
+    }
+
+    /**
+     * The game is over (or abandoned): nothing left to resume.
+     */
+    public void finish() {
+        stop();
+        map.putInt(0, EMPTY);
+    }
+
+    /**
+     * Stop listening to the current game, leaving what's saved in place.
+     */
+    public void stop() {
+        if (game != null) {
+            game.setTurnListener(null);
+            game = null;
+        }
+    }
+
+    @Override
+    public void rolled(int roll) {
+        append(ROLL, roll);
+    }
+
+    @Override
+    public void moved(int fromSquare) {
+        append(MOVE, fromSquare);
+    }
+
+    @Override
+    public void skipped() {
+        append(SKIP, 0);
+    }
+
+    private void append(byte type, int value) {
+        if (next >= CAPACITY - 1 || ++sinceSnapshot >= SNAPSHOT_EVERY) {
+            // The listener runs after the change, so the snapshot already includes it
+            if (next >= CAPACITY - 1) next = 0;
+            snapshot();
+            return;
+        }
+        write(type, value, 0);
+    }
+
+    private void snapshot() {
+        write(SNAPSHOT, game.packFlags(), game.packBoard());
+        sinceSnapshot = 0;
+    }
+
+    private void write(byte type, int value, long board) {
+        int at = HEADER_BYTES + next * RECORD_BYTES;
+        map.put(at + RECORD_BYTES, END); // next slot (there's always one spare)
+        map.put(at + 1, check(type, value, board));
+        map.putInt(at + 4, value);
+        map.putLong(at + 8, board);
+        map.put(at, type);               // commit
+        next++;
+    }
+
+    private static byte check(byte type, int value, long board) {
+        long h = (type * 0x9E3779B97F4A7C15L) ^ (value * 0xC2B2AE3D27D4EB4FL) ^ board;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (byte) (h >>> 56);
+    }
+
+    // ===== Resume =====
+
+    /**
+     * Rebuild the saved game into 'into': restore the last snapshot and
+     * replay the records after it. Returns false if there is nothing saved.
+     */
+    public boolean load(SenetGame into) {
+        if (map.getInt(0) != MAGIC) return false;
+        int mode = map.getInt(4);
+        savedDifficulty = mode == 0 ? null : SenetAI.Difficulty.values()[mode - 1];
+
+        // Find the end of the valid records and the last snapshot before it
+        int lastSnapshot = -1;
+        int end = 0;
+        while (end < CAPACITY) {
+            int at = HEADER_BYTES + end * RECORD_BYTES;
+            byte type = map.get(at);
+            if (type < SNAPSHOT || type > SKIP
+                    || map.get(at + 1) != check(type, map.getInt(at + 4), map.getLong(at + 8))) {
+                break;
+            }
+            if (type == SNAPSHOT) lastSnapshot = end;
+            end++;
+        }
+        if (lastSnapshot < 0) return false;
+
+        int at = HEADER_BYTES + lastSnapshot * RECORD_BYTES;
+        into.restore(map.getLong(at + 8), map.getInt(at + 4));
+        for (int i = lastSnapshot + 1; i < end; i++) {
+            at = HEADER_BYTES + i * RECORD_BYTES;
+            int value = map.getInt(at + 4);
+            switch (map.get(at)) {
+                case ROLL -> into.applyRoll(value);
+                case MOVE -> into.movePiece(into.getBoard().getPieceAt(value));
+                case SKIP -> into.skipTurn();
+                default -> { }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * AI level of the saved game (after load), null for local 2-player.
+     */
+    public SenetAI.Difficulty getSavedDifficulty() {
+        return savedDifficulty;
+    }
+}
@@ -0,0 +1,113 @@
+package com.boardgames.games.senet;
+
+/**
+ * Plays AI vs AI Senet as fast as the engine can, on a background thread.
+ *
+ * The runner owns its own copy of the game; after every roll, move or skip
+ * it publishes a Snapshot (packed board + flags and a running tally), and
+ * a view samples latest() whenever it likes, e.g. once per frame. So
+ * rendering never holds play back, and play never touches UI objects.
+ *
+ * With 'continuous' a new game starts as soon as one ends, which turns a
+ * spectator session into a soak test.
+ */
+public class SenetMatchRunner {
+
+    /**
+     * Position after the latest step, plus totals since start().
+     */
+    public record Snapshot(long board, int flags, long steps, int whiteWins, int blackWins) {
+        public int games() {
+            return whiteWins + blackWins;
+        }
+    }
+
+    private final SenetGame game;
+    private final SenetAI whiteAI;
+    private final SenetAI blackAI;
+    private final boolean continuous;
+
+    private volatile boolean running;
+    private volatile Snapshot latest;
+    private Thread thread;
+
+    private long steps;
+    private int whiteWins;
+    private int blackWins;
+
+    /**
+     * Continue from a copy of 'start'; the live game is never touched.
+     */
+    public SenetMatchRunner(SenetGame start, SenetAI.Difficulty white, SenetAI.Difficulty black, boolean continuous) {
+        this.game = start.copy();
+        this.whiteAI = new SenetAI(game, white);
+        this.blackAI = new SenetAI(game, black);
+        this.continuous = continuous;
+        publish();
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "senet-match");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY); // leave the FX thread room to render
+        thread.start();
+    }
+
+    /**
+     * Stop after the current step and return the final snapshot.
+     */
+    public synchronized Snapshot stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        return latest;
+    }
+
+    public Snapshot latest() {
+        return latest;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            if (game.isGameOver()) {
+                if (!continuous) {
+                    running = false;
+                    return;
+                }
+                game.reset();
+            } else if (!game.isMoveHasPending()) {
+                game.rollDice(); // also consumes a carried-over remainder
+            } else {
+                SenetAI ai = game.getCurrentPlayer() == PlayerColor.WHITE ? whiteAI : blackAI;
+                SenetPiece piece = ai.choosePiece();
+                if (piece == null) {
+                    game.skipTurn();
+                } else {
+                    game.movePiece(piece);
+                }
+                if (game.isGameOver()) {
+                    if (game.getWinner() == PlayerColor.WHITE) whiteWins++;
+                    else blackWins++;
+                }
+            }
+            steps++;
+            publish();
+        }
+    }
+
+    private void publish() {
+        latest = new Snapshot(game.packBoard(), game.packFlags(), steps, whiteWins, blackWins);
+    }
+}
@@ -0,0 +1,254 @@
+package com.boardgames.games.senet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * Small neural network that scores Senet positions, trained by self-play
+ * (see SenetTdTrainer): 77 binary inputs, one sigmoid hidden layer, one
+ * sigmoid output = chance that the player to move wins.
+ *
+ * Inputs, all from the point of view of the player to move:
+ *   0-29   own piece on square 1-30
+ *   30-59  opponent piece on square 1-30
+ *   60-65  own pieces borne off (0-5, one of them set)
+ *   66-71  opponent pieces borne off
+ *   72-76  throw waiting to be moved (1, 2, 3, 4, 6), none at a throw;
+ *          the 5 left over after bearing off from 30 with a 6 has none
+ * so at most 13 are set. features() lists those as offsets into the
+ * first-layer weights (precomputed per square and side), and value()
+ * only adds up their rows: no allocation, no multiplications by zero,
+ * well under a microsecond per call.
+ *
+ * Weights are shared and read-only during play; the caller brings the
+ * scratch arrays, so one network serves any number of threads.
+ */
+public class SenetNetwork {
+
+    static final int MAGIC = 0x534E4E31; // "SNN1"
+    static final int HEADER_BYTES = 12;
+
+    public static final int INPUTS = 77;
+    public static final int MAX_ACTIVE = 13;
+    public static final int DEFAULT_HIDDEN = 40;
+
+    private static final int OWN_SQUARE = 0;
+    private static final int OPP_SQUARE = 30;
+    private static final int OWN_OFF = 60;
+    private static final int OPP_OFF = 66;
+    private static final int ROLL = 72;
+
+    // Input index per throw value (0 = none, 5 unused)
+    private static final int[] ROLL_INPUT = {-1, ROLL, ROLL + 1, ROLL + 2, ROLL + 3, -1, ROLL + 4};
+
+    // Sigmoid by table lookup with linear interpolation over [-SIGMOID_RANGE, SIGMOID_RANGE]
+    private static final int SIGMOID_RANGE = 16;
+    private static final int SIGMOID_STEPS = 4096;
+    private static final float[] SIGMOID = new float[SIGMOID_STEPS + 2];
+    static {
+        for (int i = 0; i < SIGMOID.length; i++) {
+            double x = (double) i * 2 * SIGMOID_RANGE / SIGMOID_STEPS - SIGMOID_RANGE;
+            SIGMOID[i] = (float) (1 / (1 + Math.exp(-x)));
+        }
+    }
+
+    private static SenetNetwork installed;
+    private static boolean installedLoaded;
+
+    final int hidden;
+    final float[] w1;    // [input * hidden + h]
+    final float[] b1;    // [h]
+    final float[] w2;    // [h]
+    final float[] b2 = new float[1];
+
+    // Row offsets into w1: [own or opponent][square], [own or opponent][pieces off]
+    private final int[][] squareRow = new int[2][31];
+    private final int[][] offRow = new int[2][6];
+    private final int[] rollRow = new int[7];
+
+    /**
+     * Untrained network with small random weights.
+     */
+    public SenetNetwork(int hidden, long seed) {
+        this(hidden);
+        SplittableRandom random = new SplittableRandom(seed);
+        double scale = 1 / Math.sqrt(MAX_ACTIVE);
+        for (int i = 0; i < w1.length; i++) {
+            w1[i] = (float) ((random.nextDouble() * 2 - 1) * scale);
+        }
+        for (int h = 0; h < hidden; h++) {
+            w2[h] = (float) ((random.nextDouble() * 2 - 1) / Math.sqrt(hidden));
+        }
+    }
+
+    private SenetNetwork(int hidden) {
+        this.hidden = hidden;
+        this.w1 = new float[INPUTS * hidden];
+        this.b1 = new float[hidden];
+        this.w2 = new float[hidden];
+
+        for (int square = 1; square <= 30; square++) {
+            squareRow[0][square] = (OWN_SQUARE + square - 1) * hidden;
+            squareRow[1][square] = (OPP_SQUARE + square - 1) * hidden;
+        }
+        for (int off = 0; off <= 5; off++) {
+            offRow[0][off] = (OWN_OFF + off) * hidden;
+            offRow[1][off] = (OPP_OFF + off) * hidden;
+        }
+        for (int roll = 0; roll < rollRow.length; roll++) {
+            rollRow[roll] = ROLL_INPUT[roll] < 0 ? -1 : ROLL_INPUT[roll] * hidden;
+        }
+    }
+
+    public int getHidden() {
+        return hidden;
+    }
+
+    // ===== Inference =====
+
+    /**
+     * Rows of w1 for the inputs set in 'game' (player to move's view), into
+     * 'rows' (at least MAX_ACTIVE long). Returns how many.
+     */
+    public int features(SenetGame game, int[] rows) {
+        PlayerColor mover = game.getCurrentPlayer();
+        SenetBoard board = game.getBoard();
+        int count = 0;
+        int ownOn = 0;
+        int oppOn = 0;
+
+        for (int i = 1; i <= 30; i++) {
+            SenetPiece p = board.getPieceAt(i);
+            if (p == null) continue;
+            if (p.getColor() == mover) {
+                rows[count++] = squareRow[0][i];
+                ownOn++;
+            } else {
+                rows[count++] = squareRow[1][i];
+                oppOn++;
+            }
+        }
+        rows[count++] = offRow[0][5 - ownOn];
+        rows[count++] = offRow[1][5 - oppOn];
+
+        int roll = game.isMoveHasPending() ? game.getLastRoll() : 0;
+        if (rollRow[roll] >= 0) {
+            rows[count++] = rollRow[roll];
+        }
+        return count;
+    }
+
+    /**
+     * Win probability for the player to move given features() output.
+     * Hidden activations are left in 'activations' (length getHidden()).
+     */
+    public double value(int[] rows, int count, float[] activations) {
+        System.arraycopy(b1, 0, activations, 0, hidden);
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            for (int h = 0; h < hidden; h++) {
+                activations[h] += w1[row + h];
+            }
+        }
+
+        float out = b2[0];
+        for (int h = 0; h < hidden; h++) {
+            float a = sigmoid(activations[h]);
+            activations[h] = a;
+            out += w2[h] * a;
+        }
+        return sigmoid(out);
+    }
+
+    /**
+     * Win probability for 'player' in 'game', using the caller's scratch arrays.
+     */
+    public double winProbability(SenetGame game, int player, int[] rows, float[] activations) {
+        double v = value(rows, features(game, rows), activations);
+        return game.currentPlayer() == player ? v : 1 - v;
+    }
+
+    static float sigmoid(float x) {
+        if (x <= -SIGMOID_RANGE) return SIGMOID[0];
+        if (x >= SIGMOID_RANGE) return SIGMOID[SIGMOID_STEPS];
+        float at = (x + SIGMOID_RANGE) * (SIGMOID_STEPS / (2f * SIGMOID_RANGE));
+        int i = (int) at;
+        float frac = at - i;
+        return SIGMOID[i] + frac * (SIGMOID[i + 1] - SIGMOID[i]);
+    }
+
+    // ===== Files =====
+
+    /**
+     * Where the trained weights live, unless -Dboardgames.senet.net=<file> says otherwise.
+     */
+    public static Path defaultPath() {
+        String override = System.getProperty("boardgames.senet.net");
+        if (override != null) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".ancient-board-games", "senet-net.bin");
+    }
+
+    /**
+     * The network at defaultPath(), or null if none has been trained (run trainSenet).
+     * Read once and shared.
+     */
+    public static synchronized SenetNetwork installed() {
+        if (!installedLoaded) {
+            installedLoaded = true;
+            Path file = defaultPath();
+            if (Files.exists(file)) {
+                try {
+                    installed = read(file);
+                } catch (IOException e) {
+                    System.err.println("Senet network not loaded: " + e.getMessage());
+                }
+            }
+        }
+        return installed;
+    }
+
+    /**
+     * Header (magic, inputs, hidden units), then the weights as floats:
+     * w1 (input-major), b1, w2, b2. About 13 KB with 40 hidden units.
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + (w1.length + b1.length + w2.length + 1) * 4);
+        buf.putInt(MAGIC).putInt(INPUTS).putInt(hidden);
+        buf.asFloatBuffer().put(w1).put(b1).put(w2).put(b2);
+        buf.rewind(); // the float view doesn't move buf's position
+
+        // Write to a temporary file first, so a reader never sees half a network
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static SenetNetwork read(Path file) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC || buf.getInt() != INPUTS) {
+            throw new IOException(file + " is not a Senet network");
+        }
+        int hidden = buf.getInt();
+        if (hidden <= 0 || buf.remaining() != ((INPUTS + 2) * hidden + 1) * 4) {
+            throw new IOException(file + " is truncated or has the wrong size");
+        }
+        SenetNetwork net = new SenetNetwork(hidden);
+        buf.asFloatBuffer().get(net.w1).get(net.b1).get(net.w2).get(net.b2);
+        return net;
+    }
+}
@@ -0,0 +1,148 @@
+package com.boardgames.games.senet;
+
+import com.boardgames.games.search.Expectiminimax;
+import com.boardgames.games.search.SearchCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thinks ahead for the AI while the human has the turn.
+ *
+ * From the human's position it plays out every roll the human could still
+ * throw and every move they could make, then every throw the AI could get
+ * back, and searches each of those AI decisions exactly like SenetAI HARD
+ * would. Answers go into a cache keyed by position hash, which SenetAI
+ * checks before searching, so once the human moves the reply is usually
+ * a lookup.
+ *
+ * The likeliest positions are searched first (human moves count as equally
+ * likely). Work runs on one low-priority daemon thread with a short pause
+ * between searches, so the FX thread keeps its core and frames keep coming
+ * even on a single-core machine. Positions where the human keeps the turn
+ * (roll again, carry-over) are skipped; ponder() is simply called again
+ * for them.
+ */
+public class SenetPonderer {
+
+    private static final int MAX_CACHE = 4096;
+    private static final long PAUSE_MILLIS = 2;
+
+    private record Target(SenetGame position, double probability) {}
+
+    private final Map<Long, Integer> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final ExecutorService executor;
+    private final Expectiminimax search;
+
+    /**
+     * 'table' may be shared with other searches of the same depth (or null).
+     */
+    public SenetPonderer(int depth, SearchCache table) {
+        this.search = new Expectiminimax(new SenetEvaluator(), depth);
+        this.search.setCache(table);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "senet-ponder");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Start thinking about the AI replies to the human's turn in 'game'
+     * (human to roll, or to move with a roll pending). Any earlier pondering
+     * is abandoned; its answers stay cached.
+     */
+    public void ponder(SenetGame game) {
+        int gen = generation.incrementAndGet();
+        if (game.isGameOver() || game.isNeedsInitialRoll()) return;
+
+        SenetGame root = game.copy();
+        PlayerColor human = root.getCurrentPlayer();
+        executor.execute(() -> {
+            List<Target> targets = expand(root, human);
+            targets.sort((a, b) -> Double.compare(b.probability(), a.probability()));
+
+            for (Target t : targets) {
+                if (generation.get() != gen) return;
+                long hash = t.position().hash();
+                if (!cache.containsKey(hash)) {
+                    if (cache.size() >= MAX_CACHE) cache.clear();
+                    cache.put(hash, search.bestMove(t.position()));
+                }
+                try {
+                    Thread.sleep(PAUSE_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Abandon the current pondering, e.g. when the AI's own turn starts.
+     */
+    public void stop() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Pondered move (a square, or PASS) for this position, or null.
+     */
+    public Integer lookup(long hash) {
+        return cache.get(hash);
+    }
+
+    public void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    // ===== Expansion =====
+
+    private static List<Target> expand(SenetGame game, PlayerColor human) {
+        List<Target> targets = new ArrayList<>();
+        int[] outcomes = new int[game.maxMoves()];
+        double[] probabilities = new double[game.maxMoves()];
+
+        if (game.isChanceNode()) {
+            int count = game.chanceOutcomes(outcomes, probabilities);
+            int[] rolls = outcomes.clone();
+            double[] odds = probabilities.clone();
+            for (int i = 0; i < count; i++) {
+                game.applyChance(rolls[i]);
+                expandHumanMoves(game, human, odds[i], targets, outcomes, probabilities);
+                game.undo();
+            }
+        } else {
+            expandHumanMoves(game, human, 1.0, targets, outcomes, probabilities);
+        }
+        return targets;
+    }
+
+    private static void expandHumanMoves(SenetGame game, PlayerColor human, double probability,
+                                         List<Target> targets, int[] outcomes, double[] probabilities) {
+        if (game.getCurrentPlayer() != human || game.isChanceNode()) return;
+
+        int[] moves = new int[game.maxMoves()];
+        int count = game.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            game.makeMove(moves[i]);
+            if (!game.isTerminal() && game.getCurrentPlayer() != human && game.isChanceNode()) {
+                int rolls = game.chanceOutcomes(outcomes, probabilities);
+                for (int r = 0; r < rolls; r++) {
+                    game.applyChance(outcomes[r]);
+                    targets.add(new Target(game.copy(), probability / count * probabilities[r]));
+                    game.undo();
+                }
+            }
+            game.undo();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.boardgames.games.senet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Race odds for Senet positions where the two sides have passed each
+ * other and are far apart, looked up from the one-sided table written by
+ * SenetRaceSolver.
+ *
+ * For every way one colour's pieces can sit on the board (a bit mask of
+ * squares, at most 5 pieces: 174,437 masks) the table holds the expected
+ * number of turns that colour needs to bear everything off on its own,
+ * and the whole distribution of that number. Two of those distributions
+ * give the chance that the side to move gets home first.
+ *
+ * Both colours run the same way round the board, so passed sides can
+ * still meet: the trailing side may land on a lone leading piece and swap
+ * it back a few squares, or be held up by a protected one, and a leading
+ * piece that falls in the water comes back to 15. The table ignores all
+ * that, so it's exact for the race itself but only right for the position
+ * while contact is still a long way off: isRace() asks for RACE_GAP
+ * squares between the sides (see SenetEvaluator, which switches to it).
+ *
+ * The file is memory-mapped; a lookup reads a dozen bytes per side, plus
+ * up to ~60 two-byte counts for a win probability.
+ */
+public class SenetRaceTable {
+
+    static final int MAGIC = 0x534E5231; // "SNR1"
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 12;   // [expected turns:float][first count:int][first turn:short][turns:short]
+
+    static final int PIECES = 5;
+    static final int SQUARES = 30;
+
+    // Squares from the trailing side's front piece to the leading side's last
+    // one. Against playouts the table's odds are off by 0.30 on average at
+    // gaps up to 6, 0.13 at 7-12 and under 0.03 from 13 on (a trained
+    // network: about 0.04 at any gap)
+    static final int RACE_GAP = 13;
+    private static final int ROW_ONE = (1 << 10) - 1;
+
+    // BINOMIAL[n][k], and where the masks with k pieces start in the index
+    private static final int[][] BINOMIAL = new int[SQUARES + 1][PIECES + 1];
+    private static final int[] FIRST_INDEX = new int[PIECES + 2];
+    static {
+        for (int n = 0; n <= SQUARES; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= PIECES && n > 0; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+        for (int k = 0; k <= PIECES; k++) {
+            FIRST_INDEX[k + 1] = FIRST_INDEX[k] + BINOMIAL[SQUARES][k];
+        }
+    }
+
+    private static SenetRaceTable installed;
+    private static boolean installedLoaded;
+
+    private final ByteBuffer data;
+    private final int countsStart;
+
+    SenetRaceTable(ByteBuffer data) {
+        this.data = data;
+        this.countsStart = HEADER_BYTES + size() * ENTRY_BYTES;
+    }
+
+    /**
+     * Where the table lives, unless -Dboardgames.senet.race=<file> says otherwise.
+     */
+    public static Path defaultPath() {
+        String override = System.getProperty("boardgames.senet.race");
+        if (override != null) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".ancient-board-games", "senet-race.bin");
+    }
+
+    public static SenetRaceTable open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+
+            if (data.remaining() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a Senet race table");
+            }
+            long expected = HEADER_BYTES + (long) size() * ENTRY_BYTES + data.getInt(8) * 2L;
+            if (data.getInt(4) != size() || ch.size() != expected) {
+                throw new IOException(file + " is truncated or was built for a different index");
+            }
+            // The mapping stays valid after the channel is closed
+            return new SenetRaceTable(data);
+        }
+    }
+
+    /**
+     * The table at defaultPath(), or null if none is installed (run solveSenetRace).
+     * Opened once and shared.
+     */
+    public static synchronized SenetRaceTable installed() {
+        if (!installedLoaded) {
+            installedLoaded = true;
+            Path file = defaultPath();
+            if (Files.exists(file)) {
+                try {
+                    installed = open(file);
+                } catch (IOException e) {
+                    System.err.println("Senet race table not loaded: " + e.getMessage());
+                }
+            }
+        }
+        return installed;
+    }
+
+    // ===== Lookups =====
+
+    /**
+     * Expected turns for a side to bear off every piece in 'mask' (bit i = square i + 1).
+     */
+    public double expectedTurns(int mask) {
+        return data.getFloat(entry(mask));
+    }
+
+    /**
+     * Chance that a side starting a turn with 'mask' is home within 'turns' turns.
+     */
+    public double finishedWithin(int mask, int turns) {
+        return cumulative(entry(mask), turns);
+    }
+
+    /**
+     * Chance that the side about to throw ('mover') finishes first. Turns
+     * alternate from here, so the mover wins when it needs no more turns
+     * than the other side.
+     */
+    public double moverWins(int mover, int other) {
+        if (mover == 0) return 1;
+        if (other == 0) return 0;
+
+        int a = entry(mover);
+        int b = entry(other);
+        int first = Math.max(1, data.getShort(a + 8));
+        int last = data.getShort(a + 8) + data.getShort(a + 10);
+
+        double win = 0;
+        double before = cumulative(a, first - 1);
+        for (int n = first; n <= last; n++) {
+            double upTo = cumulative(a, n);
+            win += (upTo - before) * (1 - cumulative(b, n - 1));
+            before = upTo;
+        }
+        return win;
+    }
+
+    /**
+     * Chance that the mover finishes first when it has already thrown
+     * 'roll': its best move for that throw, as SenetGame plays it
+     * (carry-over after bearing off, roll again on 1, 4 and 6).
+     */
+    public double moverWins(int mover, int other, int roll) {
+        boolean forward = forwardPossible(mover, roll);
+        double best = -1;
+
+        for (int m = mover; m != 0; m &= m - 1) {
+            int from = Integer.numberOfTrailingZeros(m) + 1;
+            int to = forward ? from + roll : from - roll;
+            if (!canLand(mover, to, forward)) continue;
+
+            int next = land(mover, from, to);
+            double value;
+            if (next == 0) {
+                value = 1;
+            } else if (to > SQUARES + 1) {
+                value = moverWins(next, other, to - SQUARES - 1); // remainder moves straight away
+            } else if (rollsAgain(roll)) {
+                value = moverWins(next, other);
+            } else {
+                value = 1 - moverWins(other, next);
+            }
+            best = Math.max(best, value);
+        }
+        // Stuck: the turn passes
+        return best < 0 ? 1 - moverWins(other, mover) : best;
+    }
+
+    private int entry(int mask) {
+        return HEADER_BYTES + index(mask) * ENTRY_BYTES;
+    }
+
+    private double cumulative(int entry, int turns) {
+        int first = data.getShort(entry + 8);
+        if (turns < first) return 0;
+        if (turns >= first + data.getShort(entry + 10)) return 1;
+        return data.getChar(countsStart + (data.getInt(entry + 4) + turns - first) * 2) / 65535.0;
+    }
+
+    // ===== Positions =====
+
+    /**
+     * One colour's pieces on the board as a mask (bit i = square i + 1).
+     */
+    public static int mask(SenetBoard board, PlayerColor color) {
+        int mask = 0;
+        for (int i = 1; i <= SQUARES; i++) {
+            SenetPiece p = board.getPieceAt(i);
+            if (p != null && p.getColor() == color) {
+                mask |= 1 << (i - 1);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * True when both sides are on the board and every piece of one is at
+     * least RACE_GAP squares ahead of every piece of the other. Closer
+     * than that the trailing side often catches up and hits before the
+     * race is run, which the table knows nothing about.
+     */
+    public static boolean isRace(int white, int black) {
+        if (white == 0 || black == 0) return false;
+        return gap(white, black) >= RACE_GAP || gap(black, white) >= RACE_GAP;
+    }
+
+    /**
+     * Squares from the front piece of 'back' to the last piece of 'front';
+     * zero or less if they overlap.
+     */
+    static int gap(int back, int front) {
+        return Integer.numberOfTrailingZeros(front) - (31 - Integer.numberOfLeadingZeros(back));
+    }
+
+    /**
+     * Squares still to cover: 31 - square for every piece.
+     */
+    public static int pipCount(int mask) {
+        int pips = 0;
+        for (int m = mask; m != 0; m &= m - 1) {
+            pips += SQUARES - Integer.numberOfTrailingZeros(m);
+        }
+        return pips;
+    }
+
+    // ===== Index =====
+
+    static int size() {
+        return FIRST_INDEX[PIECES + 1];
+    }
+
+    /**
+     * Position of a mask in the table: masks are grouped by piece count,
+     * then ranked by the combinatorial number system.
+     */
+    static int index(int mask) {
+        int index = FIRST_INDEX[Integer.bitCount(mask)];
+        int k = 1;
+        for (int m = mask; m != 0; m &= m - 1) {
+            index += BINOMIAL[Integer.numberOfTrailingZeros(m)][k++];
+        }
+        return index;
+    }
+
+    // ===== One side's moves =====
+    // SenetGame's rules for a colour alone on the board: forward if any
+    // piece can, otherwise backward; never onto an own piece; bearing off
+    // only once row 1 is empty; 27 is the water and sends a piece to 15
+    // (or the first free square before it).
+
+    static boolean rollsAgain(int roll) {
+        return roll == 1 || roll == 4 || roll == 6;
+    }
+
+    static boolean forwardPossible(int mask, int roll) {
+        for (int m = mask; m != 0; m &= m - 1) {
+            if (canLand(mask, Integer.numberOfTrailingZeros(m) + 1 + roll, true)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether a piece may end a move on square 'to' (past 30 = borne off).
+     */
+    static boolean canLand(int mask, int to, boolean forward) {
+        if (to > SQUARES) return forward && (mask & ROW_ONE) == 0;
+        return to >= 1 && (mask & 1 << (to - 1)) == 0;
+    }
+
+    /**
+     * The mask after moving the piece on 'from' to 'to'.
+     */
+    static int land(int mask, int from, int to) {
+        mask &= ~(1 << (from - 1));
+        if (to > SQUARES) return mask;
+
+        if (to == 27) {
+            to = 15;
+            if ((mask & 1 << 14) != 0) {
+                to = Integer.numberOfTrailingZeros(~mask) + 1;
+            }
+        }
+        return mask | 1 << (to - 1);
+    }
+}
@@ -0,0 +1,298 @@
+package com.boardgames.games.senet;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trains a SenetNetwork by self-play with TD(lambda), the way TD-Gammon
+ * learned backgammon: the network plays both sides (each move the one
+ * whose result it rates best, now and then a random one to explore), and
+ * after every step its estimate for the previous position is pulled
+ * towards its estimate for the new one, or towards the result once the
+ * game ends. Eligibility traces carry each correction back over the
+ * earlier positions, fading by lambda per step.
+ *
+ * Values are learned from white's point of view (the network's output is
+ * for the player to move, so its gradient flips sign when black moves).
+ * Every position counts, at a throw or with a throw to move.
+ *
+ * Worker threads play their own games against one shared set of weights
+ * and update it without locks (Hogwild): float writes are atomic, and a
+ * lost or stale update among millions doesn't matter.
+ *
+ * Every --report games it plays a match against the hand-tuned
+ * SenetEvaluator (both picking moves one decision deep) and saves the
+ * weights.
+ *
+ * Usage: SenetTdTrainer [--games N] [--threads T] [--hidden H] [--alpha A]
+ *                       [--lambda L] [--explore E] [--report N] [--init file] [--out file]
+ *   ./gradlew :app:trainSenet --args="--games 500000 --threads 8"
+ */
+public class SenetTdTrainer {
+
+    private static final int MAX_PLIES = 10_000;
+    private static final int MATCH_GAMES = 1000;
+
+    private final SenetNetwork net;
+    private final double alpha;
+    private final double lambda;
+    private final double explore;
+    private final AtomicLong gamesPlayed = new AtomicLong();
+    private final AtomicLong steps = new AtomicLong();
+
+    public SenetTdTrainer(SenetNetwork net, double alpha, double lambda, double explore) {
+        this.net = net;
+        this.alpha = alpha;
+        this.lambda = lambda;
+        this.explore = explore;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long games = 200_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int hidden = SenetNetwork.DEFAULT_HIDDEN;
+        double alpha = 0.1;
+        double lambda = 0.7;
+        double explore = 0.02;
+        long report = 20_000;
+        Path init = null;
+        Path out = SenetNetwork.defaultPath();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games" -> games = Long.parseLong(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--hidden" -> hidden = Integer.parseInt(args[++i]);
+                case "--alpha" -> alpha = Double.parseDouble(args[++i]);
+                case "--lambda" -> lambda = Double.parseDouble(args[++i]);
+                case "--explore" -> explore = Double.parseDouble(args[++i]);
+                case "--report" -> report = Long.parseLong(args[++i]);
+                case "--init" -> init = Paths.get(args[++i]);
+                case "--out" -> out = Paths.get(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        SenetNetwork net = init != null ? SenetNetwork.read(init) : new SenetNetwork(hidden, 1);
+        SenetTdTrainer trainer = new SenetTdTrainer(net, alpha, lambda, explore);
+        System.out.printf(Locale.ROOT, "Training %d hidden units: %,d games on %d threads, alpha %.3f, lambda %.2f, explore %.2f%n",
+                net.getHidden(), games, threads, alpha, lambda, explore);
+
+        long begin = System.nanoTime();
+        for (long done = 0; done < games; ) {
+            long batch = Math.min(report, games - done);
+            trainer.train(batch, threads);
+            done += batch;
+
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            double score = trainer.matchAgainstHandTuned(MATCH_GAMES, done);
+            System.out.printf(Locale.ROOT, "%,9d games  %,6.0f games/s  %,9.0f steps/s  vs hand-tuned %.1f%%%n",
+                    done, done / seconds, trainer.steps.get() / seconds, score * 100);
+            net.write(out);
+        }
+        System.out.println("Wrote " + out.toAbsolutePath());
+    }
+
+    // ===== Training =====
+
+    /**
+     * Play 'games' self-play games spread over 'threads' workers.
+     */
+    public void train(long games, int threads) throws InterruptedException {
+        long target = gamesPlayed.get() + games;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = gamesPlayed.get() * 31 + t;
+            workers[t] = new Thread(() -> {
+                Worker w = new Worker(seed);
+                while (gamesPlayed.getAndIncrement() < target) {
+                    w.playGame();
+                }
+            }, "senet-td-" + t);
+            workers[t].start();
+        }
+        for (Thread t : workers) {
+            t.join();
+        }
+        gamesPlayed.set(target);
+    }
+
+    /**
+     * One thread's game, traces and scratch space; nothing here allocates per step.
+     */
+    private final class Worker {
+        private final SenetGame game = new SenetGame();
+        private final Random random;
+        private int count;
+        private final int[] moves = new int[game.maxMoves()];
+        private final int[] rows = new int[SenetNetwork.MAX_ACTIVE];
+        private final float[] activations;
+        private final float[] gradHidden;
+
+        // Eligibility traces, one per weight
+        private final float[] e1;
+        private final float[] eb1;
+        private final float[] e2;
+        private double eb2;
+
+        Worker(long seed) {
+            random = new Random(seed);
+            int h = net.hidden;
+            activations = new float[h];
+            gradHidden = new float[h];
+            e1 = new float[net.w1.length];
+            eb1 = new float[h];
+            e2 = new float[h];
+        }
+
+        void playGame() {
+            game.reset();
+            while (!game.isGameStarted() && !game.isTerminal()) {
+                game.applyChance(DiceSticks.roll(random));
+            }
+            Arrays.fill(e1, 0);
+            Arrays.fill(eb1, 0);
+            Arrays.fill(e2, 0);
+            eb2 = 0;
+
+            double v = whiteValue();
+            addGradient(v);
+            long plies = 0;
+
+            for (int ply = 0; ply < MAX_PLIES && !game.isTerminal(); ply++) {
+                if (game.isChanceNode()) {
+                    game.applyChance(DiceSticks.roll(random));
+                } else {
+                    game.makeMove(chooseMove());
+                }
+                plies++;
+
+                if (game.isTerminal()) {
+                    // The result: first side with every piece off, whatever the last throw
+                    update((game.winner() == PlayerColor.WHITE.ordinal() ? 1 : 0) - v);
+                    break;
+                }
+                double next = whiteValue();
+                update(next - v);
+                v = next;
+                addGradient(v);
+            }
+            steps.addAndGet(plies);
+        }
+
+        private int chooseMove() {
+            int n = game.generateMoves(moves);
+            if (n == 1) return moves[0];
+            if (random.nextDouble() < explore) return moves[random.nextInt(n)];
+
+            int mover = game.currentPlayer();
+            int best = moves[0];
+            double bestValue = -1;
+            for (int i = 0; i < n; i++) {
+                game.makeMove(moves[i]);
+                double value = game.isTerminal() ? (game.winner() == mover ? 1 : 0)
+                        : net.winProbability(game, mover, rows, activations);
+                game.undo();
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = moves[i];
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Network value for white in the current position; leaves the
+         * features and activations behind for addGradient().
+         */
+        private double whiteValue() {
+            count = net.features(game, rows);
+            double v = net.value(rows, count, activations);
+            return game.getCurrentPlayer() == PlayerColor.WHITE ? v : 1 - v;
+        }
+
+        /**
+         * Traces fade by lambda, then gain the gradient of whiteValue(),
+         * which must have just been called and returned 'v'.
+         */
+        private void addGradient(double v) {
+            int h = net.hidden;
+            // d(white value)/d(output sum): same magnitude either way, sign flips for black
+            float out = (float) ((game.getCurrentPlayer() == PlayerColor.WHITE ? 1 : -1) * v * (1 - v));
+            float decay = (float) lambda;
+
+            for (int i = 0; i < e1.length; i++) e1[i] *= decay;
+            for (int j = 0; j < h; j++) {
+                float a = activations[j];
+                gradHidden[j] = out * net.w2[j] * a * (1 - a);
+                eb1[j] = eb1[j] * decay + gradHidden[j];
+                e2[j] = e2[j] * decay + out * a;
+            }
+            eb2 = eb2 * decay + out;
+            for (int i = 0; i < count; i++) {
+                int row = rows[i];
+                for (int j = 0; j < h; j++) {
+                    e1[row + j] += gradHidden[j];
+                }
+            }
+        }
+
+        private void update(double error) {
+            float step = (float) (alpha * error);
+            float[] w1 = net.w1;
+            for (int i = 0; i < w1.length; i++) w1[i] += step * e1[i];
+            for (int j = 0; j < net.hidden; j++) {
+                net.b1[j] += step * eb1[j];
+                net.w2[j] += step * e2[j];
+            }
+            net.b2[0] += (float) (step * eb2);
+        }
+    }
+
+    // ===== Progress =====
+
+    /**
+     * Share of 'games' won against the hand-tuned evaluator, both sides
+     * picking the move whose result they rate best, colours alternating.
+     */
+    public double matchAgainstHandTuned(int games, long seed) {
+        SenetEvaluator learned = new SenetEvaluator(null, net);
+        SenetEvaluator handTuned = new SenetEvaluator(null, null);
+        Random random = new Random(seed);
+        SenetGame game = new SenetGame();
+        int[] moves = new int[game.maxMoves()];
+        int won = 0;
+
+        for (int g = 0; g < games; g++) {
+            int learnedPlays = g % 2;
+            game.reset();
+            for (int ply = 0; ply < MAX_PLIES && !game.isTerminal(); ply++) {
+                if (game.isChanceNode()) {
+                    game.applyChance(DiceSticks.roll(random));
+                    continue;
+                }
+                int mover = game.currentPlayer();
+                SenetEvaluator eval = mover == learnedPlays ? learned : handTuned;
+                int n = game.generateMoves(moves);
+                int best = moves[0];
+                double bestValue = -1;
+                for (int i = 0; i < n; i++) {
+                    game.makeMove(moves[i]);
+                    double value = game.isTerminal() ? (game.winner() == mover ? 1 : 0) : eval.evaluate(game, mover);
+                    game.undo();
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = moves[i];
+                    }
+                }
+                game.makeMove(best);
+            }
+            if (game.winner() == learnedPlays) won++;
+        }
+        return won / (double) games;
+    }
+}
@@ -0,0 +1,21 @@
+package com.boardgames.games.tournament;
+
+import com.boardgames.games.GameState;
+
+/**
+ * One AI configuration taking part in a tournament. A fresh agent is made
+ * for every game and only ever sees that game's state, so it can keep
+ * per-game caches. It's only asked at decision nodes; the runner rolls the
+ * dice. It must leave the state as it found it (search a copy, or undo).
+ */
+public interface Agent extends AutoCloseable {
+
+    int chooseMove(GameState state);
+
+    /**
+     * Release threads or tables; called once the game is over.
+     */
+    @Override
+    default void close() {
+    }
+}
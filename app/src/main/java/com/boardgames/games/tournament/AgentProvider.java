@@ -0,0 +1,14 @@
+package com.boardgames.games.tournament;
+
+/**
+ * Plug-in point for tournament agents. Implementations are found with
+ * ServiceLoader, so a new engine only needs a class implementing this and a
+ * line in META-INF/services/com.boardgames.games.tournament.AgentProvider.
+ */
+public interface AgentProvider {
+
+    /**
+     * Register agents with Agents.register(game, name, factory).
+     */
+    void registerAgents();
+}
@@ -0,0 +1,41 @@
+package com.boardgames.games.tournament;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * (game, agent name) -> new-agent factory, filled from every AgentProvider
+ * on the classpath. Names are per game, e.g. "hard" for senet and for go.
+ */
+public final class Agents {
+
+    private static final Map<String, Map<String, Supplier<Agent>>> factories = new LinkedHashMap<>();
+
+    static {
+        for (AgentProvider provider : ServiceLoader.load(AgentProvider.class)) {
+            provider.registerAgents();
+        }
+    }
+
+    private Agents() {
+    }
+
+    public static synchronized void register(String game, String name, Supplier<Agent> factory) {
+        factories.computeIfAbsent(game, g -> new LinkedHashMap<>()).put(name, factory);
+    }
+
+    public static synchronized Agent create(String game, String name) {
+        Supplier<Agent> factory = factories.getOrDefault(game, Map.of()).get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown agent '" + name + "' for " + game + ", expected one of " + names(game));
+        }
+        return factory.get();
+    }
+
+    public static synchronized List<String> names(String game) {
+        return List.copyOf(factories.getOrDefault(game, Map.of()).keySet());
+    }
+}
@@ -0,0 +1,132 @@
+package com.boardgames.games.tournament;
+
+import com.boardgames.games.GameState;
+import com.boardgames.games.Games;
+import com.boardgames.games.go.GoAI;
+import com.boardgames.games.go.GoGame;
+import com.boardgames.games.mancala.MancalaAI;
+import com.boardgames.games.mancala.MancalaGame;
+import com.boardgames.games.morris.MorrisAI;
+import com.boardgames.games.morris.MorrisGame;
+import com.boardgames.games.senet.SenetAI;
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.games.ur.UrAI;
+import com.boardgames.games.ur.UrGame;
+import com.boardgames.games.ur.UrTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * The engines that ship with the app:
+ * - "random" for every game, as a baseline
+ * - senet / mancala / morris / three-mens-morris / go: "easy", "medium", "hard"
+ *   (go searches on one thread here, whatever the level)
+ * - ur: "table" (needs the solved table, see solveUr)
+ */
+public class BuiltinAgents implements AgentProvider {
+
+    private static UrTable urTable;
+
+    @Override
+    public void registerAgents() {
+        for (String game : Games.names()) {
+            Agents.register(game, "random", RandomAgent::new);
+        }
+
+        for (SenetAI.Difficulty d : SenetAI.Difficulty.values()) {
+            Agents.register("senet", level(d), () -> new SenetAgent(d));
+        }
+        for (MancalaAI.Difficulty d : MancalaAI.Difficulty.values()) {
+            Agents.register("mancala", level(d), () -> {
+                MancalaAI ai = new MancalaAI(d);
+                return state -> ai.chooseMove((MancalaGame) state);
+            });
+        }
+        for (MorrisAI.Difficulty d : MorrisAI.Difficulty.values()) {
+            Agents.register("morris", level(d), () -> morris(d, MorrisGame.Variant.NINE));
+            Agents.register("three-mens-morris", level(d), () -> morris(d, MorrisGame.Variant.THREE));
+        }
+        // Tournament games already run in parallel, one per worker: a Go agent
+        // searching on every core would fight the other games for CPU, and its
+        // time budget would buy a different amount of search from game to game
+        for (GoAI.Difficulty d : GoAI.Difficulty.values()) {
+            Agents.register("go", level(d), () -> new GoAgent(new GoAI(d, 1)));
+        }
+        Agents.register("ur", "table", () -> {
+            UrAI ai = new UrAI(urTable());
+            return state -> ai.chooseMove((UrGame) state);
+        });
+    }
+
+    private static String level(Enum<?> difficulty) {
+        return difficulty.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Agent morris(MorrisAI.Difficulty d, MorrisGame.Variant variant) {
+        MorrisAI ai = new MorrisAI(d, variant);
+        return state -> ai.chooseMove((MorrisGame) state);
+    }
+
+    private static synchronized UrTable urTable() {
+        if (urTable == null) {
+            try {
+                urTable = UrTable.open(UrTable.defaultPath(UrGame.DEFAULT_PIECES));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No Ur table, run solveUr first", e);
+            }
+        }
+        return urTable;
+    }
+
+    // ===== Adapters =====
+
+    private static class RandomAgent implements Agent {
+        private final SplittableRandom random = new SplittableRandom();
+        private int[] moves = new int[0];
+
+        @Override
+        public int chooseMove(GameState state) {
+            if (moves.length < state.maxMoves()) {
+                moves = new int[state.maxMoves()];
+            }
+            return moves[random.nextInt(state.generateMoves(moves))];
+        }
+    }
+
+    /**
+     * SenetAI is bound to one game object, which is fine: an agent sees one game.
+     */
+    private static class SenetAgent implements Agent {
+        private final SenetAI.Difficulty difficulty;
+        private SenetAI ai;
+        private GameState game;
+
+        SenetAgent(SenetAI.Difficulty difficulty) {
+            this.difficulty = difficulty;
+        }
+
+        @Override
+        public int chooseMove(GameState state) {
+            if (state != game) {
+                game = state;
+                ai = new SenetAI((SenetGame) state, difficulty);
+            }
+            return ai.chooseMove();
+        }
+    }
+
+    private record GoAgent(GoAI ai) implements Agent {
+        @Override
+        public int chooseMove(GameState state) {
+            return ai.chooseMove((GoGame) state);
+        }
+
+        @Override
+        public void close() {
+            ai.close();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.boardgames.games.tournament;
+
+/**
+ * Win / draw / loss tally of agent A against agent B, with the Elo
+ * difference, its 95% confidence interval and the SPRT log-likelihood ratio.
+ *
+ * All of it uses the normal approximation on per-game scores (1, 1/2, 0),
+ * which is what engine testing frameworks do and is accurate after a few
+ * dozen games.
+ */
+public class MatchStats {
+
+    private static final double Z95 = 1.959964;
+
+    private int wins;
+    private int draws;
+    private int losses;
+
+    public synchronized void record(double score) {
+        if (score > 0.5) {
+            wins++;
+        } else if (score < 0.5) {
+            losses++;
+        } else {
+            draws++;
+        }
+    }
+
+    public synchronized int getWins() {
+        return wins;
+    }
+
+    public synchronized int getDraws() {
+        return draws;
+    }
+
+    public synchronized int getLosses() {
+        return losses;
+    }
+
+    public synchronized int games() {
+        return wins + draws + losses;
+    }
+
+    /**
+     * A's mean score, 0..1.
+     */
+    public synchronized double score() {
+        int n = games();
+        return n == 0 ? 0.5 : (wins + 0.5 * draws) / n;
+    }
+
+    /**
+     * Elo difference A - B implied by the score.
+     */
+    public double elo() {
+        return eloOf(score());
+    }
+
+    /**
+     * [low, high] 95% interval of the Elo difference.
+     */
+    public synchronized double[] eloInterval() {
+        int n = games();
+        if (n == 0) return new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double s = score();
+        double margin = Z95 * Math.sqrt(variance() / n);
+        return new double[]{eloOf(s - margin), eloOf(s + margin)};
+    }
+
+    /**
+     * Log-likelihood ratio of H1 (A is elo1 stronger) over H0 (elo0 stronger).
+     */
+    public synchronized double llr(double elo0, double elo1) {
+        int n = games();
+        double var = variance();
+        if (n == 0 || var == 0) return 0;
+        double s0 = scoreOf(elo0);
+        double s1 = scoreOf(elo1);
+        return n * (s1 - s0) * (2 * score() - s0 - s1) / (2 * var);
+    }
+
+    /**
+     * Per-game variance of A's score.
+     */
+    private double variance() {
+        int n = games();
+        double s = score();
+        return (wins * (1 - s) * (1 - s) + draws * (0.5 - s) * (0.5 - s) + losses * s * s) / n;
+    }
+
+    public static double scoreOf(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Elo for a score, clamped so a clean sweep reads as a large finite number.
+     */
+    public static double eloOf(double score) {
+        double s = Math.min(Math.max(score, 1e-3), 1 - 1e-3);
+        return -400 * Math.log10(1 / s - 1);
+    }
+}
@@ -0,0 +1,284 @@
+package com.boardgames.games.tournament;
+
+import com.boardgames.games.GameState;
+import com.boardgames.games.Games;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless AI tournament: round robin (every pair) or gauntlet (the first
+ * agent against each of the others), games played in parallel on a worker
+ * pool.
+ *
+ * Each pairing plays games in twos with the same dice seed and the sides
+ * swapped, which cancels most of the luck of the dice and the first-move
+ * advantage. With --sprt a pairing stops as soon as the sequential test
+ * can tell "A is at least elo1 stronger" from "at most elo0" (5% error
+ * each way), so clear results don't waste games; that's the check for
+ * accepting an AI change (e.g. --sprt 0,20 new vs old).
+ *
+ * Usage: Tournament game agent1,agent2[,...] [--games N] [--threads T]
+ *                   [--gauntlet] [--sprt elo0,elo1] [--seed S]
+ *   ./gradlew :app:tournament --args="senet easy,medium,hard --games 400"
+ *
+ * Agents come from Agents (built-ins plus any AgentProvider plug-ins).
+ */
+public class Tournament {
+
+    private static final int MAX_PLIES = 10_000;     // longer games count as draws
+    private static final double SPRT_ALPHA = 0.05;
+    private static final double SPRT_BETA = 0.05;
+
+    private final String game;
+    private final List<String> agents;
+    private final List<Match> matches = new ArrayList<>();
+    private final int gamesPerMatch;
+    private final double[] sprt;                   // {elo0, elo1} or null
+    private final long seed;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * One pairing, A vs B.
+     */
+    private static class Match {
+        final int a;
+        final int b;
+        final MatchStats stats = new MatchStats();
+        final AtomicInteger started = new AtomicInteger();
+        volatile String verdict;                   // SPRT result once decided
+
+        Match(int a, int b) {
+            this.a = a;
+            this.b = b;
+        }
+    }
+
+    public Tournament(String game, List<String> agents, boolean gauntlet, int gamesPerMatch, double[] sprt, long seed) {
+        this.game = game;
+        this.agents = agents;
+        this.gamesPerMatch = gamesPerMatch;
+        this.sprt = sprt;
+        this.seed = seed;
+
+        for (String name : agents) {
+            Agents.create(game, name).close(); // fail fast on a typo
+        }
+        for (int i = 0; i < agents.size(); i++) {
+            for (int j = i + 1; j < agents.size(); j++) {
+                if (!gauntlet || i == 0) matches.add(new Match(i, j));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: Tournament game agent1,agent2[,...] [--games N] [--threads T] "
+                    + "[--gauntlet] [--sprt elo0,elo1] [--seed S]");
+            System.err.println("Games: " + Games.names());
+            System.exit(1);
+        }
+
+        String game = args[0];
+        List<String> agents = Arrays.asList(args[1].split(","));
+        int games = 200;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean gauntlet = false;
+        double[] sprt = null;
+        long seed = System.nanoTime();
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--gauntlet" -> gauntlet = true;
+                case "--sprt" -> sprt = Arrays.stream(args[++i].split(",")).mapToDouble(Double::parseDouble).toArray();
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (agents.size() < 2) {
+            throw new IllegalArgumentException("Need at least two agents, " + game + " has " + Agents.names(game));
+        }
+
+        Tournament t = new Tournament(game, agents, gauntlet, games, sprt, seed);
+        t.run(threads);
+        t.printResults();
+    }
+
+    // ===== Running =====
+
+    public void run(int threads) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            pool.execute(this::work);
+        }
+        pool.shutdown();
+
+        long begin = System.nanoTime();
+        while (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            int played = matches.stream().mapToInt(m -> m.stats.games()).sum();
+            System.out.printf(Locale.ROOT, "  %,d games, %.0fs%n", played, (System.nanoTime() - begin) / 1e9);
+        }
+    }
+
+    /**
+     * Worker loop: take the next game from the pairings in turn, so every
+     * pairing progresses together and SPRT can cut them off independently.
+     */
+    private void work() {
+        while (true) {
+            Match match = null;
+            int index = -1;
+            for (int tries = 0; tries < matches.size() && match == null; tries++) {
+                Match m = matches.get(Math.floorMod(cursor.getAndIncrement(), matches.size()));
+                if (m.verdict != null) continue;
+                int k = m.started.getAndIncrement();
+                if (k < gamesPerMatch) {
+                    match = m;
+                    index = k;
+                }
+            }
+            if (match == null) return;
+
+            double score = playGame(match, index);
+            match.stats.record(score);
+            checkSprt(match);
+        }
+    }
+
+    /**
+     * Play one game, returning A's score. Odd games swap sides and reuse
+     * the previous game's dice seed.
+     */
+    private double playGame(Match match, int index) {
+        boolean swapped = (index & 1) == 1;
+        Agent a = Agents.create(game, agents.get(match.a));
+        Agent b = Agents.create(game, agents.get(match.b));
+        Agent[] seats = swapped ? new Agent[]{b, a} : new Agent[]{a, b};
+        SplittableRandom dice = new SplittableRandom(seed ^ (match.a * 31L + match.b) << 32 ^ (index >> 1));
+
+        GameState state = Games.create(game);
+        int[] outcomes = new int[state.maxMoves()];
+        double[] probabilities = new double[state.maxMoves()];
+
+        try {
+            for (int ply = 0; ply < MAX_PLIES && !state.isTerminal(); ply++) {
+                if (state.isChanceNode()) {
+                    state.applyChance(sample(dice, outcomes, probabilities, state.chanceOutcomes(outcomes, probabilities)));
+                } else {
+                    state.makeMove(seats[state.currentPlayer()].chooseMove(state));
+                }
+            }
+        } finally {
+            a.close();
+            b.close();
+        }
+
+        int winner = state.isTerminal() ? state.winner() : GameState.NO_PLAYER;
+        if (winner == GameState.NO_PLAYER) return 0.5;
+        int aSeat = swapped ? 1 : 0;
+        return winner == aSeat ? 1 : 0;
+    }
+
+    private static int sample(SplittableRandom random, int[] outcomes, double[] probabilities, int count) {
+        double r = random.nextDouble();
+        for (int i = 0; i < count - 1; i++) {
+            r -= probabilities[i];
+            if (r < 0) return outcomes[i];
+        }
+        return outcomes[count - 1];
+    }
+
+    private void checkSprt(Match match) {
+        if (sprt == null || match.verdict != null) return;
+        double llr = match.stats.llr(sprt[0], sprt[1]);
+        if (llr >= Math.log((1 - SPRT_BETA) / SPRT_ALPHA)) {
+            match.verdict = "H1 accepted";
+        } else if (llr <= Math.log(SPRT_BETA / (1 - SPRT_ALPHA))) {
+            match.verdict = "H0 accepted";
+        }
+    }
+
+    // ===== Results =====
+
+    public void printResults() {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-24s %7s %7s %7s %8s %18s%s%n", "pairing", "W", "D", "L", "Elo", "95% interval",
+                sprt == null ? "" : String.format(Locale.ROOT, "   SPRT [%.0f, %.0f]", sprt[0], sprt[1]));
+        for (Match m : matches) {
+            MatchStats s = m.stats;
+            double[] ci = s.eloInterval();
+            System.out.printf(Locale.ROOT, "%-24s %7d %7d %7d %+8.1f   [%+6.0f, %+6.0f]", agents.get(m.a) + " vs " + agents.get(m.b),
+                    s.getWins(), s.getDraws(), s.getLosses(), s.elo(), ci[0], ci[1]);
+            if (sprt != null) {
+                System.out.printf(Locale.ROOT, "   LLR %+.2f %s", s.llr(sprt[0], sprt[1]),
+                        m.verdict == null ? "(inconclusive)" : m.verdict);
+            }
+            System.out.println();
+        }
+
+        double[] ratings = ratings();
+        System.out.println();
+        System.out.println("Ratings (Bradley-Terry fit, " + agents.get(0) + " = 0):");
+        Integer[] order = new Integer[agents.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (x, y) -> Double.compare(ratings[y], ratings[x]));
+        for (int i : order) {
+            System.out.printf(Locale.ROOT, "  %-16s %+7.1f%n", agents.get(i), ratings[i]);
+        }
+    }
+
+    /**
+     * Elo of every agent from all pairings at once (see bradleyTerry). Each
+     * pairing gets one virtual draw so a clean sweep still gives a finite rating.
+     */
+    public double[] ratings() {
+        int n = agents.size();
+        double[] points = new double[n];
+        double[][] games = new double[n][n];
+        for (Match m : matches) {
+            MatchStats s = m.stats;
+            double g = s.games() + 1;
+            games[m.a][m.b] += g;
+            games[m.b][m.a] += g;
+            points[m.a] += s.getWins() + 0.5 * s.getDraws() + 0.5;
+            points[m.b] += s.getLosses() + 0.5 * s.getDraws() + 0.5;
+        }
+        return bradleyTerry(games, points);
+    }
+
+    /**
+     * Bradley-Terry fit by the MM iteration: games[i][j] played between i
+     * and j, points[i] scored by i in all of them. Elo relative to agent 0.
+     */
+    static double[] bradleyTerry(double[][] games, double[] points) {
+        int n = points.length;
+        double[] r = new double[n];
+        Arrays.fill(r, 1);
+        for (int iter = 0; iter < 1000; iter++) {
+            double[] next = new double[n];
+            for (int i = 0; i < n; i++) {
+                double denom = 0;
+                for (int j = 0; j < n; j++) {
+                    if (games[i][j] > 0) denom += games[i][j] / (r[i] + r[j]);
+                }
+                next[i] = denom == 0 ? r[i] : points[i] / denom;
+            }
+            r = next;
+        }
+
+        double[] elo = new double[n];
+        for (int i = 0; i < n; i++) {
+            elo[i] = 400 * Math.log10(r[i] / r[0]);
+        }
+        return elo;
+    }
+}
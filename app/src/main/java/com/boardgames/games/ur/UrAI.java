@@ -0,0 +1,58 @@
+package com.boardgames.games.ur;
+
+/**
+ * Perfect Ur player: every legal move is scored by one table lookup of
+ * the position it leads to, so a decision costs the same at any point
+ * in the game.
+ */
+public class UrAI {
+
+    private final UrTable table;
+    private final int[] moves = new int[UrGame.PATH_LENGTH + 1];
+
+    public UrAI(UrTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Best move for the player to act (the game must have a pending roll).
+     */
+    public int chooseMove(UrGame game) {
+        if (game.getPieces() != table.getPieces()) {
+            throw new IllegalArgumentException("Table was solved for " + table.getPieces() + " pieces");
+        }
+
+        int mover = game.currentPlayer();
+        int count = game.generateMoves(moves);
+
+        int best = moves[0];
+        double bestValue = -1;
+        for (int i = 0; i < count; i++) {
+            game.makeMove(moves[i]);
+            double value = winProbability(game, mover);
+            game.undo();
+
+            if (value > bestValue) {
+                bestValue = value;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Win probability for 'player' in a position waiting for a roll.
+     */
+    public double winProbability(UrGame game, int player) {
+        int winner = game.winner();
+        if (winner != UrGame.NO_PLAYER) {
+            return winner == player ? 1 : 0;
+        }
+
+        int toMove = game.currentPlayer();
+        int other = 1 - toMove;
+        double v = table.value(game.getPathBits(toMove), game.getPathBits(other),
+                game.getFinished(toMove), game.getFinished(other));
+        return toMove == player ? v : 1 - v;
+    }
+}
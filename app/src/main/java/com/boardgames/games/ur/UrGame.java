@@ -0,0 +1,286 @@
+package com.boardgames.games.ur;
+
+import com.boardgames.games.GameState;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Royal Game of Ur (Finkel rules):
+ * - 20 squares: each player has a private 4-square entry lane and 2-square
+ *   exit lane; the 8-square middle row is shared
+ * - Each piece travels a 14-square path, then bears off with an exact roll
+ * - Four binary dice, roll 0-4 (binomial: 1/4/6/4/1 in 16)
+ * - Landing on a rosette (path squares 4, 8, 14) gives another roll,
+ *   and the shared rosette (8) can't be captured
+ * - Landing on an opponent in the shared row sends it back to start
+ *
+ * State is one 20-bit occupancy mask per player over the physical board,
+ * plus the number of pieces still waiting to enter. A move is the path
+ * index of the piece to move (0 = enter a new piece), PASS when stuck.
+ */
+public class UrGame implements GameState {
+
+    public static final int DEFAULT_PIECES = 7;
+    public static final int PATH_LENGTH = 14;
+    public static final int BORNE_OFF = 15;
+    public static final int PASS = -1;
+
+    private static final int NEEDS_ROLL = -1;
+
+    // Physical square (0..19) of each path square (1..14), per player
+    private static final int[][] PATH_SQUARE = new int[2][PATH_LENGTH + 1];
+    private static final int[][] PATH_MASK = new int[2][PATH_LENGTH + 1];
+    private static final double[] ROLL_ODDS = {1 / 16.0, 4 / 16.0, 6 / 16.0, 4 / 16.0, 1 / 16.0};
+
+    // Zobrist keys: [player][square], waiting counts, side to move, pending roll
+    private static final long[][] ZOBRIST_SQUARE = new long[2][20];
+    private static final long[][] ZOBRIST_WAITING = new long[2][8];
+    private static final long[] ZOBRIST_ROLL = new long[6];
+    private static final long ZOBRIST_SIDE;
+
+    static {
+        for (int p = 0; p < 2; p++) {
+            for (int i = 1; i <= PATH_LENGTH; i++) {
+                int square;
+                if (i <= 4) {
+                    square = p * 4 + (i - 1);          // 0-3 light lane, 4-7 dark lane
+                } else if (i <= 12) {
+                    square = 8 + (i - 5);              // 8-15 shared row
+                } else {
+                    square = 16 + p * 2 + (i - 13);    // 16-17 light exit, 18-19 dark exit
+                }
+                PATH_SQUARE[p][i] = square;
+                PATH_MASK[p][i] = 1 << square;
+            }
+        }
+
+        SplittableRandom rnd = new SplittableRandom(0x0E4L);
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < 20; i++) ZOBRIST_SQUARE[p][i] = rnd.nextLong();
+            for (int i = 0; i < 8; i++) ZOBRIST_WAITING[p][i] = rnd.nextLong();
+        }
+        for (int i = 0; i < ZOBRIST_ROLL.length; i++) ZOBRIST_ROLL[i] = rnd.nextLong();
+        ZOBRIST_SIDE = rnd.nextLong();
+    }
+
+    private final int pieces;
+    private final int[] board = new int[2];     // 20-bit occupancy per player
+    private final int[] waiting = new int[2];   // pieces not yet entered
+    private int player;
+    private int roll = NEEDS_ROLL;
+
+    private long[] undoStack = new long[64];
+    private int undoDepth;
+
+    public UrGame() {
+        this(DEFAULT_PIECES);
+    }
+
+    public UrGame(int pieces) {
+        if (pieces < 1 || pieces > 7) {
+            throw new IllegalArgumentException("1-7 pieces per side");
+        }
+        this.pieces = pieces;
+        waiting[0] = pieces;
+        waiting[1] = pieces;
+    }
+
+    public UrGame(UrGame other) {
+        this.pieces = other.pieces;
+        this.board[0] = other.board[0];
+        this.board[1] = other.board[1];
+        this.waiting[0] = other.waiting[0];
+        this.waiting[1] = other.waiting[1];
+        this.player = other.player;
+        this.roll = other.roll;
+    }
+
+    // ===== Rules =====
+
+    public static boolean isRosette(int pathSquare) {
+        return pathSquare == 4 || pathSquare == 8 || pathSquare == 14;
+    }
+
+    /**
+     * Can the current player move the piece at path index 'from' (0 = waiting) by the pending roll?
+     */
+    public boolean canMove(int from) {
+        if (roll <= 0) return false;
+        if (from == 0 ? waiting[player] == 0 : (board[player] & PATH_MASK[player][from]) == 0) return false;
+
+        int to = from + roll;
+        if (to > BORNE_OFF) return false;           // bearing off needs the exact roll
+        if (to == BORNE_OFF) return true;
+
+        int mask = PATH_MASK[player][to];
+        if ((board[player] & mask) != 0) return false;
+        // The shared rosette protects whoever sits on it
+        return to != 8 || (board[1 - player] & mask) == 0;
+    }
+
+    public int getPieces() {
+        return pieces;
+    }
+
+    public int getWaiting(int p) {
+        return waiting[p];
+    }
+
+    public int getFinished(int p) {
+        return pieces - waiting[p] - Integer.bitCount(board[p]);
+    }
+
+    /**
+     * Occupancy over the 20 physical squares.
+     */
+    public int getBoard(int p) {
+        return board[p];
+    }
+
+    /**
+     * Occupancy as path squares (bit i = path square i, 1..14) from p's point of view.
+     */
+    public int getPathBits(int p) {
+        int bits = 0;
+        for (int i = 1; i <= PATH_LENGTH; i++) {
+            if ((board[p] & PATH_MASK[p][i]) != 0) bits |= 1 << i;
+        }
+        return bits;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    // ===== GameState =====
+
+    @Override
+    public int currentPlayer() {
+        return player;
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return getFinished(0) == pieces || getFinished(1) == pieces;
+    }
+
+    @Override
+    public int winner() {
+        if (getFinished(0) == pieces) return 0;
+        if (getFinished(1) == pieces) return 1;
+        return NO_PLAYER;
+    }
+
+    @Override
+    public boolean isChanceNode() {
+        return roll == NEEDS_ROLL && !isTerminal();
+    }
+
+    @Override
+    public int chanceOutcomes(int[] outcomes, double[] probabilities) {
+        for (int r = 0; r <= 4; r++) {
+            outcomes[r] = r;
+            probabilities[r] = ROLL_ODDS[r];
+        }
+        return 5;
+    }
+
+    @Override
+    public void applyChance(int outcome) {
+        pushUndo();
+        roll = outcome;
+    }
+
+    @Override
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        for (int from = 0; from <= PATH_LENGTH; from++) {
+            if (canMove(from)) moves[count++] = from;
+        }
+        if (count == 0) moves[count++] = PASS;
+        return count;
+    }
+
+    @Override
+    public void makeMove(int from) {
+        pushUndo();
+
+        if (from == PASS) {
+            player = 1 - player;
+            roll = NEEDS_ROLL;
+            return;
+        }
+
+        int to = from + roll;
+        if (from == 0) {
+            waiting[player]--;
+        } else {
+            board[player] &= ~PATH_MASK[player][from];
+        }
+
+        if (to < BORNE_OFF) {
+            int mask = PATH_MASK[player][to];
+            board[player] |= mask;
+
+            int opponent = 1 - player;
+            if ((board[opponent] & mask) != 0) {
+                // Capture: back to the start
+                board[opponent] &= ~mask;
+                waiting[opponent]++;
+            }
+        }
+
+        roll = NEEDS_ROLL;
+        if (to == BORNE_OFF || !isRosette(to)) {
+            player = 1 - player;
+        }
+    }
+
+    @Override
+    public void undo() {
+        long s = undoStack[--undoDepth];
+        board[0] = (int) (s & 0xFFFFF);
+        board[1] = (int) ((s >>> 20) & 0xFFFFF);
+        waiting[0] = (int) ((s >>> 40) & 7);
+        waiting[1] = (int) ((s >>> 43) & 7);
+        player = (int) ((s >>> 46) & 1);
+        roll = (int) ((s >>> 47) & 7) - 1;
+    }
+
+    @Override
+    public long hash() {
+        long h = player == 1 ? ZOBRIST_SIDE : 0;
+        for (int p = 0; p < 2; p++) {
+            int b = board[p];
+            while (b != 0) {
+                h ^= ZOBRIST_SQUARE[p][Integer.numberOfTrailingZeros(b)];
+                b &= b - 1;
+            }
+            h ^= ZOBRIST_WAITING[p][waiting[p]];
+        }
+        return h ^ ZOBRIST_ROLL[roll + 1];
+    }
+
+    @Override
+    public int maxMoves() {
+        return PATH_LENGTH + 1;
+    }
+
+    @Override
+    public UrGame copy() {
+        return new UrGame(this);
+    }
+
+    private void pushUndo() {
+        if (undoDepth == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoDepth * 2);
+        }
+        undoStack[undoDepth++] = (long) board[0]
+                | (long) board[1] << 20
+                | (long) waiting[0] << 40
+                | (long) waiting[1] << 43
+                | (long) player << 46
+                | (long) (roll + 1) << 47;
+    }
+}
@@ -0,0 +1,183 @@
+package com.boardgames.games.ur;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Solves the Royal Game of Ur exactly by value iteration.
+ *
+ * For every position (see UrStateIndex) it computes the probability that
+ * the player to move wins under optimal play by both sides:
+ *
+ *   V(s) = sum over rolls r of P(r) * max over moves of
+ *            V(s')      if the move lands on a rosette (same player again)
+ *            1 - V(s')  otherwise (s' seen from the opponent)
+ *
+ * iterated in place until no value changes by more than the tolerance.
+ * The full 7-piece game has ~138M positions and needs ~600 MB of heap;
+ * the written table is 2 bytes per position (~276 MB), see UrTable.
+ *
+ * Usage: UrSolver [pieces] [outputFile] [tolerance]
+ *   ./gradlew :app:solveUr --args="7 ur-7.bin 1e-6"
+ */
+public class UrSolver {
+
+    static final int MAGIC = 0x55525631; // "UR1"
+    static final int HEADER_BYTES = 16;
+
+    private static final double[] ROLL_ODDS = {1 / 16.0, 4 / 16.0, 6 / 16.0, 4 / 16.0, 1 / 16.0};
+    private static final int CHUNK = 1 << 16;
+
+    private final int pieces;
+    private final UrStateIndex index;
+    private final float[] values;
+
+    public UrSolver(int pieces) {
+        this.pieces = pieces;
+        this.index = new UrStateIndex(pieces);
+        long size = index.size();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many positions: " + size);
+        }
+        values = new float[(int) size];
+        java.util.Arrays.fill(values, 0.5f);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int pieces = args.length > 0 ? Integer.parseInt(args[0]) : UrGame.DEFAULT_PIECES;
+        Path out = args.length > 1 ? Paths.get(args[1]) : UrTable.defaultPath(pieces);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 1e-6;
+
+        UrSolver solver = new UrSolver(pieces);
+        System.out.printf(Locale.ROOT, "Solving Ur with %d pieces: %,d positions%n", pieces, solver.values.length);
+
+        long begin = System.nanoTime();
+        solver.solve(tolerance, 1000);
+        System.out.printf(Locale.ROOT, "Solved in %.1fs, first player wins %.4f%n",
+                (System.nanoTime() - begin) / 1e9, solver.value(0, 0, 0, 0));
+
+        solver.write(out);
+        System.out.println("Wrote " + out.toAbsolutePath());
+    }
+
+    /**
+     * Gauss-Seidel sweeps (parallel over chunks) until the largest change is below tolerance.
+     */
+    public void solve(double tolerance, int maxSweeps) {
+        int chunks = (values.length + CHUNK - 1) / CHUNK;
+
+        for (int sweep = 1; sweep <= maxSweeps; sweep++) {
+            double delta = IntStream.range(0, chunks).parallel()
+                    .mapToDouble(this::sweepChunk)
+                    .max().orElse(0);
+
+            System.out.printf(Locale.ROOT, "sweep %d: max change %.2e%n", sweep, delta);
+            if (delta < tolerance) return;
+        }
+    }
+
+    private double sweepChunk(int chunk) {
+        int[] pos = new int[4];
+        int from = chunk * CHUNK;
+        int to = Math.min(values.length, from + CHUNK);
+        double maxDelta = 0;
+
+        for (int i = from; i < to; i++) {
+            index.unrank(i, pos);
+            float v = (float) backup(pos[0], pos[1], pos[2], pos[3]);
+            maxDelta = Math.max(maxDelta, Math.abs(v - values[i]));
+            values[i] = v; // racy across threads, but float writes are atomic
+        }
+        return maxDelta;
+    }
+
+    /**
+     * One Bellman backup of a position from the mover's point of view.
+     */
+    private double backup(int own, int opp, int ownOff, int oppOff) {
+        if (oppOff == pieces) return 0;
+        if (ownOff == pieces) return 1;
+
+        int ownWaiting = pieces - Integer.bitCount(own) - ownOff;
+        double pass = 1 - value(opp, own, oppOff, ownOff);
+        double v = ROLL_ODDS[0] * pass;
+
+        for (int roll = 1; roll <= 4; roll++) {
+            double best = -1;
+
+            for (int from = 0; from <= UrGame.PATH_LENGTH; from++) {
+                if (from == 0 ? ownWaiting == 0 : (own & (1 << from)) == 0) continue;
+
+                int to = from + roll;
+                if (to > UrGame.BORNE_OFF) continue;
+
+                int toBit = 1 << to;
+                if (to < UrGame.BORNE_OFF) {
+                    if ((own & toBit) != 0) continue;
+                    if (to == 8 && (opp & toBit) != 0) continue; // protected rosette
+                }
+
+                int newOwn = own & ~(1 << from);
+                int newOpp = opp;
+                int newOwnOff = ownOff;
+                if (to == UrGame.BORNE_OFF) {
+                    newOwnOff++;
+                } else {
+                    newOwn |= toBit;
+                    if (to >= 5 && to <= 12) newOpp &= ~toBit; // capture in the shared row
+                }
+                newOwn &= ~1; // path square 0 isn't on the board
+
+                double moveValue;
+                if (newOwnOff == pieces) {
+                    moveValue = 1;
+                } else if (to < UrGame.BORNE_OFF && UrGame.isRosette(to)) {
+                    moveValue = value(newOwn, newOpp, newOwnOff, oppOff);
+                } else {
+                    moveValue = 1 - value(newOpp, newOwn, oppOff, newOwnOff);
+                }
+                best = Math.max(best, moveValue);
+            }
+
+            v += ROLL_ODDS[roll] * (best < 0 ? pass : best);
+        }
+        return v;
+    }
+
+    private double value(int own, int opp, int ownOff, int oppOff) {
+        return values[(int) index.rank(own, opp, ownOff, oppOff)];
+    }
+
+    /**
+     * Header (magic, pieces, count) followed by one unsigned 16-bit win probability per position.
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+            buf.putInt(MAGIC).putInt(pieces).putLong(values.length);
+
+            for (float v : values) {
+                if (buf.remaining() < 2) {
+                    buf.flip();
+                    while (buf.hasRemaining()) ch.write(buf);
+                    buf.clear();
+                }
+                buf.putChar((char) Math.round(Math.max(0, Math.min(1, v)) * 65535));
+            }
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+}
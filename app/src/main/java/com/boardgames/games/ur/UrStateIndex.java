@@ -0,0 +1,147 @@
+package com.boardgames.games.ur;
+
+/**
+ * Perfect (gap-free) index of Ur positions seen from the player to move.
+ *
+ * A position is the mover's and the opponent's occupied path squares plus
+ * how many pieces each has borne off; pieces still waiting follow from the
+ * piece count. The 20 squares are ranked one at a time (6 private squares
+ * each, then the 8 shared ones, which can hold either side) using a table
+ * of completion counts, then the two borne-off counts. With 7 pieces that
+ * is 137,913,936 positions.
+ */
+public class UrStateIndex {
+
+    // Path squares of each cell, in ranking order
+    private static final int[] OWN_CELLS = {1, 2, 3, 4, 13, 14};
+    private static final int[] SHARED_CELLS = {5, 6, 7, 8, 9, 10, 11, 12};
+    private static final int CELLS = 20;
+
+    private final int pieces;
+    // completions[cell][ownLeft][oppLeft]
+    private final long[][][] completions;
+
+    public UrStateIndex(int pieces) {
+        this.pieces = pieces;
+        completions = new long[CELLS + 1][pieces + 1][pieces + 1];
+
+        for (int a = 0; a <= pieces; a++) {
+            for (int b = 0; b <= pieces; b++) {
+                completions[CELLS][a][b] = (long) (a + 1) * (b + 1); // borne-off counts
+            }
+        }
+        for (int cell = CELLS - 1; cell >= 0; cell--) {
+            for (int a = 0; a <= pieces; a++) {
+                for (int b = 0; b <= pieces; b++) {
+                    long n = completions[cell + 1][a][b];
+                    if (cell < 6 || cell >= 12) {
+                        if (a > 0) n += completions[cell + 1][a - 1][b];
+                    }
+                    if (cell >= 6) {
+                        if (b > 0) n += completions[cell + 1][a][b - 1];
+                    }
+                    completions[cell][a][b] = n;
+                }
+            }
+        }
+    }
+
+    public int getPieces() {
+        return pieces;
+    }
+
+    public long size() {
+        return completions[0][pieces][pieces];
+    }
+
+    /**
+     * @param own    mover's occupied path squares (bit i = path square i)
+     * @param opp    opponent's occupied path squares
+     * @param ownOff mover's borne-off count
+     * @param oppOff opponent's borne-off count
+     */
+    public long rank(int own, int opp, int ownOff, int oppOff) {
+        long r = 0;
+        int a = pieces, b = pieces;
+        int cell = 0;
+
+        for (int sq : OWN_CELLS) {
+            if ((own & (1 << sq)) != 0) {
+                r += completions[cell + 1][a][b];
+                a--;
+            }
+            cell++;
+        }
+        for (int sq : OWN_CELLS) {
+            if ((opp & (1 << sq)) != 0) {
+                r += completions[cell + 1][a][b];
+                b--;
+            }
+            cell++;
+        }
+        for (int sq : SHARED_CELLS) {
+            int bit = 1 << sq;
+            if ((own & bit) != 0) {
+                r += completions[cell + 1][a][b];
+                a--;
+            } else if ((opp & bit) != 0) {
+                r += completions[cell + 1][a][b];
+                if (a > 0) r += completions[cell + 1][a - 1][b];
+                b--;
+            }
+            cell++;
+        }
+        return r + (long) ownOff * (b + 1) + oppOff;
+    }
+
+    /**
+     * Inverse of rank: writes {own, opp, ownOff, oppOff} into out.
+     */
+    public void unrank(long r, int[] out) {
+        int own = 0, opp = 0;
+        int a = pieces, b = pieces;
+        int cell = 0;
+
+        for (int sq : OWN_CELLS) {
+            long empty = completions[cell + 1][a][b];
+            if (r >= empty) {
+                r -= empty;
+                own |= 1 << sq;
+                a--;
+            }
+            cell++;
+        }
+        for (int sq : OWN_CELLS) {
+            long empty = completions[cell + 1][a][b];
+            if (r >= empty) {
+                r -= empty;
+                opp |= 1 << sq;
+                b--;
+            }
+            cell++;
+        }
+        for (int sq : SHARED_CELLS) {
+            long empty = completions[cell + 1][a][b];
+            if (r < empty) {
+                cell++;
+                continue;
+            }
+            r -= empty;
+            long mine = a > 0 ? completions[cell + 1][a - 1][b] : 0;
+            if (r < mine) {
+                own |= 1 << sq;
+                a--;
+            } else {
+                r -= mine;
+                opp |= 1 << sq;
+                b--;
+            }
+            cell++;
+        }
+
+        out[0] = own;
+        out[1] = opp;
+        out[2] = (int) (r / (b + 1));
+        out[3] = (int) (r % (b + 1));
+    }
+}
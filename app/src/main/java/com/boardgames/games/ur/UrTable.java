@@ -0,0 +1,73 @@
+package com.boardgames.games.ur;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a solved Ur table written by UrSolver.
+ *
+ * The file is memory-mapped, so opening it is instant and only the pages
+ * actually looked at are read; each lookup is an index computation plus
+ * one 2-byte read.
+ */
+public class UrTable {
+
+    private final UrStateIndex index;
+    private final MappedByteBuffer data;
+
+    private UrTable(UrStateIndex index, MappedByteBuffer data) {
+        this.index = index;
+        this.data = data;
+    }
+
+    /**
+     * Where the table for the given piece count lives, unless
+     * -Dboardgames.ur.table=<file> says otherwise.
+     */
+    public static Path defaultPath(int pieces) {
+        String override = System.getProperty("boardgames.ur.table");
+        if (override != null) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".ancient-board-games", "ur-" + pieces + ".bin");
+    }
+
+    public static UrTable open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(UrSolver.HEADER_BYTES);
+            while (header.hasRemaining() && ch.read(header) >= 0) { }
+            header.flip();
+
+            if (header.remaining() < UrSolver.HEADER_BYTES || header.getInt() != UrSolver.MAGIC) {
+                throw new IOException(file + " is not an Ur table");
+            }
+            int pieces = header.getInt();
+            long count = header.getLong();
+
+            UrStateIndex index = new UrStateIndex(pieces);
+            if (count != index.size() || ch.size() != UrSolver.HEADER_BYTES + count * 2) {
+                throw new IOException(file + " is truncated or was built for a different index");
+            }
+
+            // The mapping stays valid after the channel is closed
+            return new UrTable(index, ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    public int getPieces() {
+        return index.getPieces();
+    }
+
+    /**
+     * Win probability for the player to move. Arguments as in UrStateIndex.rank.
+     */
+    public double value(int own, int opp, int ownOff, int oppOff) {
+        long i = index.rank(own, opp, ownOff, oppOff);
+        return data.getChar((int) (UrSolver.HEADER_BYTES + i * 2)) / 65535.0;
+    }
+}
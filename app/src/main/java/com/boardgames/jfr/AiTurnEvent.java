@@ -0,0 +1,39 @@
+package com.boardgames.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans the AI's decision, so the event duration is the think time.
+ */
+@Name("com.boardgames.AiTurn")
+@Label("AI Turn")
+@Category({"Board Games", "AI"})
+@Description("One AI move decision")
+@StackTrace(false)
+public class AiTurnEvent extends jdk.jfr.Event {
+
+    @Label("Game")
+    public String game;
+
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Roll")
+    public int roll;
+
+    @Label("Nodes")
+    @Description("Search nodes visited, 0 for levels that don't search")
+    public long nodes;
+
+    @Label("Pondered")
+    @Description("Answered from the cache filled during the opponent's turn")
+    public boolean pondered;
+
+    @Label("Move")
+    @Description("Chosen move in the game's GameState encoding (Senet: square of the piece, 0 = pass)")
+    public int move;
+}
@@ -0,0 +1,22 @@
+package com.boardgames.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the scene root being swapped.
+ */
+@Name("com.boardgames.ScreenTransition")
+@Label("Screen Transition")
+@Category({"Board Games", "UI"})
+@StackTrace(false)
+public class ScreenTransitionEvent extends jdk.jfr.Event {
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+}
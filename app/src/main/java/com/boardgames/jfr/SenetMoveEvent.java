@@ -0,0 +1,35 @@
+package com.boardgames.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a move or skip in a played Senet game.
+ */
+@Name("com.boardgames.SenetMove")
+@Label("Senet Move")
+@Category({"Board Games", "Senet"})
+@Description("A piece moved (or a turn skipped) in a played Senet game")
+@StackTrace(false)
+public class SenetMoveEvent extends jdk.jfr.Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Roll")
+    public int roll;
+
+    @Label("From")
+    @Description("Square 1-30, 0 for a skipped turn")
+    public int from;
+
+    @Label("To")
+    @Description("Square 1-30, 31 = borne off, 0 for a skipped turn")
+    public int to;
+
+    @Label("Moved")
+    public boolean moved;
+}
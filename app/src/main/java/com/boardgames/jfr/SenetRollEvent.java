@@ -0,0 +1,30 @@
+package com.boardgames.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a throw in a played Senet game. Like all events
+ * in this package it costs a branch unless a recording is running
+ * (./gradlew run -Pjfr, or jcmd <pid> JFR.start), and search doesn't emit it.
+ */
+@Name("com.boardgames.SenetRoll")
+@Label("Senet Roll")
+@Category({"Board Games", "Senet"})
+@Description("A stick throw (or carried-over remainder) in a played Senet game")
+@StackTrace(false)
+public class SenetRollEvent extends jdk.jfr.Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Roll")
+    public int roll;
+
+    @Label("Carry-over")
+    @Description("Remainder from bearing off rather than a new throw")
+    public boolean carryOver;
+}
@@ -0,0 +1,28 @@
+package com.boardgames.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the turn changing hands in a played Senet game.
+ */
+@Name("com.boardgames.SenetTurnEnd")
+@Label("Senet Turn End")
+@Category({"Board Games", "Senet"})
+@Description("The turn passed to the other player (after a move or a skip), or the game ended")
+@StackTrace(false)
+public class SenetTurnEndEvent extends jdk.jfr.Event {
+
+    @Label("Player")
+    @Description("Player whose turn ended")
+    public String player;
+
+    @Label("Skipped")
+    public boolean skipped;
+
+    @Label("Game Over")
+    public boolean gameOver;
+}
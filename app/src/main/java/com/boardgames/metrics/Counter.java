@@ -0,0 +1,24 @@
+package com.boardgames.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter on a LongAdder: threads add to their own stripe, so
+ * counting from many threads at once doesn't fight over one cache line.
+ */
+public final class Counter {
+
+    private final LongAdder adder = new LongAdder();
+
+    public void inc() {
+        adder.increment();
+    }
+
+    public void add(long n) {
+        adder.add(n);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+}
@@ -0,0 +1,129 @@
+package com.boardgames.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in the style of HdrHistogram: log-linear
+ * buckets, 128 sub-buckets per power of two, so any recorded value is
+ * reported to within 1% and the whole range (1 ns to over an hour) fits
+ * in a fixed array of a few thousand counters.
+ *
+ * record() is one atomic increment on the value's counter plus a striped
+ * add for the sum; no locks, no allocation, safe from any number of
+ * threads. Reads walk the counters without stopping writers, so a report
+ * taken mid-run can be off by the few values recorded while it ran.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_LOG2 = 42;                 // ~73 minutes in ns
+    private static final long MAX_VALUE = (1L << (MAX_LOG2 + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_LOG2 - SUB_BITS + 2) * SUB_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record one value (normally nanoseconds). Negative values count as 0,
+     * values past the range as the maximum.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        if (value > MAX_VALUE) value = MAX_VALUE;
+
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value)) {
+            m = max.get();
+        }
+    }
+
+    /**
+     * Convenience for timing: record(System.nanoTime() - startNanos).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Smallest value such that 'percentile' % of the recorded values are at
+     * or below it (reported as the top of its bucket, like HdrHistogram).
+     */
+    public long valueAtPercentile(double percentile) {
+        long total = count();
+        if (total == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalent(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * How many recorded values are at or below 'value' (for cumulative
+     * export buckets; exact at bucket edges, within 1% elsewhere).
+     */
+    public long countAtOrBelow(long value) {
+        if (value < 0) return 0;
+        int last = indexOf(Math.min(value, MAX_VALUE));
+        long seen = 0;
+        for (int i = 0; i <= last; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    // ===== Buckets =====
+    // Values below 2 * SUB_COUNT get a counter each; above that, bucket b
+    // covers [2^(b + SUB_BITS), 2^(b + SUB_BITS + 1)) in SUB_COUNT steps.
+
+    static int indexOf(long value) {
+        int bucket = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BITS);
+        return (bucket << SUB_BITS) + (int) (value >>> bucket);
+    }
+
+    static long highestEquivalent(int index) {
+        if (index < 2 * SUB_COUNT) return index;
+        int bucket = (index >>> SUB_BITS) - 1;
+        long sub = index - ((long) bucket << SUB_BITS);
+        return ((sub + 1) << bucket) - 1;
+    }
+}
@@ -0,0 +1,126 @@
+package com.boardgames.metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide counters and latency histograms, exported in the Prometheus
+ * text format (see MetricsServer).
+ *
+ * Look a series up once and keep it, e.g. in a static final field or in
+ * the object that records to it; the lookup takes a lock, recording on
+ * the returned Counter / LatencyHistogram doesn't. Labels are given as
+ * name, value pairs. Histograms record nanoseconds and are exported in
+ * seconds.
+ */
+public final class MetricsRegistry {
+
+    // Export bucket bounds, 50 us .. 10 s
+    private static final long[] BUCKETS_NANOS = {
+            50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000, 25_000_000, 50_000_000,
+            100_000_000, 250_000_000, 500_000_000,
+            1_000_000_000, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    private record Family(String name, String help, String type, Map<String, Object> series) {}
+
+    private static final Map<String, Family> families = new LinkedHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static Counter counter(String name, String help, String... labels) {
+        return series(name, help, "counter", labels, Counter::new);
+    }
+
+    public static LatencyHistogram histogram(String name, String help, String... labels) {
+        return series(name, help, "histogram", labels, LatencyHistogram::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized <T> T series(String name, String help, String type, String[] labels, Supplier<T> factory) {
+        Family family = families.computeIfAbsent(name, n -> new Family(n, help, type, new LinkedHashMap<>()));
+        if (!family.type().equals(type)) {
+            throw new IllegalArgumentException(name + " is already registered as a " + family.type());
+        }
+        return (T) family.series().computeIfAbsent(labelString(labels), k -> factory.get());
+    }
+
+    private static String labelString(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name, value pairs");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) sb.append(',');
+            sb.append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return sb.toString();
+    }
+
+    // ===== Export =====
+
+    /**
+     * Everything registered so far, in the Prometheus text format (0.0.4).
+     */
+    public static void writePrometheus(Appendable out) throws IOException {
+        List<Family> snapshot;
+        List<Map<String, Object>> seriesSnapshot = new ArrayList<>();
+        synchronized (MetricsRegistry.class) {
+            snapshot = new ArrayList<>(families.values());
+            for (Family f : snapshot) {
+                seriesSnapshot.add(new LinkedHashMap<>(f.series()));
+            }
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            Family f = snapshot.get(i);
+            out.append("# HELP ").append(f.name()).append(' ').append(f.help()).append('\n');
+            out.append("# TYPE ").append(f.name()).append(' ').append(f.type()).append('\n');
+            for (Map.Entry<String, Object> e : seriesSnapshot.get(i).entrySet()) {
+                if (e.getValue() instanceof Counter c) {
+                    sample(out, f.name(), e.getKey(), null, Long.toString(c.get()));
+                } else if (e.getValue() instanceof LatencyHistogram h) {
+                    writeHistogram(out, f.name(), e.getKey(), h);
+                }
+            }
+        }
+    }
+
+    private static void writeHistogram(Appendable out, String name, String labels, LatencyHistogram h) throws IOException {
+        // Buckets first, total last: values recorded meanwhile only make later reads
+        // bigger, so the buckets stay cumulative and +Inf is never below them
+        for (long bound : BUCKETS_NANOS) {
+            sample(out, name + "_bucket", labels, "le=\"" + seconds(bound) + '"', Long.toString(h.countAtOrBelow(bound)));
+        }
+        long count = h.count();
+        sample(out, name + "_bucket", labels, "le=\"+Inf\"", Long.toString(count));
+        sample(out, name + "_sum", labels, null, seconds(h.sum()));
+        sample(out, name + "_count", labels, null, Long.toString(count));
+    }
+
+    private static void sample(Appendable out, String name, String labels, String extra, String value) throws IOException {
+        out.append(name);
+        if (!labels.isEmpty() || extra != null) {
+            out.append('{').append(labels);
+            if (extra != null) {
+                if (!labels.isEmpty()) out.append(',');
+                out.append(extra);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9g", nanos / 1e9).replaceAll("\\.?0+(e|$)", "$1");
+    }
+}
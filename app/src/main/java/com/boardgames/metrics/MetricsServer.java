@@ -0,0 +1,71 @@
+package com.boardgames.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves MetricsRegistry at http://127.0.0.1:port/metrics for Prometheus
+ * (or curl). Off unless -Dboardgames.metrics.port=<port> is given; only
+ * ever bound to loopback.
+ */
+public final class MetricsServer {
+
+    private static HttpServer server;
+
+    private MetricsServer() {
+    }
+
+    /**
+     * Start the endpoint if -Dboardgames.metrics.port is set.
+     */
+    public static synchronized void startIfConfigured() {
+        Integer port = Integer.getInteger("boardgames.metrics.port");
+        if (port == null || server != null) return;
+        try {
+            server = start(port);
+            System.out.println("Metrics on http://127.0.0.1:" + server.getAddress().getPort() + "/metrics");
+        } catch (IOException e) {
+            System.err.println("Metrics endpoint not started: " + e.getMessage());
+        }
+    }
+
+    public static HttpServer start(int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", exchange -> {
+            StringWriter text = new StringWriter();
+            MetricsRegistry.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        http.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        }));
+        http.start();
+        return http;
+    }
+
+    /**
+     * Stop the endpoint started by startIfConfigured() (its dispatcher
+     * thread would otherwise keep the JVM alive).
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+}
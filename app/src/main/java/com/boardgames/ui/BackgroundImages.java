@@ -0,0 +1,123 @@
+package com.boardgames.ui;
+
+import com.boardgames.metrics.LatencyHistogram;
+import com.boardgames.metrics.MetricsRegistry;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loader for the big JPEG backgrounds.
+ *
+ * Images are decoded on JavaFX's background loader thread at the size they
+ * are shown at (full screen, or button width), never at their multi-megapixel
+ * source size. A flat placeholder colour is shown until decoding finishes.
+ * Decoded images are shared, so screens using the same background don't
+ * decode it twice.
+ */
+public class BackgroundImages {
+
+    public static final Color PLACEHOLDER = Color.web("#3B2A1A");
+
+    // Menu buttons are bound to 40% of the scene width
+    private static final double BUTTON_WIDTH_FRACTION = 0.4;
+
+    private static final Map<String, Image> cache = new HashMap<>();
+
+    private static final LatencyHistogram LOAD_TIME = MetricsRegistry.histogram("boardgames_asset_load_seconds",
+            "Time to load and decode an image asset.", "asset", "background");
+
+    /**
+     * Background decoded at screen resolution.
+     */
+    public static Image fullscreen(String path) {
+        Rectangle2D bounds = Screen.getPrimary().getBounds();
+        double scale = Screen.getPrimary().getOutputScaleX();
+        return load(path, bounds.getWidth() * scale, bounds.getHeight() * scale, false);
+    }
+
+    /**
+     * Background decoded at menu button width (height follows the aspect ratio).
+     */
+    public static Image button(String path) {
+        Rectangle2D bounds = Screen.getPrimary().getBounds();
+        double scale = Screen.getPrimary().getOutputScaleX();
+        return load(path, bounds.getWidth() * BUTTON_WIDTH_FRACTION * scale, 0, true);
+    }
+
+    /**
+     * Background decoded to fit a small fixed box (e.g. icon buttons).
+     */
+    public static Image sized(String path, double width, double height) {
+        double scale = Screen.getPrimary().getOutputScaleX();
+        return load(path, width * scale, height * scale, false);
+    }
+
+    /**
+     * Full-size background view for a screen. The screen shows the
+     * placeholder colour until the image has been decoded.
+     */
+    public static ImageView createScreenBackground(String path, Region owner) {
+        owner.setBackground(new Background(new BackgroundFill(PLACEHOLDER, CornerRadii.EMPTY, null)));
+
+        ImageView view = new ImageView(fullscreen(path));
+        view.setPreserveRatio(false);
+        view.fitWidthProperty().bind(owner.widthProperty());
+        view.fitHeightProperty().bind(owner.heightProperty());
+        return view;
+    }
+
+    /**
+     * Give a menu button the "cover" image background used across the menus,
+     * with a flat placeholder until it's decoded.
+     */
+    public static void applyButtonBackground(Region button, String path) {
+        applyBackground(button, button(path));
+    }
+
+    public static void applyBackground(Region region, Image img) {
+        region.setBackground(new Background(new BackgroundFill(PLACEHOLDER, CornerRadii.EMPTY, null)));
+
+        if (img.getProgress() >= 1.0) {
+            setImageBackground(region, img);
+        } else {
+            img.progressProperty().addListener((obs, o, n) -> {
+                if (n.doubleValue() >= 1.0) {
+                    setImageBackground(region, img);
+                }
+            });
+        }
+    }
+
+    private static void setImageBackground(Region region, Image img) {
+        if (img.isError()) return; // keep the placeholder
+
+        region.setBackground(new Background(new BackgroundImage(
+                img,
+                BackgroundRepeat.NO_REPEAT,
+                BackgroundRepeat.NO_REPEAT,
+                BackgroundPosition.CENTER,
+                new BackgroundSize(100, 100, true, true, false, true)
+        )));
+    }
+
+    private static Image load(String path, double width, double height, boolean preserveRatio) {
+        String key = path + "@" + Math.round(width) + "x" + Math.round(height);
+        return cache.computeIfAbsent(key, k -> {
+            long start = System.nanoTime();
+            Image img = new Image(BackgroundImages.class.getResource(path).toExternalForm(),
+                    width, height, preserveRatio, true, true);
+            // Decoding finishes later, on the loader thread
+            img.progressProperty().addListener((obs, old, progress) -> {
+                if (progress.doubleValue() >= 1.0 && !img.isError()) LOAD_TIME.recordSince(start);
+            });
+            return img;
+        });
+    }
+}
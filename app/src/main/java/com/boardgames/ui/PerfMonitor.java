@@ -0,0 +1,311 @@
+package com.boardgames.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Optional frame-time / FX-thread stall monitor with an on-screen overlay.
+ *
+ * Enable at launch with -Dboardgames.perf=true, or toggle at runtime with F3.
+ * F4 dumps the recorded samples to perf-<timestamp>.csv in the working dir.
+ * Stalls (frame gaps over -Dboardgames.perf.stallMs, default 50) are logged.
+ *
+ * Code sections are timed with:
+ *
+ *   long t = PerfMonitor.start();
+ *   ...
+ *   PerfMonitor.record(PerfMonitor.Section.REFRESH_BOARD, t);
+ *
+ * which is a single static boolean check while the monitor is off.
+ * Everything here runs on the FX thread only.
+ */
+public class PerfMonitor {
+
+    public enum Section {
+        REFRESH_BOARD, UPDATE_DICE, AI_TURN
+    }
+
+    private static final int FRAME_SAMPLES = 3600;   // ~1 minute at 60 fps
+    private static final int SECTION_SAMPLES = 1024;
+    private static final long OVERLAY_INTERVAL_NANOS = 250_000_000L;
+    private static final long SCENE_SCAN_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static boolean enabled;
+    private static final long stallThresholdNanos = Long.getLong("boardgames.perf.stallMs", 50) * 1_000_000L;
+
+    private static Scene scene;
+    private static final Text overlay = new Text();
+    private static final StackPane overlayBox = new StackPane(overlay);
+
+    // Ring buffers (nanos), plus wall-clock millis for the CSV
+    private static final Samples frames = new Samples(FRAME_SAMPLES);
+    private static final Samples[] sections = new Samples[Section.values().length];
+    private static int stallCount;
+    private static long lastFrame;
+    private static long lastOverlayUpdate;
+    private static long lastSceneScan;
+    private static int nodeCount;
+    private static long imageBytes;
+
+    static {
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = new Samples(SECTION_SAMPLES);
+        }
+
+        overlay.setFont(Font.font("Monospaced", 13));
+        overlay.setFill(Color.web("#F5F1E6"));
+        overlayBox.setBackground(new Background(new BackgroundFill(Color.color(0, 0, 0, 0.6), new CornerRadii(4), null)));
+        overlayBox.setPadding(new Insets(6));
+        overlayBox.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        overlayBox.setMouseTransparent(true);
+        overlayBox.setTranslateX(10);
+        overlayBox.setTranslateY(10);
+        StackPane.setAlignment(overlayBox, Pos.TOP_LEFT);
+    }
+
+    private static final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onFrame(now);
+        }
+    };
+
+    /**
+     * Hook the hotkeys into the scene and optionally start monitoring right away.
+     */
+    public static void install(Scene mainScene, boolean startEnabled) {
+        scene = mainScene;
+
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F3) {
+                setEnabled(!enabled);
+                e.consume();
+            } else if (e.getCode() == KeyCode.F4) {
+                dumpCsv();
+                e.consume();
+            }
+        });
+
+        setEnabled(startEnabled);
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+        if (on) {
+            lastFrame = 0;
+            attachTo(scene == null ? null : scene.getRoot());
+            timer.start();
+        } else {
+            timer.stop();
+            detach();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Keep the overlay on top of whichever screen is showing (called on root swap).
+     */
+    public static void attachTo(Parent root) {
+        if (!enabled || !(root instanceof Pane pane)) return;
+        detach();
+        pane.getChildren().add(overlayBox);
+    }
+
+    private static void detach() {
+        if (overlayBox.getParent() instanceof Pane parent) {
+            parent.getChildren().remove(overlayBox);
+        }
+    }
+
+    // ==================== SECTION TIMING ====================
+
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void record(Section section, long startNanos) {
+        if (startNanos == 0L || !enabled) return;
+        sections[section.ordinal()].add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * For sections the caller times anyway (e.g. for a metrics histogram):
+     * record an elapsed time it already measured.
+     */
+    public static void recordElapsed(Section section, long nanos) {
+        if (!enabled) return;
+        sections[section.ordinal()].add(nanos);
+    }
+
+    // ==================== FRAMES ====================
+
+    private static void onFrame(long now) {
+        if (lastFrame != 0) {
+            long frameTime = now - lastFrame;
+            frames.add(frameTime);
+
+            if (frameTime > stallThresholdNanos) {
+                stallCount++;
+                System.err.printf(Locale.ROOT, "[perf] FX thread stall: %.1f ms%n", frameTime / 1e6);
+            }
+        }
+        lastFrame = now;
+
+        if (now - lastSceneScan > SCENE_SCAN_INTERVAL_NANOS) {
+            lastSceneScan = now;
+            scanScene();
+        }
+        if (now - lastOverlayUpdate > OVERLAY_INTERVAL_NANOS) {
+            lastOverlayUpdate = now;
+            updateOverlay();
+        }
+    }
+
+    private static void updateOverlay() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "frame  p50 %5.1f  p95 %5.1f  p99 %5.1f  max %5.1f ms%n",
+                frames.percentile(0.50) / 1e6, frames.percentile(0.95) / 1e6,
+                frames.percentile(0.99) / 1e6, frames.percentile(1.0) / 1e6));
+        sb.append(String.format(Locale.ROOT, "stalls >%d ms: %d%n", stallThresholdNanos / 1_000_000L, stallCount));
+        sb.append(String.format(Locale.ROOT, "nodes %d   images %.1f MB%n", nodeCount, imageBytes / (1024.0 * 1024.0)));
+        for (Section s : Section.values()) {
+            Samples samples = sections[s.ordinal()];
+            if (samples.size() == 0) continue;
+            sb.append(String.format(Locale.ROOT, "%-14s p50 %6.2f  p99 %6.2f ms (n=%d)%n",
+                    s.name().toLowerCase(Locale.ROOT), samples.percentile(0.50) / 1e6,
+                    samples.percentile(0.99) / 1e6, samples.size()));
+        }
+        overlay.setText(sb.toString().stripTrailing());
+    }
+
+    /**
+     * Count nodes and estimate decoded image memory (4 bytes/pixel, each image once).
+     */
+    private static void scanScene() {
+        if (scene == null || scene.getRoot() == null) return;
+
+        Set<Image> images = Collections.newSetFromMap(new IdentityHashMap<>());
+        nodeCount = countNodes(scene.getRoot(), images);
+
+        long bytes = 0;
+        for (Image img : images) {
+            bytes += (long) img.getWidth() * (long) img.getHeight() * 4L;
+        }
+        imageBytes = bytes;
+    }
+
+    private static int countNodes(Node node, Set<Image> images) {
+        int count = 1;
+        if (node instanceof ImageView view && view.getImage() != null) {
+            images.add(view.getImage());
+        }
+        if (node instanceof Region region && region.getBackground() != null) {
+            for (BackgroundImage bi : region.getBackground().getImages()) {
+                images.add(bi.getImage());
+            }
+        }
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                count += countNodes(child, images);
+            }
+        }
+        return count;
+    }
+
+    // ==================== CSV ====================
+
+    public static Path dumpCsv() {
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = Paths.get("perf-" + stamp + ".csv");
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("series,epoch_ms,duration_ms");
+            frames.writeCsv(out, "frame");
+            for (Section s : Section.values()) {
+                sections[s.ordinal()].writeCsv(out, s.name().toLowerCase(Locale.ROOT));
+            }
+            System.err.println("[perf] wrote " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("[perf] could not write " + file + ": " + e.getMessage());
+        }
+        return file;
+    }
+
+    /**
+     * Fixed-size ring of durations with the wall-clock time each was taken.
+     */
+    private static final class Samples {
+        private final long[] durations;
+        private final long[] times;
+        private final long[] scratch;
+        private int next;
+        private int size;
+
+        Samples(int capacity) {
+            durations = new long[capacity];
+            times = new long[capacity];
+            scratch = new long[capacity];
+        }
+
+        void add(long durationNanos) {
+            durations[next] = durationNanos;
+            times[next] = System.currentTimeMillis();
+            next = (next + 1) % durations.length;
+            if (size < durations.length) size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long percentile(double p) {
+            if (size == 0) return 0;
+            System.arraycopy(durations, 0, scratch, 0, size);
+            Arrays.sort(scratch, 0, size);
+            int rank = (int) Math.ceil(p * size) - 1;
+            return scratch[Math.max(0, Math.min(size - 1, rank))];
+        }
+
+        void writeCsv(PrintWriter out, String series) {
+            int start = size < durations.length ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                int idx = (start + i) % durations.length;
+                out.printf(Locale.ROOT, "%s,%d,%.3f%n", series, times[idx], durations[idx] / 1e6);
+            }
+        }
+    }
+}
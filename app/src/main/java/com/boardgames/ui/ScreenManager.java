@@ -1,20 +1,55 @@
 package com.boardgames.ui;
 
+import com.boardgames.games.senet.SenetAI;
+import com.boardgames.games.senet.SenetJournal;
+import com.boardgames.jfr.ScreenTransitionEvent;
+import com.boardgames.metrics.LatencyHistogram;
+import com.boardgames.metrics.MetricsRegistry;
+import com.boardgames.ui.screens.DifficultyScreen;
+import com.boardgames.ui.screens.GameModeScreen;
+import com.boardgames.ui.screens.SenetScreen;
+import com.boardgames.ui.screens.TitleScreen;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCombination;
 import javafx.stage.Stage;
 import javafx.scene.layout.Pane;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Single scene, swapped roots. Menu screens are built once and reused,
+ * and the Senet board is reset in place instead of being rebuilt, so
+ * navigating never throws away a whole node tree.
+ */
 public class ScreenManager {
 
     private static Stage primaryStage;
     private static Scene mainScene;
 
-    public static void init(Stage stage, Pane initialRoot) {
+    // Menu screens keyed by type + the game background they were built for
+    private static final Map<String, Pane> screenCache = new HashMap<>();
+    private static SenetScreen senetScreen;
+
+    // Transition time per screen class, looked up once. The switch in flight
+    // is recorded after the next layout pass (FX thread only)
+    private static final Map<Class<?>, LatencyHistogram> transitionTimes = new HashMap<>();
+    private static LatencyHistogram pendingTransition;
+    private static long pendingTransitionStart;
+
+    public static void init(Stage stage) {
         primaryStage = stage;
 
-        mainScene = new Scene(initialRoot);
+        mainScene = new Scene(cached("title", () -> new TitleScreen(primaryStage)), 1280, 720);
 
         primaryStage.setScene(mainScene);
+        mainScene.addPostLayoutPulseListener(ScreenManager::transitionLaidOut);
+
+        // FULLSCREEN SAME AS TITLE SCREEN
+        primaryStage.setFullScreenExitHint("");
+        primaryStage.setFullScreenExitKeyCombination(KeyCombination.NO_MATCH);
         primaryStage.setMaximized(true);
         primaryStage.setFullScreen(true);
         primaryStage.setResizable(false);
@@ -23,6 +58,115 @@ public class ScreenManager {
     }
 
     public static void show(Pane root) {
-        mainScene.setRoot(root);
+        if (mainScene.getRoot() != root) {
+            ScreenTransitionEvent event = new ScreenTransitionEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Parent from = mainScene.getRoot();
+            mainScene.setRoot(root);
+            // CSS and layout of the new screen follow on the next pulse; stop the clock there
+            pendingTransition = transitionTimes.computeIfAbsent(root.getClass(), type -> MetricsRegistry.histogram(
+                    "boardgames_screen_transition_seconds", "Time to switch to a screen, through its first layout.",
+                    "screen", type.getSimpleName()));
+            pendingTransitionStart = start;
+            if (event.shouldCommit()) {
+                event.from = from == null ? null : from.getClass().getSimpleName();
+                event.to = root.getClass().getSimpleName();
+                event.commit();
+            }
+            PerfMonitor.attachTo(root);
+        }
+    }
+
+    private static void transitionLaidOut() {
+        if (pendingTransition != null) {
+            pendingTransition.recordSince(pendingTransitionStart);
+            pendingTransition = null;
+        }
+    }
+
+    public static Stage getStage() {
+        return primaryStage;
+    }
+
+    // ==================== NAVIGATION ====================
+
+    public static void showTitle() {
+        show(cached("title", () -> new TitleScreen(primaryStage)));
+    }
+
+    public static void showGameMode(String gameBackgroundPath) {
+        GameModeScreen screen = (GameModeScreen) cached("mode:" + gameBackgroundPath, () -> new GameModeScreen(
+                gameBackgroundPath,
+                () -> continueSenet(gameBackgroundPath),
+                () -> showDifficulty(gameBackgroundPath),
+                () -> startSenet(gameBackgroundPath, null),
+                () -> showSpectatorDifficulty(gameBackgroundPath),
+                ScreenManager::showTitle
+        ));
+        screen.setContinueAvailable(SenetJournal.hasSavedGame(SenetJournal.defaultPath()));
+        show(screen);
+    }
+
+    public static void showDifficulty(String gameBackgroundPath) {
+        show(cached("difficulty:" + gameBackgroundPath, () -> new DifficultyScreen(
+                gameBackgroundPath,
+                difficulty -> startSenet(gameBackgroundPath, difficulty),
+                () -> showGameMode(gameBackgroundPath)
+        )));
+    }
+
+    /**
+     * Same difficulty picker, but the chosen level plays both sides.
+     */
+    public static void showSpectatorDifficulty(String gameBackgroundPath) {
+        show(cached("spectate:" + gameBackgroundPath, () -> new DifficultyScreen(
+                gameBackgroundPath,
+                difficulty -> startSenetAiVsAi(gameBackgroundPath, difficulty),
+                () -> showGameMode(gameBackgroundPath)
+        )));
+    }
+
+    /**
+     * Show the Senet board with a fresh game.
+     * A null difficulty means local 2-player.
+     */
+    public static void startSenet(String gameBackgroundPath, SenetAI.Difficulty difficulty) {
+        if (senetScreen == null) {
+            senetScreen = new SenetScreen(primaryStage, null);
+        }
+        senetScreen.setOnBack(() -> showGameMode(gameBackgroundPath));
+        senetScreen.newGame(difficulty);
+        show(senetScreen);
+    }
+
+    /**
+     * Show the Senet board with the autosaved game, or a local game if it's gone.
+     */
+    public static void continueSenet(String gameBackgroundPath) {
+        if (senetScreen == null) {
+            senetScreen = new SenetScreen(primaryStage, null);
+        }
+        senetScreen.setOnBack(() -> showGameMode(gameBackgroundPath));
+        if (!senetScreen.resumeSavedGame()) {
+            senetScreen.newGame(null);
+        }
+        show(senetScreen);
+    }
+
+    /**
+     * Show the Senet board with the AI playing itself.
+     */
+    public static void startSenetAiVsAi(String gameBackgroundPath, SenetAI.Difficulty difficulty) {
+        if (senetScreen == null) {
+            senetScreen = new SenetScreen(primaryStage, null);
+        }
+        senetScreen.setOnBack(() -> showGameMode(gameBackgroundPath));
+        senetScreen.newAiVsAiGame(difficulty);
+        show(senetScreen);
+    }
+
+    private static Pane cached(String key, Supplier<? extends Pane> factory) {
+        return screenCache.computeIfAbsent(key, k -> factory.get());
     }
 }
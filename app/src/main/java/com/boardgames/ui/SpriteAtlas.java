@@ -0,0 +1,151 @@
+package com.boardgames.ui;
+
+import com.boardgames.metrics.MetricsRegistry;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.stage.Screen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Sprites packed into one texture by the packSenetAtlas build task.
+ *
+ * Each sprite is already scaled to the size it is drawn at, so views just
+ * show a viewport of the shared atlas image. The atlas closest to (but not
+ * below) the screen's output scale is picked, so HiDPI screens stay sharp.
+ *
+ * When the generated atlas isn't on the classpath (e.g. running straight
+ * from an IDE) the individual PNGs from atlas.spec are loaded instead,
+ * still decoded at their drawn size.
+ */
+public class SpriteAtlas {
+
+    private static final double[] SCALES = {1, 1.5, 2};
+
+    private record Sprite(Image image, Rectangle2D viewport, double width, double height) {}
+
+    private final Map<String, Sprite> sprites = new HashMap<>();
+
+    /**
+     * @param dir       resource directory, e.g. "/assets/senet/"
+     * @param atlasName base name used by the build task, e.g. "senet_atlas"
+     */
+    public static SpriteAtlas load(String dir, String atlasName) {
+        long start = System.nanoTime();
+        double outputScale = Screen.getPrimary().getOutputScaleX();
+
+        double scale = SCALES[SCALES.length - 1];
+        for (double s : SCALES) {
+            if (s >= outputScale) {
+                scale = s;
+                break;
+            }
+        }
+
+        String base = dir + atlasName + "_" + (scale == Math.rint(scale) ? Integer.toString((int) scale) : Double.toString(scale)) + "x";
+        URL png = SpriteAtlas.class.getResource(base + ".png");
+        URL regions = SpriteAtlas.class.getResource(base + ".properties");
+
+        SpriteAtlas atlas = new SpriteAtlas();
+        if (png != null && regions != null) {
+            atlas.loadPacked(png, regions);
+        } else {
+            atlas.loadUnpacked(dir, outputScale);
+        }
+        MetricsRegistry.histogram("boardgames_asset_load_seconds", "Time to load and decode an image asset.",
+                "asset", atlasName).recordSince(start);
+        return atlas;
+    }
+
+    /**
+     * New ImageView showing the named sprite at its logical size.
+     */
+    public ImageView createView(String name) {
+        ImageView view = new ImageView();
+        apply(view, name);
+        return view;
+    }
+
+    /**
+     * Point an existing view at another sprite (no new node, no new texture).
+     */
+    public void apply(ImageView view, String name) {
+        Sprite sprite = sprites.get(name);
+        if (sprite == null) {
+            throw new IllegalArgumentException("Unknown sprite: " + name);
+        }
+        view.setImage(sprite.image());
+        view.setViewport(sprite.viewport());
+        view.setPreserveRatio(false);
+        view.setFitWidth(sprite.width());
+        view.setFitHeight(sprite.height());
+    }
+
+    // ==================== LOADING ====================
+
+    private void loadPacked(URL png, URL regions) {
+        Image atlasImage = new Image(png.toExternalForm());
+
+        Properties props = new Properties();
+        try (InputStream in = regions.openStream()) {
+            props.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (String name : props.stringPropertyNames()) {
+            if ("scale".equals(name)) continue;
+
+            // x,y,width,height,logicalWidth,logicalHeight
+            String[] f = props.getProperty(name).split(",");
+            Rectangle2D viewport = new Rectangle2D(
+                    Double.parseDouble(f[0]), Double.parseDouble(f[1]),
+                    Double.parseDouble(f[2]), Double.parseDouble(f[3]));
+            sprites.put(name, new Sprite(atlasImage, viewport,
+                    Double.parseDouble(f[4]), Double.parseDouble(f[5])));
+        }
+    }
+
+    private void loadUnpacked(String dir, double outputScale) {
+        InputStream spec = SpriteAtlas.class.getResourceAsStream(dir + "atlas.spec");
+        if (spec == null) {
+            throw new IllegalStateException("Missing " + dir + "atlas.spec");
+        }
+
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(spec, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                // name source width height mode
+                String[] f = line.split("\\s+");
+                double width = Double.parseDouble(f[2]);
+                double height = Double.parseDouble(f[3]);
+                boolean fit = "fit".equals(f[4]);
+
+                Image img = new Image(
+                        SpriteAtlas.class.getResource(dir + f[1]).toExternalForm(),
+                        width * outputScale, height * outputScale, fit, true);
+
+                if (fit) {
+                    width = img.getWidth() / outputScale;
+                    height = img.getHeight() / outputScale;
+                }
+                sprites.put(f[0], new Sprite(img, null, width, height));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.boardgames.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+
+/**
+ * Per-screen queue of paced game events (AI rolls, moves, skips, carry-over moves).
+ *
+ * One PauseTransition and one AnimationTimer are reused for the whole life of
+ * the screen instead of a new Timeline per delay. Steps may enqueue follow-up
+ * steps from their action; cancel() drops everything still pending, e.g. when
+ * the screen is left or a new game starts.
+ *
+ * Speeds:
+ *  - NORMAL / FAST: each step waits its delay (scaled) before running
+ *  - FAST_FORWARD: as many steps as fit in a frame budget, then yield to rendering
+ *
+ * There's no zero-delay mode: AI vs AI steps enqueue each other, so one
+ * would play a whole game inside a single frame. Uncapped spectating runs
+ * off the FX thread in SenetMatchRunner instead.
+ */
+public class TurnScheduler {
+
+    public enum Event {
+        ROLL, MOVE, SKIP, CARRY_OVER
+    }
+
+    public enum Speed {
+        NORMAL(1.0), FAST(0.35), FAST_FORWARD(0);
+
+        private final double delayFactor;
+
+        Speed(double delayFactor) {
+            this.delayFactor = delayFactor;
+        }
+    }
+
+    private record Step(Event event, double delaySeconds, Runnable action) {}
+
+    // Leave most of a 60 Hz frame to layout and rendering
+    private static final long DEFAULT_FRAME_BUDGET_NANOS = 8_000_000L;
+
+    private final ArrayDeque<Step> queue = new ArrayDeque<>();
+    private final PauseTransition pause = new PauseTransition();
+    private final AnimationTimer fastForwardTimer;
+
+    private Speed speed = Speed.NORMAL;
+    private long frameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+    private Step waiting;      // step whose delay is currently running
+
+    public TurnScheduler() {
+        pause.setOnFinished(e -> {
+            Step step = waiting;
+            waiting = null;
+            if (step != null) {
+                step.action().run();
+            }
+            play();
+        });
+
+        fastForwardTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                long deadline = System.nanoTime() + frameBudgetNanos;
+                while (!queue.isEmpty() && System.nanoTime() < deadline) {
+                    queue.poll().action().run();
+                }
+                if (queue.isEmpty()) {
+                    stop();
+                }
+            }
+        };
+    }
+
+    /**
+     * Queue an event to run after the given delay (at NORMAL speed).
+     */
+    public void enqueue(Event event, double delaySeconds, Runnable action) {
+        queue.add(new Step(event, delaySeconds, action));
+        play();
+    }
+
+    /**
+     * Drop all pending steps and stop any running delay.
+     */
+    public void cancel() {
+        queue.clear();
+        waiting = null;
+        pause.stop();
+        fastForwardTimer.stop();
+    }
+
+    public boolean isIdle() {
+        return queue.isEmpty() && waiting == null;
+    }
+
+    public void setSpeed(Speed speed) {
+        if (this.speed == speed) return;
+        this.speed = speed;
+
+        // Re-schedule whatever is waiting under the new pacing
+        if (waiting != null) {
+            pause.stop();
+            queue.addFirst(waiting);
+            waiting = null;
+        }
+        fastForwardTimer.stop();
+        play();
+    }
+
+    public Speed getSpeed() {
+        return speed;
+    }
+
+    public void setFrameBudget(Duration budget) {
+        frameBudgetNanos = (long) (budget.toMillis() * 1_000_000L);
+    }
+
+    private void play() {
+        if (waiting != null) return;
+
+        switch (speed) {
+            case FAST_FORWARD -> {
+                if (!queue.isEmpty()) {
+                    fastForwardTimer.start();
+                }
+            }
+            default -> {
+                Step next = queue.poll();
+                if (next == null) return;
+
+                waiting = next;
+                pause.setDuration(Duration.seconds(next.delaySeconds() * speed.delayFactor));
+                pause.playFromStart();
+            }
+        }
+    }
+}
@@ -2,8 +2,6 @@ package com.boardgames.ui;
 
 import javafx.scene.control.Button;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
-import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
@@ -17,17 +15,8 @@ public class UIUtil {
         btn.setTextFill(Color.web("#F5F1E6"));
         btn.setFont(font);
 
-        Image img = new Image(UIUtil.class.getResource(imagePath).toExternalForm());
-
-        BackgroundImage backgroundImage = new BackgroundImage(
-                img,
-                BackgroundRepeat.NO_REPEAT,
-                BackgroundRepeat.NO_REPEAT,
-                BackgroundPosition.CENTER,
-                new BackgroundSize(100, 100, true, true, false, true)
-        );
-
-        btn.setBackground(new Background(backgroundImage));
+        // Decoded in the background at button width
+        BackgroundImages.applyButtonBackground(btn, imagePath);
 
         btn.setEffect(new DropShadow(5, Color.color(0, 0, 0, 0.4)));
 
@@ -1,36 +1,30 @@
 package com.boardgames.ui.screens;
 
 import com.boardgames.games.senet.SenetAI; // ✅ Add this
+import com.boardgames.ui.BackgroundImages;
 import javafx.geometry.Pos;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.stage.Stage;
 import javafx.scene.control.Button;
 
+import java.util.function.Consumer;
+
 public class DifficultyScreen extends StackPane {
 
-    public DifficultyScreen(String gameBackgroundPath, SenetScreen senetScreen, Runnable onBack) {
+    public DifficultyScreen(String gameBackgroundPath, Consumer<SenetAI.Difficulty> onSelect, Runnable onBack) {
 
         // ----- FULLSCREEN BACKGROUND -----
-        Image bgImage = new Image(getClass().getResource("/assets/backgrounds/title_screen_background.jpeg").toExternalForm());
-        ImageView background = new ImageView(bgImage);
-        background.setPreserveRatio(false);
-        widthProperty().addListener((obs, oldVal, newVal) -> background.setFitWidth(newVal.doubleValue()));
-        heightProperty().addListener((obs, oldVal, newVal) -> background.setFitHeight(newVal.doubleValue()));
+        ImageView background = BackgroundImages.createScreenBackground(
+                "/assets/backgrounds/title_screen_background.jpeg", this);
 
         // ----- BUTTON FONT -----
         Font buttonFont = Font.loadFont(getClass().getResourceAsStream("/assets/fonts/Cinzel-Medium.ttf"), 40);
 
         // ----- BUTTON BACKGROUND -----
-        Image img = new Image(getClass().getResource(gameBackgroundPath).toExternalForm());
-        BackgroundImage buttonBg = new BackgroundImage(
-                img, BackgroundRepeat.NO_REPEAT, BackgroundRepeat.NO_REPEAT,
-                BackgroundPosition.CENTER,
-                new BackgroundSize(100, 100, true, true, false, true)
-        );
+        Image buttonBg = BackgroundImages.button(gameBackgroundPath);
 
         // ----- BUTTONS -----
         Button bEasy = new Button("EASY");
@@ -41,7 +35,7 @@ public class DifficultyScreen extends StackPane {
         for (Button b : new Button[]{bEasy, bMedium, bHard, bBack}) {
             b.setFont(buttonFont);
             b.setTextFill(Color.web("#F5F1E6"));
-            b.setBackground(new Background(buttonBg));
+            BackgroundImages.applyBackground(b, buttonBg);
             b.setPrefHeight(64);
             b.setOnMouseEntered(e -> b.setOpacity(0.85));
             b.setOnMouseExited(e -> b.setOpacity(1.0));
@@ -60,21 +54,9 @@ public class DifficultyScreen extends StackPane {
         });
 
         // ----- DIFFICULTY BUTTON ACTIONS -----
-        bEasy.setOnAction(e -> {
-            senetScreen.setVsAI(true);
-            senetScreen.setAIDifficulty(SenetAI.Difficulty.EASY);
-            switchToGame(senetScreen);
-        });
-        bMedium.setOnAction(e -> {
-            senetScreen.setVsAI(true);
-            senetScreen.setAIDifficulty(SenetAI.Difficulty.MEDIUM);
-            switchToGame(senetScreen);
-        });
-        bHard.setOnAction(e -> {
-            senetScreen.setVsAI(true);
-            senetScreen.setAIDifficulty(SenetAI.Difficulty.HARD);
-            switchToGame(senetScreen);
-        });
+        bEasy.setOnAction(e -> onSelect.accept(SenetAI.Difficulty.EASY));
+        bMedium.setOnAction(e -> onSelect.accept(SenetAI.Difficulty.MEDIUM));
+        bHard.setOnAction(e -> onSelect.accept(SenetAI.Difficulty.HARD));
         bBack.setOnAction(e -> onBack.run());
 
         // ----- LAYOUT -----
@@ -83,10 +65,4 @@ public class DifficultyScreen extends StackPane {
 
         getChildren().addAll(background, box);
     }
-
-    private void switchToGame(SenetScreen senetScreen) {
-        Stage stage = (Stage) getScene().getWindow();
-        stage.getScene().setRoot(senetScreen);
-    }
-
 }
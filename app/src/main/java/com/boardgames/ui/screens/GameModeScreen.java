@@ -1,5 +1,6 @@
 package com.boardgames.ui.screens;
 
+import com.boardgames.ui.BackgroundImages;
 import javafx.geometry.Pos;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -10,21 +11,14 @@ import javafx.scene.control.Button;
 
 public class GameModeScreen extends StackPane {
 
-    public GameModeScreen(String gameBackgroundPath, Runnable onSingleplayer, Runnable onLocal2P, Runnable onBack) {
+    private final Button bContinue = new Button("CONTINUE");
 
-        // ----- FULLSCREEN BACKGROUND (same as title screen) -----
-        Image bgImage = new Image(getClass().getResource("/assets/backgrounds/title_screen_background.jpeg").toExternalForm());
-        ImageView background = new ImageView(bgImage);
-        background.setPreserveRatio(false);
+    public GameModeScreen(String gameBackgroundPath, Runnable onContinue, Runnable onSingleplayer, Runnable onLocal2P,
+                          Runnable onAiVsAi, Runnable onBack) {
 
-        // Bind scaling like Main.java
-        widthProperty().addListener((obs, oldVal, newVal) -> {
-            background.setFitWidth(newVal.doubleValue());
-        });
-
-        heightProperty().addListener((obs, oldVal, newVal) -> {
-            background.setFitHeight(newVal.doubleValue());
-        });
+        // ----- FULLSCREEN BACKGROUND (same image as title screen, shared decode) -----
+        ImageView background = BackgroundImages.createScreenBackground(
+                "/assets/backgrounds/title_screen_background.jpeg", this);
 
         // ----- BUTTON FONT (EXACT SAME AS TITLE SCREEN) -----
         Font buttonFont = Font.loadFont(
@@ -32,25 +26,19 @@ public class GameModeScreen extends StackPane {
                 40
         );
 
-        // ----- BUTTON BACKGROUND IMAGE (same as selected game button) -----
-        Image img = new Image(getClass().getResource(gameBackgroundPath).toExternalForm());
-        BackgroundImage buttonBg = new BackgroundImage(
-                img,
-                BackgroundRepeat.NO_REPEAT,
-                BackgroundRepeat.NO_REPEAT,
-                BackgroundPosition.CENTER,
-                new BackgroundSize(100, 100, true, true, false, true)
-        );
+        // ----- BUTTON BACKGROUND IMAGE (same decoded image as selected game button) -----
+        Image buttonBg = BackgroundImages.button(gameBackgroundPath);
 
         // ----- BUTTONS -----
         Button bSingle = new Button("SINGLEPLAYER");
         Button bLocal = new Button("LOCAL 2-PLAYER");
+        Button bAiVsAi = new Button("AI VS AI");
         Button bBack = new Button("BACK");
 
-        for (Button b : new Button[]{bSingle, bLocal, bBack}) {
+        for (Button b : new Button[]{bContinue, bSingle, bLocal, bAiVsAi, bBack}) {
             b.setFont(buttonFont);
             b.setTextFill(Color.web("#F5F1E6"));
-            b.setBackground(new Background(buttonBg));
+            BackgroundImages.applyBackground(b, buttonBg);
             b.setPrefHeight(64);                        // SAME AS TITLE SCREEN
             b.setOpacity(1.0);
 
@@ -65,21 +53,33 @@ public class GameModeScreen extends StackPane {
         sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
                 double widthFraction = 0.4; // SAME AS MAIN
+                bContinue.prefWidthProperty().bind(newScene.widthProperty().multiply(widthFraction));
                 bSingle.prefWidthProperty().bind(newScene.widthProperty().multiply(widthFraction));
                 bLocal.prefWidthProperty().bind(newScene.widthProperty().multiply(widthFraction));
+                bAiVsAi.prefWidthProperty().bind(newScene.widthProperty().multiply(widthFraction));
                 bBack.prefWidthProperty().bind(newScene.widthProperty().multiply(widthFraction));
             }
         });
 
         // ----- BUTTON ACTIONS -----
+        bContinue.setOnAction(e -> onContinue.run());
         bSingle.setOnAction(e -> onSingleplayer.run());
         bLocal.setOnAction(e -> onLocal2P.run());
+        bAiVsAi.setOnAction(e -> onAiVsAi.run());
         bBack.setOnAction(e -> onBack.run());
 
         // ----- LAYOUT (NO TITLE, JUST BUTTONS) -----
-        VBox box = new VBox(12, bSingle, bLocal, bBack);  // spacing = SAME AS MAIN (12)
+        VBox box = new VBox(12, bContinue, bSingle, bLocal, bAiVsAi, bBack);  // spacing = SAME AS MAIN (12)
         box.setAlignment(Pos.CENTER);
 
+        // Only there while an unfinished game is saved
+        bContinue.managedProperty().bind(bContinue.visibleProperty());
+        bContinue.setVisible(false);
+
         getChildren().addAll(background, box);
     }
+
+    public void setContinueAvailable(boolean available) {
+        bContinue.setVisible(available);
+    }
 }
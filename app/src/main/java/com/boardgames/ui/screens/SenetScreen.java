@@ -2,9 +2,14 @@ package com.boardgames.ui.screens;
 
 
 import com.boardgames.games.senet.*;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
+import com.boardgames.metrics.LatencyHistogram;
+import com.boardgames.metrics.MetricsRegistry;
+import com.boardgames.ui.BackgroundImages;
+import com.boardgames.ui.PerfMonitor;
+import com.boardgames.ui.SpriteAtlas;
+import com.boardgames.ui.TurnScheduler;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
@@ -20,17 +25,20 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class SenetScreen extends StackPane {
 
     // ==================== CONFIGURABLE CONSTANTS ====================
     // Board configuration
+    // (sprite sizes in assets/senet/atlas.spec are packed at these sizes - keep in sync)
     private static final int ROWS = 3;
     private static final int COLS = 10;
     private static final double CELL_SIZE = 74;
@@ -48,13 +56,28 @@ public class SenetScreen extends StackPane {
     // Spacing (configurable)
     private static final double SPACING_DICE_TO_BOARD = 90;
 
+    // AI pacing in seconds at normal speed (configurable)
+    private static final double AI_ROLL_DELAY = 1.2;
+    private static final double AI_MOVE_DELAY = 0.8;
+    private static final double SKIP_DELAY = 1.0;
+
+    // AI vs AI playback: scheduler-paced speeds, then one past the end = uncapped
+    private static final TurnScheduler.Speed[] SPECTATOR_SPEEDS = {
+            TurnScheduler.Speed.NORMAL, TurnScheduler.Speed.FAST, TurnScheduler.Speed.FAST_FORWARD};
+    private static final String[] SPECTATOR_SPEED_LABELS = {"1x", "3x", "MAX", "UNCAPPED"};
+
+    private static final LatencyHistogram REFRESH_TIME = MetricsRegistry.histogram(
+            "boardgames_refresh_board_seconds", "Time to lay the Senet pieces out on the board.");
+
     private final SenetGame game = new SenetGame();
+    private final SpriteAtlas atlas = SpriteAtlas.load("/assets/senet/", "senet_atlas");
     private final GridPane boardPane = new GridPane();
     private final Map<Integer, StackPane> cellMap = new HashMap<>();
     private final Map<SenetPiece, ImageView> pieceMap = new HashMap<>();
 
     private StackPane exitCell; // virtual square 31 (bearing off)
-    private final Runnable onBack;
+    private Runnable onBack;
+    private StackPane gameOverOverlay;
 
     private Text statusText;
     private Text playerText;
@@ -71,17 +94,38 @@ public class SenetScreen extends StackPane {
 
     // AI
     private SenetAI ai;
+    private SenetAI.Difficulty aiDifficulty;
     private boolean isVsAI = false;  // Enable for AI mode
+    private final TurnScheduler scheduler = new TurnScheduler();
+    private SenetPonderer ponderer; // HARD thinks ahead during the human's turn
+    private SenetJournal journal;   // autosave of human games, opened on first use
+
+    // Analysis panel: per-move win probabilities, refined in the background.
+    // Results arrive on the analyzer's thread; only the newest is shown.
+    private SenetAnalyzer analyzer;
+    private boolean analysisOn;
+    private Button analysisButton;
+    private VBox analysisPanel;
+    private final AtomicReference<SenetAnalyzer.Analysis> pendingAnalysis = new AtomicReference<>();
+
+    // AI vs AI: WHITE is an AI too. Uncapped speed hands play to a background
+    // runner and the frame timer just shows its latest position.
+    private SenetAI whiteAI;
+    private int spectatorSpeed;
+    private Button speedButton;
+    private SenetMatchRunner runner;
+    private SenetMatchRunner.Snapshot shownSnapshot;
+    private final AnimationTimer snapshotTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            showSnapshot(runner.latest());
+        }
+    };
 
     public SenetScreen(Stage stage, Runnable onBack) { 
         this.onBack = onBack;
-        // Background
-        ImageView bg = new ImageView(new Image(
-                getClass().getResource("/assets/backgrounds/senet_background.jpeg").toExternalForm()
-        ));
-        bg.setPreserveRatio(false);
-        bg.fitWidthProperty().bind(widthProperty());
-        bg.fitHeightProperty().bind(heightProperty());
+        // Background (decoded off the FX thread at screen size)
+        ImageView bg = BackgroundImages.createScreenBackground("/assets/backgrounds/senet_background.jpeg", this);
 
         // Build components
         buildBoard();
@@ -90,13 +134,14 @@ public class SenetScreen extends StackPane {
         createDiceUI();
 
         // Status texts
-        statusText = new Text("Roll the dice to start!");
+        statusText = new Text();
         statusText.setFill(Color.BLACK);
         statusText.setFont(new Font(16));
 
-        playerText = new Text("Player 1's Turn");
+        playerText = new Text();
         playerText.setFill(Color.BLACK);
         playerText.setFont(new Font(20));
+        resetStatusTexts();
 
         // Board styling - center alignment for GridPane with NO GAPS
         boardPane.setAlignment(Pos.CENTER);
@@ -109,7 +154,13 @@ public class SenetScreen extends StackPane {
         boardContainer.setAlignment(Pos.CENTER);
 
         // Layout - centered
-        VBox topSection = new VBox(10, playerText, statusText);
+        createSpeedButton();
+        createAnalysisPanel();
+
+        HBox controls = new HBox(10, speedButton, analysisButton);
+        controls.setAlignment(Pos.CENTER);
+
+        VBox topSection = new VBox(10, playerText, statusText, controls);
         topSection.setAlignment(Pos.CENTER);
 
         VBox mainLayout = new VBox(SPACING_DICE_TO_BOARD, topSection, boardContainer, diceDisplay);
@@ -118,8 +169,9 @@ public class SenetScreen extends StackPane {
 
         // Center everything properly on screen
         StackPane centerLayout = new StackPane();
-        centerLayout.getChildren().add(mainLayout);
+        centerLayout.getChildren().addAll(mainLayout, analysisPanel);
         StackPane.setAlignment(mainLayout, Pos.CENTER);
+        StackPane.setAlignment(analysisPanel, Pos.CENTER_RIGHT);
 
         getChildren().addAll(bg, centerLayout);
         
@@ -129,22 +181,120 @@ public class SenetScreen extends StackPane {
 
         createExitButton(stage);
 
+        // Leaving the screen (root swapped out) drops any queued AI steps
+        sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                scheduler.cancel();
+                stopRunner();
+                stopPondering();
+                if (analyzer != null) analyzer.stop();
+            }
+        });
+
     }
 
-    // ==================== BOARD SETUP ====================
+    // ==================== NEW GAME (IN PLACE) ====================
 
-    private void buildBoard() {
-        // Load square images
-        Image squareWhite = new Image(getClass().getResource("/assets/senet/white_square.png").toExternalForm());
-        Image squareRed = new Image(getClass().getResource("/assets/senet/red_square.png").toExternalForm());
+    /**
+     * Start a fresh game on this screen, reusing the board, piece views and dice.
+     * A null difficulty means local 2-player.
+     */
+    public void newGame(SenetAI.Difficulty difficulty) {
+        startGame(difficulty, false);
+    }
+
+    /**
+     * Start a game where both sides are played by the AI at the given level,
+     * with the speed control shown.
+     */
+    public void newAiVsAiGame(SenetAI.Difficulty difficulty) {
+        startGame(difficulty, true);
+    }
+
+    /**
+     * Pick up the autosaved game where it was left, in the mode it was
+     * played in. Returns false (and changes nothing) if there is none.
+     */
+    public boolean resumeSavedGame() {
+        SenetJournal j = journal();
+        SenetGame saved = new SenetGame();
+        if (j == null || !j.load(saved)) return false;
+
+        startGame(j.getSavedDifficulty(), false, saved);
+        return true;
+    }
+
+    private void startGame(SenetAI.Difficulty difficulty, boolean aiVsAi) {
+        startGame(difficulty, aiVsAi, null);
+    }
+
+    private void startGame(SenetAI.Difficulty difficulty, boolean aiVsAi, SenetGame resumeFrom) {
+        scheduler.cancel();
+        stopRunner();
+        stopPondering();
+        game.reset();
+        if (resumeFrom != null) {
+            game.restore(resumeFrom.packBoard(), resumeFrom.packFlags());
+        }
+
+        // Spectated games aren't saved (and leave any saved game alone)
+        SenetJournal j = aiVsAi ? null : journal();
+        if (j != null) {
+            j.startGame(game, difficulty);
+        } else if (journal != null) {
+            journal.stop();
+        }
+
+        setVsAI(difficulty != null);
+        setAIDifficulty(difficulty);
+        whiteAI = aiVsAi ? new SenetAI(game, difficulty) : null;
+        speedButton.setVisible(aiVsAi);
+
+        // Drop any leftovers from the previous game
+        if (gameOverOverlay != null) {
+            getChildren().remove(gameOverOverlay);
+            gameOverOverlay = null;
+        }
+        if (dragProxy != null) {
+            getChildren().remove(dragProxy);
+            dragProxy = null;
+        }
+        draggingPiece = null;
+        draggingVisual = null;
+        clearAllHighlights();
+        clearExitHighlight();
+
+        for (ImageView dice : diceSticks) {
+            atlas.apply(dice, "dark_dice");
+        }
+        updateDiceInteractivity(true);
+
+        refreshBoard();
+        if (resumeFrom != null) {
+            if (game.isMoveHasPending()) {
+                updateDiceDisplay(game.getLastRoll());
+            }
+            updateStatus();
+            scheduleNext(AI_ROLL_DELAY);
+        } else {
+            resetStatusTexts();
+        }
+
+        if (aiVsAi) {
+            applySpectatorSpeed();
+        } else {
+            scheduler.setSpeed(TurnScheduler.Speed.NORMAL);
+        }
+    }
 
-        // Load special numbered squares
-        Image square15 = new Image(getClass().getResource("/assets/senet/15_square.png").toExternalForm());
-        Image square26 = new Image(getClass().getResource("/assets/senet/26_square.png").toExternalForm());
-        Image square27 = new Image(getClass().getResource("/assets/senet/27_square.png").toExternalForm());
-        Image square28 = new Image(getClass().getResource("/assets/senet/28_square.png").toExternalForm());
-        Image square29 = new Image(getClass().getResource("/assets/senet/29_square.png").toExternalForm());
+    private void resetStatusTexts() {
+        statusText.setText("Roll the dice to start!");
+        playerText.setText("Player 1's Turn");
+    }
 
+    // ==================== BOARD SETUP ====================
+
+    private void buildBoard() {
         // Create 3x10 grid with proper board flow (NO VISIBLE BORDERS)
         int[][] boardLayout = {
                 {1, 2, 3, 4, 5, 6, 7, 8, 9, 10},        // Row 0: 1-10
@@ -156,24 +306,17 @@ public class SenetScreen extends StackPane {
             for (int col = 0; col < COLS; col++) {
                 int squareNum = boardLayout[row][col];
 
-                // Select image based on square number
-                Image squareImg;
-                if (squareNum == 15) {
-                    squareImg = square15;
-                } else if (squareNum == 26) {
-                    squareImg = square26;
-                } else if (squareNum == 27) {
-                    squareImg = square27;
-                } else if (squareNum == 28) {
-                    squareImg = square28;
-                } else if (squareNum == 29) {
-                    squareImg = square29;
+                // Select sprite based on square number
+                String squareSprite;
+                if (squareNum == 15 || (squareNum >= 26 && squareNum <= 29)) {
+                    // Special numbered squares
+                    squareSprite = "square_" + squareNum;
                 } else if (squareNum % 2 == 1) {
                     // Odd squares are RED
-                    squareImg = squareRed;
+                    squareSprite = "red_square";
                 } else {
                     // Even squares are WHITE
-                    squareImg = squareWhite;
+                    squareSprite = "white_square";
                 }
 
                 // Create cell container
@@ -182,11 +325,8 @@ public class SenetScreen extends StackPane {
                 cell.setPrefSize(CELL_SIZE, CELL_SIZE);
                 cell.setStyle("-fx-border-color: transparent;"); // No visible borders
 
-                // Create square image
-                ImageView squareImageView = new ImageView(squareImg);
-                squareImageView.setFitWidth(CELL_SIZE);
-                squareImageView.setFitHeight(CELL_SIZE);
-                squareImageView.setPreserveRatio(false);
+                // Create square image (already packed at CELL_SIZE)
+                ImageView squareImageView = atlas.createView(squareSprite);
 
                 // Hover highlight overlay
                 Rectangle highlight = new Rectangle(CELL_SIZE, CELL_SIZE);
@@ -233,18 +373,12 @@ public class SenetScreen extends StackPane {
     }
 
     private void placeInitialPieces() {
-        Image whitePieceImg = new Image(getClass().getResource("/assets/senet/white_piece.png").toExternalForm());
-        Image blackPieceImg = new Image(getClass().getResource("/assets/senet/dark_piece.png").toExternalForm());
-
         for (int i = 1; i <= 10; i++) {
             SenetPiece piece = game.getBoard().getPieceAt(i);
             if (piece == null) continue;
 
-            ImageView pieceView = new ImageView(piece.getColor() == PlayerColor.WHITE ? whitePieceImg : blackPieceImg);
-            double size = piece.getColor() == PlayerColor.WHITE ? WHITE_PIECE_SIZE : BLACK_PIECE_SIZE;
-            pieceView.setFitWidth(size);
-            pieceView.setFitHeight(size);
-            pieceView.setPreserveRatio(true);
+            // Sprite is packed at WHITE_PIECE_SIZE / BLACK_PIECE_SIZE
+            ImageView pieceView = atlas.createView(pieceSprite(piece));
 
             DropShadow shadow = new DropShadow(8, Color.BLACK);
             pieceView.setEffect(shadow);
@@ -296,129 +430,168 @@ public class SenetScreen extends StackPane {
         diceDisplay.setOpacity(1.0);
         diceDisplay.setDisable(false);  // Start ENABLED for initial roll
 
-        Image darkDice = new Image(getClass().getResource("/assets/senet/dark_side_dice_stick.png").toExternalForm());
-
         // Create 4 dice sticks - initially all dark (rounded sides up)
+        // Sprites are packed to fit DICE_WIDTH x DICE_HEIGHT
         for (int i = 0; i < 4; i++) {
-            diceSticks[i] = new ImageView(darkDice);
-            diceSticks[i].setFitWidth(DICE_WIDTH);
-            diceSticks[i].setFitHeight(DICE_HEIGHT);
-            diceSticks[i].setPreserveRatio(true);
+            diceSticks[i] = atlas.createView("dark_dice");
 
             diceDisplay.getChildren().add(diceSticks[i]);
         }
         
         // Make entire dice area clickable
         diceDisplay.setOnMouseClicked(e -> {
-            if (!game.isGameOver() && !game.isMoveHasPending()) {
+            if (!game.isGameOver() && !game.isMoveHasPending() && !isAITurn()) {
                 performRoll();
             }
         });
 
     }
 
-    private void rollDice() {
+    private void performRoll() {
         if (game.isGameOver()) return;
 
-        // 1️⃣ Roll dice for whoever clicked (always human first)
-        int result = game.rollDice();
-        updateDiceDisplay(result);
+        int rollResult = game.rollDice();   // <-- handles initial roll internally
+        updateDiceDisplay(rollResult);
         refreshBoard();
         updateStatus();
 
-        // 2️⃣ Handle AI only AFTER initial human roll
-        if (isVsAI && !game.isNeedsInitialRoll() && game.getCurrentPlayer() != PlayerColor.WHITE) {
-            // AI's turn
-            Timeline aiDelay = new Timeline(new KeyFrame(Duration.seconds(0.5), e -> {
-                ai.takeTurn();
-                refreshBoard();
-                updateStatus();
+        // Hand over to the AI, or auto-skip if nothing can move
+        scheduleNext(AI_ROLL_DELAY);
+    }
 
-                // AI may have multiple moves due to carry-over
-                if (!game.isGameOver() && game.getCurrentPlayer() == PlayerColor.BLACK) {
-                    finishAITurn();
-                }
-            }));
-            aiDelay.play();
-        }
+    // ==================== TURN PACING ====================
+
+    private boolean isAITurn() {
+        return currentAI() != null && !game.isGameOver();
     }
 
-    
+    /**
+     * The AI playing the side to move, or null on a human's turn.
+     */
+    private SenetAI currentAI() {
+        if (!isVsAI) return null;
+        return game.getCurrentPlayer() == PlayerColor.BLACK ? ai : whiteAI;
+    }
 
-    private void performRoll() {
+    private boolean isAiVsAi() {
+        return whiteAI != null;
+    }
+
+    /**
+     * Queue whatever the engine needs next after a roll, move or skip:
+     * an automatic skip when the pending roll can't be used, or the AI's
+     * next roll/move. Human turns just wait for input.
+     */
+    private void scheduleNext(double delaySeconds) {
         if (game.isGameOver()) return;
 
-        int rollResult = game.rollDice();   // <-- handles initial roll internally
+        boolean pending = game.isMoveHasPending();
+        if (pending && game.getValidPieces(game.getCurrentPlayer()).isEmpty()) {
+            if (!isAITurn()) {
+                statusText.setText("No valid moves - turn passes");
+                updateDiceInteractivity(false);
+            }
+            scheduler.enqueue(TurnScheduler.Event.SKIP, SKIP_DELAY, this::skipTurn);
+        } else if (isAITurn()) {
+            if (pending) {
+                scheduler.enqueue(TurnScheduler.Event.MOVE, AI_MOVE_DELAY, this::aiMove);
+            } else {
+                scheduler.enqueue(TurnScheduler.Event.ROLL, delaySeconds, this::aiRoll);
+            }
+        } else if (ponderer != null && isVsAI) {
+            // Human's turn: the AI works out its replies in the background meanwhile
+            ponderer.ponder(game);
+        }
+    }
+
+    private void stopPondering() {
+        if (ponderer != null) {
+            ponderer.stop();
+        }
+    }
+
+    private void aiRoll() {
+        if (!isAITurn() || game.isMoveHasPending()) return;
+        stopPondering(); // the human has moved; leave the CPU to the AI's own turn
+
+        int rollResult = game.rollDice();
         updateDiceDisplay(rollResult);
         refreshBoard();
         updateStatus();
 
-        // Check if AI needs to move
-        if (isVsAI && game.getCurrentPlayer() == PlayerColor.BLACK) {
-            finishAITurn(); // Auto-handle AI turn
+        scheduleNext(AI_ROLL_DELAY);
+    }
+
+    private void aiMove() {
+        if (!isAITurn() || !game.isMoveHasPending()) return;
+
+        long t = PerfMonitor.start();
+        SenetPiece piece = currentAI().choosePiece();
+        if (piece != null) {
+            game.movePiece(piece);
+        }
+        PerfMonitor.record(PerfMonitor.Section.AI_TURN, t);
+        refreshBoard();
+        updateStatus();
+
+        // Bearing off with a remainder leaves another move pending
+        if (isAITurn() && game.isMoveHasPending()) {
+            scheduler.enqueue(TurnScheduler.Event.CARRY_OVER, AI_MOVE_DELAY, this::aiCarryOver);
+        } else {
+            scheduleNext(AI_ROLL_DELAY);
         }
     }
 
-    private void autoRollIfAITurn() {
-        // Only run for AI
-        if (!isVsAI || game.getCurrentPlayer() != PlayerColor.BLACK || game.isGameOver()) return;
+    private void aiCarryOver() {
+        if (!isAITurn()) return;
 
-        Timeline delay = new Timeline(new KeyFrame(Duration.seconds(1.2), e -> {
-            performRoll(); // Roll dice for AI and trigger move
-        }));
-        delay.play();
+        game.rollDice(); // consumes the carried-over remainder, no new throw
+        aiMove();
     }
 
-    private void finishAITurn() {
-        if (game.isGameOver() || game.getCurrentPlayer() != PlayerColor.BLACK) return;
+    private void skipTurn() {
+        if (game.isGameOver() || !game.isMoveHasPending()) return;
 
-        // AI executes move
-        Timeline aiMoveDelay = new Timeline(new KeyFrame(Duration.seconds(1.2), e -> {
-            ai.takeTurn();
-            refreshBoard();
-            updateStatus();
+        game.skipTurn();
+        refreshBoard();
+        updateStatus();
 
-            // If AI gets another move due to carry-over or roll-again
-            if (!game.isGameOver() && game.getCurrentPlayer() == PlayerColor.BLACK) {
-                finishAITurn(); // recursive call with delay
-            } else {
-                // Human turn: enable dice after AI finishes
-                updateDiceInteractivity(true);
-            }
-        }));
-        aiMoveDelay.play();
+        scheduleNext(AI_ROLL_DELAY);
     }
 
 
     private void updateDiceDisplay(int rollResult) {
-        Image whiteDice = new Image(getClass().getResource("/assets/senet/white_side_dice_stick.png").toExternalForm());
-        Image darkDice = new Image(getClass().getResource("/assets/senet/dark_side_dice_stick.png").toExternalForm());
-
+        long t = PerfMonitor.start();
         for (int i = 0; i < 4; i++) {
             // SCENARIO: 4 White sides (Result is 4)
             if (rollResult == 4) {
-                diceSticks[i].setImage(whiteDice);
+                atlas.apply(diceSticks[i], "white_dice");
             } 
             // SCENARIO: 0 White sides (Result is 5 or 6 depending on your logic)
             // If your SenetGame returns 5 or 6 for 'all dark', check for that here:
             else if (rollResult == 5 || rollResult == 6) { 
-                diceSticks[i].setImage(darkDice);
+                atlas.apply(diceSticks[i], "dark_dice");
             } 
             // SCENARIO: Normal 1, 2, or 3
             else {
                 if (i < rollResult) {
-                    diceSticks[i].setImage(whiteDice);
+                    atlas.apply(diceSticks[i], "white_dice");
                 } else {
-                    diceSticks[i].setImage(darkDice);
+                    atlas.apply(diceSticks[i], "dark_dice");
                 }
             }
         }
+        PerfMonitor.record(PerfMonitor.Section.UPDATE_DICE, t);
+    }
+
+    private String pieceSprite(SenetPiece piece) {
+        return piece.getColor() == PlayerColor.WHITE ? "white_piece" : "dark_piece";
     }
 
     // ==================== INTERACTION ====================
 
     private void startDraggingPiece(SenetPiece piece, ImageView visual, MouseEvent evt) {
-        if (!game.isMoveHasPending() || piece.getColor() != game.getCurrentPlayer()) return;
+        if (!game.isMoveHasPending() || piece.getColor() != game.getCurrentPlayer() || isAITurn()) return;
     
         // Guardrail: Block if no moves possible
         if (!game.canMoveForward(piece) && !game.canMoveBackward(piece)) {
@@ -436,11 +609,7 @@ public class SenetScreen extends StackPane {
         draggingVisual.setOpacity(0.0);
 
         // Create the ghost (dragProxy)
-        dragProxy = new ImageView(visual.getImage());
-        double size = piece.getColor() == PlayerColor.WHITE ? WHITE_PIECE_SIZE : BLACK_PIECE_SIZE;
-        dragProxy.setFitWidth(size);
-        dragProxy.setFitHeight(size);
-        dragProxy.setPreserveRatio(true);
+        dragProxy = atlas.createView(pieceSprite(piece));
         dragProxy.setOpacity(0.8);
         dragProxy.setMouseTransparent(true);
         dragProxy.setEffect(new DropShadow(15, Color.BLACK));
@@ -499,13 +668,9 @@ public class SenetScreen extends StackPane {
         refreshBoard();
         updateStatus();
 
-        // ==== AUTOMATIC AI TURN ====
-        if (isVsAI && !game.isGameOver() && game.getCurrentPlayer() == PlayerColor.BLACK) {
-            // Delay a bit for visual effect
-            Timeline aiDelay = new Timeline(new KeyFrame(Duration.seconds(0.5), e -> {
-                finishAITurn(); // recursively handle AI moves if needed
-            }));
-            aiDelay.play();
+        // ==== AUTOMATIC AI TURN / SKIP ====
+        if (moved) {
+            scheduleNext(AI_ROLL_DELAY);
         }
     }
 
@@ -625,6 +790,9 @@ public class SenetScreen extends StackPane {
     // ==================== REFRESH ====================
 
     private void refreshBoard() {
+        // One clock for both the metrics histogram and the F3 overlay
+        long start = System.nanoTime();
+
         // 1. Clear ONLY pieces (ImageViews that aren't the board background)
         for (StackPane cell : cellMap.values()) {
             // We remove any ImageView that is NOT the first child (the board square)
@@ -659,6 +827,10 @@ public class SenetScreen extends StackPane {
                 view.setVisible(false);
             }
         }
+
+        long elapsed = System.nanoTime() - start;
+        REFRESH_TIME.record(elapsed);
+        PerfMonitor.recordElapsed(PerfMonitor.Section.REFRESH_BOARD, elapsed);
     }
 
     private void updateDiceInteractivity(boolean enabled) {
@@ -675,7 +847,9 @@ public class SenetScreen extends StackPane {
     private void updateStatus() {
         // Show Player 1/Player 2 before game starts, White/Black after dark piece owner is determined
         // BEFORE dark-piece owner is determined → Player 1 / Player 2
-        if (isVsAI) {
+        if (isAiVsAi()) {
+            playerText.setText(game.getCurrentPlayer() == PlayerColor.WHITE ? "White AI's Turn" : "Black AI's Turn");
+        } else if (isVsAI) {
             // Human = WHITE, AI = BLACK
             if (game.getCurrentPlayer() == PlayerColor.WHITE) {
                 playerText.setText("Your Turn");
@@ -695,8 +869,8 @@ public class SenetScreen extends StackPane {
 
 
 
-        // Only enable dice when ready to roll (moveHasPending == false)
-        if (!game.isMoveHasPending()) {
+        // Only enable dice when ready to roll (moveHasPending == false) and it's not the AI's go
+        if (!game.isMoveHasPending() && !isAITurn()) {
             updateDiceInteractivity(true);
         } else {
             // Block dice during move phase
@@ -705,13 +879,16 @@ public class SenetScreen extends StackPane {
 
         if (game.isGameOver()) {
             String winnerText;
-            if (isVsAI) {
+            if (isVsAI && !isAiVsAi()) {
                 winnerText = (game.getWinner() == PlayerColor.WHITE) ? "YOU WON!" : "AI WON!";
             } else {
                 winnerText = (game.getWinner() == PlayerColor.WHITE) ? "WHITE WON!" : "BLACK WON!";
             }
             showGameOverOverlay(winnerText);
             updateDiceInteractivity(false);
+            if (journal != null && !isAiVsAi()) {
+                journal.finish();
+            }
         } else if (game.isNeedsInitialRoll()) {
             statusText.setText("Click the DICE to find dark piece owner!");
         } else if (game.isMoveHasPending()) {
@@ -722,9 +899,13 @@ public class SenetScreen extends StackPane {
             String rollMsg = game.shouldRollAgain() ? "Roll Again!" : "Roll Dice";
             statusText.setText(rollMsg);
         }
+
+        updateAnalysis();
     }
 
     private void showGameOverOverlay(String winnerName) {
+        if (gameOverOverlay != null) return; // already showing
+
         // 1. Create the darkened background "curtain"
         StackPane overlay = new StackPane();
         overlay.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7);"); // Darken screen
@@ -755,17 +936,8 @@ public class SenetScreen extends StackPane {
         }
 
         // 5. Button Actions
-        btnPlayAgain.setOnAction(e -> {
-            Stage stage = (Stage) this.getScene().getWindow();
-            // Pass 'onBack' into the new screen so the next game also knows how to go back
-            SenetScreen nextGame = new SenetScreen(stage, onBack); 
-            
-            if (this.isVsAI) {
-                nextGame.setVsAI(true);
-                nextGame.setAIDifficulty(SenetAI.Difficulty.MEDIUM); 
-            }
-            stage.getScene().setRoot(nextGame);
-        });
+        // Same screen, same mode and difficulty - just a fresh game
+        btnPlayAgain.setOnAction(e -> startGame(isVsAI ? aiDifficulty : null, isAiVsAi()));
 
         btnBack.setOnAction(e -> {
             if (onBack != null) {
@@ -779,6 +951,7 @@ public class SenetScreen extends StackPane {
         overlay.getChildren().add(content);
 
         // 7. Add to the main StackPane (this class)
+        gameOverOverlay = overlay;
         this.getChildren().add(overlay);
     }
 
@@ -787,14 +960,205 @@ public class SenetScreen extends StackPane {
     }
 
     public void setAIDifficulty(SenetAI.Difficulty difficulty) {
-        if (isVsAI) {
+        if (isVsAI && difficulty != aiDifficulty) {
             ai = new SenetAI(game, difficulty);
+            aiDifficulty = difficulty;
+
+            if (ponderer != null) {
+                ponderer.shutdown();
+            }
+            ponderer = ai.createPonderer();
+            ai.setPonderer(ponderer);
+        }
+    }
+
+    /**
+     * How fast queued AI turns play out (NORMAL by default).
+     */
+    public void setPlaybackSpeed(TurnScheduler.Speed speed) {
+        scheduler.setSpeed(speed);
+    }
+
+    /**
+     * The autosave journal, or null if it can't be opened (then games just aren't saved).
+     */
+    private SenetJournal journal() {
+        if (journal == null) {
+            try {
+                journal = SenetJournal.open(SenetJournal.defaultPath());
+            } catch (IOException e) {
+                System.err.println("Autosave disabled: " + e.getMessage());
+                return null;
+            }
         }
+        return journal;
+    }
+
+    // ==================== AI VS AI SPEED ====================
+
+    private void createSpeedButton() {
+        speedButton = new Button();
+        speedButton.setFont(new Font(16));
+        speedButton.setTextFill(Color.web("#F5F1E6"));
+        speedButton.setStyle("-fx-background-color: rgba(139, 69, 19, 0.8); -fx-border-color: #F5F1E6; -fx-cursor: hand;");
+        speedButton.setVisible(false);
+        speedButton.managedProperty().bind(speedButton.visibleProperty()); // no gap when hidden
+        speedButton.setOnAction(e -> {
+            spectatorSpeed = (spectatorSpeed + 1) % SPECTATOR_SPEED_LABELS.length;
+            applySpectatorSpeed();
+        });
+    }
+
+    /**
+     * Switch AI vs AI play to the selected speed, handing the game between
+     * the turn scheduler and the background runner as needed.
+     */
+    private void applySpectatorSpeed() {
+        speedButton.setText("SPEED: " + SPECTATOR_SPEED_LABELS[spectatorSpeed]);
+        boolean uncapped = spectatorSpeed == SPECTATOR_SPEEDS.length;
+
+        if (uncapped) {
+            if (runner != null || game.isGameOver()) return;
+            scheduler.cancel();
+            runner = new SenetMatchRunner(game, aiDifficulty, aiDifficulty, true);
+            shownSnapshot = null;
+            runner.start();
+            snapshotTimer.start();
+        } else {
+            if (runner != null) {
+                // Carry on paced from wherever the runner got to
+                stopRunner();
+                refreshBoard();
+                updateStatus();
+            }
+            scheduler.setSpeed(SPECTATOR_SPEEDS[spectatorSpeed]);
+            if (scheduler.isIdle()) {
+                scheduleNext(AI_ROLL_DELAY);
+            }
+        }
+    }
+
+    /**
+     * Stop the background runner (if any) and take over its position.
+     */
+    private void stopRunner() {
+        if (runner == null) return;
+        snapshotTimer.stop();
+        SenetMatchRunner.Snapshot last = runner.stop();
+        runner = null;
+        game.restore(last.board(), last.flags());
+    }
+
+    /**
+     * Per-frame sample of the uncapped runner: redraw only if it moved on.
+     */
+    private void showSnapshot(SenetMatchRunner.Snapshot snapshot) {
+        if (snapshot == shownSnapshot) return;
+        shownSnapshot = snapshot;
+
+        game.restore(snapshot.board(), snapshot.flags());
+        if (game.isMoveHasPending()) {
+            updateDiceDisplay(game.getLastRoll());
+        }
+        refreshBoard();
+
+        playerText.setText(game.getCurrentPlayer() == PlayerColor.WHITE ? "White AI's Turn" : "Black AI's Turn");
+        statusText.setText(String.format("Games: %d   White %d - Black %d   (%,d steps)",
+                snapshot.games(), snapshot.whiteWins(), snapshot.blackWins(), snapshot.steps()));
+    }
+
+    // ==================== ANALYSIS ====================
+
+    private void createAnalysisPanel() {
+        analysisButton = new Button("ANALYSIS: OFF");
+        analysisButton.setFont(new Font(16));
+        analysisButton.setTextFill(Color.web("#F5F1E6"));
+        analysisButton.setStyle("-fx-background-color: rgba(139, 69, 19, 0.8); -fx-border-color: #F5F1E6; -fx-cursor: hand;");
+        analysisButton.setOnAction(e -> {
+            analysisOn = !analysisOn;
+            analysisButton.setText(analysisOn ? "ANALYSIS: ON" : "ANALYSIS: OFF");
+            updateAnalysis();
+        });
+
+        analysisPanel = new VBox(6);
+        analysisPanel.setMaxSize(260, VBox.USE_PREF_SIZE);
+        analysisPanel.setStyle("-fx-background-color: rgba(0, 0, 0, 0.6); -fx-padding: 14; -fx-background-radius: 6;");
+        analysisPanel.setTranslateX(-30);
+        analysisPanel.setMouseTransparent(true);
+        analysisPanel.setVisible(false);
+    }
+
+    /**
+     * Point the analyzer at the current position (or hide the panel). Cheap
+     * to call after every change: the same position isn't re-analysed.
+     */
+    private void updateAnalysis() {
+        analysisPanel.setVisible(analysisOn);
+        if (!analysisOn || game.isGameOver() || !game.isMoveHasPending()) {
+            if (analyzer != null) analyzer.stop();
+            analysisPanel.getChildren().setAll(analysisText("ANALYSIS", true, Color.web("#F5F1E6")),
+                    analysisText(game.isGameOver() ? "Game over" : "Waiting for a roll", false, Color.LIGHTGRAY));
+            return;
+        }
+        if (analyzer == null) {
+            analyzer = new SenetAnalyzer();
+        }
+        analyzer.analyze(game, result -> {
+            // Coalesce: one runLater in flight at a time, carrying the newest result
+            if (pendingAnalysis.getAndSet(result) == null) {
+                Platform.runLater(this::showAnalysis);
+            }
+        });
+    }
+
+    private void showAnalysis() {
+        SenetAnalyzer.Analysis a = pendingAnalysis.getAndSet(null);
+        if (a == null || !analysisOn || a.hash() != game.hash()) return; // stale
+
+        String side = game.getCurrentPlayer() == PlayerColor.WHITE ? "White" : "Black";
+        analysisPanel.getChildren().setAll(
+                analysisText("ANALYSIS", true, Color.web("#F5F1E6")),
+                analysisText(side + " to move a " + game.getLastRoll() + "  (depth " + a.depth()
+                        + (a.finished() ? ")" : "...)"), false, Color.LIGHTGRAY));
+
+        if (a.squares().length == 0) {
+            analysisPanel.getChildren().add(analysisText("No legal move", false, Color.LIGHTGRAY));
+            return;
+        }
+        int best = a.best();
+        for (int i = 0; i < a.squares().length; i++) {
+            String line = String.format("%2d → %-4s %5.1f%%", a.squares()[i], moveTarget(a.squares()[i]),
+                    a.winProbabilities()[i] * 100);
+            analysisPanel.getChildren().add(analysisText(line, i == best, i == best ? Color.LIGHTGREEN : Color.WHITE));
+        }
+    }
+
+    /**
+     * Square the piece on 'square' is headed for with the pending roll (forward first).
+     */
+    private String moveTarget(int square) {
+        SenetPiece piece = game.getBoard().getPieceAt(square);
+        int roll = game.getLastRoll();
+        if (piece != null && !game.canMoveForward(piece) && game.canMoveBackward(piece)) {
+            return String.valueOf(square - roll);
+        }
+        return square + roll > 30 ? "off" : String.valueOf(square + roll);
+    }
+
+    private Text analysisText(String text, boolean bold, Color color) {
+        Text t = new Text(text);
+        t.setFont(Font.font("Monospaced", bold ? FontWeight.BOLD : FontWeight.NORMAL, 15));
+        t.setFill(color);
+        return t;
+    }
+
+    public void setOnBack(Runnable onBack) {
+        this.onBack = onBack;
     }
 
     private void createExitButton(Stage stage) {
         // 1. Load images
-        Image bgImage = new Image(getClass().getResource("/assets/backgrounds/senet_background.jpeg").toExternalForm());
+        Image bgImage = BackgroundImages.sized("/assets/backgrounds/senet_background.jpeg", 50, 50);
         Image crossImage = new Image(getClass().getResource("/assets/senet/red_cross.jpg").toExternalForm());
 
         // 2. Create the button container
@@ -832,40 +1196,11 @@ public class SenetScreen extends StackPane {
         exitButton.setOnMouseEntered(e -> exitButton.setOpacity(0.8));
         exitButton.setOnMouseExited(e -> exitButton.setOpacity(1.0));
 
-        // 7. Click logic to return to Menu
+        // 7. Click logic to return to Menu (the cached mode screen we came from)
         exitButton.setOnMouseClicked(e -> {
-            // 1. Create a reference for the mode screen so the game can come back here
-            final GameModeScreen[] modeRef = new GameModeScreen[1];
-            Runnable backToMode = () -> stage.getScene().setRoot(modeRef[0]);
-
-            // 2. Define the selection actions
-            Runnable onSingleplayer = () -> {
-                // FIXED: Now passes stage AND the back runnable
-                SenetScreen vsAI = new SenetScreen(stage, backToMode);
-                vsAI.setVsAI(true);
-                vsAI.setAIDifficulty(SenetAI.Difficulty.MEDIUM);
-                stage.getScene().setRoot(vsAI);
-            };
-
-            Runnable onLocal2P = () -> {
-                // FIXED: Now passes stage AND the back runnable
-                stage.getScene().setRoot(new SenetScreen(stage, backToMode));
-            };
-
-            Runnable onBackToTitle = () -> {
-                stage.getScene().setRoot(new TitleScreen(stage));
-            };
-
-            // 3. Create the mode screen and set it to the reference
-            modeRef[0] = new GameModeScreen(
-                "/assets/backgrounds/senet_background.jpeg",
-                onSingleplayer,
-                onLocal2P,
-                onBackToTitle
-            );
-
-            // 4. Show the screen
-            stage.getScene().setRoot(modeRef[0]);
+            if (onBack != null) {
+                onBack.run();
+            }
         });
 
         // Add to the SenetScreen (this is a StackPane, so it adds to the top layer)
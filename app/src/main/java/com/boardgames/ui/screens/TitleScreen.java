@@ -1,9 +1,9 @@
 package com.boardgames.ui.screens;
 
+import com.boardgames.ui.BackgroundImages;
+import com.boardgames.ui.ScreenManager;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -16,13 +16,9 @@ public class TitleScreen extends StackPane {
 
     public TitleScreen(Stage stage) {
 
-        // ----- BACKGROUND -----
-        Image bgImage = new Image(getClass().getResource("/assets/backgrounds/title_screen_background.jpeg").toExternalForm());
-        ImageView background = new ImageView(bgImage);
-        background.setPreserveRatio(false);
-
-        widthProperty().addListener((obs, o, n) -> background.setFitWidth(n.doubleValue()));
-        heightProperty().addListener((obs, o, n) -> background.setFitHeight(n.doubleValue()));
+        // ----- BACKGROUND (decoded in the background at screen size) -----
+        ImageView background = BackgroundImages.createScreenBackground(
+                "/assets/backgrounds/title_screen_background.jpeg", this);
 
         // ----- TITLE -----
         Font titleFont = Font.loadFont(
@@ -40,7 +36,7 @@ public class TitleScreen extends StackPane {
 
         // ----- GAME BUTTONS -----
         Button bSenet = createGameButton("Senet", "/assets/backgrounds/senet_background.jpeg", buttonFont, stage);
-        Button bUr = createGameButton("Royal Game of Ur", "/assets/backgrounds/ur_background.jpg", buttonFont, stage);
+        Button bUr = createGameButton("Royal Game of Ur", "/assets/backgrounds/Ur_background.jpg", buttonFont, stage);
         Button bMorris = createGameButton("Men's Morris", "/assets/backgrounds/morris_background.jpg", buttonFont, stage);
         Button bMancala = createGameButton("Mancala", "/assets/backgrounds/mancala_background.jpg", buttonFont, stage);
         Button bGo = createGameButton("Go", "/assets/backgrounds/go_background.jpg", buttonFont, stage);
@@ -85,15 +81,8 @@ public class TitleScreen extends StackPane {
         btn.setTextFill(Color.web("#F5F1E6"));
         btn.setPrefHeight(64);
 
-        Image img = new Image(getClass().getResource(imgPath).toExternalForm());
-        BackgroundImage backgroundImage = new BackgroundImage(
-                img,
-                BackgroundRepeat.NO_REPEAT,
-                BackgroundRepeat.NO_REPEAT,
-                BackgroundPosition.CENTER,
-                new BackgroundSize(100, 100, true, true, false, true)
-        );
-        btn.setBackground(new Background(backgroundImage));
+        // Decoded at button width, placeholder colour until ready
+        BackgroundImages.applyButtonBackground(btn, imgPath);
 
         btn.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
@@ -105,38 +94,8 @@ public class TitleScreen extends StackPane {
         btn.setOnMouseEntered(e -> btn.setOpacity(0.85));
         btn.setOnMouseExited(e -> btn.setOpacity(1.0));
 
-        // Inside TitleScreen.java or your controller
-        btn.setOnAction(e -> {
-            final GameModeScreen[] modeRef = new GameModeScreen[1];
-            
-            // 1. Define the 'Back' logic for the Difficulty Screen
-            Runnable backToMode = () -> stage.getScene().setRoot(modeRef[0]);
-
-            // 2. Define Singleplayer to OPEN DifficultyScreen, NOT the board
-            Runnable onSingleplayer = () -> {
-                // Create the game instance first (required by your DifficultyScreen constructor)
-                SenetScreen senet = new SenetScreen(stage, backToMode);
-                
-                // Show the Difficulty Screen instead of the board
-                DifficultyScreen diffScreen = new DifficultyScreen(imgPath, senet, backToMode);
-                stage.getScene().setRoot(diffScreen);
-            };
-
-            // 3. Define Local 2P to go straight to the board
-            Runnable onLocal2P = () -> {
-                stage.getScene().setRoot(new SenetScreen(stage, backToMode));
-            };
-
-            // 4. Create the GameModeScreen
-            modeRef[0] = new GameModeScreen(
-                imgPath, 
-                onSingleplayer, 
-                onLocal2P, 
-                () -> stage.getScene().setRoot(new TitleScreen(stage))
-            );
-
-            stage.getScene().setRoot(modeRef[0]);
-        });
+        // Mode screens are cached per game, so this is just a root swap
+        btn.setOnAction(e -> ScreenManager.showGameMode(imgPath));
 
         return btn;
     }
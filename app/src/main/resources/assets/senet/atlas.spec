@@ -0,0 +1,17 @@
+# Senet sprite atlas spec, read by the packSenetAtlas build task and by SpriteAtlas.
+# Sizes are logical pixels and must match the constants in SenetScreen
+# (CELL_SIZE, WHITE_PIECE_SIZE, BLACK_PIECE_SIZE, DICE_WIDTH x DICE_HEIGHT).
+# "stretch" fills the box exactly, "fit" keeps the aspect ratio inside it.
+#
+# name          source                       width  height  mode
+white_square    white_square.png             74     74      stretch
+red_square      red_square.png               74     74      stretch
+square_15       15_square.png                74     74      stretch
+square_26       26_square.png                74     74      stretch
+square_27       27_square.png                74     74      stretch
+square_28       28_square.png                74     74      stretch
+square_29       29_square.png                74     74      stretch
+white_piece     white_piece.png              75     75      fit
+dark_piece      dark_piece.png               60     60      fit
+white_dice      white_side_dice_stick.png    120    150     fit
+dark_dice       dark_side_dice_stick.png     120    150     fit
@@ -0,0 +1,384 @@
+package com.boardgames.games.go;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GoBoard's incremental chains, liberties, captures and hash against a naive
+ * flood fill, along seeded random games and a few hand-built positions.
+ */
+class GoBoardTest {
+
+    private static final int[] SIZES = {5, 7, 9};
+    private static final int GAMES = 30;
+
+    @Test void randomGamesMatchAFloodFill() {
+        Random random = new Random(35);
+        for (int size : SIZES) {
+            GoBoard board = new GoBoard(size);
+            for (int g = 0; g < GAMES; g++) {
+                board.clear();
+                byte c = GoBoard.BLACK;
+                int passes = 0;
+                for (int ply = 0; ply < 3 * size * size && passes < 2; ply++) {
+                    String where = size + "x" + size + " game " + g + " ply " + ply;
+                    int p = randomMove(board, c, random, where);
+                    if (p == GoBoard.NO_POINT) {
+                        board.pass();
+                        passes++;
+                    } else {
+                        play(board, p, c, where);
+                        passes = 0;
+                    }
+                    assertMatchesFloodFill(board, where);
+                    c = GoBoard.opponent(c);
+                }
+            }
+        }
+    }
+
+    @Test void snapback() {
+        GoBoard board = diagram(
+                "..O..",
+                "XXO..",
+                "OO...",
+                ".....",
+                ".....");
+        int throwIn = board.point(0, 0);
+        int take = board.point(1, 0);
+
+        play(board, throwIn, GoBoard.WHITE, "throw-in");
+        assertTrue(board.inAtari(board.point(0, 1)));
+        assertEquals(take, board.atariPoint(board.point(0, 1)));
+
+        play(board, take, GoBoard.BLACK, "take");
+        assertEquals(1, board.getLastCaptured());
+        assertEquals(GoBoard.NO_POINT, board.getKoPoint(), "the taking stone joined a chain, no ko");
+        assertEquals(3, board.chainStones(take));
+        assertTrue(board.inAtari(take));
+        assertEquals(throwIn, board.atariPoint(take));
+
+        assertTrue(board.isLegal(throwIn, GoBoard.WHITE));
+        play(board, throwIn, GoBoard.WHITE, "snapback");
+        assertEquals(3, board.getLastCaptured());
+        assertEquals(3, board.getCaptures(GoBoard.WHITE));
+        assertEquals(1, board.getCaptures(GoBoard.BLACK));
+        assertMatchesFloodFill(board, "after the snapback");
+    }
+
+    @Test void oneStoneCapturesEveryChainInAtariOnce() {
+        // Two separate chains share the last liberty
+        GoBoard board = diagram(
+                "OX...",
+                ".....",
+                "OX...",
+                "OX...",
+                "X....");
+        play(board, board.point(0, 1), GoBoard.BLACK, "two chains");
+        assertEquals(3, board.getLastCaptured());
+        assertEquals(GoBoard.NO_POINT, board.getKoPoint());
+        assertEquals(diagram(
+                ".X...",
+                "X....",
+                ".X...",
+                ".X...",
+                "X....").getHash(), board.getHash());
+
+        // One chain touches the capturing stone twice and must only go once
+        board = diagram(
+                "OOX..",
+                "O....",
+                "X....",
+                ".....",
+                ".....");
+        play(board, board.point(1, 1), GoBoard.BLACK, "one chain, two sides");
+        assertEquals(3, board.getLastCaptured());
+        assertEquals(diagram(
+                "..X..",
+                ".X...",
+                "X....",
+                ".....",
+                ".....").getHash(), board.getHash());
+    }
+
+    @Test void suicideIsRejectedUnlessItCaptures() {
+        GoBoard board = diagram(
+                "X.O..",
+                "OO...",
+                ".....",
+                ".....",
+                ".....");
+        int p = board.point(1, 0);
+        // Black would fill the last liberty of its own two stones
+        assertTrue(board.isSuicide(p, GoBoard.BLACK));
+        assertFalse(board.isLegal(p, GoBoard.BLACK));
+        assertTrue(board.isLegal(p, GoBoard.WHITE));
+
+        board = diagram(
+                ".XO..",
+                "XO...",
+                "O....",
+                ".....",
+                ".....");
+        p = board.point(0, 0);
+        assertTrue(board.isSuicide(p, GoBoard.BLACK));
+        // White has no liberty there either, but takes both black stones
+        assertFalse(board.isSuicide(p, GoBoard.WHITE));
+        play(board, p, GoBoard.WHITE, "capturing into no liberties");
+        assertEquals(2, board.getLastCaptured());
+    }
+
+    @Test void koRecaptureWaitsOneMove() {
+        GoBoard board = diagram(
+                ".XO..",
+                "X.XO.",
+                ".XO..",
+                ".....",
+                ".....");
+        int take = board.point(1, 1);
+        int retake = board.point(2, 1);
+
+        play(board, take, GoBoard.WHITE, "take the ko");
+        assertEquals(retake, board.getKoPoint());
+        assertFalse(board.isLegal(retake, GoBoard.BLACK));
+        assertFalse(board.isSuicide(retake, GoBoard.BLACK), "only the ko rule forbids it");
+
+        board.pass();
+        assertTrue(board.isLegal(retake, GoBoard.BLACK));
+    }
+
+    @Test void superkoRejectsARepeatedPosition() {
+        // Black sends three stones into the corner, White takes them, then
+        // Black retakes one at a time; the second retake would bring back the
+        // position before the sacrifice. The ko point never fires on the way.
+        GoGame game = new GoGame(5, 0.5);
+        GoBoard board = game.getBoard();
+        int[] setup = {
+                board.point(4, 3), board.point(2, 3),
+                board.point(3, 4), board.point(2, 4),
+                GoGame.PASS, board.point(3, 2),
+                GoGame.PASS, board.point(4, 2)};
+        for (int m : setup) game.makeMove(m);
+
+        game.makeMove(board.point(3, 3));       // self-atari, three stones
+        game.makeMove(board.point(4, 4));       // White takes them
+        assertEquals(3, board.getLastCaptured());
+        game.makeMove(board.point(3, 4));       // Black starts again
+        game.makeMove(GoGame.PASS);
+
+        int repeat = board.point(4, 3);
+        assertEquals(GoBoard.BLACK, game.colorToMove());
+        assertEquals(GoBoard.NO_POINT, board.getKoPoint());
+        assertTrue(board.isLegal(repeat, GoBoard.BLACK), "fine for the board alone");
+        assertFalse(game.isLegal(repeat), "the whole position repeats");
+
+        int[] moves = new int[game.maxMoves()];
+        int n = game.generateMoves(moves);
+        for (int i = 0; i < n; i++) {
+            assertNotEquals(repeat, moves[i]);
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * A board from rows of '.', 'X' (black) and 'O' (white), top row first.
+     * Every chain must have a liberty, so no stone is captured while placing them.
+     */
+    private static GoBoard diagram(String... rows) {
+        GoBoard board = new GoBoard(rows.length);
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows.length; x++) {
+                char ch = rows[y].charAt(x);
+                if (ch == '.') continue;
+                board.play(board.point(x, y), ch == 'X' ? GoBoard.BLACK : GoBoard.WHITE);
+                assertEquals(0, board.getLastCaptured(), "diagram capture at " + x + "," + y);
+            }
+        }
+        return board;
+    }
+
+    private static byte[][] snapshot(GoBoard board) {
+        int size = board.getSize();
+        byte[][] grid = new byte[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                grid[x][y] = board.colorAt(board.point(x, y));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * A legal non-eye move for c, or NO_POINT. Checks isLegal on every empty point on the way.
+     */
+    private static int randomMove(GoBoard board, byte c, Random random, String where) {
+        byte[][] grid = snapshot(board);
+        List<Integer> moves = new ArrayList<>();
+        for (int y = 0; y < grid.length; y++) {
+            for (int x = 0; x < grid.length; x++) {
+                if (grid[x][y] != GoBoard.EMPTY) continue;
+                int p = board.point(x, y);
+                boolean suicide = naiveSuicide(grid, x, y, c);
+                assertEquals(suicide, board.isSuicide(p, c), "isSuicide " + x + "," + y + " " + where);
+                boolean legal = !suicide && p != board.getKoPoint();
+                assertEquals(legal, board.isLegal(p, c), "isLegal " + x + "," + y + " " + where);
+                if (legal && !board.isEye(p, c)) moves.add(p);
+            }
+        }
+        return moves.isEmpty() ? GoBoard.NO_POINT : moves.get(random.nextInt(moves.size()));
+    }
+
+    /**
+     * Play p and check the hash prediction, the captures and the ko point against the flood fill.
+     */
+    private static void play(GoBoard board, int p, byte c, String where) {
+        int x = board.x(p), y = board.y(p);
+        byte[][] grid = snapshot(board);
+        grid[x][y] = c;
+        List<int[]> taken = new ArrayList<>();
+        for (int[] n : neighbours(grid.length, x, y)) {
+            if (grid[n[0]][n[1]] != GoBoard.opponent(c)) continue;
+            Chain chain = flood(grid, n[0], n[1]);
+            if (chain.liberties.isEmpty()) {
+                for (int[] s : chain.stones) {
+                    if (grid[s[0]][s[1]] != GoBoard.EMPTY) taken.add(s);
+                    grid[s[0]][s[1]] = GoBoard.EMPTY;
+                }
+            }
+        }
+        Chain own = flood(grid, x, y);
+        int ko = taken.size() == 1 && own.stones.size() == 1 && own.liberties.size() == 1
+                ? board.point(taken.get(0)[0], taken.get(0)[1]) : GoBoard.NO_POINT;
+
+        long predicted = board.hashAfter(p, c);
+        int before = board.getCaptures(c);
+        board.play(p, c);
+
+        assertEquals(predicted, board.getHash(), "hashAfter " + where);
+        assertEquals(taken.size(), board.getLastCaptured(), "captured " + where);
+        assertEquals(before + taken.size(), board.getCaptures(c), "captures " + where);
+        assertEquals(ko, board.getKoPoint(), "ko " + where);
+        for (int[] s : taken) {
+            assertEquals(GoBoard.EMPTY, board.colorAt(board.point(s[0], s[1])), "taken " + where);
+        }
+    }
+
+    /**
+     * Chains, liberties, atari, the stone lists, the empty list and the hash.
+     */
+    private static void assertMatchesFloodFill(GoBoard board, String where) {
+        int size = board.getSize();
+        byte[][] grid = snapshot(board);
+        boolean[][] done = new boolean[size][size];
+        Set<Integer> heads = new HashSet<>();
+        Set<Integer> empties = new HashSet<>();
+        GoBoard rebuilt = new GoBoard(size);
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int p = board.point(x, y);
+                if (grid[x][y] == GoBoard.EMPTY) {
+                    empties.add(p);
+                    continue;
+                }
+                rebuilt.play(p, grid[x][y]);
+                if (done[x][y]) continue;
+
+                Chain chain = flood(grid, x, y);
+                Set<Integer> points = new HashSet<>();
+                for (int[] s : chain.stones) {
+                    done[s[0]][s[1]] = true;
+                    points.add(board.point(s[0], s[1]));
+                }
+                String at = x + "," + y + " " + where;
+                assertTrue(heads.add(board.chainOf(p)), "two chains share a head at " + at);
+
+                for (int s : points) {
+                    assertEquals(board.chainOf(p), board.chainOf(s), "chainOf " + at);
+                    assertEquals(points.size(), board.chainStones(s), "chainStones " + at);
+                    assertEquals(chain.liberties.size() == 1, board.inAtari(s), "inAtari " + at);
+                    if (chain.liberties.size() == 1) {
+                        int[] lib = chain.liberties.iterator().next();
+                        assertEquals(board.point(lib[0], lib[1]), board.atariPoint(s), "atariPoint " + at);
+                    }
+                }
+
+                Set<Integer> walked = new HashSet<>();
+                int s = p;
+                for (int i = 0; i < points.size(); i++) {
+                    assertTrue(walked.add(s), "stone list loops early at " + at);
+                    s = board.nextStone(s);
+                }
+                assertEquals(p, s, "stone list does not close at " + at);
+                assertEquals(points, walked, "stone list " + at);
+            }
+        }
+
+        assertEquals(empties.size(), board.emptyCount(), "emptyCount " + where);
+        Set<Integer> listed = new HashSet<>();
+        for (int i = 0; i < board.emptyCount(); i++) listed.add(board.emptyAt(i));
+        assertEquals(empties, listed, "empties " + where);
+
+        // Same stones placed straight onto an empty board, no captures on the way
+        assertEquals(rebuilt.getHash(), board.getHash(), "hash " + where);
+    }
+
+    private record Chain(List<int[]> stones, Set<int[]> liberties) {
+    }
+
+    private static Chain flood(byte[][] grid, int x, int y) {
+        byte c = grid[x][y];
+        boolean[][] seen = new boolean[grid.length][grid.length];
+        List<int[]> stones = new ArrayList<>();
+        Set<Integer> libertyKeys = new HashSet<>();
+        Set<int[]> liberties = new HashSet<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[] {x, y});
+        seen[x][y] = true;
+        while (!queue.isEmpty()) {
+            int[] s = queue.poll();
+            stones.add(s);
+            for (int[] n : neighbours(grid.length, s[0], s[1])) {
+                byte nc = grid[n[0]][n[1]];
+                if (nc == GoBoard.EMPTY) {
+                    if (libertyKeys.add(n[1] * grid.length + n[0])) liberties.add(n);
+                } else if (nc == c && !seen[n[0]][n[1]]) {
+                    seen[n[0]][n[1]] = true;
+                    queue.add(n);
+                }
+            }
+        }
+        return new Chain(stones, liberties);
+    }
+
+    private static boolean naiveSuicide(byte[][] grid, int x, int y, byte c) {
+        grid[x][y] = c;
+        try {
+            for (int[] n : neighbours(grid.length, x, y)) {
+                if (grid[n[0]][n[1]] == GoBoard.opponent(c) && flood(grid, n[0], n[1]).liberties.isEmpty()) {
+                    return false;
+                }
+            }
+            return flood(grid, x, y).liberties.isEmpty();
+        } finally {
+            grid[x][y] = GoBoard.EMPTY;
+        }
+    }
+
+    private static List<int[]> neighbours(int size, int x, int y) {
+        List<int[]> out = new ArrayList<>(4);
+        if (x > 0) out.add(new int[] {x - 1, y});
+        if (x < size - 1) out.add(new int[] {x + 1, y});
+        if (y > 0) out.add(new int[] {x, y - 1});
+        if (y < size - 1) out.add(new int[] {x, y + 1});
+        return out;
+    }
+}
@@ -0,0 +1,236 @@
+package com.boardgames.games.go;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GoMcts tree statistics after a search, the expansion flag, the RAVE blend
+ * in selection, and two small tactical positions.
+ */
+@Timeout(120)
+class GoMctsTest {
+
+    private static final long NO_TIME_LIMIT = 600_000;
+    private static final int SIMULATIONS = 2000;
+
+    @Test void everySimulationIsAccountedFor() {
+        GoGame game = new GoGame(7, GoGame.DEFAULT_KOMI);
+        try (GoMcts mcts = new GoMcts(1, 36)) {
+            mcts.bestMove(game, NO_TIME_LIMIT, SIMULATIONS);
+            assertEquals(SIMULATIONS, mcts.getPlayouts());
+            // One thread: a node stops exactly one simulation, the one before it expands
+            assertTree(mcts.getRoot(), SIMULATIONS, true);
+        }
+    }
+
+    @Test void parallelVisitsAreAllSettled() {
+        GoGame game = new GoGame(7, GoGame.DEFAULT_KOMI);
+        try (GoMcts mcts = new GoMcts(4, 36)) {
+            for (int search = 0; search < 3; search++) {
+                mcts.bestMove(game, NO_TIME_LIMIT, SIMULATIONS);
+                assertEquals(SIMULATIONS, mcts.getPlayouts());
+                // A thread that loses the expansion flag stops early, and two threads can
+                // both get past a node's first visit, so only bounds hold
+                assertTree(mcts.getRoot(), SIMULATIONS, false);
+            }
+        }
+    }
+
+    @Test void sameSeedSameTree() {
+        GoGame game = new GoGame(7, GoGame.DEFAULT_KOMI);
+        int[] first = rootVisits(game, 7);
+        assertArrayEquals(first, rootVisits(game, 7));
+        assertFalse(Arrays.equals(first, rootVisits(game, 8)), "the seed should matter");
+    }
+
+    @Test void expansionFlagGoesToExactlyOneThread() throws Exception {
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int trial = 0; trial < 200; trial++) {
+                GoMctsNode node = new GoMctsNode(GoGame.PASS);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> calls = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    calls.add(pool.submit(() -> {
+                        start.await();
+                        return node.tryStartExpansion();
+                    }));
+                }
+                start.countDown();
+                int winners = 0;
+                for (Future<Boolean> f : calls) {
+                    if (f.get()) winners++;
+                }
+                assertEquals(1, winners, "trial " + trial);
+                assertFalse(node.tryStartExpansion());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test void unvisitedMovesAreTriedFirst() {
+        GoMctsNode good = node(100, 90, 0, 0);
+        GoMctsNode fresh = node(0, 0, 0, 0);
+        assertSame(fresh, GoMcts.select(parent(100, good, fresh)));
+    }
+
+    @Test void raveLeadsWhileAMoveHasFewVisits() {
+        // One visit each: the AMAF samples outweigh the single real result
+        GoMctsNode raveGood = node(1, 0, 100, 90);
+        GoMctsNode ownGood = node(1, 1, 100, 10);
+        assertSame(raveGood, GoMcts.select(parent(2, ownGood, raveGood)));
+    }
+
+    @Test void ownResultsLeadOnceAMoveHasManyVisits() {
+        // Same RAVE picture, but now each move has plenty of its own visits
+        GoMctsNode raveGood = node(10_000, 5_000, 10_000, 10_000);
+        GoMctsNode ownGood = node(10_000, 9_000, 10_000, 1_000);
+        assertSame(ownGood, GoMcts.select(parent(20_000, raveGood, ownGood)));
+    }
+
+    @Test void capturesTheChainInAtari() {
+        // Black to move takes three stones at (2,3)
+        GoGame game = position(
+                ".......",
+                ".XXX...",
+                "XOOOX..",
+                "XX.XX..",
+                "OOOOOO.",
+                ".......",
+                ".......");
+        assertEquals(GoBoard.BLACK, game.colorToMove());
+        assertFindsEverySeed(game, game.getBoard().point(2, 3));
+    }
+
+    @Test void savesTheChainInAtari() {
+        // Same shape, White to move connects at (2,3)
+        GoGame game = position(
+                "......X",
+                ".XXX...",
+                "XOOOX..",
+                "XX.XX..",
+                "OOOOOO.",
+                ".......",
+                ".......");
+        assertEquals(GoBoard.WHITE, game.colorToMove());
+        assertFindsEverySeed(game, game.getBoard().point(2, 3));
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Visits, wins and RAVE counts of every expanded node add up. A node's
+     * visits are its children's plus the simulations that stopped there; of
+     * those that went on, each is a win either for the node (the player who
+     * moved into it) or for the child, never both and never neither.
+     */
+    private static void assertTree(GoMctsNode root, int simulations, boolean singleThread) {
+        assertEquals(simulations, root.visits);
+        assertEquals(0, root.wins, "nobody moved into the root");
+        Deque<GoMctsNode> nodes = new ArrayDeque<>();
+        nodes.add(root);
+        int expanded = 0;
+
+        while (!nodes.isEmpty()) {
+            GoMctsNode node = nodes.poll();
+            assertTrue(node.wins >= 0 && node.wins <= node.visits, "wins within visits");
+            assertTrue(node.raveWins >= 0 && node.raveWins <= node.raveVisits, "RAVE wins within RAVE visits");
+            GoMctsNode[] children = node.children();
+            if (children == null) continue;
+            expanded++;
+
+            int through = 0;
+            int childLosses = 0;
+            for (GoMctsNode child : children) {
+                through += child.visits;
+                childLosses += child.visits - child.wins;
+                assertTrue(child.raveVisits <= node.visits, "at most one RAVE sample per simulation");
+                nodes.add(child);
+            }
+            int stopped = node.visits - through;
+            if (node == root) {
+                assertEquals(0, stopped, "root children are there from the start");
+                continue;
+            }
+            if (singleThread) {
+                assertEquals(1, stopped, "stopped at move " + node.move);
+            } else {
+                assertTrue(stopped >= 0, "stopped at move " + node.move);
+            }
+            int stoppedWins = node.wins - childLosses;
+            assertTrue(stoppedWins >= 0 && stoppedWins <= stopped, "wins of move " + node.move);
+        }
+        assertTrue(expanded > 1, "the search should grow below the root");
+    }
+
+    private static int[] rootVisits(GoGame game, long seed) {
+        try (GoMcts mcts = new GoMcts(1, seed)) {
+            mcts.bestMove(game, NO_TIME_LIMIT, SIMULATIONS);
+            GoMctsNode[] children = mcts.getRoot().children();
+            int[] visits = new int[children.length];
+            for (int i = 0; i < children.length; i++) visits[i] = children[i].visits;
+            return visits;
+        }
+    }
+
+    private static void assertFindsEverySeed(GoGame game, int expected) {
+        for (long seed = 1; seed <= 3; seed++) {
+            try (GoMcts mcts = new GoMcts(1, seed)) {
+                int move = mcts.bestMove(game, NO_TIME_LIMIT, 1000);
+                GoBoard board = game.getBoard();
+                assertEquals(expected, move, "seed " + seed + " played " + board.x(move) + "," + board.y(move));
+            }
+        }
+    }
+
+    private static GoMctsNode node(int visits, int wins, int raveVisits, int raveWins) {
+        GoMctsNode node = new GoMctsNode(GoGame.PASS);
+        node.visits = visits;
+        node.wins = wins;
+        node.raveVisits = raveVisits;
+        node.raveWins = raveWins;
+        return node;
+    }
+
+    private static GoMctsNode parent(int visits, GoMctsNode... children) {
+        GoMctsNode node = node(visits, 0, 0, 0);
+        node.setChildren(children);
+        return node;
+    }
+
+    /**
+     * Rows of '.', 'X' and 'O' played out in turn from the empty board, a side
+     * with no stones left passing. Every chain needs a liberty.
+     */
+    private static GoGame position(String... rows) {
+        GoGame game = new GoGame(rows.length, 0.5);
+        GoBoard board = game.getBoard();
+        Deque<Integer> black = new ArrayDeque<>();
+        Deque<Integer> white = new ArrayDeque<>();
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows.length; x++) {
+                char ch = rows[y].charAt(x);
+                if (ch == 'X') black.add(board.point(x, y));
+                else if (ch == 'O') white.add(board.point(x, y));
+            }
+        }
+        while (!black.isEmpty() || !white.isEmpty()) {
+            Deque<Integer> stones = game.colorToMove() == GoBoard.BLACK ? black : white;
+            game.makeMove(stones.isEmpty() ? GoGame.PASS : stones.poll());
+        }
+        return game;
+    }
+}
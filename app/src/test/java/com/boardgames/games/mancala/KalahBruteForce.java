@@ -0,0 +1,46 @@
+package com.boardgames.games.mancala;
+
+import java.util.Random;
+
+/**
+ * Plain negamax to the end of the game, and random endgames to run it on.
+ */
+final class KalahBruteForce {
+
+    private KalahBruteForce() {
+    }
+
+    /**
+     * Final store difference for the player to move under perfect play.
+     */
+    static int solve(MancalaGame game) {
+        if (game.isTerminal()) return game.storeDiff();
+
+        int mover = game.currentPlayer();
+        int[] moves = new int[MancalaGame.PITS];
+        int n = game.generateMoves(moves);
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            game.makeMove(moves[i]);
+            int score = solve(game);
+            best = Math.max(best, game.currentPlayer() == mover ? score : -score);
+            game.undo();
+        }
+        return best;
+    }
+
+    /**
+     * A position reached by random play from the start, with at most
+     * maxSeeds seeds left on the board and the game not over.
+     */
+    static MancalaGame randomEndgame(Random random, int maxSeeds) {
+        int[] moves = new int[MancalaGame.PITS];
+        while (true) {
+            MancalaGame game = new MancalaGame();
+            while (!game.isTerminal() && game.seedsOnBoard() > maxSeeds) {
+                game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+            }
+            if (!game.isTerminal()) return game.copy();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.boardgames.games.mancala;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The endgame table against plain negamax on MancalaGame.
+ */
+class MancalaEndgameDbTest {
+
+    private static final int MAX_SEEDS = 9;
+
+    private static MancalaEndgameDb db;
+
+    @BeforeAll static void build() {
+        db = new MancalaEndgameDb(MAX_SEEDS);
+        db.build();
+    }
+
+    @Test void matchesNegamaxOnRandomEndgames() {
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            MancalaGame game = KalahBruteForce.randomEndgame(random, MAX_SEEDS);
+            int expected = KalahBruteForce.solve(game);
+            assertEquals(expected, game.storeDiff() + db.value(game), "endgame " + i);
+        }
+    }
+
+    @Test void matchesNegamaxAfterEveryMove() {
+        // Walk down a few games so every seed count and both movers come up
+        Random random = new Random(11);
+        int[] moves = new int[MancalaGame.PITS];
+        for (int i = 0; i < 40; i++) {
+            MancalaGame game = KalahBruteForce.randomEndgame(random, MAX_SEEDS);
+            while (!game.isTerminal()) {
+                assertEquals(KalahBruteForce.solve(game), game.storeDiff() + db.value(game),
+                        game.seedsOnBoard() + " seeds, player " + game.currentPlayer() + " to move");
+                game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.boardgames.games.mancala;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Search results in small endgames, where negamax can check them.
+ */
+class MancalaSearchTest {
+
+    private static final int MAX_SEEDS = 9;
+
+    @Test void scoreAndMoveAreExactInEndgames() {
+        Random random = new Random(5);
+        MancalaSearch search = new MancalaSearch(16, null);
+        int singleMove = 0;
+
+        for (int i = 0; i < 300; i++) {
+            MancalaGame game = KalahBruteForce.randomEndgame(random, MAX_SEEDS);
+            int expected = KalahBruteForce.solve(game);
+            if (game.generateMoves(new int[MancalaGame.PITS]) == 1) singleMove++;
+
+            search.clear();
+            int move = search.bestMove(game.copy(), 0, MancalaSearch.MAX_PLY);
+            assertEquals(expected, search.getLastScore(), "score, endgame " + i);
+
+            int mover = game.currentPlayer();
+            game.makeMove(move);
+            int after = KalahBruteForce.solve(game);
+            assertEquals(expected, game.currentPlayer() == mover ? after : -after, "move " + move + ", endgame " + i);
+        }
+        assertTrue(singleMove > 0, "expected some single-move positions");
+    }
+
+    @Test void endgameTableGivesTheSameAnswers() {
+        MancalaEndgameDb db = new MancalaEndgameDb(6);
+        db.build();
+        MancalaSearch search = new MancalaSearch(16, db);
+        Random random = new Random(8);
+
+        for (int i = 0; i < 200; i++) {
+            MancalaGame game = KalahBruteForce.randomEndgame(random, MAX_SEEDS);
+            search.clear();
+            search.bestMove(game.copy(), 0, MancalaSearch.MAX_PLY);
+            assertEquals(KalahBruteForce.solve(game), search.getLastScore(), "endgame " + i);
+        }
+    }
+}
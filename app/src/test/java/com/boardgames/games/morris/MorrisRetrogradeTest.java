@@ -0,0 +1,150 @@
+package com.boardgames.games.morris;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The 3v3, 3v4 and 4v3 Nine Men's Morris database against MorrisGame's
+ * own move generation.
+ *
+ * Every position must agree with its children (a win in n has a move to a
+ * loss in n - 1 and none to a quicker one, a loss in n only has moves to
+ * wins, the longest in n - 1, and a draw has no move to a loss but one to
+ * a draw). With distances in the values, only the true solution passes
+ * that everywhere. A sample is also checked with plain depth-limited
+ * minimax, which finds wins and losses exactly at the stored distance.
+ */
+class MorrisRetrogradeTest {
+
+    private static final MorrisGame.Variant VARIANT = MorrisGame.Variant.NINE;
+    private static final int WIN = 1, LOSS = -1, OPEN = 0;
+
+    private static MorrisDatabase db;
+
+    @BeforeAll static void solve() {
+        MorrisRetrograde solver = new MorrisRetrograde(VARIANT);
+        solver.solveUpTo(7);
+        db = solver.toDatabase();
+    }
+
+    @Test void everyThreeOnThreePositionAgreesWithItsMoves() {
+        int[] moves = new int[MorrisGame.MAX_MOVES];
+        int checked = 0;
+        MorrisIndex index = new MorrisIndex(VARIANT.points, 3, 3);
+        int[] pos = new int[2];
+        for (long i = 0; i < index.size(); i++) {
+            index.unrank(i, pos);
+            checkAgainstMoves(pos[0], pos[1], moves);
+            checked++;
+        }
+        assertEquals(index.size(), checked);
+    }
+
+    @Test void sampledFourPieceClassesAgreeWithTheirMoves() {
+        int[] moves = new int[MorrisGame.MAX_MOVES];
+        Random random = new Random(1);
+        int[] pos = new int[2];
+        for (int[] counts : new int[][] {{3, 4}, {4, 3}}) {
+            MorrisIndex index = new MorrisIndex(VARIANT.points, counts[0], counts[1]);
+            for (int i = 0; i < 200_000; i++) {
+                index.unrank(Math.floorMod(random.nextLong(), index.size()), pos);
+                checkAgainstMoves(pos[0], pos[1], moves);
+            }
+        }
+    }
+
+    @Test void minimaxFindsResultsAtTheStoredDistance() {
+        Random random = new Random(2);
+        int[] pos = new int[2];
+        int wins = 0, losses = 0;
+        for (int[] counts : new int[][] {{3, 3}, {3, 4}, {4, 3}}) {
+            MorrisIndex index = new MorrisIndex(VARIANT.points, counts[0], counts[1]);
+            for (int i = 0; i < 4000; i++) {
+                index.unrank(Math.floorMod(random.nextLong(), index.size()), pos);
+                int v = db.value(pos[0], pos[1]);
+                int plies = MorrisDatabase.plies(v);
+                if (v == MorrisDatabase.DRAW || plies > 3) continue;
+
+                MorrisGame game = MorrisGame.ofPosition(VARIANT, pos[0], pos[1], 0);
+                int expected = MorrisDatabase.isWin(v) ? WIN : LOSS;
+                String where = counts[0] + "v" + counts[1] + " " + pos[0] + "/" + pos[1];
+                assertEquals(expected, minimax(game, plies), "result within " + plies + " plies, " + where);
+                if (plies > 0) {
+                    assertEquals(OPEN, minimax(game, plies - 1), "nothing sooner, " + where);
+                }
+                if (expected == WIN) wins++; else losses++;
+            }
+        }
+        assertTrue(wins > 100 && losses > 20, wins + " wins, " + losses + " losses sampled");
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Recompute the value of (own to move, opp) from its children and
+     * compare with the database.
+     */
+    private static void checkAgainstMoves(int own, int opp, int[] moves) {
+        MorrisGame game = MorrisGame.ofPosition(VARIANT, own, opp, 0);
+        int stored = db.value(own, opp);
+        String where = own + "/" + opp;
+
+        if (game.isTerminal()) {
+            // Stuck: lost on the spot
+            assertEquals(MorrisDatabase.loss(0), stored, where);
+            return;
+        }
+
+        int quickestWin = Integer.MAX_VALUE;
+        int longestLoss = -1;
+        boolean draw = false;
+        int n = game.generateMoves(moves);
+        for (int i = 0; i < n; i++) {
+            game.makeMove(moves[i]);
+            int child;
+            if (game.isTerminal()) {
+                child = game.winner() == 0 ? MorrisDatabase.loss(0) : MorrisDatabase.win(0);
+            } else {
+                child = db.value(game.getBoard(1), game.getBoard(0));
+            }
+            game.undo();
+
+            assertNotEquals(MorrisDatabase.UNKNOWN, child, "child class not solved, " + where);
+            if (MorrisDatabase.isLoss(child)) {
+                quickestWin = Math.min(quickestWin, MorrisDatabase.plies(child) + 1);
+            } else if (MorrisDatabase.isWin(child)) {
+                longestLoss = Math.max(longestLoss, MorrisDatabase.plies(child) + 1);
+            } else {
+                draw = true;
+            }
+        }
+
+        int expected = quickestWin != Integer.MAX_VALUE ? MorrisDatabase.win(quickestWin)
+                : draw ? MorrisDatabase.DRAW
+                : MorrisDatabase.loss(longestLoss);
+        assertEquals(expected, stored, where);
+    }
+
+    /**
+     * WIN / LOSS for the player to move if forced within 'depth' plies, else OPEN.
+     */
+    private static int minimax(MorrisGame game, int depth) {
+        if (game.isTerminal()) return game.winner() == game.currentPlayer() ? WIN : LOSS;
+        if (depth == 0) return OPEN;
+
+        int[] moves = new int[MorrisGame.MAX_MOVES];
+        int n = game.generateMoves(moves);
+        boolean allWin = true;
+        for (int i = 0; i < n; i++) {
+            game.makeMove(moves[i]);
+            int child = minimax(game, depth - 1);
+            game.undo();
+            if (child == LOSS) return WIN;
+            if (child != WIN) allWin = false;
+        }
+        return allWin ? LOSS : OPEN;
+    }
+}
@@ -0,0 +1,161 @@
+package com.boardgames.games.search;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Store and probe, four-slot buckets and the replacement order of
+ * OffHeapTranspositionTable, on the smallest (1 MB) table.
+ */
+class OffHeapTranspositionTableTest {
+
+    // 1 MB = 16384 buckets: a key's bucket comes from bits 0-42 only, so
+    // keys that differ just in bits 43 and up share a bucket
+    private static final int MB = 1;
+    private static final long KEY = 0x0123_4567_89AB_CDEFL & ((1L << 43) - 1);
+
+    @Test void storedValuesComeBack() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        assertEquals(MB << 20, table.sizeBytes());
+
+        Random random = new Random(1);
+        long[] keys = new long[2000];
+        double[] values = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            values[i] = random.nextDouble();
+            table.put(keys[i], i % 8, values[i]);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            // Values are kept as floats
+            assertEquals((float) values[i], table.get(keys[i], i % 8), "key " + i);
+            assertEquals((float) values[i], table.get(keys[i], 0), "key " + i + " shallower");
+            assertTrue(Double.isNaN(table.get(keys[i], i % 8 + 1)), "key " + i + " deeper");
+        }
+    }
+
+    @Test void otherKeyInTheSameBucketMisses() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        table.put(sameBucket(0), 3, 0.5);
+
+        assertEquals(0.5, table.get(sameBucket(0), 3));
+        for (int k = 1; k < 100; k++) {
+            assertTrue(Double.isNaN(table.get(sameBucket(k), 0)), "key " + k);
+        }
+        // A different bucket entirely
+        assertTrue(Double.isNaN(table.get(KEY ^ 1, 0)));
+    }
+
+    @Test void bucketHoldsFourPositions() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        for (int k = 0; k < 4; k++) {
+            table.put(sameBucket(k), 2, k / 4.0);
+        }
+        for (int k = 0; k < 4; k++) {
+            assertEquals(k / 4.0, table.get(sameBucket(k), 2), "key " + k);
+        }
+
+        // Storing one of them again updates its slot, nothing is pushed out
+        table.put(sameBucket(2), 2, 0.9);
+        assertEquals((float) 0.9, table.get(sameBucket(2), 2));
+        for (int k : new int[] {0, 1, 3}) {
+            assertEquals(k / 4.0, table.get(sameBucket(k), 2), "key " + k);
+        }
+    }
+
+    @Test void deeperResultIsKept() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        table.put(KEY, 5, 0.25);
+
+        // A shallower search of the same position doesn't overwrite it...
+        table.put(KEY, 4, 0.75);
+        table.put(KEY, 0, 0.75);
+        assertEquals(0.25, table.get(KEY, 5));
+
+        // ...one as deep or deeper does
+        table.put(KEY, 5, 0.5);
+        assertEquals(0.5, table.get(KEY, 5));
+        table.put(KEY, 6, 0.125);
+        assertEquals(0.125, table.get(KEY, 6));
+    }
+
+    @Test void fullBucketReplacesTheShallowestEntry() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        int[] depths = {4, 1, 3, 2};
+        for (int k = 0; k < 4; k++) {
+            table.put(sameBucket(k), depths[k], k);
+        }
+
+        table.put(sameBucket(4), 0, 4);
+        assertEquals(4, table.get(sameBucket(4), 0));
+        assertTrue(Double.isNaN(table.get(sameBucket(1), 0)), "depth 1 entry should be gone");
+        for (int k : new int[] {0, 2, 3}) {
+            assertEquals(k, table.get(sameBucket(k), depths[k]), "key " + k);
+        }
+    }
+
+    @Test void oldSearchesAreReplacedFirst() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        table.put(sameBucket(0), 6, 0);
+        for (int i = 0; i < 5; i++) {
+            table.newSearch();
+        }
+        for (int k = 1; k < 4; k++) {
+            table.put(sameBucket(k), 3, k);
+        }
+
+        // Depth 6 from five searches ago is worth less than depth 3 from this one
+        table.put(sameBucket(4), 3, 4);
+        assertTrue(Double.isNaN(table.get(sameBucket(0), 0)), "old deep entry should be gone");
+        for (int k = 1; k < 5; k++) {
+            assertEquals(k, table.get(sameBucket(k), 3), "key " + k);
+        }
+    }
+
+    @Test void generationWrapsWithoutAgingEverything() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        for (int i = 0; i < 300; i++) {
+            table.newSearch();
+        }
+        // Generation 44 now; entries from one search back are still the older ones
+        table.put(sameBucket(0), 4, 0);
+        table.newSearch();
+        for (int k = 1; k < 4; k++) {
+            table.put(sameBucket(k), 4, k);
+        }
+        table.put(sameBucket(4), 4, 4);
+        assertTrue(Double.isNaN(table.get(sameBucket(0), 0)));
+        for (int k = 1; k < 5; k++) {
+            assertEquals(k, table.get(sameBucket(k), 4), "key " + k);
+        }
+    }
+
+    @Test void clearEmptiesTheTable() {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(MB);
+        Random random = new Random(2);
+        long[] keys = new long[20_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            table.put(keys[i], 1, 0.5);
+        }
+        // 20000 keys in 65536 slots
+        assertTrue(table.fill() > 0.2, "fill " + table.fill());
+
+        table.clear();
+        assertEquals(0, table.fill());
+        for (long key : keys) {
+            assertTrue(Double.isNaN(table.get(key, 0)));
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * The k-th key sharing KEY's bucket.
+     */
+    private static long sameBucket(int k) {
+        return KEY ^ ((long) k << 43);
+    }
+}
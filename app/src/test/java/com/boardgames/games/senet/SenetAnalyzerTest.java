@@ -0,0 +1,125 @@
+package com.boardgames.games.senet;
+
+import com.boardgames.games.search.Expectiminimax;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SenetAnalyzer's stream only ever deepens, and what it settles on is what
+ * a direct search of each move says.
+ *
+ * Not to the last bit: the analyzer's cache hands back results searched
+ * deeper than asked (as any transposition table does), so its values can
+ * sit a little off an uncached search's. The best move has to agree.
+ */
+@Timeout(120)
+class SenetAnalyzerTest {
+
+    // The largest gap on these positions is just under 0.01
+    private static final double CACHE_TOLERANCE = 0.02;
+
+    @Test void streamDeepensToTheDirectSearch() throws InterruptedException {
+        SenetAnalyzer analyzer = new SenetAnalyzer();
+        try {
+            // Late enough in their games that a full-depth uncached search takes about a second
+            for (int position : new int[] {5, 6, 8}) {
+                SenetGame game = midGame(new Random(position), 350);
+                List<SenetAnalyzer.Analysis> stream = analyze(analyzer, game);
+
+                int lastDepth = -1;
+                int[] lastDepths = new int[stream.get(0).squares().length];
+                for (SenetAnalyzer.Analysis a : stream) {
+                    assertEquals(game.hash(), a.hash());
+                    assertTrue(a.depth() >= lastDepth, "depth went back to " + a.depth());
+                    for (int i = 0; i < lastDepths.length; i++) {
+                        assertTrue(a.depths()[i] >= lastDepths[i], "move " + i + " went back");
+                        assertTrue(a.depths()[i] >= a.depth(), "move " + i + " behind the reported depth");
+                    }
+                    lastDepth = a.depth();
+                    lastDepths = a.depths();
+                }
+
+                SenetAnalyzer.Analysis last = stream.get(stream.size() - 1);
+                assertTrue(last.finished());
+                assertEquals(SenetAnalyzer.MAX_DEPTH, last.depth());
+                double[] direct = direct(game, last.squares());
+                assertArrayEquals(direct, last.winProbabilities(), CACHE_TOLERANCE, "position " + position);
+                assertEquals(best(direct), last.best(), "best move, position " + position);
+            }
+        } finally {
+            analyzer.shutdown();
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Everything the analyzer streams for 'game', up to its final result.
+     */
+    private static List<SenetAnalyzer.Analysis> analyze(SenetAnalyzer analyzer, SenetGame game)
+            throws InterruptedException {
+        List<SenetAnalyzer.Analysis> stream = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        analyzer.analyze(game, a -> {
+            stream.add(a);
+            if (a.finished()) done.countDown();
+        });
+        done.await();
+        return stream;
+    }
+
+    /**
+     * Each move's value from a fresh, uncached search MAX_DEPTH decisions deep
+     * (the move itself plus MAX_DEPTH - 1 more).
+     */
+    private static double[] direct(SenetGame game, int[] squares) {
+        Expectiminimax search = new Expectiminimax(new SenetEvaluator(), SenetAnalyzer.MAX_DEPTH - 1);
+        int mover = game.currentPlayer();
+        double[] values = new double[squares.length];
+        for (int i = 0; i < squares.length; i++) {
+            game.makeMove(squares[i]);
+            values[i] = game.isTerminal() ? (game.winner() == mover ? 1 : 0) : search.evaluate(game, mover);
+            game.undo();
+        }
+        return values;
+    }
+
+    private static int best(double[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) best = i;
+        }
+        return best;
+    }
+
+    /**
+     * A random game played 'plies' deep (starting over whenever one ends),
+     * then on to a roll with at least two moves.
+     */
+    private static SenetGame midGame(Random random, int plies) {
+        SenetGame game = new SenetGame();
+        int[] moves = new int[game.maxMoves()];
+        for (int ply = 0; ; ply++) {
+            if (game.isTerminal()) {
+                game.reset();
+                ply = 0;
+            }
+            if (game.isChanceNode()) {
+                game.applyChance(DiceSticks.roll(random));
+                continue;
+            }
+            int count = game.generateMoves(moves);
+            if (ply >= plies && count >= 2 && game.isMoveHasPending()) {
+                return game;
+            }
+            game.makeMove(moves[random.nextInt(count)]);
+        }
+    }
+}
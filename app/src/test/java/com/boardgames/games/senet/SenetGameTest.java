@@ -0,0 +1,230 @@
+package com.boardgames.games.senet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameState contract for SenetGame, checked along seeded random games.
+ */
+class SenetGameTest {
+
+    private static final int GAMES = 200;
+    private static final int MAX_PLIES = 2000;
+
+    @Test void undoRestoresEveryStep() {
+        forEachPosition((game, random) -> {
+            long board = game.packBoard();
+            int flags = game.packFlags();
+            long hash = game.hash();
+
+            int[] moves = new int[game.maxMoves()];
+            if (game.isChanceNode()) {
+                int n = game.chanceOutcomes(moves, new double[game.maxMoves()]);
+                for (int i = 0; i < n; i++) {
+                    game.applyChance(moves[i]);
+                    game.undo();
+                    assertState(game, board, flags, hash, "applyChance(" + moves[i] + ")");
+                }
+            } else {
+                int n = game.generateMoves(moves);
+                for (int i = 0; i < n; i++) {
+                    game.makeMove(moves[i]);
+                    game.undo();
+                    assertState(game, board, flags, hash, "makeMove(" + moves[i] + ")");
+                }
+            }
+        });
+    }
+
+    @Test void undoUnwindsAWholeGame() {
+        SenetGame game = new SenetGame();
+        Random random = new Random(7);
+        List<long[]> seen = new ArrayList<>();
+        int[] moves = new int[game.maxMoves()];
+
+        while (!game.isTerminal() && seen.size() < MAX_PLIES) {
+            seen.add(new long[] {game.packBoard(), game.packFlags(), game.hash()});
+            step(game, random, moves);
+        }
+        for (int i = seen.size() - 1; i >= 0; i--) {
+            game.undo();
+            long[] s = seen.get(i);
+            assertState(game, s[0], (int) s[1], s[2], "undo to ply " + i);
+        }
+    }
+
+    @Test void restoreRoundTrips() {
+        SenetGame other = new SenetGame();
+        forEachPosition((game, random) -> {
+            other.restore(game.packBoard(), game.packFlags());
+            assertState(other, game.packBoard(), game.packFlags(), game.hash(), "restore");
+        });
+    }
+
+    @Test void packedDecodersMatchTheGame() {
+        forEachPosition((game, random) -> assertDecodes(game));
+
+        // forEachPosition stops short of the end; check some finished games too
+        Random random = new Random(7);
+        SenetGame game = new SenetGame();
+        int[] moves = new int[game.maxMoves()];
+        for (int g = 0; g < 20; g++) {
+            game.reset();
+            while (!game.isTerminal()) {
+                step(game, random, moves);
+            }
+            assertDecodes(game);
+        }
+    }
+
+    @Test void copyMatches() {
+        forEachPosition((game, random) -> {
+            SenetGame copy = game.copy();
+            assertState(copy, game.packBoard(), game.packFlags(), game.hash(), "copy");
+        });
+    }
+
+    @Test void generateMovesAgreesWithValidPieces() {
+        forEachPosition((game, random) -> {
+            if (game.isChanceNode()) return;
+
+            int[] moves = new int[game.maxMoves()];
+            int n = game.generateMoves(moves);
+            List<SenetPiece> valid = game.getValidPieces(game.getCurrentPlayer());
+
+            if (valid.isEmpty()) {
+                assertEquals(1, n);
+                assertEquals(SenetGame.PASS, moves[0]);
+            } else {
+                assertEquals(valid.size(), n);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(valid.get(i).getPosition(), moves[i]);
+                }
+            }
+        });
+    }
+
+    @Test void chanceOutcomesAreAProbabilityDistribution() {
+        forEachPosition((game, random) -> {
+            if (!game.isChanceNode()) return;
+
+            int[] outcomes = new int[game.maxMoves()];
+            double[] odds = new double[game.maxMoves()];
+            int n = game.chanceOutcomes(outcomes, odds);
+            double total = 0;
+            for (int i = 0; i < n; i++) total += odds[i];
+            assertEquals(1.0, total, 1e-12);
+        });
+    }
+
+    @Test void bearingOffTheLastPieceWinsWhateverTheThrow() {
+        SenetGame game = new SenetGame();
+        for (PlayerColor mover : PlayerColor.values()) {
+            PlayerColor other = SenetGame.getOpponent(mover);
+            for (int square : new int[] {25, 29, 30}) {
+                for (int roll : new int[] {1, 2, 3, 4, 6}) {
+                    if (square + roll <= 30) continue;
+
+                    // Last piece of 'mover' on 'square', the other side still has three
+                    restore(game, mover, new int[] {square}, new int[] {12, 14, 20});
+                    game.applyChance(roll);
+                    game.makeMove(square);
+                    String where = mover + " from " + square + " with " + roll;
+                    assertTrue(game.isTerminal(), where);
+                    assertEquals(mover.ordinal(), game.winner(), where);
+                    assertEquals(mover, game.getWinner(), where);
+
+                    // Same through the UI path
+                    restore(game, mover, new int[] {square}, new int[] {12, 14, 20});
+                    game.applyRoll(roll);
+                    assertTrue(game.movePiece(game.getBoard().getPieceAt(square)), where);
+                    assertTrue(game.isGameOver(), where);
+                    assertEquals(mover, game.getWinner(), where);
+                    assertNotEquals(other, game.getWinner(), where);
+                }
+            }
+        }
+    }
+
+    @Test void bearingOffWithPiecesLeftDoesNotEndTheGame() {
+        SenetGame game = new SenetGame();
+        restore(game, PlayerColor.BLACK, new int[] {22, 29}, new int[] {12, 14, 20});
+        game.applyChance(2);
+        game.makeMove(29);
+        assertFalse(game.isTerminal());
+        assertEquals(PlayerColor.WHITE, game.getCurrentPlayer());
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * A started game with 'mover' to throw, its pieces on 'own' and the other side's on 'opponent'.
+     */
+    private static void restore(SenetGame game, PlayerColor mover, int[] own, int[] opponent) {
+        long board = 0;
+        for (int square : own) {
+            board |= (long) (mover.ordinal() + 1) << ((square - 1) * 2);
+        }
+        for (int square : opponent) {
+            board |= (long) (SenetGame.getOpponent(mover).ordinal() + 1) << ((square - 1) * 2);
+        }
+        int flags = mover.ordinal()
+                | (PlayerColor.WHITE.ordinal() + 1) << 7  // dark pieces claimed
+                | 1 << 9;                                 // started
+        game.restore(board, flags);
+    }
+
+    private interface PositionCheck {
+        void check(SenetGame game, Random random);
+    }
+
+    /**
+     * Run 'check' on every position of GAMES random games, then take a random step.
+     */
+    private static void forEachPosition(PositionCheck check) {
+        Random random = new Random(42);
+        SenetGame game = new SenetGame();
+        int[] moves = new int[game.maxMoves()];
+
+        for (int g = 0; g < GAMES; g++) {
+            game.reset();
+            for (int ply = 0; ply < MAX_PLIES && !game.isTerminal(); ply++) {
+                check.check(game, random);
+                step(game, random, moves);
+            }
+        }
+    }
+
+    private static void step(SenetGame game, Random random, int[] moves) {
+        if (game.isChanceNode()) {
+            game.applyChance(DiceSticks.roll(random));
+        } else {
+            game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+        }
+    }
+
+    private static void assertDecodes(SenetGame game) {
+        long board = game.packBoard();
+        int flags = game.packFlags();
+        for (int square = 1; square <= 30; square++) {
+            SenetPiece piece = game.getBoard().getPieceAt(square);
+            int code = piece == null ? 0 : piece.getColor().ordinal() + 1;
+            assertEquals(code, SenetGame.packedSquare(board, square), "square " + square);
+        }
+        assertEquals(game.currentPlayer(), SenetGame.packedPlayer(flags));
+        assertEquals(game.getLastRoll(), SenetGame.packedRoll(flags));
+        assertEquals(game.isMoveHasPending(), SenetGame.packedMovePending(flags));
+        assertEquals(game.isGameOver(), SenetGame.packedGameOver(flags));
+        assertEquals(game.winner(), SenetGame.packedWinner(flags));
+    }
+
+    private static void assertState(SenetGame game, long board, int flags, long hash, String after) {
+        assertEquals(board, game.packBoard(), "board after " + after);
+        assertEquals(flags, game.packFlags(), "flags after " + after);
+        assertEquals(hash, game.hash(), "hash after " + after);
+    }
+}
@@ -0,0 +1,129 @@
+package com.boardgames.games.senet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resume from a journal cut short: record a seeded game, then load copies
+ * of the file that end after each record, or inside one, and compare with
+ * the game as it was at that point.
+ */
+class SenetJournalTest {
+
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+
+    @Test void resumesAfterEveryRecord(@TempDir Path dir) throws IOException {
+        Recording rec = record(dir, 11);
+        SenetJournal reader = SenetJournal.open(dir.resolve("copy.journal"));
+
+        for (int k = 0; k < rec.states.size(); k++) {
+            byte[] cut = Arrays.copyOf(rec.file, rec.file.length);
+            Arrays.fill(cut, HEADER_BYTES + (k + 1) * RECORD_BYTES, cut.length, (byte) 0);
+            overwrite(dir.resolve("copy.journal"), cut);
+
+            assertResumesAt(reader, rec.states.get(k), "cut after record " + k);
+            assertEquals(SenetAI.Difficulty.MEDIUM, reader.getSavedDifficulty());
+        }
+    }
+
+    @Test void recordCutShortIsNotReplayed(@TempDir Path dir) throws IOException {
+        Recording rec = record(dir, 12);
+        SenetJournal reader = SenetJournal.open(dir.resolve("copy.journal"));
+
+        // A crash mid-append: the type byte goes in last, so it's still END,
+        // and only the first 'written' bytes of the rest made it
+        for (int k = 1; k < rec.states.size(); k++) {
+            for (int written : new int[] {1, 4, 8, RECORD_BYTES}) {
+                int at = HEADER_BYTES + k * RECORD_BYTES;
+                byte[] cut = Arrays.copyOf(rec.file, rec.file.length);
+                Arrays.fill(cut, at + written, cut.length, (byte) 0);
+                cut[at] = 0;
+                overwrite(dir.resolve("copy.journal"), cut);
+
+                // Falls back to the last snapshot before k and replays up to k - 1
+                assertResumesAt(reader, rec.states.get(k - 1), "record " + k + " cut after " + written + " bytes");
+            }
+        }
+    }
+
+    @Test void finishedGameIsNotResumed(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("senet.journal");
+        SenetJournal journal = SenetJournal.open(file);
+        SenetGame game = new SenetGame();
+        journal.startGame(game, null);
+        assertTrue(SenetJournal.hasSavedGame(file));
+
+        journal.finish();
+        assertFalse(SenetJournal.hasSavedGame(file));
+        assertFalse(journal.load(new SenetGame()));
+    }
+
+    // ===== Helpers =====
+
+    private record Recording(byte[] file, List<long[]> states) { }
+
+    /**
+     * Play one seeded game under a journal. states.get(k) is the position
+     * once record k is in (record 0 is the opening snapshot).
+     */
+    private static Recording record(Path dir, long seed) throws IOException {
+        Path file = dir.resolve("senet.journal");
+        SenetJournal journal = SenetJournal.open(file);
+        SenetGame game = new SenetGame();
+        Random random = new Random(seed);
+        List<long[]> states = new ArrayList<>();
+
+        journal.startGame(game, SenetAI.Difficulty.MEDIUM);
+        states.add(new long[] {game.packBoard(), game.packFlags()});
+        while (!game.isGameOver()) {
+            if (!game.isMoveHasPending()) {
+                // What rollDice() does, with a seeded throw
+                journal.rolled(game.applyRoll(DiceSticks.roll(random)));
+            } else {
+                List<SenetPiece> valid = game.getValidPieces(game.getCurrentPlayer());
+                if (valid.isEmpty()) {
+                    game.skipTurn();
+                } else {
+                    game.movePiece(valid.get(random.nextInt(valid.size())));
+                }
+            }
+            states.add(new long[] {game.packBoard(), game.packFlags()});
+        }
+        journal.stop();
+
+        // One game stays well inside the file, so slot k is record k
+        assertTrue(states.size() < 4000, states.size() + " records");
+        assertTrue(states.size() > 100, states.size() + " records");
+        return new Recording(Files.readAllBytes(file), states);
+    }
+
+    /**
+     * Write 'bytes' over the file in place, so a journal already mapping it sees them.
+     */
+    private static void overwrite(Path file, byte[] bytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) ch.write(buf, buf.position());
+        }
+    }
+
+    private static void assertResumesAt(SenetJournal reader, long[] expected, String where) {
+        SenetGame resumed = new SenetGame();
+        assertTrue(reader.load(resumed), where);
+        assertEquals(expected[0], resumed.packBoard(), "board, " + where);
+        assertEquals((int) expected[1], resumed.packFlags(), "flags, " + where);
+    }
+}
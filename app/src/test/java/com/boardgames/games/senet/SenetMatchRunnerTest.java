@@ -0,0 +1,67 @@
+package com.boardgames.games.senet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SenetMatchRunner plays to the end (or on and on), and its snapshots and
+ * tally agree with each other.
+ */
+@Timeout(60)
+class SenetMatchRunnerTest {
+
+    @Test void singleGameStopsAtGameOver() throws InterruptedException {
+        SenetGame live = new SenetGame();
+        long liveBoard = live.packBoard();
+        int liveFlags = live.packFlags();
+
+        SenetMatchRunner runner = new SenetMatchRunner(live, SenetAI.Difficulty.EASY, SenetAI.Difficulty.MEDIUM, false);
+        assertEquals(0, runner.latest().steps());
+        runner.start();
+        while (runner.isRunning()) {
+            Thread.sleep(5);
+        }
+        SenetMatchRunner.Snapshot last = runner.stop();
+
+        assertSame(runner.latest(), last);
+        assertTrue(last.steps() > 0);
+        assertEquals(1, last.games());
+        assertTrue(SenetGame.packedGameOver(last.flags()));
+        int winner = SenetGame.packedWinner(last.flags());
+        assertEquals(winner == PlayerColor.WHITE.ordinal() ? 1 : 0, last.whiteWins());
+        assertEquals(winner == PlayerColor.BLACK.ordinal() ? 1 : 0, last.blackWins());
+
+        // The snapshot is a real finished position: the winner has nothing left on the board
+        SenetGame end = new SenetGame();
+        end.restore(last.board(), last.flags());
+        assertTrue(end.isGameOver());
+        for (int square = 1; square <= 30; square++) {
+            assertNotEquals(winner + 1, SenetGame.packedSquare(last.board(), square), "square " + square);
+        }
+
+        // Nothing moves after game over, and the live game was never touched
+        Thread.sleep(20);
+        assertSame(last, runner.latest());
+        assertEquals(liveBoard, live.packBoard());
+        assertEquals(liveFlags, live.packFlags());
+    }
+
+    @Test void continuousRunKeepsCountingUntilStopped() throws InterruptedException {
+        SenetMatchRunner runner = new SenetMatchRunner(new SenetGame(), SenetAI.Difficulty.EASY, SenetAI.Difficulty.EASY, true);
+        runner.start();
+        long lastSteps = 0;
+        while (runner.latest().games() < 3) {
+            long steps = runner.latest().steps();
+            assertTrue(steps >= lastSteps, "steps went back");
+            lastSteps = steps;
+            Thread.sleep(5);
+        }
+        SenetMatchRunner.Snapshot last = runner.stop();
+
+        assertFalse(runner.isRunning());
+        assertTrue(last.games() >= 3);
+        assertTrue(last.steps() >= lastSteps);
+        assertSame(last, runner.latest());
+    }
+}
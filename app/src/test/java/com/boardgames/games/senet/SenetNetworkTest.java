@@ -0,0 +1,145 @@
+package com.boardgames.games.senet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SenetNetwork's inputs, weight file and lookup-table sigmoid.
+ */
+class SenetNetworkTest {
+
+    private static final int HIDDEN = 8;
+
+    @Test void featuresDescribeThePositionFromTheMoversSide() {
+        SenetNetwork net = new SenetNetwork(HIDDEN, 1);
+        int[] rows = new int[SenetNetwork.MAX_ACTIVE];
+        Random random = new Random(11);
+        SenetGame game = new SenetGame();
+        int[] moves = new int[game.maxMoves()];
+        int positions = 0;
+
+        for (int g = 0; g < 50; g++) {
+            game.reset();
+            while (!game.isTerminal()) {
+                int count = net.features(game, rows);
+                assertTrue(count <= SenetNetwork.MAX_ACTIVE, count + " active inputs");
+                assertArrayEquals(expectedInputs(game), inputs(rows, count), "position " + positions);
+                positions++;
+
+                if (game.isChanceNode()) {
+                    game.applyChance(DiceSticks.roll(random));
+                } else {
+                    game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+                }
+            }
+        }
+        assertTrue(positions > 1000);
+    }
+
+    @Test void winProbabilityFlipsWithTheSide() {
+        SenetNetwork net = new SenetNetwork(HIDDEN, 2);
+        int[] rows = new int[SenetNetwork.MAX_ACTIVE];
+        float[] activations = new float[HIDDEN];
+        SenetGame game = new SenetGame();
+        game.applyChance(DiceSticks.roll(new Random(3)));
+
+        double mover = net.winProbability(game, game.currentPlayer(), rows, activations);
+        double other = net.winProbability(game, 1 - game.currentPlayer(), rows, activations);
+        assertEquals(1, mover + other, 1e-9);
+        assertTrue(mover > 0 && mover < 1);
+    }
+
+    @Test void writeThenReadGivesTheSameNetwork(@TempDir Path dir) throws IOException {
+        SenetNetwork net = new SenetNetwork(HIDDEN, 4);
+        net.b1[3] = 0.25f;
+        net.b2[0] = -0.5f;
+        Path file = dir.resolve("nested").resolve("net.bin");
+        net.write(file);
+        assertEquals(SenetNetwork.HEADER_BYTES + ((SenetNetwork.INPUTS + 2) * HIDDEN + 1) * 4, Files.size(file));
+
+        SenetNetwork back = SenetNetwork.read(file);
+        assertEquals(HIDDEN, back.getHidden());
+        assertArrayEquals(net.w1, back.w1);
+        assertArrayEquals(net.b1, back.b1);
+        assertArrayEquals(net.w2, back.w2);
+        assertArrayEquals(net.b2, back.b2);
+    }
+
+    @Test void truncatedOrForeignFilesAreRejected(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("net.bin");
+        new SenetNetwork(HIDDEN, 5).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path cut = dir.resolve("cut.bin");
+        Files.write(cut, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> SenetNetwork.read(cut));
+
+        Path headerOnly = dir.resolve("header.bin");
+        Files.write(headerOnly, Arrays.copyOf(bytes, SenetNetwork.HEADER_BYTES - 1));
+        assertThrows(IOException.class, () -> SenetNetwork.read(headerOnly));
+
+        Path foreign = dir.resolve("foreign.bin");
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0] ^= 1;
+        Files.write(foreign, wrongMagic);
+        assertThrows(IOException.class, () -> SenetNetwork.read(foreign));
+    }
+
+    @Test void sigmoidMatchesExp() {
+        for (double x = -20; x <= 20; x += 0.001) {
+            double exact = 1 / (1 + Math.exp(-x));
+            assertEquals(exact, SenetNetwork.sigmoid((float) x), 1e-6, "x = " + x);
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Input indices set for 'game', straight from the class doc's layout.
+     */
+    private static int[] expectedInputs(SenetGame game) {
+        PlayerColor mover = game.getCurrentPlayer();
+        int[] inputs = new int[SenetNetwork.MAX_ACTIVE];
+        int count = 0;
+        int ownOn = 0, oppOn = 0;
+        for (int square = 1; square <= 30; square++) {
+            SenetPiece p = game.getBoard().getPieceAt(square);
+            if (p == null) continue;
+            if (p.getColor() == mover) {
+                inputs[count++] = square - 1;
+                ownOn++;
+            } else {
+                inputs[count++] = 30 + square - 1;
+                oppOn++;
+            }
+        }
+        inputs[count++] = 60 + 5 - ownOn;
+        inputs[count++] = 66 + 5 - oppOn;
+        int roll = game.isMoveHasPending() ? game.getLastRoll() : 0;
+        if (roll >= 1 && roll <= 4) {
+            inputs[count++] = 72 + roll - 1;
+        } else if (roll == 6) {
+            inputs[count++] = 76;
+        }
+        int[] sorted = Arrays.copyOf(inputs, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static int[] inputs(int[] rows, int count) {
+        int[] inputs = new int[count];
+        for (int i = 0; i < count; i++) {
+            assertEquals(0, rows[i] % HIDDEN, "row offset " + rows[i]);
+            inputs[i] = rows[i] / HIDDEN;
+        }
+        Arrays.sort(inputs);
+        return inputs;
+    }
+}
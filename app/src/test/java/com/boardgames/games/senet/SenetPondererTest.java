@@ -0,0 +1,96 @@
+package com.boardgames.games.senet;
+
+import com.boardgames.games.search.Expectiminimax;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Whatever the human throws and plays, the AI reply SenetPonderer has
+ * ready is the one a direct search picks.
+ */
+@Timeout(120)
+class SenetPondererTest {
+
+    private static final int DEPTH = 2;
+
+    @Test void ponderedReplyMatchesTheSearch() throws InterruptedException {
+        SenetPonderer ponderer = new SenetPonderer(DEPTH, null);
+        Expectiminimax search = new Expectiminimax(new SenetEvaluator(), DEPTH);
+        try {
+            Random random = new Random(31);
+            SenetGame game = humanToRoll(random, 30);
+            PlayerColor human = game.getCurrentPlayer();
+            ponderer.ponder(game);
+
+            // Human throws a 2 or 3 (turn passes), plays each move in turn; AI throws each roll
+            int checked = 0;
+            int[] moves = new int[game.maxMoves()];
+            for (int roll : new int[] {2, 3}) {
+                game.applyChance(roll);
+                int count = game.generateMoves(moves);
+                int[] humanMoves = moves.clone();
+                for (int m = 0; m < count; m++) {
+                    game.makeMove(humanMoves[m]);
+                    if (!game.isTerminal() && game.getCurrentPlayer() != human && game.isChanceNode()) {
+                        for (int aiRoll : new int[] {1, 2, 3, 4, 6}) {
+                            game.applyChance(aiRoll);
+                            Integer pondered = waitFor(ponderer, game.hash());
+                            assertEquals(search.bestMove(game), pondered.intValue(),
+                                    "human roll " + roll + ", move " + m + ", AI roll " + aiRoll);
+                            checked++;
+                            game.undo();
+                        }
+                    }
+                    game.undo();
+                }
+                game.undo();
+            }
+            assertTrue(checked >= 10, checked + " replies checked");
+
+            // A position it never looked at isn't in the cache
+            assertNull(ponderer.lookup(humanToRoll(new Random(32), 200).hash()));
+        } finally {
+            ponderer.shutdown();
+        }
+    }
+
+    // ===== Helpers =====
+
+    private static Integer waitFor(SenetPonderer ponderer, long hash) throws InterruptedException {
+        Integer move;
+        while ((move = ponderer.lookup(hash)) == null) {
+            Thread.sleep(5);
+        }
+        return move;
+    }
+
+    /**
+     * A random game played at least 'plies' deep, up to the point where a side
+     * is about to throw for a fresh turn.
+     */
+    private static SenetGame humanToRoll(Random random, int plies) {
+        SenetGame game = new SenetGame();
+        int[] moves = new int[game.maxMoves()];
+        PlayerColor lastMover = null;
+        for (int ply = 0; ; ply++) {
+            if (game.isTerminal()) {
+                game.reset();
+                ply = 0;
+            }
+            if (game.isChanceNode()) {
+                if (ply >= plies && !game.isNeedsInitialRoll() && game.getCarryOverRoll() == 0
+                        && game.getCurrentPlayer() != lastMover) {
+                    return game;
+                }
+                game.applyChance(DiceSticks.roll(random));
+                continue;
+            }
+            lastMover = game.getCurrentPlayer();
+            game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+        }
+    }
+}
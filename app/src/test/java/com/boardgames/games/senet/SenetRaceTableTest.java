@@ -0,0 +1,48 @@
+package com.boardgames.games.senet;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Which positions count as a race for SenetRaceTable: passed sides with
+ * RACE_GAP squares between them, whichever colour leads.
+ */
+class SenetRaceTableTest {
+
+    @Test void passedSidesThatCanStillMeetAreNoRace() {
+        // White 11 squares behind, near enough to catch up and hit the pieces on 25 and 30
+        assertFalse(SenetRaceTable.isRace(mask(11, 12, 14), mask(25, 28, 30)));
+        assertFalse(SenetRaceTable.isRace(mask(25, 28, 30), mask(11, 12, 14)));
+        // Touching
+        assertFalse(SenetRaceTable.isRace(mask(20), mask(21)));
+    }
+
+    @Test void farApartSidesAreARace() {
+        int back = mask(3, 8, 12);
+        int front = mask(12 + SenetRaceTable.RACE_GAP, 28, 30);
+        assertEquals(SenetRaceTable.RACE_GAP, SenetRaceTable.gap(back, front));
+        assertTrue(SenetRaceTable.isRace(back, front));
+        assertTrue(SenetRaceTable.isRace(front, back));
+
+        // One square closer and it isn't
+        int closer = mask(11 + SenetRaceTable.RACE_GAP, 28, 30);
+        assertFalse(SenetRaceTable.isRace(back, closer));
+        assertFalse(SenetRaceTable.isRace(closer, back));
+    }
+
+    @Test void mixedOrEmptySidesAreNoRace() {
+        assertFalse(SenetRaceTable.isRace(mask(2, 29), mask(15)));
+        assertFalse(SenetRaceTable.isRace(0, mask(30)));
+        assertFalse(SenetRaceTable.isRace(mask(1), 0));
+    }
+
+    // ===== Helpers =====
+
+    private static int mask(int... squares) {
+        int mask = 0;
+        for (int square : squares) {
+            mask |= 1 << (square - 1);
+        }
+        return mask;
+    }
+}
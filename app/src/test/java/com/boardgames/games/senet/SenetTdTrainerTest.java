@@ -0,0 +1,38 @@
+package com.boardgames.games.senet;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A short single-threaded SenetTdTrainer run: it learns something and is
+ * reproducible from the seed.
+ */
+class SenetTdTrainerTest {
+
+    private static final int HIDDEN = 8;
+    private static final int GAMES = 150;
+
+    @Test void singleThreadedTrainingIsReproducible() throws InterruptedException {
+        SenetNetwork a = trained();
+        SenetNetwork b = trained();
+        SenetNetwork untrained = new SenetNetwork(HIDDEN, 9);
+
+        assertFalse(Arrays.equals(untrained.w1, a.w1), "weights never changed");
+        assertArrayEquals(a.w1, b.w1);
+        assertArrayEquals(a.w2, b.w2);
+        assertArrayEquals(a.b2, b.b2);
+        for (float w : a.w1) {
+            assertTrue(Float.isFinite(w));
+        }
+    }
+
+    // ===== Helpers =====
+
+    private static SenetNetwork trained() throws InterruptedException {
+        SenetNetwork net = new SenetNetwork(HIDDEN, 9);
+        new SenetTdTrainer(net, 0.1, 0.7, 0.02).train(GAMES, 1);
+        return net;
+    }
+}
@@ -0,0 +1,68 @@
+package com.boardgames.games.tournament;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MatchStats against values worked out by hand from the formulas.
+ */
+class MatchStatsTest {
+
+    private static final double EPS = 0.01;
+
+    @Test void eloIntervalAndLlrOfAKnownTally() {
+        // 60 wins, 20 draws, 20 losses: score 0.7, Elo = 400 log10(0.7 / 0.3)
+        MatchStats stats = tally(60, 20, 20);
+        assertEquals(100, stats.games());
+        assertEquals(0.7, stats.score(), 1e-12);
+        assertEquals(147.19, stats.elo(), EPS);
+
+        // Per-game variance (60 * 0.3^2 + 20 * 0.2^2 + 20 * 0.7^2) / 100 = 0.16, so the
+        // score is 0.7 +- 1.96 * sqrt(0.16 / 100) = 0.7 +- 0.0784
+        double[] ci = stats.eloInterval();
+        assertEquals(MatchStats.eloOf(0.7 - 1.959964 * 0.04), ci[0], 1e-9);
+        assertEquals(86.23, ci[0], EPS);
+        assertEquals(218.25, ci[1], EPS);
+
+        // H0 Elo 0 (score 0.5) vs H1 Elo 20 (score 0.52875):
+        // 100 * 0.02875 * (1.4 - 0.5 - 0.52875) / (2 * 0.16)
+        assertEquals(0.52875, MatchStats.scoreOf(20), 1e-5);
+        assertEquals(3.336, stats.llr(0, 20), EPS);
+        assertEquals(5.199, stats.llr(-10, 20), EPS);
+    }
+
+    @Test void evenTallyLeansToH0() {
+        // 45 / 10 / 45: score 0.5, variance 0.225, LLR = 100 * 0.02875 * -0.02875 / 0.45
+        MatchStats stats = tally(45, 10, 45);
+        assertEquals(0, stats.elo(), 1e-9);
+        double[] ci = stats.eloInterval();
+        assertEquals(-ci[0], ci[1], 1e-9);
+        assertEquals(-0.1837, stats.llr(0, 20), 1e-3);
+    }
+
+    @Test void edgeCases() {
+        MatchStats empty = new MatchStats();
+        assertEquals(0, empty.elo(), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, empty.eloInterval()[0]);
+        assertEquals(Double.POSITIVE_INFINITY, empty.eloInterval()[1]);
+        assertEquals(0, empty.llr(0, 20));
+
+        // A clean sweep has no variance: a large finite Elo and no SPRT step
+        MatchStats sweep = tally(10, 0, 0);
+        assertEquals(1199.83, sweep.elo(), EPS);
+        assertEquals(0, sweep.llr(0, 20));
+
+        assertEquals(0.5, MatchStats.scoreOf(0), 1e-12);
+        assertEquals(400, MatchStats.eloOf(MatchStats.scoreOf(400)), 1e-9);
+    }
+
+    // ===== Helpers =====
+
+    private static MatchStats tally(int wins, int draws, int losses) {
+        MatchStats stats = new MatchStats();
+        for (int i = 0; i < wins; i++) stats.record(1);
+        for (int i = 0; i < draws; i++) stats.record(0.5);
+        for (int i = 0; i < losses; i++) stats.record(0);
+        return stats;
+    }
+}
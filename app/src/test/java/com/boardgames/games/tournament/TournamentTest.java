@@ -0,0 +1,53 @@
+package com.boardgames.games.tournament;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Bradley-Terry fit behind Tournament's ratings, and a tiny real run.
+ */
+class TournamentTest {
+
+    @Test void fitRecoversKnownStrengths() {
+        // Strengths 1 : 2 : 4 = 0, 120.4 and 240.8 Elo; every pair plays 1000
+        // games and scores exactly its expectation
+        double[] strength = {1, 2, 4};
+        double[][] games = new double[3][3];
+        double[] points = new double[3];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                if (i == j) continue;
+                games[i][j] = 1000;
+                points[i] += 1000 * strength[i] / (strength[i] + strength[j]);
+            }
+        }
+
+        double[] elo = Tournament.bradleyTerry(games, points);
+        assertEquals(0, elo[0], 1e-9);
+        assertEquals(400 * Math.log10(2), elo[1], 0.01);
+        assertEquals(400 * Math.log10(4), elo[2], 0.01);
+    }
+
+    @Test void fitChainsThroughAGauntlet() {
+        // 0 beats 1 three games in four, 0 and 2 are even; 1 and 2 never meet
+        double[][] games = {{0, 400, 400}, {400, 0, 0}, {400, 0, 0}};
+        double[] points = {300 + 200, 100, 200};
+
+        double[] elo = Tournament.bradleyTerry(games, points);
+        assertEquals(-MatchStats.eloOf(0.75), elo[1], 0.01);
+        assertEquals(0, elo[2], 0.01);
+    }
+
+    @Test void smallTournamentRuns() throws InterruptedException {
+        Tournament t = new Tournament("mancala", List.of("random", "easy", "random"), false, 4, null, 1);
+        t.run(2);
+        double[] elo = t.ratings();
+        assertEquals(3, elo.length);
+        assertEquals(0, elo[0]);
+        for (double e : elo) {
+            assertTrue(Double.isFinite(e));
+        }
+    }
+}
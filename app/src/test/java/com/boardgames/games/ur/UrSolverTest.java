@@ -0,0 +1,129 @@
+package com.boardgames.games.ur;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks a small solved table against values computed straight from
+ * UrGame's rules: every position reachable from the start, plain value
+ * iteration over the GameState moves, no UrStateIndex and no UrSolver
+ * backup involved.
+ */
+class UrSolverTest {
+
+    private static final int PIECES = 2;
+    private static final double[] ROLL_ODDS = {1 / 16.0, 4 / 16.0, 6 / 16.0, 4 / 16.0, 1 / 16.0};
+
+    // Table entries are 16-bit fixed point, plus the solver's own tolerance
+    private static final double TOLERANCE = 1.0 / 65535 + 1e-6;
+
+    @Test void tableMatchesDirectValueIteration(@TempDir Path dir) throws Exception {
+        UrSolver solver = new UrSolver(PIECES);
+        solver.solve(1e-6, 10_000);
+        Path file = dir.resolve("ur-" + PIECES + ".bin");
+        solver.write(file);
+        UrTable table = UrTable.open(file);
+
+        Reference reference = new Reference(PIECES);
+        assertTrue(reference.states.size() > 1000, "expected a few thousand positions, got " + reference.states.size());
+
+        for (int i = 0; i < reference.states.size(); i++) {
+            UrGame game = reference.states.get(i);
+            int me = game.currentPlayer();
+            double expected = reference.values[i];
+            double actual = table.value(game.getPathBits(me), game.getPathBits(1 - me),
+                    game.getFinished(me), game.getFinished(1 - me));
+            assertEquals(expected, actual, TOLERANCE, "position " + i + " (player " + me + " to roll)");
+        }
+    }
+
+    /**
+     * Positions before a throw, reached from the start, and the mover's win probability in each.
+     */
+    private static final class Reference {
+        final List<UrGame> states = new ArrayList<>();
+        final Map<Long, Integer> ids = new HashMap<>();
+        final double[] values;
+
+        Reference(int pieces) {
+            int[] moves = new int[UrGame.PATH_LENGTH + 1];
+            ArrayDeque<UrGame> queue = new ArrayDeque<>();
+            add(new UrGame(pieces), queue);
+
+            while (!queue.isEmpty()) {
+                UrGame game = queue.poll();
+                for (int roll = 0; roll <= 4; roll++) {
+                    game.applyChance(roll);
+                    int n = game.generateMoves(moves);
+                    for (int i = 0; i < n; i++) {
+                        game.makeMove(moves[i]);
+                        if (!game.isTerminal()) add(game.copy(), queue);
+                        game.undo();
+                    }
+                    game.undo();
+                }
+            }
+
+            values = new double[states.size()];
+            Arrays.fill(values, 0.5);
+            double delta;
+            do {
+                delta = 0;
+                for (int i = 0; i < values.length; i++) {
+                    double v = backup(states.get(i), moves);
+                    delta = Math.max(delta, Math.abs(v - values[i]));
+                    values[i] = v;
+                }
+            } while (delta > 1e-12);
+        }
+
+        private double backup(UrGame game, int[] moves) {
+            int me = game.currentPlayer();
+            double v = 0;
+            for (int roll = 0; roll <= 4; roll++) {
+                game.applyChance(roll);
+                int n = game.generateMoves(moves);
+                double best = 0;
+                for (int i = 0; i < n; i++) {
+                    game.makeMove(moves[i]);
+                    double value;
+                    if (game.isTerminal()) {
+                        value = game.winner() == me ? 1 : 0;
+                    } else {
+                        double next = values[ids.get(key(game))];
+                        value = game.currentPlayer() == me ? next : 1 - next;
+                    }
+                    game.undo();
+                    best = Math.max(best, value);
+                }
+                game.undo();
+                v += ROLL_ODDS[roll] * best;
+            }
+            return v;
+        }
+
+        private void add(UrGame game, ArrayDeque<UrGame> queue) {
+            if (ids.putIfAbsent(key(game), states.size()) == null) {
+                states.add(game);
+                queue.add(game);
+            }
+        }
+
+        private static long key(UrGame game) {
+            return game.getBoard(0)
+                    | (long) game.getBoard(1) << 20
+                    | (long) game.getWaiting(0) << 40
+                    | (long) game.getWaiting(1) << 43
+                    | (long) game.currentPlayer() << 46;
+        }
+    }
+}
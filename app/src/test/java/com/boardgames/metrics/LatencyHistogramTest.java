@@ -0,0 +1,87 @@
+package com.boardgames.metrics;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LatencyHistogram's bucket math: every value lands in a bucket whose top
+ * is within 1% of it, and percentiles / cumulative counts read back right.
+ */
+class LatencyHistogramTest {
+
+    // Top of the range, about 73 minutes in ns
+    private static final long MAX = (1L << 43) - 1;
+
+    @Test void bucketTopIsWithinOnePercent() {
+        Random random = new Random(5);
+        for (int i = 0; i < 200_000; i++) {
+            // Log-spread over the whole range
+            long value = random.nextLong() >>> (64 - 1 - random.nextInt(43));
+            assertRoundTrips(Math.min(value, MAX));
+        }
+        for (long value = 0; value < 4096; value++) {
+            assertRoundTrips(value);
+        }
+        for (int bit = 8; bit < 43; bit++) {
+            assertRoundTrips((1L << bit) - 1);
+            assertRoundTrips(1L << bit);
+        }
+        assertRoundTrips(MAX);
+    }
+
+    @Test void indexNeverGoesBackwards() {
+        int last = LatencyHistogram.indexOf(0);
+        for (long value = 1; value < 1L << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index == last || index == last + 1, "value " + value);
+            last = index;
+        }
+    }
+
+    @Test void percentilesOfAKnownRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 1000);
+        }
+        assertEquals(10_000, histogram.count());
+        assertEquals(1000L * 10_000 * 10_001 / 2, histogram.sum());
+        assertEquals(10_000_000, histogram.max());
+
+        assertWithinOnePercent(5_000_000, histogram.valueAtPercentile(50));
+        assertWithinOnePercent(9_900_000, histogram.valueAtPercentile(99));
+        assertEquals(10_000_000, histogram.valueAtPercentile(100));
+        assertWithinOnePercent(1000, histogram.valueAtPercentile(0));
+
+        // 2^20 ns is a bucket edge, so the count there is exact
+        assertEquals((1L << 20) / 1000, histogram.countAtOrBelow((1L << 20) - 1));
+        assertEquals(10_000, histogram.countAtOrBelow(Long.MAX_VALUE));
+        assertEquals(0, histogram.countAtOrBelow(-1));
+    }
+
+    @Test void outOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.count());
+        assertEquals(1, histogram.countAtOrBelow(0));
+        assertEquals(MAX, histogram.max());
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.valueAtPercentile(50));
+    }
+
+    // ===== Helpers =====
+
+    private static void assertRoundTrips(long value) {
+        long top = LatencyHistogram.highestEquivalent(LatencyHistogram.indexOf(value));
+        assertTrue(top >= value, "value " + value + ", bucket top " + top);
+        assertTrue(top - value <= value / 100, "value " + value + ", bucket top " + top);
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 100, "expected ~" + expected + ", got " + actual);
+    }
+}
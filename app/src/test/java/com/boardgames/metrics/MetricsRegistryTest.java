@@ -0,0 +1,76 @@
+package com.boardgames.metrics;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The Prometheus text MetricsRegistry exports: seconds formatting,
+ * cumulative buckets and labels. Names are unique to this test, since the
+ * registry is process-wide.
+ */
+class MetricsRegistryTest {
+
+    @Test void histogramExportsCumulativeBucketsInSeconds() throws IOException {
+        LatencyHistogram h = MetricsRegistry.histogram("test_export_seconds", "Export test.", "screen", "Title");
+        h.record(30_000);           // 30 us
+        h.record(120_000);          // 120 us
+        h.record(3_000_000);        // 3 ms
+        h.record(2_000_000_000L);   // 2 s
+
+        String text = export();
+        assertTrue(text.contains("""
+                # HELP test_export_seconds Export test.
+                # TYPE test_export_seconds histogram
+                test_export_seconds_bucket{screen="Title",le="5e-05"} 1
+                test_export_seconds_bucket{screen="Title",le="0.0001"} 1
+                test_export_seconds_bucket{screen="Title",le="0.00025"} 2
+                test_export_seconds_bucket{screen="Title",le="0.0005"} 2
+                test_export_seconds_bucket{screen="Title",le="0.001"} 2
+                test_export_seconds_bucket{screen="Title",le="0.0025"} 2
+                test_export_seconds_bucket{screen="Title",le="0.005"} 3
+                test_export_seconds_bucket{screen="Title",le="0.01"} 3
+                test_export_seconds_bucket{screen="Title",le="0.025"} 3
+                test_export_seconds_bucket{screen="Title",le="0.05"} 3
+                test_export_seconds_bucket{screen="Title",le="0.1"} 3
+                test_export_seconds_bucket{screen="Title",le="0.25"} 3
+                test_export_seconds_bucket{screen="Title",le="0.5"} 3
+                test_export_seconds_bucket{screen="Title",le="1"} 3
+                test_export_seconds_bucket{screen="Title",le="2.5"} 4
+                test_export_seconds_bucket{screen="Title",le="5"} 4
+                test_export_seconds_bucket{screen="Title",le="10"} 4
+                test_export_seconds_bucket{screen="Title",le="+Inf"} 4
+                test_export_seconds_sum{screen="Title"} 2.00315
+                test_export_seconds_count{screen="Title"} 4
+                """), text);
+    }
+
+    @Test void countersAndLabelEscaping() throws IOException {
+        Counter plain = MetricsRegistry.counter("test_export_total", "Counter test.");
+        plain.add(41);
+        plain.inc();
+        MetricsRegistry.counter("test_export_labelled_total", "Labelled.", "path", "a\"b\\c").inc();
+
+        // The same name and labels give back the same series
+        assertSame(plain, MetricsRegistry.counter("test_export_total", "Counter test."));
+
+        String text = export();
+        assertTrue(text.contains("# TYPE test_export_total counter\ntest_export_total 42\n"), text);
+        assertTrue(text.contains("test_export_labelled_total{path=\"a\\\"b\\\\c\"} 1\n"), text);
+    }
+
+    @Test void nameKeepsItsType() {
+        MetricsRegistry.counter("test_export_typed", "Typed.");
+        assertThrows(IllegalArgumentException.class, () -> MetricsRegistry.histogram("test_export_typed", "Typed."));
+        assertThrows(IllegalArgumentException.class, () -> MetricsRegistry.counter("test_export_odd", "Odd.", "label"));
+    }
+
+    // ===== Helpers =====
+
+    private static String export() throws IOException {
+        StringBuilder out = new StringBuilder();
+        MetricsRegistry.writePrometheus(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package com.boardgames.tools;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Build-time sprite packer (run by the packSenetAtlas Gradle task).
+ *
+ * Reads atlas.spec from the source directory, pre-scales every sprite to the
+ * size it is actually drawn at, and shelf-packs them into one PNG per display
+ * scale, plus a .properties file with the region of each sprite:
+ *
+ *   name=x,y,width,height,logicalWidth,logicalHeight
+ *
+ * Usage: AtlasPacker <sourceDir> <outputDir> <atlasName> <scale>...
+ */
+public class AtlasPacker {
+
+    private static final int PADDING = 2; // keeps linear filtering from bleeding between sprites
+
+    private record Sprite(String name, File source, double width, double height, boolean fit) {}
+
+    private record Placed(Sprite sprite, BufferedImage image, int x, int y) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: AtlasPacker <sourceDir> <outputDir> <atlasName> <scale>...");
+            System.exit(1);
+        }
+
+        File sourceDir = new File(args[0]);
+        File outputDir = new File(args[1]);
+        String atlasName = args[2];
+
+        List<Sprite> sprites = readSpec(sourceDir);
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create " + outputDir);
+        }
+
+        for (int i = 3; i < args.length; i++) {
+            double scale = Double.parseDouble(args[i]);
+            pack(sprites, scale, outputDir, atlasName + "_" + formatScale(scale) + "x");
+        }
+    }
+
+    // ==================== SPEC ====================
+
+    private static List<Sprite> readSpec(File sourceDir) throws IOException {
+        List<Sprite> sprites = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new FileReader(new File(sourceDir, "atlas.spec")))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] f = line.split("\\s+");
+                if (f.length != 5) {
+                    throw new IOException("Bad atlas.spec line: " + line);
+                }
+                sprites.add(new Sprite(f[0], new File(sourceDir, f[1]),
+                        Double.parseDouble(f[2]), Double.parseDouble(f[3]), "fit".equals(f[4])));
+            }
+        }
+        return sprites;
+    }
+
+    // ==================== PACKING ====================
+
+    private static void pack(List<Sprite> sprites, double scale, File outputDir, String baseName) throws IOException {
+        List<BufferedImage> scaled = new ArrayList<>();
+        int totalArea = 0;
+        int widest = 0;
+        for (Sprite s : sprites) {
+            BufferedImage src = ImageIO.read(s.source());
+            if (src == null) {
+                throw new IOException("Cannot decode " + s.source());
+            }
+
+            // Target box in device pixels; "fit" keeps the aspect ratio inside the box
+            double w = s.width() * scale;
+            double h = s.height() * scale;
+            if (s.fit()) {
+                double ratio = Math.min(w / src.getWidth(), h / src.getHeight());
+                w = src.getWidth() * ratio;
+                h = src.getHeight() * ratio;
+            }
+            BufferedImage img = resize(src, Math.max(1, (int) Math.round(w)), Math.max(1, (int) Math.round(h)));
+            scaled.add(img);
+            totalArea += (img.getWidth() + PADDING) * (img.getHeight() + PADDING);
+            widest = Math.max(widest, img.getWidth() + PADDING);
+        }
+
+        // Roughly square atlas, power-of-two wide
+        int atlasWidth = Integer.highestOneBit(Math.max(widest, (int) Math.ceil(Math.sqrt(totalArea) * 1.2)) - 1) << 1;
+
+        // Shelf packing, tallest first
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < sprites.size(); i++) order.add(i);
+        order.sort(Comparator.comparingInt((Integer i) -> scaled.get(i).getHeight()).reversed());
+
+        List<Placed> placed = new ArrayList<>();
+        int x = 0, y = 0, shelfHeight = 0;
+        for (int i : order) {
+            BufferedImage img = scaled.get(i);
+            if (x + img.getWidth() + PADDING > atlasWidth) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            placed.add(new Placed(sprites.get(i), img, x, y));
+            x += img.getWidth() + PADDING;
+            shelfHeight = Math.max(shelfHeight, img.getHeight() + PADDING);
+        }
+        int atlasHeight = y + shelfHeight;
+
+        BufferedImage atlas = new BufferedImage(atlasWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        for (Placed p : placed) {
+            g.drawImage(p.image(), p.x(), p.y(), null);
+        }
+        g.dispose();
+
+        ImageIO.write(atlas, "png", new File(outputDir, baseName + ".png"));
+
+        try (Writer out = new FileWriter(new File(outputDir, baseName + ".properties"))) {
+            out.write("# Generated by AtlasPacker - do not edit\n");
+            out.write("scale=" + formatScale(scale) + "\n");
+            for (Placed p : placed) {
+                out.write(String.format(Locale.ROOT, "%s=%d,%d,%d,%d,%s,%s%n",
+                        p.sprite().name(), p.x(), p.y(), p.image().getWidth(), p.image().getHeight(),
+                        formatScale(p.image().getWidth() / scale), formatScale(p.image().getHeight() / scale)));
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%s: %dx%d, %d sprites%n", baseName, atlasWidth, atlasHeight, placed.size());
+    }
+
+    /**
+     * High quality resize. Big reductions are done in halving steps so
+     * bilinear filtering doesn't skip source pixels.
+     */
+    private static BufferedImage resize(BufferedImage src, int width, int height) {
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+
+        while (true) {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            if (w <= width * 2 && h <= height * 2) {
+                w = width;
+                h = height;
+            }
+
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+
+            if (w == width && h == height) {
+                return current;
+            }
+        }
+    }
+
+    private static String formatScale(double value) {
+        return value == Math.rint(value)
+                ? Long.toString((long) value)
+                : String.format(Locale.ROOT, "%.2f", value).replaceAll("0+$", "");
+    }
+}
@@ -0,0 +1,40 @@
+package com.boardgames.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Blocking client for SenetServer, one request at a time. Not thread-safe:
+ * use one client per thread.
+ */
+public class SenetClient implements SenetEndpoint {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    public SenetClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    @Override
+    public State request(byte op, long sessionId, int arg) throws IOException {
+        out.writeByte(op);
+        out.writeLong(sessionId);
+        out.writeByte(arg);
+        out.flush();
+        return new State(in.readByte(), in.readLong(), in.readLong(), in.readInt());
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.SenetGame;
+
+import java.io.IOException;
+
+import static com.boardgames.server.SenetProtocol.*;
+
+/**
+ * Something that answers SenetProtocol requests: a SenetClient talking to
+ * a server, or SenetSessions.connect() in the same JVM. One endpoint per
+ * thread; neither kind is thread-safe.
+ */
+public interface SenetEndpoint extends AutoCloseable {
+
+    /**
+     * A reply. board / flags are SenetGame.packBoard() / packFlags(),
+     * ready for SenetGame.restore().
+     */
+    record State(byte status, long sessionId, long board, int flags) {
+        public boolean ok() {
+            return status == OK;
+        }
+
+        public int currentPlayer() {
+            return SenetGame.packedPlayer(flags);
+        }
+
+        public int lastRoll() {
+            return SenetGame.packedRoll(flags);
+        }
+
+        public boolean moveHasPending() {
+            return SenetGame.packedMovePending(flags);
+        }
+
+        public boolean gameOver() {
+            return SenetGame.packedGameOver(flags);
+        }
+    }
+
+    State request(byte op, long sessionId, int arg) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    default State newGame() throws IOException {
+        return request(NEW, 0, 0);
+    }
+
+    default State roll(long sessionId) throws IOException {
+        return request(ROLL, sessionId, 0);
+    }
+
+    default State move(long sessionId, int fromSquare) throws IOException {
+        return request(MOVE, sessionId, fromSquare);
+    }
+
+    default State skip(long sessionId) throws IOException {
+        return request(SKIP, sessionId, 0);
+    }
+
+    default State state(long sessionId) throws IOException {
+        return request(STATE, sessionId, 0);
+    }
+
+    default State closeGame(long sessionId) throws IOException {
+        return request(CLOSE, sessionId, 0);
+    }
+}
@@ -0,0 +1,271 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.SenetAI;
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.games.senet.SenetPiece;
+import com.boardgames.metrics.LatencyHistogram;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for sizing a Senet server: thousands of simulated
+ * players, each on its own virtual thread, playing whole games with a
+ * random think time before every action.
+ *
+ * Runs against SenetSessions in this JVM (default), a SenetServer started
+ * in this JVM and reached over loopback (--loopback, one TCP connection
+ * per player), or a server elsewhere (--server host:port). Players pick
+ * random legal moves or ask SenetAI; AI thinking happens client-side and
+ * isn't counted as latency.
+ *
+ * Reports actions and games per second, request latency percentiles
+ * (measured after --warmup), heap per session (in-process and loopback
+ * runs measure this JVM, which also holds the simulated players) and the
+ * GC pauses seen while it ran.
+ *
+ * Usage: SenetLoadTest [--sessions N] [--duration S] [--warmup S]
+ *                      [--players random|easy|medium|hard] [--think MIN,MAX]
+ *                      [--loopback | --server host:port]
+ *   ./gradlew :server:loadTest --args="--sessions 5000 --think 20,200 --loopback"
+ */
+public class SenetLoadTest {
+
+    private final int sessionCount;
+    private final SenetAI.Difficulty difficulty;   // null: random legal moves
+    private final int thinkMin;
+    private final int thinkMax;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram gcPauses = new LatencyHistogram();
+    private final LongAdder actions = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private interface EndpointFactory {
+        SenetEndpoint open() throws IOException;
+    }
+
+    public SenetLoadTest(int sessionCount, SenetAI.Difficulty difficulty, int thinkMin, int thinkMax) {
+        this.sessionCount = sessionCount;
+        this.difficulty = difficulty;
+        this.thinkMin = thinkMin;
+        this.thinkMax = thinkMax;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int sessions = 2000;
+        int duration = 30;
+        int warmup = 5;
+        String players = "random";
+        int[] think = {50, 500};
+        String target = null;      // null: in-process
+        boolean loopback = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sessions" -> sessions = Integer.parseInt(args[++i]);
+                case "--duration" -> duration = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--players" -> players = args[++i];
+                case "--think" -> {
+                    String[] range = args[++i].split(",");
+                    think = new int[]{Integer.parseInt(range[0]), Integer.parseInt(range[range.length - 1])};
+                }
+                case "--server" -> target = args[++i];
+                case "--loopback" -> loopback = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        SenetAI.Difficulty difficulty = players.equals("random") ? null
+                : SenetAI.Difficulty.valueOf(players.toUpperCase(Locale.ROOT));
+
+        SenetLoadTest test = new SenetLoadTest(sessions, difficulty, think[0], think[1]);
+        SenetServer server = null;
+        EndpointFactory endpoints;
+        String mode;
+        if (loopback) {
+            server = new SenetServer(InetAddress.getLoopbackAddress(), 0, 0, sessions * 2);
+            server.start();
+            int port = server.getPort();
+            endpoints = () -> new SenetClient("127.0.0.1", port);
+            mode = "loopback :" + port;
+        } else if (target != null) {
+            String[] hostPort = target.split(":");
+            endpoints = () -> new SenetClient(hostPort[0], Integer.parseInt(hostPort[1]));
+            mode = "server " + target;
+        } else {
+            SenetSessions local = new SenetSessions(sessions * 2);
+            endpoints = local::connect;
+            mode = "in-process";
+        }
+
+        System.out.printf(Locale.ROOT, "Senet load test: %,d sessions, %s, %s players, think %d-%d ms, %ds (+%ds warmup)%n",
+                sessions, mode, players, think[0], think[1], duration, warmup);
+        try {
+            test.run(endpoints, warmup, duration, target == null);
+        } finally {
+            if (server != null) server.close();
+        }
+    }
+
+    // ===== Run =====
+
+    private void run(EndpointFactory endpoints, int warmupSeconds, int durationSeconds, boolean localHeap)
+            throws InterruptedException {
+        watchGc();
+        long heapBefore = usedHeapAfterGc();
+
+        ThreadFactory threads = Thread.ofVirtual().name("load-", 0).factory();
+        List<Thread> players = new ArrayList<>(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            Thread t = threads.newThread(() -> play(endpoints));
+            players.add(t);
+            t.start();
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        // Everyone is mid-game by now, sessions on the server and players here
+        long heapPerSession = (usedHeapAfterGc() - heapBefore) / sessionCount;
+        gcPauses.reset();
+        long startActions = actions.sum();
+        long startGames = games.sum();
+        measuring = true;
+        long begin = System.nanoTime();
+
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        measuring = false;
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        long doneActions = actions.sum() - startActions;
+        long doneGames = games.sum() - startGames;
+        running = false;
+        for (Thread t : players) {
+            t.join();
+        }
+
+        System.out.printf(Locale.ROOT, "  throughput  %,.0f actions/s, %,.1f games/s%s%n",
+                doneActions / seconds, doneGames / seconds,
+                errors.sum() > 0 ? String.format(Locale.ROOT, " (%,d errors)", errors.sum()) : "");
+        System.out.printf(Locale.ROOT, "  latency     p50 %s  p99 %s  p99.9 %s  max %s  (%,d requests)%n",
+                time(latency.valueAtPercentile(50)), time(latency.valueAtPercentile(99)),
+                time(latency.valueAtPercentile(99.9)), time(latency.max()), latency.count());
+        if (localHeap) {
+            System.out.printf(Locale.ROOT, "  heap        %,d bytes per session (server + simulated player)%n", heapPerSession);
+        }
+        System.out.printf(Locale.ROOT, "  gc          %,d pauses, total %s, p99 %s, max %s%n",
+                gcPauses.count(), time(gcPauses.sum()), time(gcPauses.valueAtPercentile(99)), time(gcPauses.max()));
+    }
+
+    /**
+     * One simulated player: whole games, both sides, back to back.
+     */
+    private void play(EndpointFactory endpoints) {
+        SenetGame mirror = new SenetGame();
+        SenetAI ai = difficulty == null ? null : new SenetAI(mirror, difficulty);
+
+        try (SenetEndpoint endpoint = endpoints.open()) {
+            think(); // spread the start so players don't move in lockstep
+            while (running) {
+                SenetEndpoint.State state = timed(endpoint, SenetProtocol.NEW, 0, 0);
+                if (!state.ok()) return;
+                long id = state.sessionId();
+
+                while (running && !state.gameOver()) {
+                    think();
+                    if (!state.moveHasPending()) {
+                        state = timed(endpoint, SenetProtocol.ROLL, id, 0);
+                    } else {
+                        mirror.restore(state.board(), state.flags());
+                        int square = chooseSquare(mirror, ai);
+                        state = square == 0
+                                ? timed(endpoint, SenetProtocol.SKIP, id, 0)
+                                : timed(endpoint, SenetProtocol.MOVE, id, square);
+                    }
+                    if (!state.ok()) {
+                        errors.increment();
+                        state = endpoint.state(id);
+                        if (!state.ok()) break;
+                    }
+                }
+                timed(endpoint, SenetProtocol.CLOSE, id, 0);
+                if (state.gameOver()) games.increment();
+            }
+        } catch (IOException e) {
+            errors.increment();
+            System.err.println("Player dropped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int chooseSquare(SenetGame game, SenetAI ai) {
+        if (ai != null) {
+            SenetPiece piece = ai.choosePiece();
+            return piece == null ? 0 : piece.getPosition();
+        }
+        List<SenetPiece> valid = game.getValidPieces(game.getCurrentPlayer());
+        return valid.isEmpty() ? 0 : valid.get(ThreadLocalRandom.current().nextInt(valid.size())).getPosition();
+    }
+
+    private SenetEndpoint.State timed(SenetEndpoint endpoint, byte op, long id, int arg) throws IOException {
+        long start = System.nanoTime();
+        SenetEndpoint.State state = endpoint.request(op, id, arg);
+        if (measuring) {
+            latency.recordSince(start);
+        }
+        actions.increment();
+        return state;
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMax > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMin, thinkMax + 1));
+        }
+    }
+
+    // ===== JVM =====
+
+    private void watchGc() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // ZGC reports whole concurrent cycles on a separate bean; those aren't pauses
+            if (!(gc instanceof NotificationEmitter emitter) || gc.getName().endsWith("Cycles")) continue;
+            emitter.addNotificationListener((notification, handback) -> {
+                if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                if (measuring) {
+                    gcPauses.record(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+                }
+            }, null, null);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static String time(long nanos) {
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1f us", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.2f ms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2f s", nanos / 1e9);
+    }
+}
@@ -0,0 +1,65 @@
+package com.boardgames.server;
+
+/**
+ * Wire format of the Senet server: fixed-size binary frames, big-endian,
+ * no length prefix and no text parsing.
+ *
+ * Request (10 bytes):  [op:1][sessionId:8][arg:1]
+ * Response (21 bytes): [status:1][sessionId:8][board:8][flags:4]
+ *
+ * 'arg' is the square to move from for MOVE and ignored otherwise. The
+ * board and flags in a response are SenetGame.packBoard() / packFlags()
+ * after the request was applied, so every reply is the full state and a
+ * client never has to track anything. NEW ignores the session id and
+ * answers with the new one.
+ *
+ * Spectators connect to a separate port, send the 8-byte session id and
+ * from then on only receive: one snapshot, then small event frames (see
+ * SpectatorHub).
+ */
+public final class SenetProtocol {
+
+    public static final int REQUEST_BYTES = 10;
+    public static final int RESPONSE_BYTES = 21;
+
+    // ===== Ops =====
+    public static final byte NEW = 1;
+    public static final byte ROLL = 2;
+    public static final byte MOVE = 3;
+    public static final byte SKIP = 4;
+    public static final byte STATE = 5;
+    public static final byte CLOSE = 6;
+
+    // ===== Status =====
+    public static final byte OK = 0;
+    public static final byte UNKNOWN_SESSION = 1;
+    public static final byte ILLEGAL = 2;      // not allowed in this position, state unchanged
+    public static final byte BAD_REQUEST = 3;
+    public static final byte FULL = 4;         // session limit reached
+
+    // ===== Spectator stream =====
+    // Frames: [length:2][seq:4][events...], length counting what follows it.
+    // Events, one type byte each plus:
+    public static final byte EV_SNAPSHOT = 1;   // [board:8][flags:4] full state, replaces everything
+    public static final byte EV_ROLL = 2;       // [roll:1]
+    public static final byte EV_MOVE = 3;       // [from:1][to:1]
+    public static final byte EV_SWAP = 4;       // [from:1][to:1] the piece on 'to' goes back to 'from'
+    public static final byte EV_BEAR_OFF = 5;   // [from:1]
+    public static final byte EV_TURN = 6;       // [player:1] PlayerColor ordinal
+    public static final byte EV_GAME_OVER = 7;  // [winner:1]
+    public static final byte EV_CLOSED = 8;     // session closed or expired, stream ends
+
+    private SenetProtocol() {
+    }
+
+    public static String statusName(byte status) {
+        return switch (status) {
+            case OK -> "OK";
+            case UNKNOWN_SESSION -> "UNKNOWN_SESSION";
+            case ILLEGAL -> "ILLEGAL";
+            case BAD_REQUEST -> "BAD_REQUEST";
+            case FULL -> "FULL";
+            default -> "STATUS_" + status;
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.metrics.MetricsServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.boardgames.server.SenetProtocol.*;
+
+/**
+ * Headless Senet server: many games in memory, played over TCP with the
+ * binary frames in SenetProtocol.
+ *
+ * Every connection gets its own virtual thread running plain blocking
+ * reads and writes, so thousands of mostly idle clients cost a small
+ * stack each instead of an OS thread. A connection can drive any number
+ * of sessions; sessions outlive connections and are dropped after
+ * IDLE_TIMEOUT without requests (or on CLOSE).
+ *
+ * The games themselves and the rules for changing them live in
+ * SenetSessions; this class is the networking around it.
+ *
+ * Spectators are served separately by a SpectatorHub on its own port.
+ *
+ * Usage: SenetServer [port] [bindAddress] [spectatorPort]
+ *        (defaults 7878, 127.0.0.1, port + 1)
+ */
+public class SenetServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7878;
+    private static final int MAX_SESSIONS = 200_000;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final long SWEEP_SECONDS = 30;
+
+    private final ServerSocket serverSocket;
+    private final SenetSessions sessions;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory connectionThreads = Thread.ofVirtual().name("senet-conn-", 0).factory();
+    private final ScheduledExecutorService sweeper;
+    private final SpectatorHub spectators;
+
+    private volatile boolean running;
+    private Thread acceptThread;
+
+    /**
+     * Bind both ports right away; port 0 picks a free port (see getPort()
+     * and getSpectatorPort()).
+     */
+    public SenetServer(InetAddress bindAddress, int port, int spectatorPort, int maxSessions) throws IOException {
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.setReuseAddress(true);
+        this.serverSocket.bind(new InetSocketAddress(bindAddress, port), 1024);
+        this.sessions = new SenetSessions(maxSessions);
+        this.spectators = new SpectatorHub(bindAddress, spectatorPort, sessions::get);
+        this.sessions.setSpectatorHub(spectators);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "senet-session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        InetAddress bind = InetAddress.getByName(args.length > 1 ? args[1] : "127.0.0.1");
+        int spectatorPort = args.length > 2 ? Integer.parseInt(args[2]) : port + 1;
+
+        SenetServer server = new SenetServer(bind, port, spectatorPort, MAX_SESSIONS);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        MetricsServer.startIfConfigured();
+        System.out.println("Senet server listening on " + bind.getHostAddress() + ":" + server.getPort()
+                + ", spectators on " + server.getSpectatorPort());
+        server.acceptThread.join();
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        sweeper.scheduleWithFixedDelay(this::expireIdleSessions, SWEEP_SECONDS, SWEEP_SECONDS, TimeUnit.SECONDS);
+        spectators.start();
+        acceptThread = new Thread(this::acceptLoop, "senet-accept");
+        acceptThread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        for (Socket s : connections) {
+            try {
+                s.close();
+            } catch (IOException ignored) {
+            }
+        }
+        sweeper.shutdownNow();
+        spectators.close();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getSpectatorPort() {
+        return spectators.getPort();
+    }
+
+    public SpectatorHub getSpectatorHub() {
+        return spectators;
+    }
+
+    public SenetSessions getSessions() {
+        return sessions;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    // ===== Connections =====
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true); // tiny frames, answer each one right away
+                connections.add(socket);
+                connectionThreads.newThread(() -> serve(socket)).start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        SenetGame game = new SenetGame(); // scratch board for this connection's requests
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (running) {
+                byte op = in.readByte();
+                long sessionId = in.readLong();
+                int arg = in.readUnsignedByte();
+
+                reply(out, sessions.handle(op, sessionId, arg, game));
+                // Pipelined requests already buffered get answered in one write
+                if (in.available() < REQUEST_BYTES) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException e) {
+            // client hung up between frames
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Connection dropped: " + e.getMessage());
+            }
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private static void reply(DataOutputStream out, SenetEndpoint.State state) throws IOException {
+        out.writeByte(state.status());
+        out.writeLong(state.sessionId());
+        out.writeLong(state.board());
+        out.writeInt(state.flags());
+    }
+
+    private void expireIdleSessions() {
+        sessions.expireIdle(IDLE_TIMEOUT_NANOS);
+    }
+}
@@ -0,0 +1,22 @@
+package com.boardgames.server;
+
+/**
+ * One game on the server. An idle session is just its packed position
+ * (SenetGame.packBoard() / packFlags()) and a timestamp, so tens of
+ * thousands of them cost a few MB; a connection thread unpacks it into
+ * its own scratch SenetGame while serving a request.
+ */
+final class SenetSession {
+
+    final long id;
+    long board;
+    int flags;
+    volatile long lastUsed;
+
+    SenetSession(long id, long board, int flags) {
+        this.id = id;
+        this.board = board;
+        this.flags = flags;
+        this.lastUsed = System.nanoTime();
+    }
+}
@@ -0,0 +1,176 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.DiceSticks;
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.games.senet.SenetPiece;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.boardgames.server.SenetProtocol.*;
+
+/**
+ * The games a server holds, and the rules for changing them: what a
+ * SenetServer connection calls for every frame, usable in-process too
+ * through connect() (load tests, embedding).
+ *
+ * An idle session is just its packed position; a request unpacks it into
+ * the caller's scratch SenetGame, applies the op with the same legality
+ * checks the UI makes, and packs it back, all under the session's lock.
+ * Nothing blocks inside that section, so holding a monitor there doesn't
+ * pin a virtual thread's carrier for long.
+ */
+public class SenetSessions {
+
+    private final Map<Long, SenetSession> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private SpectatorHub spectators;
+
+    public SenetSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Publish changes to this hub's watchers (set before serving requests).
+     */
+    public void setSpectatorHub(SpectatorHub spectators) {
+        this.spectators = spectators;
+    }
+
+    SenetSession get(long sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * An in-process endpoint with its own scratch game; one per thread.
+     */
+    public SenetEndpoint connect() {
+        SenetGame scratch = new SenetGame();
+        return new SenetEndpoint() {
+            @Override
+            public State request(byte op, long sessionId, int arg) {
+                return handle(op, sessionId, arg, scratch);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    // ===== Requests =====
+
+    /**
+     * Serve one request, using 'game' as scratch space.
+     */
+    public SenetEndpoint.State handle(byte op, long sessionId, int arg, SenetGame game) {
+        if (op == NEW) {
+            if (sessions.size() >= maxSessions) {
+                return new SenetEndpoint.State(FULL, 0, 0, 0);
+            }
+            game.reset();
+            SenetSession session = newSession(game.packBoard(), game.packFlags());
+            return new SenetEndpoint.State(OK, session.id, session.board, session.flags);
+        }
+        if (op < ROLL || op > CLOSE) {
+            return new SenetEndpoint.State(BAD_REQUEST, sessionId, 0, 0);
+        }
+
+        SenetSession session = op == CLOSE ? sessions.remove(sessionId) : sessions.get(sessionId);
+        if (session == null) {
+            return new SenetEndpoint.State(UNKNOWN_SESSION, sessionId, 0, 0);
+        }
+
+        byte status;
+        long board;
+        int flags;
+        synchronized (session) {
+            if (op == ROLL || op == MOVE || op == SKIP) {
+                game.restore(session.board, session.flags);
+                status = apply(game, op, arg);
+                if (status == OK) {
+                    long oldBoard = session.board;
+                    int oldFlags = session.flags;
+                    session.board = game.packBoard();
+                    session.flags = game.packFlags();
+                    if (spectators != null && spectators.isWatched(sessionId)) {
+                        spectators.publish(sessionId, op == ROLL, oldBoard, oldFlags, session.board, session.flags);
+                    }
+                }
+            } else {
+                status = OK;
+            }
+            board = session.board;
+            flags = session.flags;
+        }
+        if (op == CLOSE && spectators != null) {
+            spectators.sessionClosed(sessionId);
+        }
+        session.lastUsed = System.nanoTime();
+        return new SenetEndpoint.State(status, sessionId, board, flags);
+    }
+
+    /**
+     * Apply one op to the unpacked game, refusing anything the UI wouldn't allow.
+     */
+    private static byte apply(SenetGame game, byte op, int square) {
+        if (game.isGameOver()) return ILLEGAL;
+
+        switch (op) {
+            case ROLL -> {
+                if (game.isMoveHasPending()) return ILLEGAL;
+                // A pending carry-over still wins over the fresh throw, like rollDice()
+                game.applyRoll(DiceSticks.roll(ThreadLocalRandom.current()));
+            }
+            case MOVE -> {
+                if (square < 1 || square > 30) return BAD_REQUEST;
+                SenetPiece piece = game.getBoard().getPieceAt(square);
+                if (!game.isMoveHasPending() || piece == null || piece.getColor() != game.getCurrentPlayer()
+                        || !(game.canMoveForward(piece) || game.canMoveBackward(piece))) {
+                    return ILLEGAL;
+                }
+                game.movePiece(piece);
+            }
+            case SKIP -> {
+                // Not hasAnyValidMoves(): that one already passes the turn when it finds nothing
+                if (!game.isMoveHasPending() || !game.getValidPieces(game.getCurrentPlayer()).isEmpty()) {
+                    return ILLEGAL;
+                }
+                game.skipTurn();
+            }
+            default -> {
+                return BAD_REQUEST;
+            }
+        }
+        return OK;
+    }
+
+    private SenetSession newSession(long board, int flags) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long id = random.nextLong();
+            if (id == 0) continue;
+            SenetSession session = new SenetSession(id, board, flags);
+            if (sessions.putIfAbsent(id, session) == null) {
+                return session;
+            }
+        }
+    }
+
+    /**
+     * Drop sessions idle for longer than 'timeoutNanos'.
+     */
+    public void expireIdle(long timeoutNanos) {
+        long now = System.nanoTime();
+        for (SenetSession s : sessions.values()) {
+            if (now - s.lastUsed > timeoutNanos && sessions.remove(s.id, s) && spectators != null) {
+                spectators.sessionClosed(s.id);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.SenetGame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import static com.boardgames.server.SenetProtocol.*;
+
+/**
+ * Blocking spectator: subscribes to one session and rebuilds the board,
+ * turn, last roll and winner from the event stream.
+ */
+public class SpectatorClient implements AutoCloseable {
+
+    /**
+     * What a watcher sees after a frame. board uses the packBoard() layout;
+     * player and winner are PlayerColor ordinals, winner -1 while playing.
+     */
+    public record View(int seq, long board, int player, int lastRoll, int winner, boolean closed) {}
+
+    private final Socket socket;
+    private final DataInputStream in;
+
+    private int seq;
+    private long board;
+    private int player;
+    private int lastRoll;
+    private int winner = -1;
+    private boolean closed;
+    private long frames;
+    private long snapshots;
+
+    public SpectatorClient(String host, int spectatorPort, long sessionId) throws IOException {
+        this(new Socket(host, spectatorPort), sessionId);
+    }
+
+    /**
+     * Watch over a socket that's already connected to the spectator port
+     * (e.g. one set up with a small receive buffer).
+     */
+    SpectatorClient(Socket socket, long sessionId) throws IOException {
+        this.socket = socket;
+        this.socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeLong(sessionId);
+        out.flush();
+    }
+
+    /**
+     * Block for the next frame and apply it.
+     */
+    public View next() throws IOException {
+        int length = in.readUnsignedShort();
+        seq = in.readInt();
+        int remaining = length - 4;
+        while (remaining > 0) {
+            byte type = in.readByte();
+            remaining--;
+            switch (type) {
+                case EV_SNAPSHOT -> {
+                    board = in.readLong();
+                    int flags = in.readInt();
+                    player = SenetGame.packedPlayer(flags);
+                    lastRoll = SenetGame.packedRoll(flags);
+                    winner = SenetGame.packedWinner(flags);
+                    remaining -= 12;
+                    snapshots++;
+                }
+                case EV_ROLL -> {
+                    lastRoll = in.readUnsignedByte();
+                    remaining--;
+                }
+                case EV_MOVE, EV_SWAP -> {
+                    int from = in.readUnsignedByte();
+                    int to = in.readUnsignedByte();
+                    int mover = cell(from);
+                    set(from, type == EV_SWAP ? cell(to) : 0);
+                    set(to, mover);
+                    remaining -= 2;
+                }
+                case EV_BEAR_OFF -> {
+                    set(in.readUnsignedByte(), 0);
+                    remaining--;
+                }
+                case EV_TURN -> {
+                    player = in.readUnsignedByte();
+                    remaining--;
+                }
+                case EV_GAME_OVER -> {
+                    winner = in.readUnsignedByte();
+                    remaining--;
+                }
+                case EV_CLOSED -> closed = true;
+                default -> throw new IOException("Unknown spectator event " + type);
+            }
+        }
+        frames++;
+        return view();
+    }
+
+    public View view() {
+        return new View(seq, board, player, lastRoll, winner, closed);
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    /**
+     * Snapshots received, including the first; more means this watcher fell behind.
+     */
+    public long snapshots() {
+        return snapshots;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private int cell(int square) {
+        return SenetGame.packedSquare(board, square);
+    }
+
+    private void set(int square, int code) {
+        int shift = (square - 1) * 2;
+        board = board & ~(3L << shift) | (long) code << shift;
+    }
+}
@@ -0,0 +1,417 @@
+package com.boardgames.server;
+
+import com.boardgames.games.GameState;
+import com.boardgames.games.senet.SenetGame;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongFunction;
+
+import static com.boardgames.server.SenetProtocol.*;
+
+/**
+ * Fans a session's play out to any number of spectators.
+ *
+ * Each change is encoded once, as a few bytes of events worked out from the
+ * packed position before and after it (roll, move, swap, bear-off, turn,
+ * game over), and the same read-only frame goes to every watcher with a
+ * non-blocking write. A watcher that can't keep up gets a short backlog;
+ * past MAX_BACKLOG_BYTES the backlog is dropped and it gets one fresh
+ * snapshot once its socket drains, so a slow spectator sees fewer,
+ * coarser updates but never holds up the game or the other watchers.
+ *
+ * publish() runs on the player's connection thread under the session
+ * lock; accepting, reading and finishing partial writes happen on one
+ * selector thread. Snapshots are taken under the session lock as well, so
+ * a snapshot and the events after it always line up.
+ */
+public class SpectatorHub implements AutoCloseable {
+
+    private static final int MAX_BACKLOG_BYTES = 16 * 1024;
+    private static final int MAX_FRAME_BYTES = 32;
+
+    private static final class Topic {
+        final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+        int seq; // guarded by the session lock
+    }
+
+    private final class Spectator {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer hello = ByteBuffer.allocate(8);
+        final ArrayDeque<ByteBuffer> backlog = new ArrayDeque<>();
+        long sessionId;
+        int backlogBytes;
+        boolean stale = true;   // needs a snapshot before events make sense
+        boolean closing;
+
+        Spectator(SocketChannel channel) throws IOException {
+            this.channel = channel;
+            this.key = channel.register(selector, SelectionKey.OP_READ, this);
+        }
+
+        synchronized void send(ByteBuffer frame) {
+            if (stale || closing) return;
+            if (backlog.isEmpty()) {
+                ByteBuffer b = frame.duplicate();
+                if (!write(b)) return;
+                if (b.hasRemaining()) {
+                    backlog.add(b);
+                    backlogBytes = b.remaining();
+                    wantWrite();
+                }
+            } else if (backlogBytes + frame.remaining() > MAX_BACKLOG_BYTES) {
+                // Falling behind: keep the frame on the wire, skip to a snapshot
+                ByteBuffer head = backlog.peekFirst();
+                backlog.clear();
+                backlog.add(head);
+                backlogBytes = head.remaining();
+                stale = true;
+            } else {
+                backlog.add(frame.duplicate());
+                backlogBytes += frame.remaining();
+            }
+        }
+
+        /**
+         * Write what the socket takes; false if the spectator is gone.
+         */
+        boolean write(ByteBuffer b) {
+            try {
+                channel.write(b);
+                return true;
+            } catch (IOException e) {
+                closing = true;
+                backlog.clear();
+                wantWrite(); // let the selector thread clean up
+                return false;
+            }
+        }
+
+        /**
+         * Drain the backlog (selector thread). True when it's empty.
+         */
+        synchronized boolean flush() {
+            while (!backlog.isEmpty()) {
+                ByteBuffer head = backlog.peekFirst();
+                int before = head.remaining();
+                if (!write(head)) return true;
+                backlogBytes -= before - head.remaining();
+                if (head.hasRemaining()) return false;
+                backlog.removeFirst();
+            }
+            return true;
+        }
+
+        void wantWrite() {
+            try {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                selector.wakeup();
+            } catch (CancelledKeyException ignored) {
+            }
+        }
+    }
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final LongFunction<SenetSession> sessions;
+    private final Map<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final ByteBuffer discard = ByteBuffer.allocate(256);
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Bind the spectator port; 'sessions' looks up live sessions for snapshots.
+     */
+    public SpectatorHub(InetAddress bindAddress, int port, LongFunction<SenetSession> sessions) throws IOException {
+        this.sessions = sessions;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(bindAddress, port), 1024);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::run, "senet-spectators");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            if (thread != null) thread.join();
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        } catch (IOException ignored) {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int spectatorCount() {
+        int count = 0;
+        for (Topic t : topics.values()) count += t.spectators.size();
+        return count;
+    }
+
+    // ===== Game side =====
+
+    /**
+     * Cheap check so unwatched sessions skip the encoding entirely.
+     */
+    public boolean isWatched(long sessionId) {
+        return topics.containsKey(sessionId);
+    }
+
+    /**
+     * A request changed the session from (oldBoard, oldFlags) to (board, flags).
+     * Call under the session lock.
+     */
+    public void publish(long sessionId, boolean rolled, long oldBoard, int oldFlags, long board, int flags) {
+        Topic topic = topics.get(sessionId);
+        if (topic == null) return;
+
+        ByteBuffer frame = encodeUpdate(++topic.seq, rolled, oldBoard, oldFlags, board, flags);
+        for (Spectator s : topic.spectators) {
+            s.send(frame);
+        }
+    }
+
+    /**
+     * The session is gone (closed or expired): tell its watchers and hang up.
+     */
+    public void sessionClosed(long sessionId) {
+        Topic topic = topics.remove(sessionId);
+        if (topic == null) return;
+
+        ByteBuffer frame = ByteBuffer.allocate(7);
+        frame.putShort((short) 5).putInt(topic.seq + 1).put(EV_CLOSED).flip();
+        for (Spectator s : topic.spectators) {
+            synchronized (s) {
+                s.stale = false; // a lagging watcher still gets told
+                s.send(frame);
+                s.closing = true;
+                s.wantWrite();
+            }
+        }
+    }
+
+    // ===== Selector thread =====
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.err.println("Spectator selector failed: " + e.getMessage());
+                return;
+            }
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                try {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Spectator s = (Spectator) key.attachment();
+                    if (key.isReadable()) read(s);
+                    if (key.isValid() && key.isWritable()) writable(s);
+                } catch (IOException | CancelledKeyException e) {
+                    if (key.attachment() instanceof Spectator s) drop(s);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            new Spectator(channel);
+        }
+    }
+
+    private void read(Spectator s) throws IOException {
+        ByteBuffer into = s.hello.hasRemaining() ? s.hello : discard.clear();
+        if (s.channel.read(into) < 0) {
+            drop(s);
+        } else if (into == s.hello && !s.hello.hasRemaining()) {
+            subscribe(s, s.hello.getLong(0));
+        }
+    }
+
+    private void subscribe(Spectator s, long sessionId) {
+        s.sessionId = sessionId;
+        SenetSession session = sessions.apply(sessionId);
+        if (session == null) {
+            ByteBuffer frame = ByteBuffer.allocate(7);
+            frame.putShort((short) 5).putInt(0).put(EV_CLOSED).flip();
+            synchronized (s) {
+                s.stale = false;
+                s.send(frame);
+                s.closing = true;
+                s.wantWrite();
+            }
+            return;
+        }
+        topics.computeIfAbsent(sessionId, id -> new Topic()).spectators.add(s);
+        snapshot(s, session);
+    }
+
+    private void writable(Spectator s) {
+        if (!s.flush()) return;
+
+        boolean stale, closing;
+        synchronized (s) {
+            stale = s.stale;
+            closing = s.closing;
+        }
+        if (closing) {
+            drop(s);
+            return;
+        }
+        SenetSession session = stale ? sessions.apply(s.sessionId) : null;
+        if (session != null) {
+            snapshot(s, session);
+        }
+        synchronized (s) {
+            if (s.backlog.isEmpty() && !s.closing) {
+                s.key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    /**
+     * Queue a full snapshot and start the event stream from there.
+     */
+    private void snapshot(Spectator s, SenetSession session) {
+        synchronized (session) {
+            Topic topic = topics.get(s.sessionId);
+            if (topic == null) return;
+            ByteBuffer frame = ByteBuffer.allocate(19);
+            frame.putShort((short) 17).putInt(topic.seq).put(EV_SNAPSHOT)
+                    .putLong(session.board).putInt(session.flags).flip();
+            synchronized (s) {
+                s.stale = false;
+                s.send(frame);
+            }
+        }
+    }
+
+    private void drop(Spectator s) {
+        s.key.cancel();
+        try {
+            s.channel.close();
+        } catch (IOException ignored) {
+        }
+        Topic topic = topics.get(s.sessionId);
+        if (topic != null) {
+            topic.spectators.remove(s);
+            if (topic.spectators.isEmpty()) {
+                topics.remove(s.sessionId, topic);
+            }
+        }
+    }
+
+    // ===== Encoding =====
+
+    /**
+     * Events turning the old position into the new one. Board changes that
+     * aren't a single move, swap or bear-off fall back to a snapshot.
+     */
+    static ByteBuffer encodeUpdate(int seq, boolean rolled, long oldBoard, int oldFlags, long board, int flags) {
+        ByteBuffer frame = ByteBuffer.allocate(MAX_FRAME_BYTES);
+        frame.position(2);
+        frame.putInt(seq);
+
+        int roll = SenetGame.packedRoll(flags);
+        boolean rollChanged = roll != SenetGame.packedRoll(oldFlags);
+        if (rolled) {
+            frame.put(EV_ROLL).put((byte) roll);
+        }
+        if (!boardDelta(frame, oldBoard, oldFlags, board)) {
+            frame.position(6);
+            frame.put(EV_SNAPSHOT).putLong(board).putInt(flags);
+        } else {
+            if (!rolled && rollChanged) {
+                frame.put(EV_ROLL).put((byte) roll); // carried-over remainder
+            }
+            int player = SenetGame.packedPlayer(flags);
+            if (player != SenetGame.packedPlayer(oldFlags)) {
+                frame.put(EV_TURN).put((byte) player);
+            }
+            int winner = SenetGame.packedWinner(flags);
+            if (winner != GameState.NO_PLAYER && SenetGame.packedWinner(oldFlags) == GameState.NO_PLAYER) {
+                frame.put(EV_GAME_OVER).put((byte) winner);
+            }
+        }
+        frame.putShort(0, (short) (frame.position() - 2));
+        return frame.flip().asReadOnlyBuffer();
+    }
+
+    private static boolean boardDelta(ByteBuffer frame, long oldBoard, int oldFlags, long board) {
+        long diff = oldBoard ^ board;
+        long cells = (diff | diff >>> 1) & 0x5555555555555555L; // low bit of each changed square
+        int changed = Long.bitCount(cells);
+        if (changed == 0) return true;
+
+        int a = Long.numberOfTrailingZeros(cells) / 2 + 1;
+        if (changed == 1) {
+            if (cell(board, a) != 0) return false;
+            frame.put(EV_BEAR_OFF).put((byte) a);
+            return true;
+        }
+        if (changed != 2) return false;
+
+        int b = (63 - Long.numberOfLeadingZeros(cells)) / 2 + 1;
+        int a0 = cell(oldBoard, a), a1 = cell(board, a);
+        int b0 = cell(oldBoard, b), b1 = cell(board, b);
+        if (a1 == 0 && b0 == 0 && a0 == b1) {
+            frame.put(EV_MOVE).put((byte) a).put((byte) b);
+        } else if (b1 == 0 && a0 == 0 && b0 == a1) {
+            frame.put(EV_MOVE).put((byte) b).put((byte) a);
+        } else if (a0 != 0 && b0 != 0 && a0 == b1 && b0 == a1) {
+            int mover = SenetGame.packedPlayer(oldFlags) + 1;
+            int from = a0 == mover ? a : b;
+            frame.put(EV_SWAP).put((byte) from).put((byte) (from == a ? b : a));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static int cell(long board, int square) {
+        return SenetGame.packedSquare(board, square);
+    }
+}
@@ -0,0 +1,141 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.games.senet.SenetPiece;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static com.boardgames.server.SenetProtocol.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Request and response frames through a real server on loopback: what
+ * SenetClient encodes the server decodes, and what the server sends back
+ * decodes to the session's state as SenetSessions holds it. The raw tests
+ * pin the byte layout in SenetProtocol's doc.
+ */
+class SenetProtocolTest {
+
+    private SenetServer server;
+    private SenetEndpoint local;
+
+    @BeforeEach void startServer() throws IOException {
+        server = new SenetServer(InetAddress.getLoopbackAddress(), 0, 0, 100);
+        server.start();
+        local = server.getSessions().connect();
+    }
+
+    @AfterEach void stopServer() {
+        server.close();
+    }
+
+    @Test void clientRequestsRoundTrip() throws IOException {
+        Random random = new Random(5);
+        SenetGame mirror = new SenetGame();
+        try (SenetClient client = new SenetClient("127.0.0.1", server.getPort())) {
+            SenetEndpoint.State state = client.newGame();
+            assertTrue(state.ok());
+            long id = state.sessionId();
+            assertNotEquals(0, id);
+
+            int requests = 0;
+            while (!state.gameOver() && requests++ < 5000) {
+                if (!state.moveHasPending()) {
+                    state = client.roll(id);
+                } else {
+                    mirror.restore(state.board(), state.flags());
+                    List<SenetPiece> valid = mirror.getValidPieces(mirror.getCurrentPlayer());
+                    state = valid.isEmpty()
+                            ? client.skip(id)
+                            : client.move(id, valid.get(random.nextInt(valid.size())).getPosition());
+                }
+                assertTrue(state.ok(), statusName(state.status()) + " after " + requests + " requests");
+                // Every field decodes to exactly what the session holds
+                assertEquals(local.state(id), state);
+            }
+            assertTrue(state.gameOver(), "game unfinished after " + requests + " requests");
+
+            // The reply is restore()-ready: packing it again gives the same bytes
+            mirror.restore(state.board(), state.flags());
+            assertEquals(state.board(), mirror.packBoard());
+            assertEquals(state.flags(), mirror.packFlags());
+
+            assertEquals(state, client.closeGame(id));
+            assertEquals(UNKNOWN_SESSION, client.state(id).status());
+        }
+    }
+
+    @Test void rawFramesMatchTheDocumentedLayout() throws IOException {
+        long id = local.newGame().sessionId();
+        local.roll(id);
+
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            // Three pipelined requests in one write, three replies back to back
+            ByteBuffer requests = ByteBuffer.allocate(3 * REQUEST_BYTES);
+            requests.put(STATE).putLong(id).put((byte) 0);
+            requests.put((byte) 99).putLong(id).put((byte) 0);
+            requests.put(STATE).putLong(id + 1).put((byte) 0);
+            out.write(requests.array());
+            out.flush();
+
+            byte[] reply = new byte[3 * RESPONSE_BYTES];
+            in.readFully(reply);
+            ByteBuffer replies = ByteBuffer.wrap(reply);
+
+            SenetEndpoint.State expected = local.state(id);
+            assertEquals(expected, readResponse(replies));
+            assertEquals(new SenetEndpoint.State(BAD_REQUEST, id, 0, 0), readResponse(replies));
+            assertEquals(new SenetEndpoint.State(UNKNOWN_SESSION, id + 1, 0, 0), readResponse(replies));
+            assertFalse(replies.hasRemaining());
+        }
+    }
+
+    @Test void moveArgumentIsUnsigned() throws IOException {
+        long id = local.newGame().sessionId();
+
+        try (SenetClient client = new SenetClient("127.0.0.1", server.getPort())) {
+            // Sent as the byte 0xFF, read back as square 255, not -1
+            assertEquals(BAD_REQUEST, client.move(id, 255).status());
+            // A square that's on the board but not playable yet
+            assertEquals(ILLEGAL, client.move(id, 1).status());
+        }
+    }
+
+    @Test void everyOpEchoesTheSessionId() throws IOException {
+        long id = local.newGame().sessionId();
+
+        try (SenetClient client = new SenetClient("127.0.0.1", server.getPort())) {
+            for (byte op = 0; op <= 10; op++) {
+                if (op == NEW || op == CLOSE) continue;
+                SenetEndpoint.State state = client.request(op, id, 0);
+                assertEquals(id, state.sessionId(), "op " + op);
+            }
+            // NEW ignores the id it was sent and answers with a fresh one
+            SenetEndpoint.State fresh = client.request(NEW, id, 0);
+            assertTrue(fresh.ok());
+            assertNotEquals(id, fresh.sessionId());
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * One 21-byte response: [status:1][sessionId:8][board:8][flags:4], big-endian.
+     */
+    private static SenetEndpoint.State readResponse(ByteBuffer buf) {
+        return new SenetEndpoint.State(buf.get(), buf.getLong(), buf.getLong(), buf.getInt());
+    }
+}
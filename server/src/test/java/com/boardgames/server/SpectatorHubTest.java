@@ -0,0 +1,136 @@
+package com.boardgames.server;
+
+import com.boardgames.games.senet.DiceSticks;
+import com.boardgames.games.senet.SenetGame;
+import com.boardgames.games.senet.SenetPiece;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Spectators rebuild the game from the event stream: a watcher reading
+ * along sees every change, and one that stops reading falls behind, gets
+ * its backlog dropped and catches up with a single snapshot.
+ */
+@Timeout(60)
+class SpectatorHubTest {
+
+    private static final int SLOW_UPDATES = 1_000_000;
+
+    @Test void watcherFollowsAWholeGame() throws IOException {
+        try (SenetServer server = new SenetServer(InetAddress.getLoopbackAddress(), 0, 0, 100)) {
+            server.start();
+            SenetEndpoint player = server.getSessions().connect();
+            SenetEndpoint.State state = player.newGame();
+            long id = state.sessionId();
+
+            try (SpectatorClient watcher = new SpectatorClient("127.0.0.1", server.getSpectatorPort(), id)) {
+                assertSees(state.board(), state.flags(), watcher.next(), "first snapshot");
+
+                Random random = new Random(3);
+                SenetGame mirror = new SenetGame();
+                int requests = 0;
+                while (!state.gameOver()) {
+                    mirror.restore(state.board(), state.flags());
+                    state = step(player, id, mirror, random);
+                    assertTrue(state.ok());
+                    requests++;
+                    assertSees(state.board(), state.flags(), watcher.next(), "request " + requests);
+                }
+
+                // One frame per change, nearly all of them small events rather than snapshots
+                assertEquals(requests + 1, watcher.frames());
+                assertEquals(requests, watcher.view().seq());
+                assertTrue(watcher.snapshots() < requests / 10, watcher.snapshots() + " snapshots");
+
+                player.closeGame(id);
+                assertTrue(watcher.next().closed());
+            }
+        }
+    }
+
+    @Test void slowWatcherCatchesUpWithASnapshot() throws IOException {
+        Map<Long, SenetSession> live = new ConcurrentHashMap<>();
+        SenetGame game = new SenetGame();
+        SenetSession session = new SenetSession(42, game.packBoard(), game.packFlags());
+        live.put(session.id, session);
+
+        try (SpectatorHub hub = new SpectatorHub(InetAddress.getLoopbackAddress(), 0, live::get)) {
+            hub.start();
+
+            // A small receive window, so the hub's writes back up quickly
+            Socket socket = new Socket();
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), hub.getPort()));
+            try (SpectatorClient watcher = new SpectatorClient(socket, session.id)) {
+                assertSees(session.board, session.flags, watcher.next(), "first snapshot");
+
+                // Random play, one game after another, while the watcher isn't reading
+                Random random = new Random(4);
+                int[] moves = new int[game.maxMoves()];
+                for (int i = 0; i < SLOW_UPDATES; i++) {
+                    boolean rolled = false;
+                    if (game.isTerminal()) {
+                        game.reset();
+                    } else if (game.isChanceNode()) {
+                        game.applyChance(DiceSticks.roll(random));
+                        rolled = true;
+                    } else {
+                        game.makeMove(moves[random.nextInt(game.generateMoves(moves))]);
+                    }
+                    synchronized (session) {
+                        long oldBoard = session.board;
+                        int oldFlags = session.flags;
+                        session.board = game.packBoard();
+                        session.flags = game.packFlags();
+                        hub.publish(session.id, rolled, oldBoard, oldFlags, session.board, session.flags);
+                    }
+                }
+
+                SpectatorClient.View view = watcher.view();
+                while (view.seq() < SLOW_UPDATES) {
+                    view = watcher.next();
+                }
+                assertSees(session.board, session.flags, view, "after catching up");
+                assertTrue(watcher.snapshots() >= 2, "never fell behind");
+                // What the kernel had already buffered (a few MB on loopback) still
+                // arrives; everything published after the backlog was dropped doesn't
+                assertTrue(watcher.frames() < SLOW_UPDATES / 2, watcher.frames() + " frames read");
+            }
+        }
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Roll, move a random playable piece or skip, as the position in 'mirror' calls for.
+     */
+    private static SenetEndpoint.State step(SenetEndpoint player, long id, SenetGame mirror, Random random)
+            throws IOException {
+        if (!mirror.isMoveHasPending()) {
+            return player.roll(id);
+        }
+        List<SenetPiece> valid = mirror.getValidPieces(mirror.getCurrentPlayer());
+        return valid.isEmpty()
+                ? player.skip(id)
+                : player.move(id, valid.get(random.nextInt(valid.size())).getPosition());
+    }
+
+    private static void assertSees(long board, int flags, SpectatorClient.View view, String where) {
+        assertEquals(board, view.board(), "board, " + where);
+        assertEquals(SenetGame.packedPlayer(flags), view.player(), "player to move, " + where);
+        assertEquals(SenetGame.packedRoll(flags), view.lastRoll(), "last roll, " + where);
+        assertEquals(SenetGame.packedWinner(flags), view.winner(), "winner, " + where);
+        assertFalse(view.closed(), where);
+    }
+}